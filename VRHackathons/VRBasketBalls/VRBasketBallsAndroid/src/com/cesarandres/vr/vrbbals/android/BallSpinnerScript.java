@@ -13,6 +13,7 @@ import org.gearvrf.GVREyePointeeHolder;
 import org.gearvrf.GVRMaterial;
 import org.gearvrf.GVRMesh;
 import org.gearvrf.GVRPicker;
+import org.gearvrf.GVRRenderData;
 import org.gearvrf.GVRScene;
 import org.gearvrf.GVRSceneObject;
 import org.gearvrf.GVRScript;
@@ -33,6 +34,17 @@ public class BallSpinnerScript extends GVRScript {
 	private static float LOOKAT_COLOR_MASK_R = 1.0f;
 	private static float LOOKAT_COLOR_MASK_G = 0.6f;
 	private static float LOOKAT_COLOR_MASK_B = 0.6f;
+	// Leap millimetres to scene units, palms 200mm above the device sit
+	// level with the balls
+	private static final float HAND_SCALE = 0.005f;
+	private static final float HAND_CENTER_Y = 200.0f;
+	private static final float HAND_Z = -1.0f;
+	private static final long HAND_TIMEOUT_NANOS = 250000000L;
+	private static final long HAND_MAX_EXTRAPOLATION_NANOS = 50000000L;
+	// palm speed in mm/s that counts as swatting a ball it touches
+	private static final float SWAT_SPEED = 1000.0f;
+	private static final float SWAT_REACH = 0.15f;
+	private static final long SWAT_COOLDOWN_NANOS = 500000000L;
 
 	private MainActivity core;
 
@@ -54,6 +66,58 @@ public class BallSpinnerScript extends GVRScript {
 	private int lastIndex;
 	private int score;
 
+	private final Palm leftPalm = new Palm();
+	private final Palm rightPalm = new Palm();
+	private final float[] palmScratch = new float[6];
+	private GVRSceneObject leftHandMarker;
+	private GVRSceneObject rightHandMarker;
+
+	/*
+	 * Latest palm of one hand, written by the network thread and read on
+	 * the GL thread.
+	 */
+	private static class Palm {
+		private final float[] state = new float[6];
+		private long receivedNanos;
+		private long lastSwatNanos;
+
+		synchronized void set(float x, float y, float z, float vx, float vy,
+				float vz) {
+			state[0] = x;
+			state[1] = y;
+			state[2] = z;
+			state[3] = vx;
+			state[4] = vy;
+			state[5] = vz;
+			receivedNanos = System.nanoTime();
+		}
+
+		/*
+		 * Copies the palm, moved along its velocity to now, into out.
+		 * Returns false when the hand has not been seen recently.
+		 */
+		synchronized boolean predict(long nowNanos, float[] out) {
+			long age = nowNanos - receivedNanos;
+			if (receivedNanos == 0 || age > HAND_TIMEOUT_NANOS) {
+				return false;
+			}
+			float seconds = Math.min(age, HAND_MAX_EXTRAPOLATION_NANOS) / 1e9f;
+			for (int i = 0; i < 3; i++) {
+				out[i] = state[i] + state[i + 3] * seconds;
+				out[i + 3] = state[i + 3];
+			}
+			return true;
+		}
+
+		boolean canSwat(long nowNanos) {
+			return nowNanos - lastSwatNanos > SWAT_COOLDOWN_NANOS;
+		}
+
+		void swatted(long nowNanos) {
+			lastSwatNanos = nowNanos;
+		}
+	}
+
 	public BallSpinnerScript(MainActivity core) {
 		this.core = core;
 	}
@@ -142,6 +206,14 @@ public class BallSpinnerScript extends GVRScript {
 		mainCamera = scene.getMainCameraRig();
 		mainCamera.addChildObject(headTracker);
 
+		// palm markers driven by the Leap hand records
+		leftHandMarker = new GVRSceneObject(ctx, 0.1f, 0.1f, pTexture);
+		leftHandMarker.getRenderData().setRenderMask(0);
+		scene.addSceneObject(leftHandMarker);
+		rightHandMarker = new GVRSceneObject(ctx, 0.1f, 0.1f, pTexture);
+		rightHandMarker.getRenderData().setRenderMask(0);
+		scene.addSceneObject(rightHandMarker);
+
 		mainCamera.getLeftCamera().setBackgroundColor(r, g, b, 1.0f);
 		mainCamera.getRightCamera().setBackgroundColor(r, g, b, 1.0f);
 		mainCamera.getTransform().setPosition(0f, 0f, 0f);
@@ -232,15 +304,7 @@ public class BallSpinnerScript extends GVRScript {
 					.getMainScene())) {
 				for (BasketBall vel : ballPool) {
 					if (eph.getOwnerObject().equals(vel.getVrObject())) {
-						if (vel.duration >= 1) {
-							if (connected) {
-								vel.duration *= 0.075;
-							} else {
-								vel.duration *= 0.75;
-							}
-							vel.counterClockwise(vel.getVrObject(),
-									vel.duration);
-						}
+						spinUp(vel);
 						break;
 					}
 				}
@@ -266,6 +330,10 @@ public class BallSpinnerScript extends GVRScript {
 			createBall();
 		}
 
+		long now = System.nanoTime();
+		updateHand(leftPalm, leftHandMarker, now);
+		updateHand(rightPalm, rightHandMarker, now);
+
 		for (BasketBall vel : ballPool) {
 			vel.getVrObject().getRenderData().getMaterial()
 					.setColor(1.0f, 1.0f, 1.0f);
@@ -282,6 +350,53 @@ public class BallSpinnerScript extends GVRScript {
 		}
 	}
 
+	private void spinUp(BasketBall ball) {
+		if (ball.duration >= 1) {
+			if (connected) {
+				ball.duration *= 0.075;
+			} else {
+				ball.duration *= 0.75;
+			}
+			ball.counterClockwise(ball.getVrObject(), ball.duration);
+		}
+	}
+
+	/*
+	 * Places the marker of one hand and lets a fast palm passing through
+	 * a ball spin it up the same way a swipe at it does.
+	 */
+	private void updateHand(Palm palm, GVRSceneObject marker, long now) {
+		if (!palm.predict(now, palmScratch)) {
+			marker.getRenderData().setRenderMask(0);
+			return;
+		}
+		float x = palmScratch[0] * HAND_SCALE;
+		float y = (palmScratch[1] - HAND_CENTER_Y) * HAND_SCALE;
+		float z = HAND_Z + palmScratch[2] * HAND_SCALE;
+		marker.getTransform().setPosition(x, y, z);
+		marker.getRenderData().setRenderMask(
+				GVRRenderData.GVRRenderMaskBit.Left
+						| GVRRenderData.GVRRenderMaskBit.Right);
+
+		float vx = palmScratch[3];
+		float vy = palmScratch[4];
+		float vz = palmScratch[5];
+		if (lost || !palm.canSwat(now)
+				|| vx * vx + vy * vy + vz * vz < SWAT_SPEED * SWAT_SPEED) {
+			return;
+		}
+		for (BasketBall ball : ballPool) {
+			float dx = ball.getX() - x;
+			float dy = ball.getY() - y;
+			float dz = ball.getZ() - z;
+			if (dx * dx + dy * dy + dz * dz < SWAT_REACH * SWAT_REACH) {
+				spinUp(ball);
+				palm.swatted(now);
+				break;
+			}
+		}
+	}
+
 	private void initBusObjectPool() {
 		for (int i = 0; i < STARTING_BALLS; i++) {
 			createBall();
@@ -300,6 +415,11 @@ public class BallSpinnerScript extends GVRScript {
 		lastIndex *= -1;
 	}
 
+	public void setHand(boolean left, float x, float y, float z, float vx,
+			float vy, float vz) {
+		(left ? leftPalm : rightPalm).set(x, y, z, vx, vy, vz);
+	}
+
 	public void handleLongPress() {
 		commandQueue.add(COMMANDS.RESET);
 	}
@@ -0,0 +1,150 @@
+package com.cesarandres.vr.vrbbals.android;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Binary gesture framing shared by the server and the headset.
+ *
+ * A client that understands it sends the line {@link #HELLO} after
+ * connecting; the server answers with the line {@link #ACK} and from then
+ * on only writes packets. Clients that never say hello keep getting the
+ * text commands ("LEFT").
+ *
+ * Packet layout, big endian:
+ * <pre>
+ * u16 magic 'GB' | u8 version | u8 count | count x record
+ * record: u8 type | i64 timestamp (us) | f32 x, y, z | f32 vx, vy, vz
+ * </pre>
+ * All timestamps are on the monotonic clock of the server, see
+ * {@link #nowMicros()}; Leap frame times are converted to it.
+ * For swipes x, y, z is the swipe direction and vx, vy, vz unused; for
+ * hand records they are palm position and palm velocity in mm and mm/s.
+ *
+ * The server keeps an identical copy of this class.
+ */
+public class GestureProtocol {
+
+	public static final String HELLO = "HELLO BIN1";
+	public static final String ACK = "OK BIN1";
+
+	public static final short MAGIC = 0x4742;
+	public static final byte VERSION = 1;
+	public static final int HEADER_BYTES = 4;
+	public static final int RECORD_BYTES = 1 + 8 + 6 * 4;
+	public static final int MAX_RECORDS = 255;
+
+	public static final byte TYPE_SWIPE_LEFT = 1;
+	public static final byte TYPE_HAND_LEFT = 4;
+	public static final byte TYPE_HAND_RIGHT = 5;
+
+	/**
+	 * @return the server clock timestamps are on, in microseconds
+	 */
+	public static long nowMicros() {
+		return System.nanoTime() / 1000;
+	}
+
+	/**
+	 * Maps a text command onto a gesture type, or 0 if it has none.
+	 */
+	public static byte typeOf(String command) {
+		if ("LEFT".equals(command)) {
+			return TYPE_SWIPE_LEFT;
+		}
+		return 0;
+	}
+
+	/**
+	 * Reusable packet builder. Records are appended until the packet is
+	 * written; nothing is allocated after construction.
+	 */
+	public static class Batch {
+		private final ByteBuffer buffer = ByteBuffer.allocate(
+				HEADER_BYTES + MAX_RECORDS * RECORD_BYTES).order(ByteOrder.BIG_ENDIAN);
+		private int count;
+
+		public Batch() {
+			clear();
+		}
+
+		public void clear() {
+			buffer.clear();
+			buffer.putShort(MAGIC).put(VERSION).put((byte) 0);
+			count = 0;
+		}
+
+		public int size() {
+			return count;
+		}
+
+		public boolean isEmpty() {
+			return count == 0;
+		}
+
+		public boolean isFull() {
+			return count == MAX_RECORDS;
+		}
+
+		/**
+		 * @return false if the batch is full and the record was not added
+		 */
+		public boolean add(byte type, long timestampMicros, float x, float y, float z,
+				float vx, float vy, float vz) {
+			if (isFull()) {
+				return false;
+			}
+			buffer.put(type).putLong(timestampMicros)
+					.putFloat(x).putFloat(y).putFloat(z)
+					.putFloat(vx).putFloat(vy).putFloat(vz);
+			count++;
+			return true;
+		}
+
+		/**
+		 * Writes the packet to the stream. The batch is left untouched so
+		 * it can be sent to several clients; call clear() afterwards.
+		 */
+		public void writeTo(OutputStream out) throws IOException {
+			buffer.put(3, (byte) count);
+			out.write(buffer.array(), 0, buffer.position());
+		}
+	}
+
+	public interface Handler {
+		void onGesture(byte type, long timestampMicros, float x, float y, float z,
+				float vx, float vy, float vz);
+	}
+
+	/**
+	 * Reads one packet and hands every record to the handler.
+	 *
+	 * @return number of records read
+	 * @throws IOException if the stream ends or the header is not a packet
+	 */
+	public static int readPacket(DataInputStream in, Handler handler) throws IOException {
+		if (in.readShort() != MAGIC) {
+			throw new IOException("Bad gesture packet");
+		}
+		int version = in.readUnsignedByte();
+		if (version != VERSION) {
+			throw new IOException("Unsupported gesture packet version " + version);
+		}
+		int count = in.readUnsignedByte();
+		for (int i = 0; i < count; i++) {
+			byte type = in.readByte();
+			long timestamp = in.readLong();
+			float x = in.readFloat();
+			float y = in.readFloat();
+			float z = in.readFloat();
+			float vx = in.readFloat();
+			float vy = in.readFloat();
+			float vz = in.readFloat();
+			handler.onGesture(type, timestamp, x, y, z, vx, vy, vz);
+		}
+		return count;
+	}
+}
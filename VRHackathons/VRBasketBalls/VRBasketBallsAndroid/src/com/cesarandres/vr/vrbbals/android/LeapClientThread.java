@@ -1,6 +1,9 @@
 package com.cesarandres.vr.vrbbals.android;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
@@ -11,11 +14,13 @@ import com.cesarandres.vr.vrbbals.android.MainActivity.COMMANDS;
 
 import android.util.Log;
 
-public class LeapClientThread extends Thread {
+public class LeapClientThread extends Thread implements GestureProtocol.Handler {
 
 	private MainActivity activity;
 	public static final String SERVER_ADDRESS = "192.168.0.104";
 
+	private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(64);
+
 	public LeapClientThread(MainActivity activity) {
 		super(LeapClientThread.class.getName());
 		this.activity = activity;
@@ -26,18 +31,30 @@ public class LeapClientThread extends Thread {
 			try (Socket kkSocket = new Socket(SERVER_ADDRESS, 9090);
 					PrintWriter out = new PrintWriter(
 							kkSocket.getOutputStream(), true);
-					BufferedReader in = new BufferedReader(
-							new InputStreamReader(kkSocket.getInputStream()));) {
+					DataInputStream in = new DataInputStream(
+							new BufferedInputStream(kkSocket.getInputStream()));) {
+				kkSocket.setTcpNoDelay(true);
 				BufferedReader stdIn = new BufferedReader(
 						new InputStreamReader(System.in));
 				String fromServer;
 				String fromUser;
+				boolean binary = false;
 
+				// Servers that do not know the binary protocol echo this
+				// back or ignore it and keep sending text commands.
+				out.println(GestureProtocol.HELLO);
 				activity.postEvent(COMMANDS.CONNECTED.toString()); 
 
-				while ((fromServer = in.readLine()) != null) {
-					if (fromServer.equals("END"))
+				while (!binary) {
+					fromServer = readLine(in);
+					if (fromServer == null || fromServer.equals("END"))
+						break;
+					if (fromServer.equals(GestureProtocol.ACK)) {
+						binary = true;
 						break;
+					}
+					if (fromServer.equals(GestureProtocol.HELLO))
+						continue;
 
 					fromUser = stdIn.readLine();
 					if (fromUser != null) {
@@ -45,6 +62,9 @@ public class LeapClientThread extends Thread {
 					}
 					activity.postEvent(fromServer);
 				}
+				while (binary) {
+					GestureProtocol.readPacket(in, this);
+				}
 			} catch (UnknownHostException e) {
 				Log.e(this.getName(), "Don't know about host");
 			} catch (IOException e) {
@@ -57,4 +77,38 @@ public class LeapClientThread extends Thread {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void onGesture(byte type, long timestampMicros, float x, float y,
+			float z, float vx, float vy, float vz) {
+		switch (type) {
+		case GestureProtocol.TYPE_SWIPE_LEFT:
+			activity.postEvent(COMMANDS.LEFT.toString());
+			break;
+		case GestureProtocol.TYPE_HAND_LEFT:
+		case GestureProtocol.TYPE_HAND_RIGHT:
+			activity.postHand(type == GestureProtocol.TYPE_HAND_LEFT,
+					x, y, z, vx, vy, vz);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/*
+	 * Text lines and binary packets share one stream, so lines are read
+	 * from the DataInputStream byte by byte rather than through a reader
+	 * which could buffer past the switch to binary.
+	 */
+	private String readLine(DataInputStream in) throws IOException {
+		lineBuffer.reset();
+		int b;
+		while ((b = in.read()) >= 0) {
+			if (b == '\n') {
+				return lineBuffer.toString("US-ASCII").trim();
+			}
+			lineBuffer.write(b);
+		}
+		return lineBuffer.size() > 0 ? lineBuffer.toString("US-ASCII").trim() : null;
+	}
+}
@@ -57,4 +57,13 @@ public class MainActivity extends GVRActivity {
 			Log.e("Posting Event", e.getLocalizedMessage());
 		}
 	}
+
+	/**
+	 * Palm position (mm) and velocity (mm/s) of one hand as reported by
+	 * the Leap for the latest frame.
+	 */
+	public void postHand(boolean left, float x, float y, float z, float vx,
+			float vy, float vz) {
+		script.setHand(left, x, y, z, vx, vy, vz);
+	}
 }
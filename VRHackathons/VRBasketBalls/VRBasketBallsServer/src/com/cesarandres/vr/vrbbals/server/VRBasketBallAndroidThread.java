@@ -1,15 +1,20 @@
 package com.cesarandres.vr.vrbbals.server;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.Socket;
 
 public class VRBasketBallAndroidThread extends Thread {
     private Socket socket = null;
+    private OutputStream rawOut;
     private PrintWriter out;
     private BufferedReader in;
+    private volatile boolean binary = false;
+    private final GestureProtocol.Batch single = new GestureProtocol.Batch();
     
     public VRBasketBallAndroidThread(Socket socket) {
         super(VRBasketBallAndroidThread.class.getName());
@@ -18,7 +23,9 @@ public class VRBasketBallAndroidThread extends Thread {
     
     public void run() {
         try{
-            out = new PrintWriter(socket.getOutputStream(), true);
+            socket.setTcpNoDelay(true);
+            rawOut = new BufferedOutputStream(socket.getOutputStream());
+            out = new PrintWriter(rawOut, true);
             in = new BufferedReader(
                 new InputStreamReader(
                     socket.getInputStream()));
@@ -26,7 +33,18 @@ public class VRBasketBallAndroidThread extends Thread {
             String inputLine;
 
             while ((inputLine = in.readLine()) != null) {
-                out.println(inputLine);
+                if (inputLine.equals(GestureProtocol.HELLO)) {
+                    synchronized (this) {
+                        out.println(GestureProtocol.ACK);
+                        binary = true;
+                    }
+                    continue;
+                }
+                synchronized (this) {
+                    if (!binary) {
+                        out.println(inputLine);
+                    }
+                }
                 if (inputLine.equals("Close"))
                     break;
             }
@@ -36,11 +54,44 @@ public class VRBasketBallAndroidThread extends Thread {
         }
     }
     
-    public void sendMessage(String command){
+    /**
+     * @return true once the client has negotiated binary gesture packets
+     */
+    public boolean isBinary() {
+        return binary;
+    }
+    
+    public synchronized void sendMessage(String command){
     	try{
-    		out.println(command);
+    		if (binary) {
+    			byte type = GestureProtocol.typeOf(command);
+    			if (type == 0) {
+    				System.out.println("No binary form for " + command);
+    				return;
+    			}
+    			single.clear();
+    			single.add(type, GestureProtocol.nowMicros(), 0, 0, 0, 0, 0, 0);
+    			sendPacket(single);
+    		} else {
+    			out.println(command);
+    		}
     	}catch(Exception e){
     		System.out.println(e.getLocalizedMessage());
     	}
     }
-}
\ No newline at end of file
+    
+    /**
+     * Sends a batch of gestures to a binary client. Ignored for text clients.
+     */
+    public synchronized void sendPacket(GestureProtocol.Batch batch) {
+    	if (!binary || batch.isEmpty()) {
+    		return;
+    	}
+    	try {
+    		batch.writeTo(rawOut);
+    		rawOut.flush();
+    	} catch (IOException e) {
+    		System.out.println(e.getLocalizedMessage());
+    	}
+    }
+}
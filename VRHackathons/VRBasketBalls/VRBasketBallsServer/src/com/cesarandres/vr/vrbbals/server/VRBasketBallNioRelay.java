@@ -0,0 +1,396 @@
+package com.cesarandres.vr.vrbbals.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Single threaded relay between any number of Leap producers and any
+ * number of Android consumers.
+ *
+ * Every line a producer writes is forwarded to every connected consumer.
+ * Lines are copied once into a shared slab buffer and queued on each
+ * consumer as a read-only view, so fan-out does not copy and relaying a
+ * line does not allocate its own buffer. Each consumer has its own queue
+ * and is written to with gathering writes once per selector pass. Lines
+ * longer than MAX_LINE_BYTES are dropped whole.
+ *
+ * Producers are always read. When a consumer has more than
+ * HIGH_WATER_BYTES queued, its oldest messages are dropped until it is
+ * back under LOW_WATER_BYTES, so a slow headset skips to the newest
+ * commands. A consumer which has had more than MAX_PENDING_BYTES dropped
+ * without taking a single byte in between is disconnected, so one stuck
+ * headset cannot stall the rest of the arcade.
+ *
+ * The relay only speaks the text protocol. It never answers a
+ * GestureProtocol HELLO, so headsets stay on text commands and get
+ * swipes only, no per-frame hand records.
+ */
+public class VRBasketBallNioRelay implements Runnable {
+
+	public static final int HIGH_WATER_BYTES = 64 * 1024;
+	public static final int LOW_WATER_BYTES = 16 * 1024;
+	public static final int MAX_PENDING_BYTES = 1024 * 1024;
+	public static final int MAX_LINE_BYTES = 4096;
+	private static final int MAX_GATHER = 64;
+	private static final int SLAB_BYTES = 64 * 1024;
+
+	private static final Charset ASCII = Charset.forName("US-ASCII");
+
+	private final Selector selector;
+	private final ServerSocketChannel leapServer;
+	private final ServerSocketChannel androidServer;
+
+	private final List<Producer> producers = new ArrayList<Producer>();
+	private final List<Consumer> consumers = new ArrayList<Consumer>();
+	private final ConcurrentLinkedQueue<String> localMessages = new ConcurrentLinkedQueue<String>();
+
+	private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+	// relayed lines are carved out of this; a full slab is left to the
+	// consumer queues still holding views of it and a new one started
+	private ByteBuffer slab = ByteBuffer.allocate(SLAB_BYTES);
+
+	private volatile boolean running = true;
+
+	private volatile long messagesRelayed;
+	private volatile long messagesDropped;
+	private volatile long consumersDropped;
+
+	private static class Client {
+		final SocketChannel channel;
+		final ByteBuffer in = ByteBuffer.allocate(MAX_LINE_BYTES);
+		// skipping the rest of an overlong line up to its newline
+		boolean discarding;
+
+		Client(SocketChannel channel) {
+			this.channel = channel;
+		}
+	}
+
+	private static class Producer extends Client {
+		Producer(SocketChannel channel) {
+			super(channel);
+		}
+	}
+
+	private static class Consumer extends Client {
+		final ArrayDeque<ByteBuffer> out = new ArrayDeque<ByteBuffer>();
+		SelectionKey key;
+		int pending;
+		int droppedSinceWrite;
+		boolean dirty;
+
+		Consumer(SocketChannel channel) {
+			super(channel);
+		}
+	}
+
+	/**
+	 * Binds both listening ports. Pass 0 to pick free ports.
+	 */
+	public VRBasketBallNioRelay(int leapPort, int androidPort) throws IOException {
+		selector = Selector.open();
+		leapServer = ServerSocketChannel.open();
+		leapServer.bind(new InetSocketAddress(leapPort));
+		leapServer.configureBlocking(false);
+		leapServer.register(selector, SelectionKey.OP_ACCEPT);
+		androidServer = ServerSocketChannel.open();
+		androidServer.bind(new InetSocketAddress(androidPort));
+		androidServer.configureBlocking(false);
+		androidServer.register(selector, SelectionKey.OP_ACCEPT);
+	}
+
+	public int getLeapPort() {
+		return leapServer.socket().getLocalPort();
+	}
+
+	public int getAndroidPort() {
+		return androidServer.socket().getLocalPort();
+	}
+
+	public long getMessagesRelayed() {
+		return messagesRelayed;
+	}
+
+	/**
+	 * @return messages dropped from the queues of slow consumers, counted
+	 * once per consumer
+	 */
+	public long getMessagesDropped() {
+		return messagesDropped;
+	}
+
+	public long getConsumersDropped() {
+		return consumersDropped;
+	}
+
+	/**
+	 * Queues a message from this process (e.g. the local Leap controller)
+	 * for every consumer. Safe to call from any thread.
+	 */
+	public void sendMessage(String command) {
+		localMessages.add(command);
+		selector.wakeup();
+	}
+
+	public void stop() {
+		running = false;
+		selector.wakeup();
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (running) {
+				selector.select();
+				String local;
+				while ((local = localMessages.poll()) != null) {
+					broadcast(ByteBuffer.wrap((local + "\n").getBytes(ASCII)));
+				}
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid()) {
+						continue;
+					}
+					try {
+						if (key.isAcceptable()) {
+							accept(key);
+						} else {
+							if (key.isReadable()) {
+								read(key);
+							}
+							if (key.isValid() && key.isWritable()) {
+								write((Consumer) key.attachment());
+							}
+						}
+					} catch (IOException e) {
+						close(key);
+					}
+				}
+				flush();
+			}
+		} catch (IOException e) {
+			System.err.println("There was an error: " + e.getLocalizedMessage());
+		} finally {
+			closeAll();
+		}
+	}
+
+	private void accept(SelectionKey key) throws IOException {
+		SocketChannel channel = ((ServerSocketChannel) key.channel()).accept();
+		if (channel == null) {
+			return;
+		}
+		channel.configureBlocking(false);
+		channel.socket().setTcpNoDelay(true);
+		if (key.channel() == leapServer) {
+			Producer producer = new Producer(channel);
+			producers.add(producer);
+			channel.register(selector, SelectionKey.OP_READ, producer);
+		} else {
+			Consumer consumer = new Consumer(channel);
+			consumers.add(consumer);
+			consumer.key = channel.register(selector, SelectionKey.OP_READ, consumer);
+		}
+	}
+
+	private void read(SelectionKey key) throws IOException {
+		Client client = (Client) key.attachment();
+		ByteBuffer in = client.in;
+		if (client.channel.read(in) < 0) {
+			close(key);
+			return;
+		}
+		in.flip();
+		int start = in.position();
+		for (int i = start; i < in.limit(); i++) {
+			if (in.get(i) != '\n') {
+				continue;
+			}
+			if (client.discarding) {
+				// tail of an overlong line
+				client.discarding = false;
+			} else if (client instanceof Producer) {
+				broadcast(copyToSlab(in, start, i + 1));
+			} else if (isClose(in, start, i)) {
+				close(key);
+				return;
+			}
+			start = i + 1;
+		}
+		in.position(start);
+		in.compact();
+		if (!in.hasRemaining()) {
+			// line longer than the buffer, drop it up to its newline
+			in.clear();
+			client.discarding = true;
+		}
+	}
+
+	/*
+	 * Copies in[start, end) into the current slab and returns a view of
+	 * just those bytes, positioned at 0.
+	 */
+	private ByteBuffer copyToSlab(ByteBuffer in, int start, int end) {
+		int length = end - start;
+		if (slab.remaining() < length) {
+			slab = ByteBuffer.allocate(SLAB_BYTES);
+		}
+		int offset = slab.position();
+		slab.put(in.array(), in.arrayOffset() + start, length);
+		ByteBuffer line = slab.duplicate();
+		line.position(offset);
+		line.limit(offset + length);
+		return line.slice();
+	}
+
+	private static boolean isClose(ByteBuffer in, int start, int end) {
+		if (end > start && in.get(end - 1) == '\r') {
+			end--;
+		}
+		byte[] close = { 'C', 'l', 'o', 's', 'e' };
+		if (end - start != close.length) {
+			return false;
+		}
+		for (int i = 0; i < close.length; i++) {
+			if (in.get(start + i) != close[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void broadcast(ByteBuffer message) {
+		ByteBuffer shared = message.asReadOnlyBuffer();
+		messagesRelayed++;
+		for (int i = consumers.size() - 1; i >= 0; i--) {
+			Consumer consumer = consumers.get(i);
+			consumer.out.add(shared.duplicate());
+			consumer.pending += shared.remaining();
+			consumer.dirty = true;
+			if (consumer.pending > HIGH_WATER_BYTES) {
+				shed(consumer);
+			}
+		}
+	}
+
+	/*
+	 * Drops the oldest messages of a consumer down to LOW_WATER_BYTES. A
+	 * message which is partly written is kept so the stream stays line
+	 * aligned.
+	 */
+	private void shed(Consumer consumer) {
+		Iterator<ByteBuffer> it = consumer.out.iterator();
+		boolean head = true;
+		while (consumer.pending > LOW_WATER_BYTES && it.hasNext()) {
+			ByteBuffer message = it.next();
+			if (head && message.position() > 0) {
+				head = false;
+				continue;
+			}
+			head = false;
+			it.remove();
+			consumer.pending -= message.remaining();
+			consumer.droppedSinceWrite += message.remaining();
+			messagesDropped++;
+		}
+		if (consumer.droppedSinceWrite > MAX_PENDING_BYTES) {
+			consumersDropped++;
+			close(consumer.key);
+		}
+	}
+
+	/*
+	 * Messages are not written as they arrive; everything queued during
+	 * one pass over the selected keys goes out in one gathering write
+	 * per consumer.
+	 */
+	private void flush() {
+		for (int i = consumers.size() - 1; i >= 0; i--) {
+			Consumer consumer = consumers.get(i);
+			if (!consumer.dirty) {
+				continue;
+			}
+			try {
+				write(consumer);
+			} catch (IOException e) {
+				close(consumer.key);
+			}
+		}
+	}
+
+	private void write(Consumer consumer) throws IOException {
+		consumer.dirty = false;
+		while (!consumer.out.isEmpty()) {
+			int n = 0;
+			for (ByteBuffer b : consumer.out) {
+				gather[n++] = b;
+				if (n == MAX_GATHER) {
+					break;
+				}
+			}
+			long written = consumer.channel.write(gather, 0, n);
+			Arrays.fill(gather, 0, n, null);
+			consumer.pending -= written;
+			if (written > 0) {
+				consumer.droppedSinceWrite = 0;
+			}
+			while (!consumer.out.isEmpty() && !consumer.out.peek().hasRemaining()) {
+				consumer.out.poll();
+			}
+			if (written == 0 || !consumer.out.isEmpty() && n < MAX_GATHER) {
+				break;
+			}
+		}
+		if (consumer.key.isValid()) {
+			int ops = SelectionKey.OP_READ;
+			if (!consumer.out.isEmpty()) {
+				ops |= SelectionKey.OP_WRITE;
+			}
+			consumer.key.interestOps(ops);
+		}
+	}
+
+	private void close(SelectionKey key) {
+		if (key == null) {
+			return;
+		}
+		Object client = key.attachment();
+		producers.remove(client);
+		consumers.remove(client);
+		key.cancel();
+		try {
+			key.channel().close();
+		} catch (IOException e) {
+			// already closed
+		}
+	}
+
+	private void closeAll() {
+		for (SelectionKey key : selector.keys()) {
+			try {
+				key.channel().close();
+			} catch (IOException e) {
+				// already closed
+			}
+		}
+		try {
+			selector.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package com.cesarandres.vr.vrbbals.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loopback load test for {@link VRBasketBallNioRelay}.
+ *
+ * Starts a relay on free ports, connects the given number of Android
+ * consumers and Leap producers, and has every producer send timestamped
+ * lines at the given rate, or as fast as the relay accepts them when the
+ * rate is 0. Stalled consumers connect but never read, to show that they
+ * do not hold up the others. Reports relayed messages per second,
+ * messages dropped for slow consumers and p50/p99 producer-to-consumer
+ * latency.
+ *
+ * Usage: VRBasketBallRelayLoadTest [producers] [consumers] [messagesPerProducer] [ratePerProducer] [stalledConsumers]
+ */
+public class VRBasketBallRelayLoadTest {
+
+	public static void main(String[] args) throws Exception {
+		int numProducers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int numConsumers = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+		final int perProducer = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+		final int rate = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+		int numStalled = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+		final int producerCount = numProducers;
+		final long expected = (long) numProducers * perProducer;
+
+		final VRBasketBallNioRelay relay = new VRBasketBallNioRelay(0, 0);
+		Thread relayThread = new Thread(relay, VRBasketBallNioRelay.class.getName());
+		relayThread.start();
+		final InetAddress host = InetAddress.getLoopbackAddress();
+
+		final long[][] latencies = new long[numConsumers][];
+		final CountDownLatch connected = new CountDownLatch(numConsumers);
+		final CountDownLatch done = new CountDownLatch(numConsumers);
+		final AtomicLong received = new AtomicLong();
+
+		for (int c = 0; c < numConsumers; c++) {
+			final int index = c;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					long[] samples = new long[(int) expected];
+					int n = 0;
+					int finished = 0;
+					try (Socket socket = new Socket(host, relay.getAndroidPort());
+							BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()))) {
+						connected.countDown();
+						String line;
+						while (finished < producerCount && (line = in.readLine()) != null) {
+							if (line.startsWith("DONE")) {
+								finished++;
+								continue;
+							}
+							long sent = Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+							samples[n++] = System.nanoTime() - sent;
+						}
+					} catch (IOException e) {
+						System.err.println("Consumer " + index + ": " + e.getLocalizedMessage());
+					}
+					latencies[index] = Arrays.copyOf(samples, n);
+					received.addAndGet(n);
+					done.countDown();
+				}
+			}, "Consumer" + c).start();
+		}
+		final Socket[] stalled = new Socket[numStalled];
+		for (int s = 0; s < numStalled; s++) {
+			stalled[s] = new Socket(host, relay.getAndroidPort());
+			stalled[s].setReceiveBufferSize(4096);
+		}
+		connected.await();
+		// consumers register with the relay asynchronously after connecting
+		Thread.sleep(200);
+
+		long start = System.nanoTime();
+		for (int p = 0; p < numProducers; p++) {
+			final int index = p;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try (Socket socket = new Socket(host, relay.getLeapPort());
+							BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()))) {
+						socket.setTcpNoDelay(true);
+						long begin = System.nanoTime();
+						for (int i = 0; i < perProducer; i++) {
+							if (rate > 0) {
+								long due = begin + i * 1000000000L / rate;
+								while (System.nanoTime() < due) {
+									Thread.sleep(0, 100000);
+								}
+							}
+							out.write("LEFT " + index + " " + System.nanoTime() + "\n");
+							if (rate > 0 || (i & 15) == 15) {
+								out.flush();
+							}
+						}
+						out.write("DONE " + index + "\n");
+						out.flush();
+						Thread.sleep(Long.MAX_VALUE);
+					} catch (IOException e) {
+						System.err.println("Producer " + index + ": " + e.getLocalizedMessage());
+					} catch (InterruptedException e) {
+						// done
+					}
+				}
+			}, "Producer" + p).start();
+		}
+		done.await();
+		double seconds = (System.nanoTime() - start) / 1e9;
+		relay.stop();
+
+		int total = 0;
+		for (long[] l : latencies) {
+			total += l.length;
+		}
+		long[] all = new long[total];
+		int pos = 0;
+		for (long[] l : latencies) {
+			System.arraycopy(l, 0, all, pos, l.length);
+			pos += l.length;
+		}
+		Arrays.sort(all);
+
+		System.out.println("producers " + numProducers + ", consumers " + numConsumers
+				+ ", stalled consumers " + numStalled
+				+ ", messages " + relay.getMessagesRelayed()
+				+ ", dropped messages " + relay.getMessagesDropped()
+				+ ", dropped consumers " + relay.getConsumersDropped());
+		System.out.println(String.format("relayed %.0f msg/s, delivered %.0f msg/s, %d of %d per reading consumer",
+				relay.getMessagesRelayed() / seconds, received.get() / seconds,
+				received.get() / numConsumers, expected));
+		System.out.println(String.format("latency p50 %.1f us, p99 %.1f us, max %.1f us",
+				percentile(all, 0.50) / 1e3, percentile(all, 0.99) / 1e3,
+				(total > 0 ? all[total - 1] : 0) / 1e3));
+		System.exit(0);
+	}
+
+	private static long percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))];
+	}
+}
@@ -1,21 +1,27 @@
 package com.cesarandres.vr.vrbbals.server;
 import java.io.IOException;
 import java.net.ServerSocket;
-import java.util.Date;
 
 import com.leapmotion.leap.Controller;
 import com.leapmotion.leap.Frame;
 import com.leapmotion.leap.Gesture;
+import com.leapmotion.leap.Hand;
 import com.leapmotion.leap.Listener;
+import com.leapmotion.leap.SwipeGesture;
+import com.leapmotion.leap.Vector;
 
 public class VRBasketBallServer extends Listener {
 	
 	private static VRBasketBallAndroidThread androidThread;
 
+	private static VRBasketBallNioRelay nioRelay;
+
     public static final int PORT_LEAP_NUMBER = 8080;
     public static final int PORT_ANDROID_NUMBER = 9090;
     
-    public float lastActionTime;
+    public long lastActionTime;
+    
+    private final GestureProtocol.Batch batch = new GestureProtocol.Batch();
     
     public class AndroidServer implements Runnable{
 		@Override
@@ -59,10 +65,38 @@ public class VRBasketBallServer extends Listener {
     	}    	
     }
     
+    /**
+     * Sends a command to the connected headsets, through the NIO relay
+     * when it is running, otherwise to the last connected Android thread.
+     */
+    public static void sendToAndroid(String command){
+    	synchronized(VRBasketBallServer.class){
+    		if (nioRelay != null) {
+    			nioRelay.sendMessage(command);
+    		} else if (androidThread != null) {
+    			androidThread.sendMessage(command);
+    		}
+    	}
+    }
+    
+    /**
+     * Pass -nio to relay between any number of Leap producers and Android
+     * consumers on a single selector thread instead of a thread per socket.
+     * The relay is text only, so headsets get swipe commands but no hand
+     * records in that mode.
+     */
     public static void main(String[] args) throws IOException {
     	VRBasketBallServer server = new VRBasketBallServer();
-   	 	(new Thread(server.new AndroidServer())).start(); 
-   	 	(new Thread(server.new LeapServer())).start();   
+    	if (args.length > 0 && args[0].equals("-nio")) {
+    		VRBasketBallNioRelay relay = new VRBasketBallNioRelay(PORT_LEAP_NUMBER, PORT_ANDROID_NUMBER);
+    		synchronized(VRBasketBallServer.class){
+    			nioRelay = relay;
+    		}
+    		(new Thread(relay, VRBasketBallNioRelay.class.getName())).start();
+    	} else {
+   	 		(new Thread(server.new AndroidServer())).start(); 
+   	 		(new Thread(server.new LeapServer())).start();   
+    	}
    	 	Controller controller = new Controller();
    	 	controller.addListener(server);
    	 	// Keep this process running until Enter is pressed
@@ -75,10 +109,38 @@ public class VRBasketBallServer extends Listener {
 
         // Remove the sample listener when done
         controller.removeListener(server);
+        if (nioRelay != null) {
+        	nioRelay.stop();
+        }
     }
     
+    /**
+     * Text clients only get throttled swipe commands. Clients which
+     * negotiated the binary protocol get one packet per Leap frame holding
+     * both palms and any finished swipes.
+     */
     public void onFrame(Controller controller) {
         Frame frame = controller.frame();
+        VRBasketBallAndroidThread binaryClient = null;
+        if (nioRelay == null) {
+        	VRBasketBallAndroidThread android = getAndroidThread();
+        	if (android != null && android.isBinary()) {
+        		binaryClient = android;
+        	}
+        }
+        // Leap frame time moved onto the server clock of GestureProtocol
+        long timestamp = frame.timestamp() + (GestureProtocol.nowMicros() - controller.now());
+        batch.clear();
+        
+        if (binaryClient != null) {
+        	for (Hand hand : frame.hands()) {
+        		Vector pos = hand.palmPosition();
+        		Vector vel = hand.palmVelocity();
+        		batch.add(hand.isLeft() ? GestureProtocol.TYPE_HAND_LEFT : GestureProtocol.TYPE_HAND_RIGHT,
+        				timestamp, pos.getX(), pos.getY(), pos.getZ(),
+        				vel.getX(), vel.getY(), vel.getZ());
+        	}
+        }
               
         for(Gesture gestureObj : frame.gestures())
         {                    
@@ -93,19 +155,29 @@ public class VRBasketBallServer extends Listener {
                     //Handle continuing gestures
                     break;
                 case STATE_STOP:
-                	if (new Date().getTime() - lastActionTime < 500){
+                	long now = System.currentTimeMillis();
+                	if (now - lastActionTime < 500){
                 		break;
                 	}
                 	
-                    System.out.println("LEFT");                	
-                    VRBasketBallServer.getAndroidThread().sendMessage("LEFT");
-                	lastActionTime = new Date().getTime();
+                    System.out.println("LEFT");
+                    if (binaryClient != null) {
+                    	Vector dir = new SwipeGesture(gestureObj).direction();
+                    	batch.add(GestureProtocol.TYPE_SWIPE_LEFT, timestamp,
+                    			dir.getX(), dir.getY(), dir.getZ(), 0, 0, 0);
+                    } else {
+                    	VRBasketBallServer.sendToAndroid("LEFT");
+                    }
+                	lastActionTime = now;
                     break;
                 default:
                     //Handle unrecognized states
                     break;
             }
         }
+        if (binaryClient != null) {
+        	binaryClient.sendPacket(batch);
+        }
     }
     
     public void onConnect(Controller controller) {
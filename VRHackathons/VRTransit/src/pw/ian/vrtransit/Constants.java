@@ -2,6 +2,16 @@ package pw.ian.vrtransit;
 
 public class Constants {
 	public static final int MAX_OBJECTS = 1000;
+
+	public static final int MAX_UPDATES_PER_FRAME = 50;
+
+	/**
+	 * Recorded feed to play back instead of the live Firebase feed, or null
+	 * for live data. See ReplayTransitSource for the file format.
+	 */
+	public static final String REPLAY_FILE = null;
+
+	public static final float REPLAY_SPEED_UP = 100f;
 	
 	public static final float ZOOM_FACTOR = 0.9f;
 	
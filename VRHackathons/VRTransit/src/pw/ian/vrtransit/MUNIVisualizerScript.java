@@ -1,5 +1,7 @@
 package pw.ian.vrtransit;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -22,7 +24,10 @@ import org.gearvrf.animation.GVRRelativeMotionAnimation;
 import org.gearvrf.scene_objects.GVRTextViewSceneObject;
 
 import pw.ian.vrtransit.data.BusUpdate;
+import pw.ian.vrtransit.data.FirebaseTransitSource;
+import pw.ian.vrtransit.data.ReplayTransitSource;
 import pw.ian.vrtransit.data.TransitDataAccessor;
+import pw.ian.vrtransit.data.TransitDataSource;
 import android.graphics.Color;
 import android.util.Log;
 
@@ -48,6 +53,12 @@ public class MUNIVisualizerScript extends GVRScript {
 
 	private Map<String, GVRSceneObject> vehicles = new HashMap<>();
 
+	private Map<GVRSceneObject, String> vehicleIds = new HashMap<>();
+
+	private Map<GVRSceneObject, GVRAnimation> busAnims = new HashMap<>();
+
+	private List<BusUpdate> frameUpdates = new ArrayList<>();
+
 	public MUNIVisualizerScript(MainActivity core) {
 		this.core = core;
 	}
@@ -94,31 +105,27 @@ public class MUNIVisualizerScript extends GVRScript {
 
 	@Override
 	public void onStep() {
-		List<BusUpdate> bs = tda.nextUpdates();
-		for (BusUpdate bu : bs) {
+		frameUpdates.clear();
+		tda.nextUpdates(Constants.MAX_UPDATES_PER_FRAME, frameUpdates);
+		for (int i = 0; i < frameUpdates.size(); i++) {
+			BusUpdate bu = frameUpdates.get(i);
 			if (bu.getRoute().equals("25"))
 				continue;
-			if (vehicles.containsKey(bu.getId())) {
+			GVRSceneObject bus = vehicles.get(bu.getId());
+			if (bus != null) {
 
 				if (bu.remove) {
-					GVRSceneObject bus = vehicles.remove(bu.getId());
+					vehicles.remove(bu.getId());
+					vehicleIds.remove(bus);
 				} else {
-					GVRSceneObject bus = vehicles.get(bu.getId());
 					smoothSetBusPos(bus, bu.getLat(), bu.getLon());
 				}
 
 			} else {
-				GVRSceneObject bus = setBusPos(nextBus(), bu.getLat(),
-						bu.getLon());
-				if (vehicles.containsValue(bus)) {
-					String key = null;
-					for (Entry<String, GVRSceneObject> e : vehicles.entrySet()) {
-						if (e.getValue().equals(bus)) {
-							key = e.getKey();
-							break;
-						}
-					}
-					vehicles.remove(key);
+				bus = setBusPos(nextBus(), bu.getLat(), bu.getLon());
+				String oldId = vehicleIds.remove(bus);
+				if (oldId != null) {
+					vehicles.remove(oldId);
 				}
 				if (bu.getType().equals("train")) {
 					bus.getTransform().setScale(0.15f, 0.05f, 0.05f);
@@ -128,6 +135,7 @@ public class MUNIVisualizerScript extends GVRScript {
 					bus.getRenderData().getMaterial().setMainTexture(busTex);
 				}
 				vehicles.put(bu.getId(), bus);
+				vehicleIds.put(bus, bu.getId());
 			}
 		}
 	}
@@ -168,13 +176,21 @@ public class MUNIVisualizerScript extends GVRScript {
 		float dy = scaleCoordY((float) lon, 5f)
 				- bus.getTransform().getPositionY();
 
-		GVRAnimation anim = new GVRRelativeMotionAnimation(bus, 1.0f, dx, dy,
-				0f);
+		GVRAnimation anim = busAnims.get(bus);
+		if (anim != null && !anim.isFinished()) {
+			mCtx.getAnimationEngine().stop(anim);
+		}
+		anim = new GVRRelativeMotionAnimation(bus, 1.0f, dx, dy, 0f);
 		anim.start(mCtx.getAnimationEngine());
+		busAnims.put(bus, anim);
 		return bus;
 	}
 
 	public GVRSceneObject setBusPos(GVRSceneObject bus, double lat, double lon) {
+		GVRAnimation anim = busAnims.remove(bus);
+		if (anim != null && !anim.isFinished()) {
+			mCtx.getAnimationEngine().stop(anim);
+		}
 
 		// 37.809607, -122.387515
 		// 37.734027, -122.514716
@@ -185,30 +201,12 @@ public class MUNIVisualizerScript extends GVRScript {
 		return bus;
 	}
 
-	/**
-	 * Scales a coordinate
-	 * 
-	 * @param min
-	 * @param max
-	 * @param val
-	 * @param extent
-	 * @return
-	 */
-	private float scaleCoord(float min, float max, float val, float extent) {
-		float fmin = Math.min(min, max);
-		float fmax = Math.max(min, max);
-
-		float diff = fmax - fmin;
-		float scale = (val - fmin) / diff;
-		return ((extent * 2 * scale) - extent) * 0.8f;
-	}
-
 	private float scaleCoordX(float val, float extent) {
-		return scaleCoord(37.702100f, 37.814604f, val, extent);
+		return MapCoords.scaleCoordX(val, extent);
 	}
 
 	private float scaleCoordY(float val, float extent) {
-		return scaleCoord(-122.553643f, -122.35528f, val, extent);
+		return MapCoords.scaleCoordY(val, extent);
 	}
 
 	boolean zoom = true;
@@ -280,6 +278,18 @@ public class MUNIVisualizerScript extends GVRScript {
 			resetPos(e.getValue());
 		}
 		vehicles.clear();
-		tda = new TransitDataAccessor(type);
+		vehicleIds.clear();
+		if (tda != null) {
+			tda.close();
+		}
+		tda = new TransitDataAccessor(type, createSource());
+	}
+
+	private TransitDataSource createSource() {
+		if (Constants.REPLAY_FILE != null) {
+			return new ReplayTransitSource(new File(Constants.REPLAY_FILE),
+					Constants.REPLAY_SPEED_UP, true);
+		}
+		return new FirebaseTransitSource();
 	}
 }
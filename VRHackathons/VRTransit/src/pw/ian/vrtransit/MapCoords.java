@@ -0,0 +1,42 @@
+package pw.ian.vrtransit;
+
+/**
+ * Maps MUNI latitude / longitude onto the map plane.
+ */
+public class MapCoords {
+
+	public static final float MIN_LAT = 37.702100f;
+
+	public static final float MAX_LAT = 37.814604f;
+
+	public static final float MIN_LON = -122.553643f;
+
+	public static final float MAX_LON = -122.35528f;
+
+	/**
+	 * Scales a coordinate
+	 * 
+	 * @param min
+	 * @param max
+	 * @param val
+	 * @param extent
+	 * @return
+	 */
+	public static float scaleCoord(float min, float max, float val,
+			float extent) {
+		float fmin = Math.min(min, max);
+		float fmax = Math.max(min, max);
+
+		float diff = fmax - fmin;
+		float scale = (val - fmin) / diff;
+		return ((extent * 2 * scale) - extent) * 0.8f;
+	}
+
+	public static float scaleCoordX(float val, float extent) {
+		return scaleCoord(MIN_LAT, MAX_LAT, val, extent);
+	}
+
+	public static float scaleCoordY(float val, float extent) {
+		return scaleCoord(MIN_LON, MAX_LON, val, extent);
+	}
+}
@@ -0,0 +1,75 @@
+package pw.ian.vrtransit.data;
+
+import pw.ian.vrtransit.Constants;
+
+import android.util.Log;
+
+import com.firebase.client.ChildEventListener;
+import com.firebase.client.DataSnapshot;
+import com.firebase.client.Firebase;
+import com.firebase.client.FirebaseError;
+import com.firebase.client.Query;
+
+/**
+ * Live SF MUNI vehicle positions from the public Firebase transit feed.
+ */
+public class FirebaseTransitSource implements TransitDataSource {
+	private static final String TAG = "VRTransit";
+
+	private Query ref = new Firebase(
+			"https://publicdata-transit.firebaseio.com/sf-muni/vehicles")
+			.limitToLast(Constants.MAX_OBJECTS);
+
+	private ChildEventListener childListener;
+
+	@Override
+	public void start(final Listener listener) {
+		childListener = new ChildEventListener() {
+
+			@Override
+			public void onCancelled(FirebaseError error) {
+				Log.w(TAG, "Transit feed cancelled: " + error.getMessage());
+			}
+
+			@Override
+			public void onChildAdded(DataSnapshot ds, String key) {
+				listener.onUpdate(toUpdate(ds));
+			}
+
+			@Override
+			public void onChildChanged(DataSnapshot ds, String prevKey) {
+				listener.onUpdate(toUpdate(ds));
+			}
+
+			@Override
+			public void onChildMoved(DataSnapshot ds, String prevKey) {
+				// order does not matter, positions arrive with onChildChanged
+			}
+
+			@Override
+			public void onChildRemoved(DataSnapshot ds) {
+				BusUpdate bu = toUpdate(ds);
+				bu.remove = true;
+				listener.onUpdate(bu);
+			}
+		};
+		ref.addChildEventListener(childListener);
+	}
+
+	@Override
+	public void stop() {
+		if (childListener != null) {
+			ref.removeEventListener(childListener);
+			childListener = null;
+		}
+	}
+
+	private static BusUpdate toUpdate(DataSnapshot ds) {
+		String id = ds.child("id").getValue(String.class);
+		String route = ds.child("routeTag").getValue(String.class);
+		double lat = ds.child("lat").getValue(Double.class);
+		double lon = ds.child("lon").getValue(Double.class);
+		String type = ds.child("vtype").getValue(String.class);
+		return new BusUpdate(id, route, lat, lon, type);
+	}
+}
@@ -0,0 +1,179 @@
+package pw.ian.vrtransit.data;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Replays recorded vehicle events from a text file.
+ * 
+ * Each line holds one event:
+ * 
+ * <pre>
+ * timeMillis,id,route,lat,lon,type,remove
+ * </pre>
+ * 
+ * where timeMillis is relative to the start of the recording and remove is
+ * 0 or 1. Blank lines and lines starting with # are skipped. Events are
+ * played back on a background thread, sped up by the given factor. A
+ * speed-up of 0 or less plays the file back as fast as possible.
+ */
+public class ReplayTransitSource implements TransitDataSource {
+
+	private final File file;
+
+	private final Reader reader;
+
+	private final float speedUp;
+
+	private final boolean loop;
+
+	private volatile boolean running;
+
+	private Thread thread;
+
+	private volatile long delivered;
+
+	private volatile boolean finished;
+
+	public ReplayTransitSource(File file, float speedUp, boolean loop) {
+		this.file = file;
+		this.reader = null;
+		this.speedUp = speedUp;
+		this.loop = loop;
+	}
+
+	/**
+	 * Replays from an already open reader. The recording is played once.
+	 */
+	public ReplayTransitSource(Reader reader, float speedUp) {
+		this.file = null;
+		this.reader = reader;
+		this.speedUp = speedUp;
+		this.loop = false;
+	}
+
+	@Override
+	public synchronized void start(final Listener listener) {
+		if (running) {
+			return;
+		}
+		running = true;
+		finished = false;
+		thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					do {
+						play(listener);
+					} while (loop && running);
+				} catch (IOException e) {
+					System.err.println("VRTransit replay failed: " + e);
+				} catch (InterruptedException e) {
+					// stopped
+				}
+				finished = true;
+			}
+		}, "TransitReplay");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void stop() {
+		Thread t;
+		synchronized (this) {
+			running = false;
+			t = thread;
+			thread = null;
+		}
+		if (t != null) {
+			t.interrupt();
+			try {
+				t.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * @return number of events handed to the listener so far
+	 */
+	public long getDelivered() {
+		return delivered;
+	}
+
+	/**
+	 * @return true once the recording has been played to the end
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	private void play(Listener listener) throws IOException,
+			InterruptedException {
+		BufferedReader in = new BufferedReader(reader != null ? reader
+				: new FileReader(file));
+		try {
+			long startNanos = System.nanoTime();
+			String line;
+			while (running && (line = in.readLine()) != null) {
+				if (line.isEmpty() || line.charAt(0) == '#') {
+					continue;
+				}
+				BusUpdate bu = parseLine(line);
+				if (bu == null) {
+					continue;
+				}
+				if (speedUp > 0) {
+					long due = startNanos
+							+ (long) (parseTime(line) * 1000000L / speedUp);
+					long wait = due - System.nanoTime();
+					if (wait > 0) {
+						Thread.sleep(wait / 1000000L, (int) (wait % 1000000L));
+					}
+				}
+				listener.onUpdate(bu);
+				delivered++;
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	private static long parseTime(String line) {
+		return Long.parseLong(line.substring(0, line.indexOf(',')));
+	}
+
+	/**
+	 * Parses one recorded event.
+	 * 
+	 * @return the update or null if the line is malformed
+	 */
+	public static BusUpdate parseLine(String line) {
+		String[] f = line.split(",");
+		if (f.length < 6) {
+			return null;
+		}
+		try {
+			BusUpdate bu = new BusUpdate(f[1], f[2], Double.parseDouble(f[3]),
+					Double.parseDouble(f[4]), f[5]);
+			bu.remove = f.length > 6 && f[6].trim().equals("1");
+			return bu;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Formats one event in the replay file format.
+	 */
+	public static String formatLine(long timeMillis, BusUpdate bu) {
+		return timeMillis + "," + bu.getId() + "," + bu.getRoute() + ","
+				+ bu.getLat() + "," + bu.getLon() + "," + bu.getType() + ","
+				+ (bu.remove ? 1 : 0);
+	}
+}
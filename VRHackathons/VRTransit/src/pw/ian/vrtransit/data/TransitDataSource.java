@@ -0,0 +1,28 @@
+package pw.ian.vrtransit.data;
+
+/**
+ * Feed of vehicle position events behind {@link TransitDataAccessor}.
+ */
+public interface TransitDataSource {
+
+	public interface Listener {
+		/**
+		 * Called for every vehicle event. May be called from any thread.
+		 * 
+		 * @param bu
+		 */
+		void onUpdate(BusUpdate bu);
+	}
+
+	/**
+	 * Starts delivering events to the listener.
+	 * 
+	 * @param listener
+	 */
+	void start(Listener listener);
+
+	/**
+	 * Stops delivering events. No events are delivered after this returns.
+	 */
+	void stop();
+}
@@ -0,0 +1,82 @@
+package pw.ian.vrtransit.data;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Holds the newest pending update per vehicle id.
+ * 
+ * A later update for a vehicle replaces the pending one (last writer
+ * wins) but keeps its place in line, so a vehicle that reports often
+ * cannot starve the others when updates are drained in batches.
+ */
+public class UpdateCoalescer {
+
+	private final LinkedHashMap<String, BusUpdate> pending = new LinkedHashMap<>();
+
+	private long received;
+
+	private long coalesced;
+
+	/**
+	 * Adds an update, replacing any pending update for the same vehicle.
+	 * 
+	 * @param bu
+	 */
+	public synchronized void offer(BusUpdate bu) {
+		received++;
+		if (pending.put(bu.getId(), bu) != null) {
+			coalesced++;
+		}
+	}
+
+	/**
+	 * Removes up to max pending updates, oldest vehicles first.
+	 * 
+	 * @param max
+	 *            maximum number of updates to return
+	 * @param out
+	 *            list the updates are appended to
+	 * @return number of updates appended
+	 */
+	public synchronized int drain(int max, List<BusUpdate> out) {
+		int n = 0;
+		Iterator<BusUpdate> it = pending.values().iterator();
+		while (n < max && it.hasNext()) {
+			out.add(it.next());
+			it.remove();
+			n++;
+		}
+		return n;
+	}
+
+	public List<BusUpdate> drainAll() {
+		List<BusUpdate> ret = new ArrayList<>();
+		drain(Integer.MAX_VALUE, ret);
+		return ret;
+	}
+
+	public synchronized int size() {
+		return pending.size();
+	}
+
+	public synchronized void clear() {
+		pending.clear();
+	}
+
+	/**
+	 * @return total number of updates offered
+	 */
+	public synchronized long getReceived() {
+		return received;
+	}
+
+	/**
+	 * @return number of updates dropped because a newer one replaced them
+	 */
+	public synchronized long getCoalesced() {
+		return coalesced;
+	}
+}
@@ -11,8 +11,6 @@ import org.gearvrf.utility.Log;
 import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
-import java.util.HashMap;
-
 class BondAnimator extends GVRBehavior implements IPickEvents
 {
     static private long TYPE_BOND_ANIMATOR = newComponentType(BondAnimator.class);
@@ -25,13 +23,14 @@ class BondAnimator extends GVRBehavior implements IPickEvents
     private Vector3f        mCurPos = new Vector3f(0, 0, 0);
     private GVRSceneObject  mClosest = null;
     private GVRSceneObject  mTarget = null;
-    private HashMap<String, String> mMoleculeMap;
+    private MoleculeMap     mMoleculeMap;
+    private SceneNameIndex  mNameIndex = null;
     private SoundEffect mGoodSound;
     private SoundEffect mBadSound;
 
     public boolean         WrongAnswer = false;
 
-    BondAnimator(GVRContext ctx, HashMap<String, String> moleculeMap, SoundEffect good, SoundEffect bad)
+    BondAnimator(GVRContext ctx, MoleculeMap moleculeMap, SoundEffect good, SoundEffect bad)
     {
         super(ctx);
         mMoleculeMap = moleculeMap;
@@ -42,6 +41,18 @@ class BondAnimator extends GVRBehavior implements IPickEvents
 
     static public long getComponentType() { return TYPE_BOND_ANIMATOR; }
 
+    public void onAttach(GVRSceneObject owner)
+    {
+        super.onAttach(owner);
+        mNameIndex = (SceneNameIndex) owner.getComponent(SceneNameIndex.getComponentType());
+    }
+
+    public void onDetach(GVRSceneObject owner)
+    {
+        super.onDetach(owner);
+        mNameIndex = null;
+    }
+
     public void setTarget(GVRSceneObject target)
     {
         mTarget = target;
@@ -56,39 +67,19 @@ class BondAnimator extends GVRBehavior implements IPickEvents
 
     public GVRSceneObject getBondPoint(GVRSceneObject srcObj)
     {
-        String name = srcObj.getName();
-        int i = name.indexOf("_");
-        if (i <= 0)
+        String atomId = MoleculeMap.getAtomId(srcObj.getName());
+        if ((atomId == null) || (mNameIndex == null))
         {
             return null;
         }
-        name = name.substring(0, i);
-        String partners = mMoleculeMap.get(name);
-        if (partners != null)
+        MoleculeMap.Bond bond = mMoleculeMap.findBond(atomId, mElementName);
+        if (bond != null)
         {
-            i = partners.indexOf(mElementName);
-            if (i >= 0)
+            GVRSceneObject found = mNameIndex.get(bond.ObjectName);
+            if (found != null)
             {
-                String objName = partners.substring(i);
-                int j = objName.indexOf(" ");
-                if (j > 0)
-                {
-                    objName = objName.substring(0, j);
-                }
-                GVRSceneObject found = getOwnerObject().getSceneObjectByName(objName);
-                if (found != null)
-                {
-                    partners = partners.replace(objName, "").trim();
-                    if (partners.equals(""))
-                    {
-                        mMoleculeMap.remove(name);
-                    }
-                    else
-                    {
-                        mMoleculeMap.put(name, partners);
-                    }
-                    return found;
-                }
+                mMoleculeMap.removeBond(atomId, bond);
+                return found;
             }
         }
         return null;
@@ -96,18 +87,7 @@ class BondAnimator extends GVRBehavior implements IPickEvents
 
     static public String getElementName(GVRSceneObject srcObj)
     {
-        String name = srcObj.getName();
-        String elemName = null;
-
-        for (int i = 0; i < name.length(); ++i)
-        {
-            if ("0123456789".indexOf(name.charAt(i)) >= 0)
-            {
-                elemName = name.substring(0, i);
-                return elemName;
-            }
-        }
-        return null;
+        return MoleculeMap.getElementName(srcObj.getName());
     }
 
     private void makeBond(GVRSceneObject sceneObj)
@@ -39,7 +39,6 @@ import org.gearvrf.utility.Log;
 import org.joml.Vector3f;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.concurrent.Future;
 
 public class BondageMain extends GVRMain {
@@ -92,11 +91,13 @@ public class BondageMain extends GVRMain {
     private BondAnimator mBondAnimator = null;
     private int mNumMatched = 0;
     private float mRotAngle = 0;
-    private HashMap<String, String> mMoleculeMap = new HashMap<String, String>();
+    private MoleculeMap mMoleculeMap = new MoleculeMap();
+    private SceneNameIndex mMoleculeNames = null;
 
     @Override
     public void onInit(GVRContext context)
     {
+        FrameProfiler.attach(context, "bondage");
         /*
          * Set the background color
          */
@@ -143,6 +144,8 @@ public class BondageMain extends GVRMain {
 
             trans.setScale(0.1f, 0.1f, 0.1f);
             trans.setPositionZ(-1.0f);
+            mMoleculeNames = new SceneNameIndex(ctx);
+            modelRoot.attachComponent(mMoleculeNames);
             mBondAnimator.setEnable(false);
             modelRoot.attachComponent(mBondAnimator);
             if (mElementGrid != null)
@@ -208,12 +211,6 @@ public class BondageMain extends GVRMain {
         return gridRoot;
     }
 
-    @Override
-    public void onStep()
-    {
-        FPSCounter.tick();
-    }
-
     public void onTouchEvent(MotionEvent event)
     {
         switch (event.getAction() & MotionEvent.ACTION_MASK)
@@ -253,11 +250,8 @@ public class BondageMain extends GVRMain {
             if (mNumMatched == 0)
             {
                 String elemName = BondAnimator.getElementName(sceneObj);
-                NameMatcher matcher = new NameMatcher(elemName);
                 Log.d("bondage", "Match " + elemName);
-                matcher.Match = null;
-                mMolecule.forAllDescendants(matcher);
-                GVRSceneObject match = matcher.Match;
+                GVRSceneObject match = (elemName != null) ? mMoleculeNames.getFirstWithPrefix(elemName) : null;
                 if (match != null)
                 {
                     String name = match.getName();
@@ -0,0 +1,119 @@
+package org.gearvrf.bondage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bonds of a molecule which have not been made yet.
+ * <p>
+ * Each atom is keyed by its id, the part of its scene object name before
+ * the underscore ("c1" for "c1_Sphere"). Each of its open bonds names the
+ * element and the scene object of the partner atom. The partner strings
+ * are parsed once when an atom is added, so making a bond is a lookup in
+ * a short list.
+ */
+class MoleculeMap
+{
+    static class Bond
+    {
+        final String ElementName;
+        final String ObjectName;
+
+        Bond(String elementName, String objectName)
+        {
+            ElementName = elementName;
+            ObjectName = objectName;
+        }
+    }
+
+    private final Map<String, List<Bond>> mBonds = new HashMap<String, List<Bond>>();
+
+    /**
+     * @param atomId   atom id, like "c1"
+     * @param partners space separated scene object names of the atoms
+     *                 it bonds with, like "h1_Sphere.003 c2_Sphere.002"
+     */
+    public void put(String atomId, String partners)
+    {
+        List<Bond> bonds = new ArrayList<Bond>();
+        for (String objName : partners.trim().split("\\s+"))
+        {
+            String elemName = getElementName(objName);
+            if (elemName != null)
+            {
+                bonds.add(new Bond(elemName, objName));
+            }
+        }
+        mBonds.put(atomId, bonds);
+    }
+
+    public void clear()
+    {
+        mBonds.clear();
+    }
+
+    /**
+     * Find an open bond from an atom to an element.
+     * @return the bond or null if there is none left
+     */
+    public Bond findBond(String atomId, String elementName)
+    {
+        List<Bond> bonds = mBonds.get(atomId);
+        if (bonds != null)
+        {
+            for (Bond bond : bonds)
+            {
+                if (bond.ElementName.equals(elementName))
+                {
+                    return bond;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mark a bond returned by {@link #findBond(String, String)} as made.
+     */
+    public void removeBond(String atomId, Bond bond)
+    {
+        List<Bond> bonds = mBonds.get(atomId);
+        if (bonds != null)
+        {
+            bonds.remove(bond);
+            if (bonds.isEmpty())
+            {
+                mBonds.remove(atomId);
+            }
+        }
+    }
+
+    /**
+     * @return the atom id of a scene object name, or null if the name has
+     * no id before an underscore
+     */
+    static public String getAtomId(String objName)
+    {
+        int i = objName.indexOf('_');
+        return (i > 0) ? objName.substring(0, i) : null;
+    }
+
+    /**
+     * @return the letters before the first digit of a name, or null if
+     * there is no digit
+     */
+    static public String getElementName(String name)
+    {
+        for (int i = 0; i < name.length(); ++i)
+        {
+            char c = name.charAt(i);
+            if ((c >= '0') && (c <= '9'))
+            {
+                return name.substring(0, i);
+            }
+        }
+        return null;
+    }
+}
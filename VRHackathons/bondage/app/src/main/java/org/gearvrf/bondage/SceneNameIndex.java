@@ -0,0 +1,138 @@
+package org.gearvrf.bondage;
+
+import org.gearvrf.GVRBehavior;
+import org.gearvrf.GVRContext;
+import org.gearvrf.GVRSceneObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Name lookup table for the scene objects below the owner.
+ * <p>
+ * The table is built when the component is attached. Objects added or
+ * removed afterwards are registered with {@link #add(GVRSceneObject)}
+ * and {@link #remove(GVRSceneObject)}. Exact names are looked up in a
+ * hash map, name prefixes in a sorted map, so neither walks the
+ * scene graph. Objects whose name ends in ".obj" are the model files
+ * themselves and are not indexed.
+ */
+public class SceneNameIndex extends GVRBehavior implements GVRSceneObject.SceneVisitor
+{
+    static private long TYPE_SCENE_NAME_INDEX = newComponentType(SceneNameIndex.class);
+
+    private final Map<String, GVRSceneObject> mByName = new HashMap<String, GVRSceneObject>();
+    private final TreeMap<String, GVRSceneObject> mSorted = new TreeMap<String, GVRSceneObject>();
+
+    public SceneNameIndex(GVRContext ctx)
+    {
+        super(ctx);
+        mType = TYPE_SCENE_NAME_INDEX;
+    }
+
+    static public long getComponentType() { return TYPE_SCENE_NAME_INDEX; }
+
+    public void onAttach(GVRSceneObject owner)
+    {
+        super.onAttach(owner);
+        rebuild();
+    }
+
+    public void onDetach(GVRSceneObject owner)
+    {
+        super.onDetach(owner);
+        mByName.clear();
+        mSorted.clear();
+    }
+
+    /**
+     * Index the owner and all of its descendants again.
+     */
+    public void rebuild()
+    {
+        mByName.clear();
+        mSorted.clear();
+        GVRSceneObject owner = getOwnerObject();
+        if (owner != null)
+        {
+            owner.forAllDescendants(this);
+        }
+    }
+
+    public boolean visit(GVRSceneObject obj)
+    {
+        add(obj);
+        return true;
+    }
+
+    /**
+     * Index an object added below the owner. Its descendants are not
+     * indexed.
+     */
+    public void add(GVRSceneObject obj)
+    {
+        String name = obj.getName();
+        if ((name == null) || name.isEmpty() || name.endsWith(".obj"))
+        {
+            return;
+        }
+        // the first object with a name wins, as with getSceneObjectByName
+        if (!mByName.containsKey(name))
+        {
+            mByName.put(name, obj);
+            mSorted.put(name, obj);
+        }
+    }
+
+    public void remove(GVRSceneObject obj)
+    {
+        String name = obj.getName();
+        if ((name != null) && (mByName.get(name) == obj))
+        {
+            mByName.remove(name);
+            mSorted.remove(name);
+        }
+    }
+
+    /**
+     * @return the object with the given name, or null
+     */
+    public GVRSceneObject get(String name)
+    {
+        return mByName.get(name);
+    }
+
+    /**
+     * @return the object whose name comes first in sort order among
+     * those starting with the prefix, or null
+     */
+    public GVRSceneObject getFirstWithPrefix(String prefix)
+    {
+        Map.Entry<String, GVRSceneObject> entry = mSorted.ceilingEntry(prefix);
+        if ((entry != null) && entry.getKey().startsWith(prefix))
+        {
+            return entry.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * @return all objects whose name starts with the prefix, in sort order
+     */
+    public List<GVRSceneObject> getAllWithPrefix(String prefix)
+    {
+        List<GVRSceneObject> found = new ArrayList<GVRSceneObject>();
+        for (Map.Entry<String, GVRSceneObject> entry : mSorted.tailMap(prefix).entrySet())
+        {
+            if (!entry.getKey().startsWith(prefix))
+            {
+                break;
+            }
+            found.add(entry.getValue());
+        }
+        return found;
+    }
+}
@@ -24,7 +24,6 @@ import org.gearvrf.scene_objects.GVRVideoSceneObject;
 import org.gearvrf.scene_objects.GVRViewSceneObject;
 import org.gearvrf.scene_objects.view.GVRView;
 import org.gearvrf.utility.Log;
-import org.joml.Quaternionf;
 import org.joml.Vector3f;
 import org.siprop.bullet.Bullet;
 import org.siprop.bullet.Geometry;
@@ -184,11 +183,16 @@ public class BulletSampleMain extends GVRMain {
             else
                 mBullet.applyCentralImpulse(sphereBody, new Vector3(0.0f, 0.0f, -(this.speed)));
 
-            for (RigidBody body : rigidBodiesSceneMap.keySet()) {
+            // only bodies which moved this step need their scene objects updated
+            for (int i = 0, n = mBullet.getMovedBodyCount(); i < n; i++) {
+                RigidBody body = mBullet.getMovedBody(i);
+                GVRSceneObject sceneObject = rigidBodiesSceneMap.get(body);
+                if (sceneObject == null) {
+                    continue;
+                }
                 if (body.geometry.shape.getType() == ShapeType.SPHERE_SHAPE_PROXYTYPE
                         || body.geometry.shape.getType() == ShapeType.CYLINDER_SHAPE_PROXYTYPE) {
-                    rigidBodiesSceneMap
-                            .get(body)
+                    sceneObject
                             .getTransform()
                             .setPosition(
                                     body.motionState.resultSimulation.originPoint.x,
@@ -197,14 +201,13 @@ public class BulletSampleMain extends GVRMain {
                 }
                 if (body.geometry.shape.getType() == ShapeType.CYLINDER_SHAPE_PROXYTYPE) {
                     if (body.motionState.resultSimulation.originPoint.y < 1.9f) {
-                        Quaternionf quaternion = new Quaternionf();
-                        Float value = (Float) rigidBodiesSceneMap.get(body).getTag();
+                        Float value = (Float) sceneObject.getTag();
                         if(value == null) {
                             value = 20.0f * body.motionState.resultSimulation.originPoint.x;
-                            rigidBodiesSceneMap.get(body).setTag(value);
-                            rigidBodiesSceneMap.get(body).getTransform().setRotation(1.0f,0.0f,0.0f,0.0f);
-                            rigidBodiesSceneMap.get(body).getTransform().rotateByAxis(90.0f, 1.0f, 0.0f, 0.0f);
-                            rigidBodiesSceneMap.get(body).getTransform().rotateByAxis(value, 0.0f, 1.0f, 0.0f);
+                            sceneObject.setTag(value);
+                            sceneObject.getTransform().setRotation(1.0f,0.0f,0.0f,0.0f);
+                            sceneObject.getTransform().rotateByAxis(90.0f, 1.0f, 0.0f, 0.0f);
+                            sceneObject.getTransform().rotateByAxis(value, 0.0f, 1.0f, 0.0f);
                             count++;
                             totalScore++;
 
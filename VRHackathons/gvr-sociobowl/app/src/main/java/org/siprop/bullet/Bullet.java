@@ -33,6 +33,7 @@ public class Bullet {
 	private Map<Integer, PhysicsWorld> physicsWorlds = new HashMap<Integer, PhysicsWorld>();
 	private Map<Integer, Geometry> geometries = new HashMap<Integer, Geometry>();
 	private Map<Integer, RigidBody> rigidBodies = new HashMap<Integer, RigidBody>();
+	private RigidBodyTable bodyTable = new RigidBodyTable();
 	
 	// PhysicsWorld
 	private PhysicsWorld defaultPhysicsWorld;
@@ -128,6 +129,27 @@ public class Bullet {
 	
 	
 	// RigidBody
+	public RigidBody getRigidBody(int id) {
+		return bodyTable.get(id);
+	}
+	public RigidBodyTable getRigidBodyTable() {
+		return bodyTable;
+	}
+	
+	/**
+	 * Number of bodies whose transform changed in the last doSimulation.
+	 * Bodies which are asleep or at rest are not counted.
+	 */
+	public int getMovedBodyCount() {
+		return bodyTable.getMovedCount();
+	}
+	/**
+	 * @param index 0 .. getMovedBodyCount() - 1
+	 */
+	public RigidBody getMovedBody(int index) {
+		return bodyTable.getMoved(index);
+	}
+	
 	public RigidBody createAndAddRigidBody(Geometry geometry,
 										   MotionState motionState) {
 		return createAndAddRigidBody(defaultPhysicsWorld, geometry, motionState);
@@ -143,6 +165,7 @@ public class Bullet {
 		rigidBody.id = createAndAddRigidBody(physicsWorld.id, rigidBody);
 		
 		rigidBodies.put(rigidBody.id , rigidBody);
+		bodyTable.put(rigidBody);
 		
 		return rigidBody;
 	}
@@ -150,6 +173,7 @@ public class Bullet {
 		rigidBody.physicsWorldId = defaultPhysicsWorld.id;
 		rigidBody.id = createAndAddRigidBody(rigidBody.physicsWorldId, rigidBody);
 		rigidBodies.put(rigidBody.id , rigidBody);
+		bodyTable.put(rigidBody);
 		return rigidBody;
 	}
 	public native int createAndAddRigidBody(int physicsWorldId, RigidBody rigidBody);
@@ -160,6 +184,7 @@ public class Bullet {
 			removeRigidBody(body.physicsWorldId, body);
 			body.physicsWorldId = 0;
 			rigidBodies.remove(body.id);
+			bodyTable.remove(body.id);
 		//}
 	}
 	public native void removeRigidBody(int worldID, RigidBody body);	
@@ -234,14 +259,14 @@ public class Bullet {
 		return doSimulation(defaultPhysicsWorld, execTime, count);
 	}
 	public Map<Integer, RigidBody> doSimulation(PhysicsWorld physicsWorld, float execTime, int count) {
-		doSimulationNative(physicsWorld.id, execTime, count);
+		simulate(physicsWorld, execTime, count);
 		return rigidBodies;
 	}
 	public Map<Integer, RigidBody> doSimulationWithCallback(ResultSimulationCallback resultCallback, float execTime, int count) {
 		return doSimulationWithCallback(resultCallback, defaultPhysicsWorld, execTime, count);
 	}
 	public Map<Integer, RigidBody> doSimulationWithCallback(ResultSimulationCallback resultCallback, PhysicsWorld physicsWorld, float execTime, int count) {
-		doSimulationNative(physicsWorld.id, execTime, count);
+		simulate(physicsWorld, execTime, count);
 		if(resultCallback != null) {
 			resultCallback.resultSimulation(rigidBodies);
 		}
@@ -249,8 +274,13 @@ public class Bullet {
 	}
 	private native int doSimulationNative(int worldId, float execTime, int count); 
 
+	private void simulate(PhysicsWorld physicsWorld, float execTime, int count) {
+		bodyTable.beginStep();
+		doSimulationNative(physicsWorld.id, execTime, count);
+	}
+
 	private void resultSimulation(int rigidBodyID, int shapeType, float[] rot, float[] pos, float[] shapeOption) {
-		RigidBody body = rigidBodies.get(rigidBodyID);
+		RigidBody body = bodyTable.get(rigidBodyID);
 		if(body == null) {
 			Log.d("resultSimulation", "body is null.");
 			return;
@@ -263,6 +293,13 @@ public class Bullet {
 			Log.d("resultSimulation", "pos is " + pos.length);
 			return;
 		}
+		Transform result = body.motionState.resultSimulation;
+		if(result.originPoint.x != pos[0] || result.originPoint.y != pos[1] || result.originPoint.z != pos[2]
+				|| result.basis.xx != rot[0] || result.basis.xy != rot[1] || result.basis.xz != rot[2]
+				|| result.basis.yx != rot[3] || result.basis.yy != rot[4] || result.basis.yz != rot[5]
+				|| result.basis.zx != rot[6] || result.basis.zy != rot[7] || result.basis.zz != rot[8]) {
+			bodyTable.markMoved(rigidBodyID);
+		}
 		body.motionState.resultSimulation.basis.xx = rot[0];
 		body.motionState.resultSimulation.basis.xy = rot[1];
 		body.motionState.resultSimulation.basis.xz = rot[2];
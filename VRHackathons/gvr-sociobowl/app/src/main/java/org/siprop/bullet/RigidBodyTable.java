@@ -0,0 +1,139 @@
+/*
+Bullet Continuous Collision Detection and Physics Library for Android NDK
+Copyright (c) 2006-2009 Noritsuna Imamura  http://www.siprop.org/
+
+This software is provided 'as-is', without any express or implied warranty.
+In no event will the authors be held liable for any damages arising from the use of this software.
+Permission is granted to anyone to use this software for any purpose,
+including commercial applications, and to alter it and redistribute it freely,
+subject to the following restrictions:
+
+1. The origin of this software must not be misrepresented; you must not claim that you wrote the original software. If you use this software in a product, an acknowledgment in the product documentation would be appreciated but is not required.
+2. Altered source versions must be plainly marked as such, and must not be misrepresented as being the original software.
+3. This notice may not be removed or altered from any source distribution.
+*/
+package org.siprop.bullet;
+
+import java.util.Arrays;
+
+/**
+ * Rigid bodies indexed directly by their native id.
+ * 
+ * Lookups are an array access, so the id is never boxed. The table also
+ * keeps the list of bodies whose transform changed in the current step;
+ * sleeping bodies are left off it.
+ */
+public class RigidBodyTable {
+
+	private static final int MIN_CAPACITY = 64;
+
+	private RigidBody[] bodies = new RigidBody[MIN_CAPACITY];
+	private int size = 0;
+
+	private int[] moved = new int[MIN_CAPACITY];
+	private boolean[] movedFlags = new boolean[MIN_CAPACITY];
+	private int movedCount = 0;
+
+	public RigidBody get(int id) {
+		if(id < 0 || id >= bodies.length) {
+			return null;
+		}
+		return bodies[id];
+	}
+
+	public void put(RigidBody body) {
+		if(body.id < 0) {
+			return;
+		}
+		ensureCapacity(body.id + 1);
+		if(bodies[body.id] == null) {
+			size++;
+		}
+		bodies[body.id] = body;
+	}
+
+	public void remove(int id) {
+		if(id < 0 || id >= bodies.length || bodies[id] == null) {
+			return;
+		}
+		bodies[id] = null;
+		size--;
+		if(movedFlags[id]) {
+			movedFlags[id] = false;
+			for(int i = 0; i < movedCount; i++) {
+				if(moved[i] == id) {
+					moved[i] = moved[--movedCount];
+					break;
+				}
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * One past the highest id the table can hold without growing.
+	 * Iterate 0 .. capacity() - 1 and skip null entries to visit every body.
+	 */
+	public int capacity() {
+		return bodies.length;
+	}
+
+	/**
+	 * Forget which bodies moved in the previous step.
+	 */
+	public void beginStep() {
+		for(int i = 0; i < movedCount; i++) {
+			movedFlags[moved[i]] = false;
+		}
+		movedCount = 0;
+	}
+
+	public void markMoved(int id) {
+		if(id < 0 || id >= bodies.length || bodies[id] == null || movedFlags[id]) {
+			return;
+		}
+		movedFlags[id] = true;
+		moved[movedCount++] = id;
+	}
+
+	public boolean hasMoved(int id) {
+		return id >= 0 && id < movedFlags.length && movedFlags[id];
+	}
+
+	/**
+	 * Number of bodies which moved in the last step.
+	 */
+	public int getMovedCount() {
+		return movedCount;
+	}
+
+	/**
+	 * @param index 0 .. getMovedCount() - 1
+	 */
+	public RigidBody getMoved(int index) {
+		return bodies[moved[index]];
+	}
+
+	public void clear() {
+		Arrays.fill(bodies, null);
+		Arrays.fill(movedFlags, false);
+		size = 0;
+		movedCount = 0;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if(capacity <= bodies.length) {
+			return;
+		}
+		int newCapacity = bodies.length;
+		while(newCapacity < capacity) {
+			newCapacity *= 2;
+		}
+		bodies = Arrays.copyOf(bodies, newCapacity);
+		moved = Arrays.copyOf(moved, newCapacity);
+		movedFlags = Arrays.copyOf(movedFlags, newCapacity);
+	}
+}
@@ -21,9 +21,9 @@ import org.gearvrf.GVRSceneObject;
 import org.gearvrf.GVRScript;
 import org.gearvrf.GVRTexture;
 import org.gearvrf.GVRTransform;
-import org.gearvrf.ZipLoader;
 import org.gearvrf.animation.GVRAnimation;
 import org.gearvrf.animation.GVRAnimationEngine;
+import org.gearvrf.animation.GVROnFinish;
 import org.gearvrf.animation.GVRRelativeMotionAnimation;
 import org.gearvrf.animation.GVRRepeatMode;
 import org.gearvrf.animation.GVRRotationByAxisAnimation;
@@ -47,8 +47,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.Future;
 
 public class FEViewManager extends GVRScript {
@@ -65,11 +63,15 @@ public class FEViewManager extends GVRScript {
     private RigidBody boxBody;
     private Boolean gameStart = false;
     private Map<RigidBody, GVRSceneObject> rigidBodiesSceneMap = new HashMap<RigidBody, GVRSceneObject>();
-    private Timer timer;
+    private FrameScheduler mScheduler = new FrameScheduler();
+    private FrameScheduler.Task mThrowTask;
+    private FlyingItemPool mItemPool;
     private GameStateMachine gameState;
     private GVRSceneObject homeButton, pauseButton, timerButton;
     private Player ovrEater;
     private Boolean isBGAudioOnce = false;
+    private ResourceCache mResources;
+    private Boolean isMouthOpen = null;
 
 	private GVRSceneObject asyncSceneObject(GVRContext context, String meshName, String textureName)
 			throws IOException {
@@ -104,6 +106,18 @@ public class FEViewManager extends GVRScript {
 
         ovrEater = new Player();
 
+        // everything the game loop uses is loaded up front
+        mResources = new ResourceCache(context);
+        for (String[] item : OverEatObjects) {
+            mResources.preloadMesh(item[0]);
+            mResources.preloadTexture(item[1]);
+        }
+        mResources.preloadTexture("mouth_open.png");
+        mResources.preloadTexture("mouth_close.png");
+        mResources.preloadAnimation("explode_.zip");
+        mResources.preloadAnimation("splat.zip");
+        mItemPool = new FlyingItemPool(OverEatObjects.length, MAX_POOLED_ITEMS);
+
         mainSceneObject = new GVRSceneObject(context);
         mMainScene.addSceneObject(mainSceneObject);
         mMainScene.getMainCameraRig().getTransform().setPosition(0.0f, 6.0f, 8.0f);
@@ -199,11 +213,12 @@ public class FEViewManager extends GVRScript {
 	}
 
     private int MAX_THROW = 15;
+    private static final int MAX_POOLED_ITEMS = 128;
+    private static final float BROAD_PHASE_RADIUS = 2.0f;
 
     private void _throwObject()
     {
-        Timer timer = new Timer();
-        TimerTask task = new TimerTask()
+        Runnable task = new Runnable()
         {
             public void run() {
                 try {
@@ -220,9 +235,12 @@ public class FEViewManager extends GVRScript {
         int THROW_OBJECT_RATE_MAX = 4 * 1000;
         int THROW_OBJECT_DELAY_MIN = 1 * 1000;
         int THROW_OBJECT_DELAY_MAX = 4 * 1000;
-        timer.scheduleAtFixedRate(task,
-                Helper.randomInRange(THROW_OBJECT_DELAY_MIN, THROW_OBJECT_DELAY_MAX),
-                Helper.randomInRange(THROW_OBJECT_RATE_MIN, THROW_OBJECT_RATE_MAX));
+        if (mThrowTask != null) {
+            mThrowTask.cancel();
+        }
+        mThrowTask = mScheduler.scheduleAtFixedRate(task,
+                Helper.randomInRange(THROW_OBJECT_DELAY_MIN, THROW_OBJECT_DELAY_MAX) / 1000.0f,
+                Helper.randomInRange(THROW_OBJECT_RATE_MIN, THROW_OBJECT_RATE_MAX) / 1000.0f);
 
         //timeElapsed = System.currentTimeMillis();
     }
@@ -246,8 +264,15 @@ public class FEViewManager extends GVRScript {
     public void throwAnObject() throws IOException {
         if(!ovrEater.isDead()) {
             int rand_index = Helper.randomNextInt(OverEatObjects.length);
-            GVRSceneObject object = asyncSceneObject(mGVRContext, OverEatObjects[rand_index][0], OverEatObjects[rand_index][1]);
-            FlyingItem item = new FlyingItem(OverEatObjects[rand_index][2], object);
+            FlyingItem item = mItemPool.obtain(rand_index);
+            if (item == null) {
+                GVRSceneObject object = new GVRSceneObject(mGVRContext,
+                        mResources.acquireMesh(OverEatObjects[rand_index][0]),
+                        mResources.acquireTexture(OverEatObjects[rand_index][1]));
+                item = new FlyingItem(OverEatObjects[rand_index][2], rand_index, object);
+            }
+            GVRSceneObject object = item.getSceneObject();
+            item.setCurrentStatus(FlyingItem.ItemStatus.IN_MOTION);
             object.getTransform().setPosition(
                     Helper.randomInRangeFloat(MIN_GAME_WIDTH, MAX_GAME_WIDTH),
                     Helper.randomInRangeFloat(MIN_GAME_HEIGHT_START, MAX_GAME_HEIGHT_START),
@@ -255,11 +280,11 @@ public class FEViewManager extends GVRScript {
             mainSceneObject.addChildObject(object);
             mObjects.add(item);
 
-            relativeMotionAnimation(object,
+            item.setAnimation(relativeMotionAnimation(object,
                     Helper.randomInRange(MIN_SPEED, MAX_SPEED),
                     0,
                     0,
-                    -(object.getTransform().getPositionZ() - 10));
+                    -(object.getTransform().getPositionZ() - 10)));
         }
     }
 
@@ -268,53 +293,74 @@ public class FEViewManager extends GVRScript {
         if(ovrEater.isDead() && gameState.getStatus() == GameStateMachine.GameStatus.STATE_GAME_IN_PROGRESS) {
             playerDead();
         } else if(gameState.getStatus() == GameStateMachine.GameStatus.STATE_GAME_IN_PROGRESS) {
-            for (int i = 0; i < mObjects.size(); i++) {
-                try {
-                    headTracker.getRenderData().getMaterial().setMainTexture(
-                            mGVRContext.loadFutureTexture(new GVRAndroidResource(mGVRContext, "mouth_open.png")));
-                } catch (IOException e) {
-                    e.printStackTrace();
+            mResources.beginFrame();
+            mScheduler.tick(mGVRContext.getFrameTime());
+            if (!mObjects.isEmpty()) {
+                setMouthOpen(true);
+            }
+
+            // broad phase: only items near the mouth get the mesh collision test
+            float headX = 0, headY = 0, headZ = 0;
+            if (headTracker != null && !mObjects.isEmpty()) {
+                float[] head = headTracker.getTransform().getModelMatrix();
+                headX = head[12];
+                headY = head[13];
+                headZ = head[14];
+            }
+            float cameraZ = mMainScene.getMainCameraRig().getTransform().getPositionZ();
+
+            for (int i = mObjects.size() - 1; i >= 0; i--) {
+                FlyingItem item = mObjects.get(i);
+                GVRSceneObject object = item.getSceneObject();
+                float x = object.getTransform().getPositionX();
+                float y = object.getTransform().getPositionY();
+                float z = object.getTransform().getPositionZ();
+
+                if (z > cameraZ) {
+                    removeItem(i);
+                    continue;
+                }
+                float dz = z - headZ;
+                if (dz > BROAD_PHASE_RADIUS || dz < -BROAD_PHASE_RADIUS) {
+                    continue;
+                }
+                float dx = x - headX;
+                float dy = y - headY;
+                if (dx * dx + dy * dy + dz * dz > BROAD_PHASE_RADIUS * BROAD_PHASE_RADIUS) {
+                    continue;
                 }
-                if (mObjects.get(i) != null && mObjects.get(i).getSceneObject().getRenderData().getMesh() != null) {
-                    if (mObjects.get(i).getSceneObject().isColliding(headTracker)) {
-                        //Log.e(TAG, "mObjects.get(i).getName: Penke " + mObjects.get(i).getName() + "score" + ovrEater.getCurrentScore());
-                        if (mObjects.get(i).getName().compareTo("bomb") == 0) {
-                            animateTextures("explode_.zip", mObjects.get(i).getSceneObject());
-                            ovrEater.loseALife();
-                            AudioClip.getInstance(mGVRContext.getContext()).
-                                    playSound(AudioClip.getUISoundGrenadeID(), 1.0f, 1.0f);
-                            Log.e(TAG, "remaining Lives Penke " + ovrEater.getNumLivesRemaining());
-                        } else if (mObjects.get(i).getName().compareTo("hamburger") == 0) {
-                            animateTextures("splat.zip", mObjects.get(i).getSceneObject());
-                            AudioClip.getInstance(mGVRContext.getContext()).
-                                    playSound(AudioClip.getUISoundEatID(), 1.0f, 1.0f);
-                            ovrEater.incrementScore(50);
-                        } else if (mObjects.get(i).getName().compareTo("hotdog") == 0) {
-                            ovrEater.incrementScore(30);
-                        } else if (mObjects.get(i).getName().compareTo("sodacan") == 0) {
-                            AudioClip.getInstance(mGVRContext.getContext()).
-                                    playSound(AudioClip.getUISoundDrinkID(), 1.0f, 1.0f);
-                            ovrEater.incrementScore(10);
-                        }
-                        scoreTextMessageObject.setText(String.format("%03d", ovrEater.getCurrentScore()));
-                        livesTextMessageObject.setText("Lives: " + ovrEater.getNumLivesRemaining());
-                        mainSceneObject.removeChildObject(mObjects.get(i).getSceneObject());
-                        mObjects.remove(i);
-                        try {
-                            headTracker.getRenderData().getMaterial().setMainTexture(
-                                    mGVRContext.loadFutureTexture(new GVRAndroidResource(mGVRContext, "mouth_close.png")));
-                        } catch (IOException e) {
-                            e.printStackTrace();
-                        }
-                    } else if (mObjects.get(i).getSceneObject().getTransform().getPositionZ() >
-                            mMainScene.getMainCameraRig().getTransform().getPositionZ()) {
-                        mainSceneObject.removeChildObject(mObjects.get(i).getSceneObject());
-                        mObjects.remove(i);
+                if (object.getRenderData().getMesh() != null && object.isColliding(headTracker)) {
+                    String name = item.getName();
+                    //Log.e(TAG, "mObjects.get(i).getName: Penke " + name + "score" + ovrEater.getCurrentScore());
+                    if (name.compareTo("bomb") == 0) {
+                        animateTextures("explode_.zip", object);
+                        ovrEater.loseALife();
+                        AudioClip.getInstance(mGVRContext.getContext()).
+                                playSound(AudioClip.getUISoundGrenadeID(), 1.0f, 1.0f);
+                        Log.e(TAG, "remaining Lives Penke " + ovrEater.getNumLivesRemaining());
+                    } else if (name.compareTo("hamburger") == 0) {
+                        animateTextures("splat.zip", object);
+                        AudioClip.getInstance(mGVRContext.getContext()).
+                                playSound(AudioClip.getUISoundEatID(), 1.0f, 1.0f);
+                        ovrEater.incrementScore(50);
+                    } else if (name.compareTo("hotdog") == 0) {
+                        ovrEater.incrementScore(30);
+                    } else if (name.compareTo("sodacan") == 0) {
+                        AudioClip.getInstance(mGVRContext.getContext()).
+                                playSound(AudioClip.getUISoundDrinkID(), 1.0f, 1.0f);
+                        ovrEater.incrementScore(10);
                     }
-
+                    scoreTextMessageObject.setText(String.format("%03d", ovrEater.getCurrentScore()));
+                    livesTextMessageObject.setText("Lives: " + ovrEater.getNumLivesRemaining());
+                    removeItem(i);
+                    setMouthOpen(false);
                 }
             }
 
+            if (mResources.getFrameMisses() > 0) {
+                Log.d(TAG, "asset loads in game loop: %s", mResources);
+            }
+
             mMainScene.getMainCameraRig()
                     .getTransform()
                     .setPosition(getXLinearDistance(
@@ -324,16 +370,50 @@ public class FEViewManager extends GVRScript {
         }
 	}
 
-    private void animateTextures(String assetName, GVRSceneObject object) {
+    /*
+     * Take an item out of the scene and back to the pool. The list is
+     * unordered, so the last item is moved into the gap.
+     */
+    private void removeItem(int index) {
+        FlyingItem item = mObjects.get(index);
+        int last = mObjects.size() - 1;
+        mObjects.set(index, mObjects.get(last));
+        mObjects.remove(last);
+
+        mainSceneObject.removeChildObject(item.getSceneObject());
+        if (item.getAnimation() != null) {
+            mAnimationEngine.stop(item.getAnimation());
+            item.setAnimation(null);
+        }
+        if (!mItemPool.recycle(item)) {
+            releaseItem(item);
+        }
+    }
+
+    private void releaseItem(FlyingItem item) {
+        mResources.releaseMesh(OverEatObjects[item.getType()][0]);
+        mResources.releaseTexture(OverEatObjects[item.getType()][1]);
+    }
+
+    private void setMouthOpen(boolean open) {
+        if (headTracker == null || (isMouthOpen != null && isMouthOpen == open)) {
+            return;
+        }
+        try {
+            headTracker.getRenderData().getMaterial().setMainTexture(
+                    mResources.acquireTexture(open ? "mouth_open.png" : "mouth_close.png"));
+            if (isMouthOpen != null) {
+                mResources.releaseTexture(isMouthOpen ? "mouth_open.png" : "mouth_close.png");
+            }
+            isMouthOpen = open;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void animateTextures(final String assetName, GVRSceneObject object) {
         try {
-            List<Future<GVRTexture>> loaderTextures = ZipLoader.load(mGVRContext,
-                    assetName, new ZipLoader.ZipEntryProcessor<Future<GVRTexture>>() {
-                        @Override
-                        public Future<GVRTexture> getItem(GVRContext context, GVRAndroidResource
-                                resource) {
-                            return context.loadFutureTexture(resource);
-                        }
-                    });
+            List<Future<GVRTexture>> loaderTextures = mResources.acquireAnimation(assetName);
 
             GVRSceneObject loadingObject = new GVRSceneObject(mGVRContext, 1.0f, 1.0f);
 
@@ -346,6 +426,12 @@ public class FEViewManager extends GVRScript {
                     loaderTextures);
             animation.setRepeatMode(GVRRepeatMode.ONCE);
             animation.setRepeatCount(-1);
+            animation.setOnFinish(new GVROnFinish() {
+                @Override
+                public void finished(GVRAnimation animation) {
+                    mResources.releaseAnimation(assetName);
+                }
+            });
             animation.start(mGVRContext.getAnimationEngine());
 
             loadingObject.getTransform().setPosition(
@@ -370,16 +456,22 @@ public class FEViewManager extends GVRScript {
         tapTOStart = setInfoMessage("Game Over   " + String
                 .format("Score : %d", ovrEater.getCurrentScore()) + "Click Back Button to Play Again");
         mainSceneObject.addChildObject(tapTOStart);
-        if(timer != null)
-            timer.cancel();
+        if(mThrowTask != null) {
+            mThrowTask.cancel();
+            mThrowTask = null;
+        }
     }
 
     private void showMouthPointer(Boolean enable) {
         if(enable) {
             // add head-tracking pointer
+            if (isMouthOpen != null) {
+                mResources.releaseTexture(isMouthOpen ? "mouth_open.png" : "mouth_close.png");
+            }
             try {
                 headTracker = new GVRSceneObject(mGVRContext, new FutureWrapper<GVRMesh>(mGVRContext.createQuad(0.5f, 0.5f)),
-                        mGVRContext.loadFutureTexture(new GVRAndroidResource(mGVRContext, "mouth_open.png")));
+                        mResources.acquireTexture("mouth_open.png"));
+                isMouthOpen = true;
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -493,8 +585,10 @@ public class FEViewManager extends GVRScript {
 	}
 	*/
 
-	private void relativeMotionAnimation(GVRSceneObject object, float duration, float x, float y, float z) {
-		runOnce(new GVRRelativeMotionAnimation(object, duration, x, y, z));
+	private GVRAnimation relativeMotionAnimation(GVRSceneObject object, float duration, float x, float y, float z) {
+		GVRAnimation animation = new GVRRelativeMotionAnimation(object, duration, x, y, z);
+		runOnce(animation);
+		return animation;
 	}
 
 	private void attachDefaultEyePointee(GVRSceneObject sceneObject) {
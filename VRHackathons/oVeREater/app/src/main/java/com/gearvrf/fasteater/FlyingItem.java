@@ -1,6 +1,7 @@
 package com.gearvrf.fasteater;
 
 import org.gearvrf.GVRSceneObject;
+import org.gearvrf.animation.GVRAnimation;
 
 /**
  * Created by b1.miller on 7/29/2016.
@@ -15,13 +16,20 @@ public class FlyingItem {
     }
 
     private String name;
+    private int type;
     private String assetFilename;
 
     private GVRSceneObject object;
+    private GVRAnimation animation;
     private ItemStatus currentStatus;
 
     public FlyingItem(String name, GVRSceneObject object) {
+        this(name, 0, object);
+    }
+
+    public FlyingItem(String name, int type, GVRSceneObject object) {
         this.name = name;
+        this.type = type;
         this.object = object;
         this.currentStatus = ItemStatus.HIDDEN;
     }
@@ -34,6 +42,13 @@ public class FlyingItem {
         this.name = name;
     }
 
+    /**
+     * Index of the item in the game's list of throwable objects.
+     */
+    public int getType() {
+        return type;
+    }
+
     public GVRSceneObject getSceneObject() {
         return object;
     }
@@ -42,6 +57,17 @@ public class FlyingItem {
         this.object = object;
     }
 
+    /**
+     * Animation currently moving the item, stopped when it is recycled.
+     */
+    public GVRAnimation getAnimation() {
+        return animation;
+    }
+
+    public void setAnimation(GVRAnimation animation) {
+        this.animation = animation;
+    }
+
     public ItemStatus getCurrentStatus() {
         return currentStatus;
     }
@@ -0,0 +1,59 @@
+package com.gearvrf.fasteater;
+
+import java.util.ArrayDeque;
+
+/**
+ * Recycled {@link FlyingItem}s, kept per item type so a thrown item can
+ * reuse a scene object which already has the right mesh and texture.
+ */
+public class FlyingItemPool {
+
+    private final ArrayDeque<FlyingItem>[] mFree;
+    private final int mMaxPerType;
+    private int mCreated;
+    private int mReused;
+
+    @SuppressWarnings("unchecked")
+    public FlyingItemPool(int numTypes, int maxPerType) {
+        mFree = new ArrayDeque[numTypes];
+        for (int i = 0; i < numTypes; i++) {
+            mFree[i] = new ArrayDeque<FlyingItem>();
+        }
+        mMaxPerType = maxPerType;
+    }
+
+    /**
+     * @return a hidden item of the given type or null if none is free
+     */
+    public FlyingItem obtain(int type) {
+        FlyingItem item = mFree[type].poll();
+        if (item == null) {
+            ++mCreated;
+        } else {
+            ++mReused;
+        }
+        return item;
+    }
+
+    /**
+     * Return an item which is no longer in the scene.
+     * @return false if the pool for this type is full and the item was not kept
+     */
+    public boolean recycle(FlyingItem item) {
+        item.setCurrentStatus(FlyingItem.ItemStatus.HIDDEN);
+        ArrayDeque<FlyingItem> free = mFree[item.getType()];
+        if (free.size() >= mMaxPerType) {
+            return false;
+        }
+        free.push(item);
+        return true;
+    }
+
+    public int getCreated() {
+        return mCreated;
+    }
+
+    public int getReused() {
+        return mReused;
+    }
+}
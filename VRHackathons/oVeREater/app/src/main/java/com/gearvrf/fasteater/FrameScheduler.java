@@ -0,0 +1,105 @@
+package com.gearvrf.fasteater;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs delayed and repeating tasks from the game loop.
+ *
+ * Time only advances when {@link #tick(float)} is called from onStep, so
+ * tasks run on the GL thread, in step with the frames, and stop while
+ * the game is not stepping. Replaces one java.util.Timer thread per task.
+ * Tasks may be scheduled or cancelled from any thread.
+ */
+public class FrameScheduler {
+
+    public class Task {
+        private final Runnable runnable;
+        private final float period;
+        private float due;
+        private boolean cancelled;
+
+        Task(Runnable runnable, float due, float period) {
+            this.runnable = runnable;
+            this.due = due;
+            this.period = period;
+        }
+
+        public void cancel() {
+            synchronized (FrameScheduler.this) {
+                cancelled = true;
+            }
+        }
+
+        public boolean isCancelled() {
+            synchronized (FrameScheduler.this) {
+                return cancelled;
+            }
+        }
+    }
+
+    private final List<Task> mTasks = new ArrayList<Task>();
+    private final List<Task> mAdded = new ArrayList<Task>();
+    private float mTime = 0.0f;
+
+    /**
+     * Run a task once after the delay, in seconds.
+     */
+    public synchronized Task schedule(Runnable runnable, float delay) {
+        return add(new Task(runnable, mTime + delay, 0.0f));
+    }
+
+    /**
+     * Run a task after the delay and then every period, in seconds.
+     */
+    public synchronized Task scheduleAtFixedRate(Runnable runnable, float delay, float period) {
+        return add(new Task(runnable, mTime + delay, period));
+    }
+
+    /**
+     * Advance the clock by one frame and run every task which came due.
+     * A repeating task runs at most once per tick.
+     */
+    public synchronized void tick(float frameTime) {
+        mTime += frameTime;
+        if (!mAdded.isEmpty()) {
+            mTasks.addAll(mAdded);
+            mAdded.clear();
+        }
+        for (int i = mTasks.size() - 1; i >= 0; i--) {
+            Task task = mTasks.get(i);
+            if (!task.cancelled && task.due <= mTime) {
+                task.runnable.run();
+                if (task.period > 0.0f) {
+                    task.due = Math.max(task.due + task.period, mTime);
+                } else {
+                    task.cancelled = true;
+                }
+            }
+            if (task.cancelled) {
+                int last = mTasks.size() - 1;
+                mTasks.set(i, mTasks.get(last));
+                mTasks.remove(last);
+            }
+        }
+    }
+
+    public synchronized void cancelAll() {
+        for (Task task : mTasks) {
+            task.cancel();
+        }
+        for (Task task : mAdded) {
+            task.cancel();
+        }
+    }
+
+    public synchronized float getTime() {
+        return mTime;
+    }
+
+    private Task add(Task task) {
+        // tasks scheduled while ticking start with the next tick
+        mAdded.add(task);
+        return task;
+    }
+}
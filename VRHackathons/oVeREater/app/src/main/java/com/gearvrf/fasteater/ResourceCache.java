@@ -0,0 +1,227 @@
+package com.gearvrf.fasteater;
+
+import org.gearvrf.GVRAndroidResource;
+import org.gearvrf.GVRContext;
+import org.gearvrf.GVRMesh;
+import org.gearvrf.GVRTexture;
+import org.gearvrf.ZipLoader;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * Meshes, textures and texture animations loaded from assets, keyed by
+ * asset name and shared between scene objects.
+ *
+ * Everything the game loop needs is preloaded when the game scene is
+ * built, so that throwing items and playing hit animations only look
+ * entries up. Preloaded entries stay pinned; other entries are reference
+ * counted and dropped by {@link #trim()} once nothing uses them.
+ *
+ * Hits and misses are counted overall and for the current frame, a miss
+ * being an asset load.
+ */
+public class ResourceCache {
+
+    private static class Entry<T> {
+        final T resource;
+        int refs;
+        boolean pinned;
+
+        Entry(T resource) {
+            this.resource = resource;
+        }
+    }
+
+    private final GVRContext mContext;
+    private final Map<String, Entry<Future<GVRMesh>>> mMeshes = new HashMap<String, Entry<Future<GVRMesh>>>();
+    private final Map<String, Entry<Future<GVRTexture>>> mTextures = new HashMap<String, Entry<Future<GVRTexture>>>();
+    private final Map<String, Entry<List<Future<GVRTexture>>>> mAnimations = new HashMap<String, Entry<List<Future<GVRTexture>>>>();
+
+    private long mHits;
+    private long mMisses;
+    private int mFrameHits;
+    private int mFrameMisses;
+
+    public ResourceCache(GVRContext context) {
+        mContext = context;
+    }
+
+    public synchronized void preloadMesh(String name) throws IOException {
+        meshEntry(name).pinned = true;
+    }
+
+    public synchronized void preloadTexture(String name) throws IOException {
+        textureEntry(name).pinned = true;
+    }
+
+    public synchronized void preloadAnimation(String zipName) throws IOException {
+        animationEntry(zipName).pinned = true;
+    }
+
+    /**
+     * Get a mesh, loading it on first use. Pair with {@link #releaseMesh(String)}.
+     */
+    public synchronized Future<GVRMesh> acquireMesh(String name) throws IOException {
+        Entry<Future<GVRMesh>> entry = meshEntry(name);
+        ++entry.refs;
+        return entry.resource;
+    }
+
+    /**
+     * Get a texture, loading it on first use. Pair with {@link #releaseTexture(String)}.
+     */
+    public synchronized Future<GVRTexture> acquireTexture(String name) throws IOException {
+        Entry<Future<GVRTexture>> entry = textureEntry(name);
+        ++entry.refs;
+        return entry.resource;
+    }
+
+    /**
+     * Get the frames of a zipped texture animation, loading them on first
+     * use. Pair with {@link #releaseAnimation(String)}.
+     */
+    public synchronized List<Future<GVRTexture>> acquireAnimation(String zipName) throws IOException {
+        Entry<List<Future<GVRTexture>>> entry = animationEntry(zipName);
+        ++entry.refs;
+        return entry.resource;
+    }
+
+    public synchronized void releaseMesh(String name) {
+        release(mMeshes.get(name));
+    }
+
+    public synchronized void releaseTexture(String name) {
+        release(mTextures.get(name));
+    }
+
+    public synchronized void releaseAnimation(String zipName) {
+        release(mAnimations.get(zipName));
+    }
+
+    /**
+     * Drop entries which are neither preloaded nor referenced.
+     * @return number of entries removed
+     */
+    public synchronized int trim() {
+        return trim(mMeshes) + trim(mTextures) + trim(mAnimations);
+    }
+
+    /**
+     * Start counting hits and misses for a new frame.
+     */
+    public synchronized void beginFrame() {
+        mFrameHits = 0;
+        mFrameMisses = 0;
+    }
+
+    public synchronized int getFrameHits() {
+        return mFrameHits;
+    }
+
+    public synchronized int getFrameMisses() {
+        return mFrameMisses;
+    }
+
+    public synchronized long getHits() {
+        return mHits;
+    }
+
+    public synchronized long getMisses() {
+        return mMisses;
+    }
+
+    public synchronized float getHitRate() {
+        long total = mHits + mMisses;
+        return total == 0 ? 1.0f : (float) mHits / total;
+    }
+
+    public synchronized int size() {
+        return mMeshes.size() + mTextures.size() + mAnimations.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("resources %d hits %d misses %d (%.1f%%) frame hits %d misses %d",
+                size(), mHits, mMisses, getHitRate() * 100.0f, mFrameHits, mFrameMisses);
+    }
+
+    private Entry<Future<GVRMesh>> meshEntry(String name) throws IOException {
+        Entry<Future<GVRMesh>> entry = mMeshes.get(name);
+        if (entry == null) {
+            miss();
+            entry = new Entry<Future<GVRMesh>>(
+                    mContext.loadFutureMesh(new GVRAndroidResource(mContext, name)));
+            mMeshes.put(name, entry);
+        } else {
+            hit();
+        }
+        return entry;
+    }
+
+    private Entry<Future<GVRTexture>> textureEntry(String name) throws IOException {
+        Entry<Future<GVRTexture>> entry = mTextures.get(name);
+        if (entry == null) {
+            miss();
+            entry = new Entry<Future<GVRTexture>>(
+                    mContext.loadFutureTexture(new GVRAndroidResource(mContext, name)));
+            mTextures.put(name, entry);
+        } else {
+            hit();
+        }
+        return entry;
+    }
+
+    private Entry<List<Future<GVRTexture>>> animationEntry(String zipName) throws IOException {
+        Entry<List<Future<GVRTexture>>> entry = mAnimations.get(zipName);
+        if (entry == null) {
+            miss();
+            List<Future<GVRTexture>> frames = ZipLoader.load(mContext, zipName,
+                    new ZipLoader.ZipEntryProcessor<Future<GVRTexture>>() {
+                        @Override
+                        public Future<GVRTexture> getItem(GVRContext context,
+                                GVRAndroidResource resource) {
+                            return context.loadFutureTexture(resource);
+                        }
+                    });
+            entry = new Entry<List<Future<GVRTexture>>>(frames);
+            mAnimations.put(zipName, entry);
+        } else {
+            hit();
+        }
+        return entry;
+    }
+
+    private void hit() {
+        ++mHits;
+        ++mFrameHits;
+    }
+
+    private void miss() {
+        ++mMisses;
+        ++mFrameMisses;
+    }
+
+    private static void release(Entry<?> entry) {
+        if (entry != null && entry.refs > 0) {
+            --entry.refs;
+        }
+    }
+
+    private static <T> int trim(Map<String, Entry<T>> map) {
+        int removed = 0;
+        Iterator<Entry<T>> it = map.values().iterator();
+        while (it.hasNext()) {
+            Entry<T> entry = it.next();
+            if (!entry.pinned && entry.refs == 0) {
+                it.remove();
+                ++removed;
+            }
+        }
+        return removed;
+    }
+}
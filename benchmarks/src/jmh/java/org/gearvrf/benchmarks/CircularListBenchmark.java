@@ -0,0 +1,75 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.gearvrf.keyboard.util.CircularList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Index math used by the keyboard spinner. SpinnerAdapter moves the
+ * central character and spinner slot one step per 45 degrees of
+ * rotation and looks up the item which scrolls into view.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CircularListBenchmark {
+
+    private static final int SPINNER_ITEM_SIZE = 8;
+    private static final int CHARACTER_COUNT = 42;
+
+    private CircularList<String> spinnerItems;
+    private CircularList<String> characters;
+    private int centralPosition;
+    private int centralPositionCharacter;
+
+    @Setup
+    public void setup() {
+        spinnerItems = new CircularList<String>(new ArrayList<String>());
+        characters = new CircularList<String>(new ArrayList<String>());
+        for (int i = 0; i < SPINNER_ITEM_SIZE; i++) {
+            spinnerItems.add("item" + i);
+        }
+        for (int i = 0; i < CHARACTER_COUNT; i++) {
+            characters.add(String.valueOf((char) ('A' + i)));
+        }
+    }
+
+    @Benchmark
+    public String spinUp() {
+        centralPositionCharacter = characters.getNextPosition(centralPositionCharacter);
+        centralPosition = spinnerItems.getNextPosition(centralPosition);
+        int upCharacterPosition = characters.getNextPosition(centralPositionCharacter + 2);
+        return characters.get(upCharacterPosition);
+    }
+
+    @Benchmark
+    public String spinDown() {
+        centralPositionCharacter = characters.getPreviousPosition(centralPositionCharacter);
+        centralPosition = spinnerItems.getPreviousPosition(centralPosition);
+        int downCharacterPosition = characters.getPreviousPosition(centralPositionCharacter - 2);
+        return characters.get(downCharacterPosition);
+    }
+}
@@ -0,0 +1,112 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.gearvrf.animation.GVRInterpolator;
+import org.gearvrf.controls.interpolators.Bounce;
+import org.gearvrf.controls.interpolators.CircularIn;
+import org.gearvrf.controls.interpolators.CircularOut;
+import org.gearvrf.controls.interpolators.ExpoIn;
+import org.gearvrf.controls.interpolators.ExpoOut;
+import org.gearvrf.controls.interpolators.QuadIn;
+import org.gearvrf.controls.interpolators.QuadOut;
+import org.gearvrf.keyboard.interpolator.ElasticInterpolator;
+import org.gearvrf.keyboard.interpolator.InterpolatorCubicEasyOut;
+import org.gearvrf.keyboard.interpolator.InterpolatorExpoEaseIn;
+import org.gearvrf.keyboard.interpolator.InterpolatorExpoEaseInOut;
+import org.gearvrf.keyboard.interpolator.InterpolatorExpoEaseOut;
+import org.gearvrf.keyboard.interpolator.InterpolatorQuadEasyOut;
+import org.gearvrf.keyboard.interpolator.InterpolatorQuartEasyOut;
+import org.gearvrf.keyboard.interpolator.InterpolatorQuintEasyOut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * mapRatio() is called once per animation per frame. Each run sweeps
+ * a full 0..1 ratio range in 60 steps, the length of a one second
+ * animation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterpolatorBenchmark {
+
+    private static final int STEPS = 60;
+
+    @Param({ "Bounce", "CircularIn", "CircularOut", "ExpoIn", "ExpoOut", "QuadIn", "QuadOut",
+            "Elastic", "CubicEasyOut", "ExpoEaseIn", "ExpoEaseInOut", "ExpoEaseOut",
+            "QuadEasyOut", "QuartEasyOut", "QuintEasyOut" })
+    public String interpolator;
+
+    private GVRInterpolator mInterpolator;
+
+    @Setup
+    public void setup() {
+        mInterpolator = create(interpolator);
+    }
+
+    private static GVRInterpolator create(String name) {
+        if (name.equals("Bounce")) {
+            return Bounce.getInstance();
+        } else if (name.equals("CircularIn")) {
+            return CircularIn.getInstance();
+        } else if (name.equals("CircularOut")) {
+            return CircularOut.getInstance();
+        } else if (name.equals("ExpoIn")) {
+            return ExpoIn.getInstance();
+        } else if (name.equals("ExpoOut")) {
+            return ExpoOut.getInstance();
+        } else if (name.equals("QuadIn")) {
+            return QuadIn.getInstance();
+        } else if (name.equals("QuadOut")) {
+            return QuadOut.getInstance();
+        } else if (name.equals("Elastic")) {
+            return ElasticInterpolator.getInstance();
+        } else if (name.equals("CubicEasyOut")) {
+            return InterpolatorCubicEasyOut.getInstance();
+        } else if (name.equals("ExpoEaseIn")) {
+            return InterpolatorExpoEaseIn.getInstance();
+        } else if (name.equals("ExpoEaseInOut")) {
+            return InterpolatorExpoEaseInOut.getInstance();
+        } else if (name.equals("ExpoEaseOut")) {
+            return InterpolatorExpoEaseOut.getInstance();
+        } else if (name.equals("QuadEasyOut")) {
+            return InterpolatorQuadEasyOut.getInstance();
+        } else if (name.equals("QuartEasyOut")) {
+            return InterpolatorQuartEasyOut.getInstance();
+        } else if (name.equals("QuintEasyOut")) {
+            return InterpolatorQuintEasyOut.getInstance();
+        }
+        throw new IllegalArgumentException("Unknown interpolator " + name);
+    }
+
+    @Benchmark
+    public float sweep() {
+        float sum = 0;
+        for (int i = 0; i <= STEPS; ++i) {
+            sum += mInterpolator.mapRatio((float) i / STEPS);
+        }
+        return sum;
+    }
+}
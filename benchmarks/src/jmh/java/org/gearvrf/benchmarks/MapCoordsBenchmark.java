@@ -0,0 +1,63 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import pw.ian.vrtransit.MapCoords;
+
+/**
+ * VRTransit projects every vehicle update onto the map plane.
+ * One op projects a full fleet of Constants.MAX_OBJECTS vehicles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapCoordsBenchmark {
+
+    private static final int FLEET_SIZE = 1000;
+
+    private float[] lats = new float[FLEET_SIZE];
+    private float[] lons = new float[FLEET_SIZE];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < FLEET_SIZE; ++i) {
+            lats[i] = MapCoords.MIN_LAT + random.nextFloat() * (MapCoords.MAX_LAT - MapCoords.MIN_LAT);
+            lons[i] = MapCoords.MIN_LON + random.nextFloat() * (MapCoords.MAX_LON - MapCoords.MIN_LON);
+        }
+    }
+
+    @Benchmark
+    public float scaleFleet() {
+        float sum = 0;
+        for (int i = 0; i < FLEET_SIZE; ++i) {
+            sum += MapCoords.scaleCoordX(lats[i], 5f);
+            sum += MapCoords.scaleCoordY(lons[i], 5f);
+        }
+        return sum;
+    }
+}
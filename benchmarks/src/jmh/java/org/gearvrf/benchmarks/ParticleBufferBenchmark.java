@@ -0,0 +1,91 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.gearvrf.balloons.ParticleBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-frame cost of the batched balloon emitter: one step over
+ * every live particle followed by re-emitting what expired.
+ * This is the work ParticleEmitter does in onDrawFrame minus
+ * the transform writes, which need a native scene graph.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParticleBufferBenchmark {
+
+    private static final float FRAME_TIME = 1.0f / 60.0f;
+
+    @Param({ "100", "1000", "10000" })
+    public int particles;
+
+    private ParticleBuffer buffer;
+    private int[] expired;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        buffer = new ParticleBuffer(particles);
+        expired = new int[particles];
+        random = new Random(42);
+        for (int i = 0; i < particles; ++i) {
+            emit();
+        }
+    }
+
+    private void emit() {
+        int index = buffer.allocate();
+        if (index >= 0) {
+            buffer.start(index,
+                    random.nextFloat() * 10.0f - 5.0f, random.nextFloat() * 4.0f - 2.0f, 0,
+                    0, 0, 1, 2.0f + random.nextFloat() * 4.0f);
+        }
+    }
+
+    @Benchmark
+    public int step() {
+        int numExpired = buffer.step(FRAME_TIME, 10.0f, expired);
+        for (int i = 0; i < numExpired; ++i) {
+            emit();
+        }
+        return numExpired;
+    }
+
+    @Benchmark
+    public int emitAndFree() {
+        int index = buffer.allocate();
+        if (index < 0) {
+            index = expired[0];
+            buffer.free(index);
+            index = buffer.allocate();
+        }
+        buffer.start(index, 1, 2, 0, 0, 0, 1, 3.0f);
+        expired[0] = index;
+        return index;
+    }
+}
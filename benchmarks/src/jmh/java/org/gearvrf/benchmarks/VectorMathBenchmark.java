@@ -0,0 +1,233 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.geometry.euclidean.threed.Vector3D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.gearvrf.controls.util.VectorMath;
+
+/**
+ * Per frame vector math of the worm and keyboard demos, before and after
+ * moving it to VectorMath. The legacy* methods are copies of the code it
+ * replaced. One op handles POINTS points; compare the gc.alloc.rate.norm
+ * column for bytes/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VectorMathBenchmark {
+
+    private static final int POINTS = 64;
+
+    private float[] x = new float[POINTS];
+    private float[] y = new float[POINTS];
+    private float[] z = new float[POINTS];
+    private float[] rotation = new float[4];
+    private float[] scratch = new float[4];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < POINTS; ++i) {
+            x[i] = random.nextFloat() * 10 - 5;
+            y[i] = random.nextFloat() * 2 - 1;
+            z[i] = random.nextFloat() * 10 - 5;
+        }
+        double angle = 0.3;
+        rotation[0] = 0;
+        rotation[1] = (float) Math.sin(angle / 2);
+        rotation[2] = 0;
+        rotation[3] = (float) Math.cos(angle / 2);
+    }
+
+    /** Worm.checkWormEatingApple with a Vector3D per apple */
+    @Benchmark
+    public int eatAppleVector3D() {
+        int eaten = 0;
+        Vector3D worm = new Vector3D(x[0], y[0], z[0]);
+        for (int i = 1; i < POINTS; ++i) {
+            Vector3D apple = new Vector3D(x[i], y[i], z[i]);
+            if (Vector3D.distance(apple, worm) < 0.5f) {
+                ++eaten;
+            }
+        }
+        return eaten;
+    }
+
+    @Benchmark
+    public int eatAppleVectorMath() {
+        int eaten = 0;
+        for (int i = 1; i < POINTS; ++i) {
+            if (VectorMath.distanceSquared(x[i], y[i], z[i], x[0], y[0], z[0]) < 0.5f * 0.5f) {
+                ++eaten;
+            }
+        }
+        return eaten;
+    }
+
+    /** keyboard Util.distance with Math.pow */
+    @Benchmark
+    public double distancePow() {
+        double sum = 0;
+        for (int i = 1; i < POINTS; ++i) {
+            sum += Math.sqrt(Math.pow(x[i] - x[i - 1], 2) + Math.pow(y[i] - y[i - 1], 2)
+                    + Math.pow(z[i] - z[i - 1], 2));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double distanceVectorMath() {
+        double sum = 0;
+        for (int i = 1; i < POINTS; ++i) {
+            sum += VectorMath.distance(x[i], y[i], z[i], x[i - 1], y[i - 1], z[i - 1]);
+        }
+        return sum;
+    }
+
+    /** Worm.moveAlongCameraVector through calculatePointBetweenTwoObjects */
+    @Benchmark
+    public float pointBetweenAllocating() {
+        float sum = 0;
+        for (int i = 1; i < POINTS; ++i) {
+            float[] point = legacyPointBetween(x[0], y[0], z[0], x[i], y[i], z[i], 1.5f);
+            sum += point[0] + point[2];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float pointBetweenVectorMath() {
+        float sum = 0;
+        for (int i = 1; i < POINTS; ++i) {
+            float[] point = VectorMath.pointBetween(x[0], y[0], z[0], x[i], y[i], z[i], 1.5f,
+                    scratch);
+            sum += point[0] + point[2];
+        }
+        return sum;
+    }
+
+    /** MathUtils.rotateDirection(GVRTransform, float[]) */
+    @Benchmark
+    public float rotateDirectionAllocating() {
+        float sum = 0;
+        for (int i = 0; i < POINTS; ++i) {
+            float[] point = legacyRotateDirection(rotation, new float[] {
+                    x[i], y[i], z[i]
+            });
+            sum += point[0] + point[1] + point[2];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float rotateDirectionVectorMath() {
+        float sum = 0;
+        for (int i = 0; i < POINTS; ++i) {
+            float[] point = VectorMath.rotateDirection(rotation[0], rotation[1], rotation[2],
+                    rotation[3], x[i], y[i], z[i], scratch);
+            sum += point[0] + point[1] + point[2];
+        }
+        return sum;
+    }
+
+    /** MathUtils.quaternionMultiply(GVRTransform, GVRTransform) */
+    @Benchmark
+    public float quaternionMultiplyAllocating() {
+        float sum = 0;
+        for (int i = 0; i < POINTS; ++i) {
+            float[] quat = legacyQuaternionMultiply(rotation, new float[] {
+                    x[i], y[i], z[i], 1
+            });
+            sum += quat[3];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float quaternionMultiplyVectorMath() {
+        float sum = 0;
+        for (int i = 0; i < POINTS; ++i) {
+            float[] quat = VectorMath.quaternionMultiply(rotation[0], rotation[1], rotation[2],
+                    rotation[3], x[i], y[i], z[i], 1, scratch);
+            sum += quat[3];
+        }
+        return sum;
+    }
+
+    private static float[] legacyPointBetween(float ax, float ay, float az,
+            float bx, float by, float bz, float desiredDistance) {
+        float[] point = new float[3];
+        float ratio = desiredDistance / (float) Math.sqrt(Math.pow(ax - bx, 2)
+                + Math.pow(ay - by, 2) + Math.pow(az - bz, 2));
+        point[0] = (1 - ratio) * ax + (ratio) * bx;
+        point[1] = (1 - ratio) * ay + (ratio) * by;
+        point[2] = (1 - ratio) * az + (ratio) * bz;
+        return point;
+    }
+
+    private static float[] legacyRotateDirection(float[] quat, float[] point) {
+        float[] rotation = new float[4];
+        rotation[0] = quat[0];
+        rotation[1] = quat[1];
+        rotation[2] = quat[2];
+        rotation[3] = quat[3];
+
+        float num = rotation[0] * 2f;
+        float num2 = rotation[1] * 2f;
+        float num3 = rotation[2] * 2f;
+        float num4 = rotation[0] * num;
+        float num5 = rotation[1] * num2;
+        float num6 = rotation[2] * num3;
+        float num7 = rotation[0] * num2;
+        float num8 = rotation[0] * num3;
+        float num9 = rotation[1] * num3;
+        float num10 = rotation[3] * num;
+        float num11 = rotation[3] * num2;
+        float num12 = rotation[3] * num3;
+        float[] result = new float[3];
+        result[0] = (1f - (num5 + num6)) * point[0] + (num7 - num12) * point[1] + (num8 + num11)
+                * point[2];
+        result[1] = (num7 + num12) * point[0] + (1f - (num4 + num6)) * point[1] + (num9 - num10)
+                * point[2];
+        result[2] = (num8 - num11) * point[0] + (num9 + num10) * point[1] + (1f - (num4 + num5))
+                * point[2];
+        return result;
+    }
+
+    private static float[] legacyQuaternionMultiply(float[] quat1, float[] quat2) {
+        float[] lhs = new float[4];
+        System.arraycopy(quat1, 0, lhs, 0, 4);
+        float[] rhs = new float[4];
+        System.arraycopy(quat2, 0, rhs, 0, 4);
+        float[] quat = new float[4];
+        quat[0] = lhs[3] * rhs[0] + lhs[0] * rhs[3] + lhs[1] * rhs[2] - lhs[2] * rhs[1];
+        quat[1] = lhs[3] * rhs[1] + lhs[1] * rhs[3] + lhs[2] * rhs[0] - lhs[0] * rhs[2];
+        quat[2] = lhs[3] * rhs[2] + lhs[2] * rhs[3] + lhs[0] * rhs[1] - lhs[1] * rhs[0];
+        quat[3] = lhs[3] * rhs[3] - lhs[0] * rhs[0] - lhs[1] * rhs[1] - lhs[2] * rhs[2];
+        return quat;
+    }
+}
@@ -0,0 +1,93 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.gearvrf.gvrcamera2renderscript.YuvFrame;
+import org.gearvrf.gvrcamera2renderscript.YuvKernels;
+
+/**
+ * One camera frame through the gvr-camera2renderscript YuvKernels, on the
+ * calling thread and split across a fork-join pool, at 1080p and 4K. The
+ * input is an NV21 frame of noise. gc.alloc.rate.norm should stay at
+ * zero bytes/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class YuvKernelBenchmark {
+
+    @Param({ "1920x1080", "3840x2160" })
+    public String size;
+
+    @Param({ "LUMA", "MONO", "RGBA" })
+    public YuvKernels.Output output;
+
+    private YuvFrame frame;
+    private ByteBuffer dest;
+    private ForkJoinPool pool;
+    private YuvKernels serial;
+    private YuvKernels parallel;
+
+    @Setup
+    public void setup() {
+        int width = Integer.parseInt(size.substring(0, size.indexOf('x')));
+        int height = Integer.parseInt(size.substring(size.indexOf('x') + 1));
+        byte[] noise = new byte[width * height * 3 / 2];
+        new Random(42).nextBytes(noise);
+        ByteBuffer nv21 = ByteBuffer.allocateDirect(noise.length);
+        nv21.put(noise);
+        frame = new YuvFrame().setNv21(width, height, nv21);
+        dest = ByteBuffer.allocateDirect(output.getFrameBytes(width, height)).order(ByteOrder.nativeOrder());
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+        serial = new YuvKernels(null, 1);
+        parallel = new YuvKernels(pool, threads * 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ByteBuffer serial() {
+        serial.convert(frame, output, dest);
+        return dest;
+    }
+
+    @Benchmark
+    public ByteBuffer forkJoin() {
+        parallel.convert(frame, output, dest);
+        return dest;
+    }
+}
@@ -0,0 +1,218 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.gearvrf.videoplayer.model.Video;
+import org.gearvrf.videoplayer.provider.loader.CursorPager;
+import org.gearvrf.videoplayer.provider.loader.ExternalVideoReader;
+
+/**
+ * Loads a generated external video catalog the way ExternalVideoAsyncTask
+ * used to, reading the file into one string and parsing it into a tree
+ * before building any video, and through ExternalVideoReader, which
+ * builds the videos as the tokens are read.
+ * <p>
+ * The tree side uses the Gson tree model in place of org.json, which
+ * needs a device. Neither side decodes thumbnails. The old task decoded
+ * every one of them before returning, so on a device it was slower by
+ * one bitmap decode per video on top of what is measured here.
+ * <p>
+ * For each catalog size it reports the median time to the first video,
+ * the time to all videos, the bytes allocated on the loading thread and
+ * the peak heap in use while loading.
+ * <p>
+ * Usage: {@code ./gradlew :benchmarks:externalCatalog}
+ */
+public class ExternalCatalogHarness {
+
+    private static final int WARMUP = 10;
+    private static final int RUNS = 11;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("videos  reader   first video ms  all videos ms  bytes/video  peak heap KB");
+        int[] sizes = { 1000, 10000, 100000 };
+        for (int videos : sizes) {
+            File catalog = writeCatalog(videos);
+            try {
+                measure(videos, "tree", catalog, false);
+                measure(videos, "stream", catalog, true);
+            } finally {
+                catalog.delete();
+            }
+        }
+    }
+
+    private static void measure(int videos, String label, File catalog, boolean streaming)
+            throws IOException {
+        long[] first = new long[RUNS];
+        long[] all = new long[RUNS];
+        long[] bytes = new long[RUNS];
+        long[] peak = new long[RUNS];
+        for (int i = 0; i < WARMUP + RUNS; i++) {
+            System.gc();
+            long heapBefore = resetPeakHeap();
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            long firstVideo = streaming ? loadStreaming(catalog) : loadTree(catalog);
+            long end = System.nanoTime();
+            long allocated = allocatedBytes() - bytesBefore;
+            long heapPeak = peakHeap() - heapBefore;
+            if (i >= WARMUP) {
+                first[i - WARMUP] = firstVideo - start;
+                all[i - WARMUP] = end - start;
+                bytes[i - WARMUP] = allocated;
+                peak[i - WARMUP] = heapPeak;
+            }
+        }
+        System.out.println(String.format("%-7d %-7s %15.3f %14.3f %12d %13d",
+                videos, label, median(first) / 1e6, median(all) / 1e6,
+                median(bytes) / videos, median(peak) >> 10));
+    }
+
+    /*
+     * Returns the time the first video was ready.
+     */
+    private static long loadTree(File catalog) throws IOException {
+        String json;
+        try (FileInputStream is = new FileInputStream(catalog)) {
+            byte[] buffer = new byte[(int) catalog.length()];
+            int read = 0;
+            while (read < buffer.length) {
+                read += is.read(buffer, read, buffer.length - read);
+            }
+            json = new String(buffer, "UTF-8");
+        }
+        JsonObject videosJSON = new JsonParser().parse(json).getAsJsonObject();
+        JsonArray jsonArray = videosJSON.getAsJsonArray("videos");
+        List<Video> videos = new ArrayList<>();
+        long firstVideo = 0;
+        for (int i = 0; i < jsonArray.size(); i++) {
+            JsonObject jsonObject = jsonArray.get(i).getAsJsonObject();
+            Video video = new Video(jsonObject.get("id").getAsInt(), jsonObject.get("name").getAsString(),
+                    jsonObject.get("uri").getAsString(), jsonObject.get("duration").getAsInt(),
+                    false, false, false, Video.VideoType.EXTERNAL);
+            video.setThumbnailPath(jsonObject.get("thumbnail").getAsString());
+            videos.add(video);
+            if (firstVideo == 0) {
+                firstVideo = System.nanoTime();
+            }
+        }
+        // the old task returned the whole list at once
+        sink(videos);
+        return firstVideo;
+    }
+
+    private static long loadStreaming(File catalog) throws IOException {
+        final long[] firstVideo = { 0 };
+        final List<Video> videos = new ArrayList<>();
+        try (Reader in = new BufferedReader(new InputStreamReader(new FileInputStream(catalog), "UTF-8"))) {
+            new ExternalVideoReader().read(in, new CursorPager.PageConsumer<Video>() {
+                @Override
+                public boolean onPage(List<Video> page, int offset) {
+                    if (offset == 0) {
+                        firstVideo[0] = System.nanoTime();
+                    }
+                    videos.addAll(page);
+                    return true;
+                }
+            });
+        }
+        sink(videos);
+        return firstVideo[0];
+    }
+
+    private static File writeCatalog(int videos) throws IOException {
+        File file = File.createTempFile("external_videos", ".json");
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"))) {
+            out.write("{\n  \"videos\": [\n");
+            for (int i = 1; i <= videos; i++) {
+                out.write("    {\n");
+                out.write("      \"id\": " + i + ",\n");
+                out.write("      \"name\": \"Sample clip " + i + " (MP4,H264)\",\n");
+                out.write("      \"uri\": \"http://www.example.com/api/manifest/dash/id/" + Integer.toHexString(i * 7919)
+                        + "/source/video?as=fmp4_audio_clear,fmp4_sd_hd_clear&sparams=ip,ipbits,expire,source,id\",\n");
+                out.write("      \"extension\": \"mpd\",\n");
+                out.write("      \"duration\": " + (60000 + i) + ",\n");
+                out.write("      \"thumbnail\": \"external-thumbnails/thumb" + (i % 10) + ".jpg\"\n");
+                out.write(i < videos ? "    },\n" : "    }\n");
+            }
+            out.write("  ]\n}\n");
+        }
+        return file;
+    }
+
+    private static int sinkHash;
+
+    private static void sink(List<Video> videos) {
+        sinkHash += videos.size();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /*
+     * Returns the heap in use after resetting the peaks.
+     */
+    private static long resetPeakHeap() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,294 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import android.database.Cursor;
+
+import org.gearvrf.videoplayer.provider.loader.CursorPager;
+
+/**
+ * Reads a fake MediaStore video cursor the way LocalVideoAsyncTask used
+ * to, walking every row into a LinkedList with a column lookup per field,
+ * and through CursorPager, which resolves the columns once and hands
+ * over array backed pages.
+ * <p>
+ * For each library size it reports the median time until the gallery
+ * has something to show (the whole list before, the first page after),
+ * the time to read every row, and the bytes allocated per row on the
+ * reading thread.
+ * <p>
+ * Usage: {@code ./gradlew :benchmarks:mediaPaging}
+ */
+public class MediaPagingHarness {
+
+    private static final int WARMUP = 20;
+    private static final int RUNS = 21;
+
+    private static final String[] COLUMNS = {
+            "_id", "title", "_data", "duration", "width", "height", "date_modified", "is_360_video"
+    };
+
+    public static void main(String[] args) {
+        System.out.println("rows    reader   first items ms  all rows ms  bytes/row");
+        int[] sizes = { 100, 1000, 10000, 50000 };
+        for (int rows : sizes) {
+            FakeVideoCursor cursor = new FakeVideoCursor(rows);
+            measure(rows, "before", cursor, false);
+            measure(rows, "paged", cursor, true);
+        }
+    }
+
+    private static void measure(int rows, String label, FakeVideoCursor cursor, boolean paged) {
+        long[] first = new long[RUNS];
+        long[] all = new long[RUNS];
+        long[] bytes = new long[RUNS];
+        for (int i = 0; i < WARMUP + RUNS; i++) {
+            cursor.reset();
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            long firstItems = paged ? readPaged(cursor, start) : readLegacy(cursor, start);
+            long end = System.nanoTime();
+            long allocated = allocatedBytes() - bytesBefore;
+            if (i >= WARMUP) {
+                first[i - WARMUP] = firstItems - start;
+                all[i - WARMUP] = end - start;
+                bytes[i - WARMUP] = allocated;
+            }
+        }
+        System.out.println(String.format("%-7d %-7s %15.3f %12.3f %10d",
+                rows, label, median(first) / 1e6, median(all) / 1e6, median(bytes) / rows));
+    }
+
+    /*
+     * Returns the time the first items were ready.
+     */
+    private static long readLegacy(Cursor cursor, long start) {
+        List<Row> rows = new LinkedList<Row>();
+        if (cursor.moveToFirst()) {
+            do {
+                String width = cursor.getString(cursor.getColumnIndexOrThrow("width"));
+                String height = cursor.getString(cursor.getColumnIndexOrThrow("height"));
+                boolean ratio21 = width != null && height != null
+                        && Float.parseFloat(width) / Float.parseFloat(height) == 2;
+                rows.add(new Row(cursor.getLong(cursor.getColumnIndexOrThrow("_id")),
+                        cursor.getString(cursor.getColumnIndexOrThrow("title")),
+                        cursor.getString(cursor.getColumnIndexOrThrow("_data")),
+                        cursor.getLong(cursor.getColumnIndexOrThrow("duration")),
+                        ratio21,
+                        cursor.getInt(cursor.getColumnIndexOrThrow("is_360_video")) == 1,
+                        Pattern.matches(".*360.*",
+                                cursor.getString(cursor.getColumnIndexOrThrow("title")))));
+            } while (cursor.moveToNext());
+        }
+        sink(rows);
+        return System.nanoTime();
+    }
+
+    private static long readPaged(Cursor cursor, long start) {
+        final long[] firstPage = { 0 };
+        final List<Row> rows = new ArrayList<Row>();
+        new CursorPager<Row>().read(cursor, new RowReader(), new CursorPager.PageConsumer<Row>() {
+            @Override
+            public boolean onPage(List<Row> page, int offset) {
+                if (offset == 0) {
+                    firstPage[0] = System.nanoTime();
+                }
+                rows.addAll(page);
+                return true;
+            }
+        });
+        sink(rows);
+        return firstPage[0];
+    }
+
+    private static int sinkHash;
+
+    private static void sink(List<Row> rows) {
+        sinkHash += rows.size();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    static final class Row {
+        final long id;
+        final String title;
+        final String path;
+        final long duration;
+        final boolean ratio21;
+        final boolean is360;
+        final boolean has360OnTitle;
+
+        Row(long id, String title, String path, long duration, boolean ratio21, boolean is360,
+                boolean has360OnTitle) {
+            this.id = id;
+            this.title = title;
+            this.path = path;
+            this.duration = duration;
+            this.ratio21 = ratio21;
+            this.is360 = is360;
+            this.has360OnTitle = has360OnTitle;
+        }
+    }
+
+    /**
+     * Same column handling as LocalVideoAsyncTask.VideoRowReader.
+     */
+    static final class RowReader implements CursorPager.RowReader<Row> {
+        private int id, title, data, duration, width, height, is360;
+
+        @Override
+        public void resolveColumns(Cursor cursor) {
+            id = cursor.getColumnIndexOrThrow("_id");
+            title = cursor.getColumnIndexOrThrow("title");
+            data = cursor.getColumnIndexOrThrow("_data");
+            duration = cursor.getColumnIndexOrThrow("duration");
+            width = cursor.getColumnIndexOrThrow("width");
+            height = cursor.getColumnIndexOrThrow("height");
+            is360 = cursor.getColumnIndexOrThrow("is_360_video");
+        }
+
+        @Override
+        public Row read(Cursor cursor) {
+            String rowTitle = cursor.getString(title);
+            boolean ratio21 = !cursor.isNull(width) && !cursor.isNull(height)
+                    && cursor.getFloat(width) / cursor.getFloat(height) == 2;
+            return new Row(cursor.getLong(id), rowTitle, cursor.getString(data),
+                    cursor.getLong(duration), ratio21, cursor.getInt(is360) == 1,
+                    rowTitle != null && rowTitle.contains("360"));
+        }
+    }
+
+    /**
+     * In-memory video rows. Strings are copied on every getString, as a
+     * CursorWindow does, and column lookup walks the column names as
+     * AbstractCursor does.
+     */
+    static final class FakeVideoCursor implements Cursor {
+        private final int count;
+        private final String[] titles;
+        private final String[] paths;
+        private int position = -1;
+
+        FakeVideoCursor(int count) {
+            this.count = count;
+            this.titles = new String[count];
+            this.paths = new String[count];
+            for (int i = 0; i < count; i++) {
+                titles[i] = (i % 17 == 0 ? "360 tour " : "holiday clip ") + i;
+                paths[i] = "/storage/emulated/0/DCIM/Camera/VID_2018" + i + ".mp4";
+            }
+        }
+
+        void reset() {
+            position = -1;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public boolean moveToFirst() {
+            position = 0;
+            return count > 0;
+        }
+
+        @Override
+        public boolean moveToNext() {
+            return ++position < count;
+        }
+
+        @Override
+        public int getColumnIndexOrThrow(String columnName) {
+            int dot = columnName.lastIndexOf('.');
+            String name = dot < 0 ? columnName : columnName.substring(dot + 1);
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (COLUMNS[i].equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("column '" + columnName + "' does not exist");
+        }
+
+        @Override
+        public String getString(int columnIndex) {
+            switch (columnIndex) {
+                case 1:
+                    return new String(titles[position]);
+                case 2:
+                    return new String(paths[position]);
+                default:
+                    return Long.toString(getLong(columnIndex));
+            }
+        }
+
+        @Override
+        public long getLong(int columnIndex) {
+            switch (columnIndex) {
+                case 0:
+                    return position;
+                case 3:
+                    return 30000 + position;
+                case 4:
+                    return position % 5 == 0 ? 3840 : 1920;
+                case 5:
+                    return 1920;
+                case 6:
+                    return 1500000000L + position;
+                case 7:
+                    return position % 17 == 0 ? 1 : 0;
+                default:
+                    return 0;
+            }
+        }
+
+        @Override
+        public int getInt(int columnIndex) {
+            return (int) getLong(columnIndex);
+        }
+
+        @Override
+        public float getFloat(int columnIndex) {
+            return getLong(columnIndex);
+        }
+
+        @Override
+        public boolean isNull(int columnIndex) {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.gearvrf.videoplayer.provider.thumbnail.ByteLruCache;
+import org.gearvrf.videoplayer.provider.thumbnail.ThumbnailPipeline;
+
+/**
+ * Scrolls a synthetic video gallery through the videoplayer
+ * ThumbnailPipeline without a device.
+ * <p>
+ * The gallery has ITEMS videos in COLUMNS columns with VISIBLE_ROWS rows
+ * on screen. A seeded trace of slow scrolls, flings and reversals moves
+ * the view one 60 Hz frame at a time. Items scrolling into view are
+ * bound and items leaving it are cancelled, as GalleryItemAdapter does.
+ * Reading the disk level and decoding a frame are simulated with
+ * STORE_READ_MS and DECODE_MS of sleep on the loader threads.
+ * <p>
+ * The cold run starts with empty caches. The warm run starts with only
+ * the disk level filled, as after an app restart. Each run reports the
+ * memory hit ratio, how binds were served and the latency from bind to
+ * thumbnail shown.
+ * <p>
+ * Usage: {@code ./gradlew :benchmarks:thumbnailScroll}
+ */
+public class ThumbnailScrollHarness {
+
+    private static final int ITEMS = 600;
+    private static final int COLUMNS = 3;
+    private static final int VISIBLE_ROWS = 4;
+    private static final int FRAMES = 900;
+    private static final long FRAME_NS = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    // a MINI_KIND thumbnail is 512x384 ARGB_8888
+    private static final int THUMBNAIL_BYTES = 512 * 384 * 4;
+    private static final long MEMORY_BYTES = 32L * 1024 * 1024;
+    private static final int LOADER_THREADS = 2;
+    private static final long STORE_READ_MS = 4;
+    private static final long DECODE_MS = 40;
+
+    public static void main(String[] args) throws Exception {
+        float[] trace = scrollTrace(FRAMES, new Random(7));
+        Map<Integer, Integer> disk = new ConcurrentHashMap<Integer, Integer>();
+
+        System.out.println("run   binds  memory hit  disk  decode  joined  cancelled"
+                + "  bind p50 ms  p99 ms  max ms");
+        run("cold", trace, disk);
+        run("warm", trace, disk);
+    }
+
+    private static void run(String label, float[] trace, final Map<Integer, Integer> disk)
+            throws InterruptedException {
+        final ExecutorService mainThread = Executors.newSingleThreadExecutor();
+        ThumbnailPipeline<Integer, Integer> pipeline = new ThumbnailPipeline<Integer, Integer>(
+                MEMORY_BYTES,
+                new ByteLruCache.Sizer<Integer>() {
+                    @Override
+                    public int sizeOf(Integer value) {
+                        return THUMBNAIL_BYTES;
+                    }
+                },
+                new ThumbnailPipeline.Store<Integer, Integer>() {
+                    @Override
+                    public Integer get(Integer key) {
+                        sleepMillis(STORE_READ_MS);
+                        return disk.get(key);
+                    }
+
+                    @Override
+                    public void put(Integer key, Integer value) {
+                        disk.put(key, value);
+                    }
+                },
+                new ThumbnailPipeline.Decoder<Integer, Integer>() {
+                    @Override
+                    public Integer decode(Integer key) {
+                        sleepMillis(DECODE_MS);
+                        return key;
+                    }
+                },
+                LOADER_THREADS,
+                mainThread);
+
+        final Latencies latencies = new Latencies();
+        Map<Integer, ThumbnailPipeline<Integer, Integer>.Request> bound =
+                new HashMap<Integer, ThumbnailPipeline<Integer, Integer>.Request>();
+        int binds = 0;
+        int cancelled = 0;
+        long frameStart = System.nanoTime();
+
+        for (float row : trace) {
+            int first = (int) row * COLUMNS;
+            int last = first + VISIBLE_ROWS * COLUMNS;
+
+            Iterator<Map.Entry<Integer, ThumbnailPipeline<Integer, Integer>.Request>> it =
+                    bound.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Integer, ThumbnailPipeline<Integer, Integer>.Request> entry = it.next();
+                if (entry.getKey() < first || entry.getKey() >= last) {
+                    if (entry.getValue() != null && !entry.getValue().isCancelled()) {
+                        entry.getValue().cancel();
+                        cancelled++;
+                    }
+                    it.remove();
+                }
+            }
+            for (int item = first; item < last; item++) {
+                if (bound.containsKey(item)) {
+                    continue;
+                }
+                binds++;
+                final long bindTime = System.nanoTime();
+                if (pipeline.getCached(item) != null) {
+                    latencies.add(0);
+                    bound.put(item, null);
+                    continue;
+                }
+                bound.put(item, pipeline.load(item, new ThumbnailPipeline.Callback<Integer>() {
+                    @Override
+                    public void onThumbnail(Integer thumbnail) {
+                        latencies.add(System.nanoTime() - bindTime);
+                    }
+                }));
+            }
+
+            frameStart += FRAME_NS;
+            LockSupport.parkNanos(frameStart - System.nanoTime());
+        }
+
+        // let the loads of the last screen finish
+        sleepMillis(DECODE_MS * VISIBLE_ROWS * COLUMNS);
+        pipeline.shutdown();
+        mainThread.shutdown();
+        mainThread.awaitTermination(1, TimeUnit.SECONDS);
+
+        long[] sorted = latencies.sorted();
+        System.out.println(String.format("%-5s %6d %11.1f%% %5d %7d %7d %10d %12.1f %7.1f %7.1f",
+                label,
+                binds,
+                100.0 * pipeline.getMemoryHits() / binds,
+                pipeline.getStoreHits(),
+                pipeline.getDecodes(),
+                pipeline.getJoinedRequests(),
+                cancelled,
+                percentile(sorted, 0.50) / 1e6,
+                percentile(sorted, 0.99) / 1e6,
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0));
+    }
+
+    /**
+     * Top visible row for each frame: slow reading scrolls, flings, pauses
+     * and scrolling back, kept within the gallery.
+     */
+    static float[] scrollTrace(int frames, Random random) {
+        float maxRow = (ITEMS + COLUMNS - 1) / COLUMNS - VISIBLE_ROWS;
+        float[] trace = new float[frames];
+        float row = 0;
+        float velocity = 0;
+        int phaseFrames = 0;
+
+        for (int f = 0; f < frames; f++) {
+            if (phaseFrames-- <= 0) {
+                float choice = random.nextFloat();
+                if (choice < 0.4f) {
+                    velocity = 0.05f + random.nextFloat() * 0.1f;
+                    phaseFrames = 60 + random.nextInt(120);
+                } else if (choice < 0.6f) {
+                    velocity = 0.5f + random.nextFloat();
+                    phaseFrames = 15 + random.nextInt(30);
+                } else if (choice < 0.8f) {
+                    velocity = -(0.05f + random.nextFloat() * 0.5f);
+                    phaseFrames = 30 + random.nextInt(60);
+                } else {
+                    velocity = 0;
+                    phaseFrames = 30 + random.nextInt(60);
+                }
+            }
+            row = Math.max(0, Math.min(maxRow, row + velocity));
+            trace[f] = row;
+        }
+        return trace;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))];
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int count;
+
+        synchronized void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+import pw.ian.vrtransit.Constants;
+import pw.ian.vrtransit.MapCoords;
+import pw.ian.vrtransit.data.BusUpdate;
+import pw.ian.vrtransit.data.ReplayTransitSource;
+import pw.ian.vrtransit.data.TransitDataAccessor;
+
+/**
+ * Drives the VRTransit update pipeline without a headset.
+ * <p>
+ * Each run replays a feed through ReplayTransitSource into a
+ * TransitDataAccessor while the main thread plays the part of
+ * MUNIVisualizerScript.onStep(): once every 60 Hz frame it drains at most
+ * Constants.MAX_UPDATES_PER_FRAME updates. Reports events/second
+ * delivered by the source, the frames it took to apply the feed, the
+ * updates applied per frame, the latency of nextUpdates(), and the most
+ * vehicles on the map at once against the Constants.MAX_OBJECTS pool.
+ * <p>
+ * Usage: {@code ./gradlew :benchmarks:transitReplay [-Pargs="file speedUp"]}.
+ * Without a file, synthetic fleets of increasing size are generated.
+ */
+public class TransitReplayHarness {
+
+    private static final int SNAPSHOTS = 20;
+    private static final long SNAPSHOT_INTERVAL_MS = 1000;
+    private static final long FRAME_NANOS = 16666667L;
+
+    public static void main(String[] args) throws Exception {
+        float speedUp = args.length > 1 ? Float.parseFloat(args[1]) : 0;
+
+        System.out.println("fleet  events/s  frames  applied/frame  max  coalesced"
+                + "  nextUpdates p50 ns  p99 ns  max ns  peak vehicles/MAX_OBJECTS");
+        if (args.length > 0) {
+            run("file", new ReplayTransitSource(new File(args[0]), speedUp, false));
+            return;
+        }
+        int[] fleets = { 100, 1000, 10000, 50000 };
+        for (int fleet : fleets) {
+            String feed = synthesize(fleet, SNAPSHOTS);
+            run(Integer.toString(fleet), new ReplayTransitSource(new StringReader(feed), speedUp));
+        }
+    }
+
+    private static void run(String label, ReplayTransitSource source) {
+        TransitDataAccessor tda = new TransitDataAccessor("bus", source);
+        List<BusUpdate> frame = new ArrayList<BusUpdate>(Constants.MAX_UPDATES_PER_FRAME);
+        Set<String> vehicles = new HashSet<String>();
+        long[] latencies = new long[1 << 16];
+        int frames = 0;
+        int maxApplied = 0;
+        int peakVehicles = 0;
+        long applied = 0;
+        long start = System.nanoTime();
+        long nextFrame = start;
+
+        while (!source.isFinished() || tda.pendingCount() > 0) {
+            nextFrame += FRAME_NANOS;
+            for (long wait = nextFrame - System.nanoTime(); wait > 0; wait = nextFrame - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+
+            long t0 = System.nanoTime();
+            int n = tda.nextUpdates(Constants.MAX_UPDATES_PER_FRAME, frame);
+            long t1 = System.nanoTime();
+            if (frames == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[frames++] = t1 - t0;
+            for (int i = 0; i < n; i++) {
+                BusUpdate bu = frame.get(i);
+                if (bu.remove) {
+                    vehicles.remove(bu.getId());
+                } else {
+                    vehicles.add(bu.getId());
+                }
+                MapCoords.scaleCoordX((float) bu.getLat(), 5f);
+                MapCoords.scaleCoordY((float) bu.getLon(), 5f);
+            }
+            applied += n;
+            maxApplied = Math.max(maxApplied, n);
+            peakVehicles = Math.max(peakVehicles, vehicles.size());
+            frame.clear();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long coalesced = tda.coalescedCount();
+        tda.close();
+
+        Arrays.sort(latencies, 0, frames);
+        System.out.println(String.format("%-6s %9.0f %7d %14.1f %4d %10d %19d %7d %7d  %d/%d%s",
+                label,
+                source.getDelivered() / seconds,
+                frames,
+                frames > 0 ? (double) applied / frames : 0,
+                maxApplied,
+                coalesced,
+                percentile(latencies, frames, 0.50),
+                percentile(latencies, frames, 0.99),
+                frames > 0 ? latencies[frames - 1] : 0,
+                peakVehicles,
+                Constants.MAX_OBJECTS,
+                peakVehicles > Constants.MAX_OBJECTS ? " over pool" : ""));
+    }
+
+    private static long percentile(long[] sorted, int count, double p) {
+        if (count == 0) {
+            return 0;
+        }
+        return sorted[Math.min(count - 1, (int) (p * count))];
+    }
+
+    /**
+     * Builds a feed where every vehicle reports once per snapshot interval,
+     * drifting a little each time.
+     */
+    static String synthesize(int fleet, int snapshots) {
+        Random random = new Random(fleet);
+        double[] lat = new double[fleet];
+        double[] lon = new double[fleet];
+        StringBuilder sb = new StringBuilder(fleet * snapshots * 48);
+
+        for (int v = 0; v < fleet; v++) {
+            lat[v] = MapCoords.MIN_LAT + random.nextDouble() * (MapCoords.MAX_LAT - MapCoords.MIN_LAT);
+            lon[v] = MapCoords.MIN_LON + random.nextDouble() * (MapCoords.MAX_LON - MapCoords.MIN_LON);
+        }
+        for (int s = 0; s < snapshots; s++) {
+            long t = s * SNAPSHOT_INTERVAL_MS;
+            for (int v = 0; v < fleet; v++) {
+                lat[v] += (random.nextDouble() - 0.5) * 0.001;
+                lon[v] += (random.nextDouble() - 0.5) * 0.001;
+                BusUpdate bu = new BusUpdate(Integer.toString(v), Integer.toString(v % 80),
+                        lat[v], lon[v], "bus");
+                sb.append(ReplayTransitSource.formatLine(t, bu)).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
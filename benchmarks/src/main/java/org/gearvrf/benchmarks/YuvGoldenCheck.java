@@ -0,0 +1,195 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.gearvrf.gvrcamera2renderscript.YuvFrame;
+import org.gearvrf.gvrcamera2renderscript.YuvKernels;
+
+/**
+ * Checks the gvr-camera2renderscript YuvKernels against a per-pixel model
+ * of what RenderscriptProcessor outputs: the integer formula of the
+ * ScriptIntrinsicYuvToRGB CPU implementation followed by the float math
+ * of mono.rs.
+ * <p>
+ * Frames of noise, gradients and flat extremes are converted from NV21,
+ * planar and padded-stride layouts, with and without the fork-join pool,
+ * into buffers of either byte order.
+ * RGBA must match the model exactly, MONO within one level, since
+ * mono.rs rounds in float and the kernel in fixed point. Exits with
+ * status 1 on a mismatch.
+ * <p>
+ * Usage: {@code ./gradlew :benchmarks:yuvGolden}
+ */
+public class YuvGoldenCheck {
+
+    private static final int[][] SIZES = { { 1920, 1080 }, { 641, 479 }, { 2, 2 }, { 17, 3 } };
+
+    private static int failures;
+
+    public static void main(String[] args) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        YuvKernels serial = new YuvKernels(null, 1);
+        YuvKernels parallel = new YuvKernels(pool, 7);
+        Random random = new Random(42);
+
+        for (int[] size : SIZES) {
+            int width = size[0];
+            int height = size[1];
+            for (String pattern : new String[] { "noise", "gradient", "black", "white" }) {
+                byte[] y = new byte[width * height];
+                byte[] u = new byte[((width + 1) / 2) * ((height + 1) / 2)];
+                byte[] v = new byte[u.length];
+                fill(pattern, random, width, height, y, u, v);
+                for (String layout : new String[] { "nv21", "planar", "padded" }) {
+                    if (layout.equals("nv21") && width % 2 != 0) {
+                        // NV21 chroma rows are width bytes long, so width is even
+                        continue;
+                    }
+                    YuvFrame frame = layout(layout, width, height, y, u, v);
+                    for (YuvKernels.Output output : YuvKernels.Output.values()) {
+                        String name = width + "x" + height + " " + pattern + " " + layout + " " + output;
+                        check(name + " serial", serial, ByteOrder.BIG_ENDIAN,
+                                frame, output, width, height, y, u, v);
+                        check(name + " forkjoin", parallel, ByteOrder.LITTLE_ENDIAN,
+                                frame, output, width, height, y, u, v);
+                    }
+                }
+            }
+        }
+        pool.shutdown();
+        System.out.println(failures == 0 ? "All frames match" : failures + " frames differ");
+        if (failures != 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void check(String name, YuvKernels kernels, ByteOrder order, YuvFrame frame,
+                              YuvKernels.Output output, int width, int height, byte[] y, byte[] u, byte[] v) {
+        ByteBuffer dest = ByteBuffer.allocateDirect(output.getFrameBytes(width, height)).order(order);
+        kernels.convert(frame, output, dest);
+
+        int chromaWidth = (width + 1) / 2;
+        int maxDiff = 0;
+        for (int row = 0; row < height; row++) {
+            for (int x = 0; x < width; x++) {
+                int luma = y[row * width + x] & 0xFF;
+                if (output == YuvKernels.Output.LUMA) {
+                    maxDiff = Math.max(maxDiff, Math.abs((dest.get(row * width + x) & 0xFF) - luma));
+                    continue;
+                }
+                int chroma = (row / 2) * chromaWidth + x / 2;
+                int[] expected = intrinsicYuvToRgba(luma, u[chroma] & 0xFF, v[chroma] & 0xFF);
+                if (output == YuvKernels.Output.MONO) {
+                    int mono = monoRs(expected);
+                    expected[0] = expected[1] = expected[2] = mono;
+                }
+                int pixel = (row * width + x) * 4;
+                for (int c = 0; c < 4; c++) {
+                    maxDiff = Math.max(maxDiff, Math.abs((dest.get(pixel + c) & 0xFF) - expected[c]));
+                }
+            }
+        }
+        int allowed = output == YuvKernels.Output.MONO ? 1 : 0;
+        if (maxDiff > allowed) {
+            System.out.println("FAIL " + name + ": differs by up to " + maxDiff);
+            failures++;
+        }
+    }
+
+    /*
+     * rsYuvToRGBA_uchar4 of the RenderScript CPU reference.
+     */
+    private static int[] intrinsicYuvToRgba(int y, int u, int v) {
+        int yy = y - 16;
+        int uu = u - 128;
+        int vv = v - 128;
+        return new int[] {
+                clamp((yy * 298 + vv * 409 + 128) >> 8),
+                clamp((yy * 298 - uu * 100 - vv * 208 + 128) >> 8),
+                clamp((yy * 298 + uu * 516 + 128) >> 8),
+                255
+        };
+    }
+
+    /*
+     * mono.rs: rsUnpackColor8888, dot with gMonoMult, rsPackColorTo8888.
+     */
+    private static int monoRs(int[] rgba) {
+        float r = rgba[0] * (1.0f / 255.0f);
+        float g = rgba[1] * (1.0f / 255.0f);
+        float b = rgba[2] * (1.0f / 255.0f);
+        float mono = r * 0.299f + g * 0.587f + b * 0.114f;
+        return clamp((int) (mono * 255.0f + 0.5f));
+    }
+
+    private static int clamp(int value) {
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+
+    private static void fill(String pattern, Random random, int width, int height, byte[] y, byte[] u, byte[] v) {
+        if (pattern.equals("noise")) {
+            random.nextBytes(y);
+            random.nextBytes(u);
+            random.nextBytes(v);
+            return;
+        }
+        for (int i = 0; i < y.length; i++) {
+            int x = i % width;
+            y[i] = (byte) (pattern.equals("gradient") ? x * 255 / Math.max(1, width - 1)
+                    : pattern.equals("white") ? 255 : 0);
+        }
+        for (int i = 0; i < u.length; i++) {
+            u[i] = (byte) (pattern.equals("gradient") ? i : pattern.equals("white") ? 255 : 0);
+            v[i] = (byte) (pattern.equals("gradient") ? 255 - i : pattern.equals("white") ? 255 : 0);
+        }
+    }
+
+    private static YuvFrame layout(String layout, int width, int height, byte[] y, byte[] u, byte[] v) {
+        int chromaWidth = (width + 1) / 2;
+        int chromaHeight = (height + 1) / 2;
+        if (layout.equals("nv21")) {
+            ByteBuffer data = ByteBuffer.allocateDirect(y.length + 2 * u.length);
+            data.put(y);
+            for (int i = 0; i < u.length; i++) {
+                data.put(v[i]).put(u[i]);
+            }
+            return new YuvFrame().setNv21(width, height, data);
+        }
+        int pad = layout.equals("padded") ? 64 : 0;
+        ByteBuffer yPlane = ByteBuffer.allocateDirect((width + pad) * height);
+        for (int row = 0; row < height; row++) {
+            yPlane.position(row * (width + pad));
+            yPlane.put(y, row * width, width);
+        }
+        ByteBuffer uPlane = ByteBuffer.allocateDirect((chromaWidth + pad) * chromaHeight);
+        ByteBuffer vPlane = ByteBuffer.allocateDirect((chromaWidth + pad) * chromaHeight);
+        for (int row = 0; row < chromaHeight; row++) {
+            uPlane.position(row * (chromaWidth + pad));
+            uPlane.put(u, row * chromaWidth, chromaWidth);
+            vPlane.position(row * (chromaWidth + pad));
+            vPlane.put(v, row * chromaWidth, chromaWidth);
+        }
+        yPlane.clear();
+        uPlane.clear();
+        vPlane.clear();
+        return new YuvFrame().set(width, height, yPlane, width + pad, uPlane, vPlane, chromaWidth + pad, 1);
+    }
+}
@@ -13,22 +13,21 @@
  * limitations under the License.
  */
 
-package org.gearvrf.immersivepedia.util;
+package android.support.annotation;
 
-import android.util.Log;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 
-public class FPSCounter {
-    private static int frames = 0;
-    private static long startTimeMillis = 0;
-    private static final long interval = 10000;
-
-    public static void tick() {
-        ++frames;
-        if (System.currentTimeMillis() - startTimeMillis >= interval) {
-            Log.v("test", "FPS : " + frames / (interval / 1000.0f));
-            frames = 0;
-            startTimeMillis = System.currentTimeMillis();
-        }
-    }
+/**
+ * Same shape as the support library annotation so the videoplayer model
+ * classes compile on a plain JVM. Only used by the benchmarks module.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.ANNOTATION_TYPE)
+public @interface IntDef {
+    long[] value() default {};
 
+    boolean flag() default false;
 }
@@ -13,22 +13,18 @@
  * limitations under the License.
  */
 
+package android.util;
 
-package org.gearvrf.bondage;
+import java.io.Reader;
 
-import android.util.Log;
-
-public class FPSCounter {
-    private static int frames = 0;
-    private static long startTimeMillis = 0;
-    private static final long interval = 10000;
-
-    public static void tick() {
-        ++frames;
-        if (System.currentTimeMillis() - startTimeMillis >= interval) {
-            Log.v("", "FPS : " + frames / (interval / 1000.0f));
-            frames = 0;
-            startTimeMillis = System.currentTimeMillis();
-        }
+/**
+ * Stands in for the Android streaming JSON reader so the videoplayer
+ * ExternalVideoReader compiles on a plain JVM. The Android class was
+ * derived from the Gson one and has the same methods. Only used by the
+ * benchmarks module.
+ */
+public class JsonReader extends com.google.gson.stream.JsonReader {
+    public JsonReader(Reader in) {
+        super(in);
     }
 }
@@ -13,22 +13,12 @@
  * limitations under the License.
  */
 
+package org.gearvrf.animation;
 
-package org.gearvrf.x3ddemo;
-
-import android.util.Log;
-
-public class FPSCounter {
-    private static int frames = 0;
-    private static long startTimeMillis = 0;
-    private static final long interval = 10000;
-
-    public static void tick() {
-        ++frames;
-        if (System.currentTimeMillis() - startTimeMillis >= interval) {
-            Log.v("", "FPS : " + frames / (interval / 1000.0f));
-            frames = 0;
-            startTimeMillis = System.currentTimeMillis();
-        }
-    }
+/**
+ * Same shape as the framework interface so the demo interpolators
+ * compile on a plain JVM. Only used by the benchmarks module.
+ */
+public interface GVRInterpolator {
+    float mapRatio(float ratio);
 }
@@ -128,11 +128,6 @@ public class CursorMain extends GVRMain {
     private GVRContext gvrContext = null;
     private GVRScene mainScene;
 
-    // FPS variables
-    private int frames = 0;
-    private long startTimeMillis = 0;
-    private final long interval = 100;
-
     private CursorManager cursorManager;
     private final List<TextView> textViewList;
     private final List<TextView> circleTextViewList;
@@ -208,6 +203,7 @@ public class CursorMain extends GVRMain {
     @Override
     public void onInit(GVRContext gvrContext) {
         this.gvrContext = gvrContext;
+        FrameProfiler.attach(gvrContext, "3dcursor");
         mainScene = gvrContext.getMainScene();
         meshMap = new HashMap<String, GVRMesh>();
         materialMap = new HashMap<String, GVRMaterial>();
@@ -562,20 +558,6 @@ public class CursorMain extends GVRMain {
         }
     };
 
-    @Override
-    public void onStep() {
-        // tick(); uncomment for FPS
-    }
-
-    private void tick() {
-        ++frames;
-        if (System.currentTimeMillis() - startTimeMillis >= interval) {
-            Log.d(TAG, "FPS : " + frames / (interval / 1000.0f));
-            frames = 0;
-            startTimeMillis = System.currentTimeMillis();
-        }
-    }
-
     // The assets for the Cubemap are taken from the Samsung Developers website:
     // http://www.samsung.com/us/samsungdeveloperconnection/developer-resources/
     // gear-vr/apps-and-games/exercise-2-creating-the-splash-scene.html
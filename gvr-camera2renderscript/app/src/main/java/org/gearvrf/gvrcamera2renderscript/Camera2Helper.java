@@ -11,6 +11,7 @@ import android.hardware.camera2.CameraCharacteristics;
 import android.hardware.camera2.CameraDevice;
 import android.hardware.camera2.CameraManager;
 import android.hardware.camera2.CameraMetadata;
+import android.hardware.camera2.CaptureFailure;
 import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.params.StreamConfigurationMap;
 import android.os.Handler;
@@ -20,6 +21,10 @@ import android.view.Surface;
 
 public class Camera2Helper {
 
+	// one thread for all camera callbacks, kept for the life of the process
+	private static HandlerThread sCameraThread;
+	private static Handler sCameraHandler;
+
 	private Activity mActivity;
 	private Size[] mAvailableSizes;
 	private Size mPreferredSize;
@@ -29,6 +34,22 @@ public class Camera2Helper {
 	private List<Surface> mTargetSurfaces;
 	private CaptureRequest.Builder mPreviewBuilder;
 	private CameraCaptureSession mPreviewSession;
+	private boolean mRealtimeTimestamps;
+	private FrameTelemetry mTelemetry;
+
+	/**
+	 * @return the handler of the camera callback thread, started on first use
+	 */
+	public static synchronized Handler getCameraHandler()
+	{
+		if (sCameraHandler == null)
+		{
+			sCameraThread = new HandlerThread("Camera2Helper");
+			sCameraThread.start();
+			sCameraHandler = new Handler(sCameraThread.getLooper());
+		}
+		return sCameraHandler;
+	}
 	
 	public Camera2Helper(Activity activity, int cameraIndex) throws CameraAccessException
 	{
@@ -40,6 +61,26 @@ public class Camera2Helper {
 		CameraCharacteristics characteristics = mCameraManager.getCameraCharacteristics(mCameraId);
 		StreamConfigurationMap map = characteristics.get(CameraCharacteristics.SCALER_STREAM_CONFIGURATION_MAP);
 		mAvailableSizes = map.getOutputSizes(SurfaceTexture.class);
+		Integer timestampSource = characteristics.get(CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE);
+		mRealtimeTimestamps = timestampSource != null
+				&& timestampSource == CameraMetadata.SENSOR_INFO_TIMESTAMP_SOURCE_REALTIME;
+	}
+
+	/**
+	 * @return true if frame timestamps are on the elapsedRealtimeNanos clock,
+	 * false if their clock is not specified
+	 */
+	public boolean hasRealtimeTimestamps()
+	{
+		return mRealtimeTimestamps;
+	}
+
+	/**
+	 * Count failed captures in telemetry. Call before starting the capture.
+	 */
+	public void setTelemetry(FrameTelemetry telemetry)
+	{
+		mTelemetry = telemetry;
 	}
 	
 	public Size[] getOutputSizes()
@@ -78,21 +119,13 @@ public class Camera2Helper {
 	public void startCapture(Surface surface) throws CameraAccessException
 	{
 		mTargetSurfaces.add(surface);
-		
-		HandlerThread thread = new HandlerThread("CameraOpen");
-		thread.start();
-		Handler openHandler = new Handler(thread.getLooper());
-		mCameraManager.openCamera(mCameraId, mStateCallback, openHandler);
+		mCameraManager.openCamera(mCameraId, mStateCallback, getCameraHandler());
 	}
 	
 	public void startCapture(List<Surface> surfaces) throws CameraAccessException
 	{
 		mTargetSurfaces = surfaces;
-		
-		HandlerThread thread = new HandlerThread("CameraOpen");
-		thread.start();
-		Handler openHandler = new Handler(thread.getLooper());
-		mCameraManager.openCamera(mCameraId, mStateCallback, openHandler);
+		mCameraManager.openCamera(mCameraId, mStateCallback, getCameraHandler());
 	}
 	
 	private CameraDevice.StateCallback mStateCallback = new CameraDevice.StateCallback() {
@@ -122,7 +155,7 @@ public class Camera2Helper {
 			{
 				mPreviewBuilder.addTarget(s);
 			}
-			mCameraDevice.createCaptureSession(mTargetSurfaces, mCaptureCallback, null);
+			mCameraDevice.createCaptureSession(mTargetSurfaces, mCaptureCallback, getCameraHandler());
 		} catch (CameraAccessException e) {
 			e.printStackTrace();
 		}
@@ -146,20 +179,29 @@ public class Camera2Helper {
 	
 	protected void updatePreview() {
 		mPreviewBuilder.set(CaptureRequest.CONTROL_MODE,CameraMetadata.CONTROL_MODE_AUTO);
-		
-		HandlerThread thread = new HandlerThread("CameraPreview");
-		thread.start();
-		Handler backgroundHandler = new Handler(thread.getLooper());
 
 		try 
 		{
-			mPreviewSession.setRepeatingRequest(mPreviewBuilder.build(), null, backgroundHandler);
+			mPreviewSession.setRepeatingRequest(mPreviewBuilder.build(), mFrameCallback, getCameraHandler());
 		} catch (CameraAccessException e) 
 		{
 			e.printStackTrace();
 		}
 	}
 
+	private CameraCaptureSession.CaptureCallback mFrameCallback = new CameraCaptureSession.CaptureCallback()
+	{
+		@Override
+		public void onCaptureFailed(CameraCaptureSession session, CaptureRequest request, CaptureFailure failure)
+		{
+			FrameTelemetry telemetry = mTelemetry;
+			if (telemetry != null)
+			{
+				telemetry.onCaptureFailed();
+			}
+		}
+	};
+
 	public void closeCamera() 
 	{
 		try 
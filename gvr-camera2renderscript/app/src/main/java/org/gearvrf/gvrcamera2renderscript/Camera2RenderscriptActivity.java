@@ -3,6 +3,9 @@ package org.gearvrf.gvrcamera2renderscript;
 import org.gearvrf.GVRActivity;
 import android.os.Bundle;
 
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
+
 public class Camera2RenderscriptActivity extends GVRActivity 
 {
 	private Camera2RenderscriptManager mManger;
@@ -21,4 +24,16 @@ public class Camera2RenderscriptActivity extends GVRActivity
         mManger.onPause();
         finish();
     }
+
+    /**
+     * adb shell dumpsys activity org.gearvrf.gvrcamera2renderscript
+     * prints the camera frame telemetry.
+     */
+    @Override
+    public void dump(String prefix, FileDescriptor fd, PrintWriter writer, String[] args) {
+        super.dump(prefix, fd, writer, args);
+        if (mManger != null) {
+            mManger.dump(prefix, writer);
+        }
+    }
 }
@@ -3,6 +3,7 @@ package org.gearvrf.gvrcamera2renderscript;
 import android.graphics.SurfaceTexture;
 import android.hardware.camera2.CameraAccessException;
 import android.renderscript.RenderScript;
+import android.util.Log;
 import android.util.Size;
 import android.view.Surface;
 
@@ -15,21 +16,30 @@ import org.gearvrf.GVRMaterial.GVRShaderType;
 import org.gearvrf.GVRScene;
 import org.gearvrf.GVRSceneObject;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.List;
 
 public class Camera2RenderscriptManager extends GVRMain {
+	private static final String TAG = "Camera2Renderscript";
+	/** Apply the effect with RenderScript, else on the CPU with JavaFrameProcessor */
+	private static final boolean USE_RENDERSCRIPT = true;
+
 	private GVRActivity mActivity;
 	private RenderScript mRS;
 	private SurfaceTexture mSurfaceTexture;
 	private SurfaceTexture mEffectTexture;
 	private Camera2Helper mCameraHelper;
-	private RenderscriptProcessor mProcessor;
+	private FrameProcessor mProcessor;
 	private Surface mSurfaceInterim;
+	private FrameTelemetry mTelemetry;
 
 	public Camera2RenderscriptManager(GVRActivity activity) {
 		mActivity = activity;
-		mRS = RenderScript.create(mActivity);
+		if (USE_RENDERSCRIPT) {
+			mRS = RenderScript.create(mActivity);
+		}
 	}
 
 	@Override
@@ -62,11 +72,18 @@ public class Camera2RenderscriptManager extends GVRMain {
 			public void onDrawFrame(float v) {
 				mSurfaceTexture.updateTexImage();
 				mEffectTexture.updateTexImage();
+				FrameTelemetry telemetry = mTelemetry;
+				if (telemetry != null) {
+					telemetry.onPassThroughUpdated(mSurfaceTexture.getTimestamp());
+					telemetry.onEffectUpdated(mEffectTexture.getTimestamp());
+				}
 			}
 		});
 
 		try {
 			mCameraHelper = new Camera2Helper(mActivity, 0);
+			FrameTelemetry telemetry = new FrameTelemetry(mCameraHelper.hasRealtimeTimestamps());
+			mCameraHelper.setTelemetry(telemetry);
 			Size previewSize = mCameraHelper.setPreferredSize(1920, 1080);
 
 			mSurfaceTexture.setDefaultBufferSize(previewSize.getWidth(), previewSize.getHeight());
@@ -75,7 +92,12 @@ public class Camera2RenderscriptManager extends GVRMain {
 			mEffectTexture.setDefaultBufferSize(previewSize.getWidth(), previewSize.getHeight());
 			Surface effectSurface = new Surface(mEffectTexture);
 
-			mProcessor = new RenderscriptProcessor(mRS, previewSize.getWidth(), previewSize.getHeight());
+			if (USE_RENDERSCRIPT) {
+				mProcessor = new RenderscriptProcessor(mRS, previewSize.getWidth(), previewSize.getHeight(), telemetry);
+			} else {
+				mProcessor = new JavaFrameProcessor(previewSize.getWidth(), previewSize.getHeight(), telemetry);
+			}
+			mTelemetry = telemetry;
 			mProcessor.setOutputSurface(effectSurface);
 			mSurfaceInterim = mProcessor.getInputSurface();
 
@@ -94,5 +116,23 @@ public class Camera2RenderscriptManager extends GVRMain {
 		if (mCameraHelper != null) {
 			mCameraHelper.closeCamera();
 		}
+		FrameTelemetry telemetry = mTelemetry;
+		if (telemetry != null) {
+			StringWriter dump = new StringWriter();
+			telemetry.dump("", new PrintWriter(dump));
+			Log.i(TAG, dump.toString());
+		}
+	}
+
+	/**
+	 * Print the frame telemetry, for adb shell dumpsys activity.
+	 */
+	public void dump(String prefix, PrintWriter writer) {
+		FrameTelemetry telemetry = mTelemetry;
+		if (telemetry != null) {
+			telemetry.dump(prefix, writer);
+		} else {
+			writer.println(prefix + "Camera not started");
+		}
 	}
 }
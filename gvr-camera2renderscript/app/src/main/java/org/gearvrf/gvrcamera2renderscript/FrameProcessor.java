@@ -0,0 +1,19 @@
+package org.gearvrf.gvrcamera2renderscript;
+
+import android.view.Surface;
+
+/**
+ * Applies the camera effect: takes camera frames on its input surface and
+ * draws the processed frames on its output surface.
+ */
+public interface FrameProcessor
+{
+    /**
+     * @return the surface the camera should send frames to
+     */
+    Surface getInputSurface();
+
+    void setOutputSurface(Surface output);
+
+    void release();
+}
@@ -0,0 +1,176 @@
+package org.gearvrf.gvrcamera2renderscript;
+
+import android.os.SystemClock;
+
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frame counts and latencies of the camera to texture pipeline.
+ * <p>
+ * Frames are stamped with their sensor timestamp at capture, when the
+ * effect processor has finished with them, and when their texture is
+ * updated for drawing. Latencies are measured from capture, so they are
+ * only meaningful when {@link #now()} runs on the clock of the sensor
+ * timestamps; see {@link #FrameTelemetry(boolean)}. The effect texture
+ * does not carry the capture time of its frame, so its display latency
+ * is measured from the capture of the frame the processor finished last.
+ * <p>
+ * Everything is recorded without locks or allocation. {@link #dump} can
+ * be called at any time, from any thread.
+ */
+public class FrameTelemetry
+{
+    private final boolean mRealtimeTimestamps;
+
+    private final AtomicLong mCaptureFailures = new AtomicLong();
+    private final AtomicLong mProcessed = new AtomicLong();
+    private final AtomicLong mProcessorDrops = new AtomicLong();
+    private final AtomicLong mPassThroughFrames = new AtomicLong();
+    private final AtomicLong mPassThroughRepeats = new AtomicLong();
+    private final AtomicLong mEffectFrames = new AtomicLong();
+    private final AtomicLong mEffectRepeats = new AtomicLong();
+    private final AtomicLong mLastProcessedCapture = new AtomicLong();
+
+    private final LatencyHistogram mProcessing = new LatencyHistogram();
+    private final LatencyHistogram mCaptureToProcessed = new LatencyHistogram();
+    private final LatencyHistogram mPassThroughLatency = new LatencyHistogram();
+    private final LatencyHistogram mPassThroughInterval = new LatencyHistogram();
+    private final LatencyHistogram mEffectLatency = new LatencyHistogram();
+
+    // render thread only
+    private long mLastPassThroughTimestamp;
+    private long mLastEffectTimestamp;
+
+    /**
+     * @param realtimeTimestamps true if the sensor timestamps are on the
+     *                           elapsedRealtimeNanos clock, false if they
+     *                           are assumed to be on the monotonic clock
+     *                           of System.nanoTime
+     */
+    public FrameTelemetry(boolean realtimeTimestamps)
+    {
+        mRealtimeTimestamps = realtimeTimestamps;
+    }
+
+    /**
+     * @return the current time on the clock of the sensor timestamps
+     */
+    public long now()
+    {
+        return mRealtimeTimestamps ? SystemClock.elapsedRealtimeNanos() : System.nanoTime();
+    }
+
+    /**
+     * A capture request failed or lost its buffer.
+     */
+    public void onCaptureFailed()
+    {
+        mCaptureFailures.incrementAndGet();
+    }
+
+    /**
+     * The processor skipped frames to get to the newest one.
+     */
+    public void onFramesDropped(int count)
+    {
+        mProcessorDrops.addAndGet(count);
+    }
+
+    /**
+     * The processor sent a frame to its output.
+     *
+     * @param captureTimestamp sensor timestamp of the frame, 0 if unknown
+     * @param start            when processing started, from {@link #now()}
+     * @param end              when the frame was sent, from {@link #now()}
+     */
+    public void onFrameProcessed(long captureTimestamp, long start, long end)
+    {
+        mProcessed.incrementAndGet();
+        mProcessing.record(end - start);
+        if (captureTimestamp > 0)
+        {
+            mCaptureToProcessed.record(end - captureTimestamp);
+            mLastProcessedCapture.set(captureTimestamp);
+        }
+    }
+
+    /**
+     * The pass through texture was updated for drawing. Render thread only.
+     *
+     * @param textureTimestamp SurfaceTexture.getTimestamp() after the update
+     */
+    public void onPassThroughUpdated(long textureTimestamp)
+    {
+        if (textureTimestamp == mLastPassThroughTimestamp)
+        {
+            mPassThroughRepeats.incrementAndGet();
+            return;
+        }
+        mPassThroughFrames.incrementAndGet();
+        mPassThroughLatency.record(now() - textureTimestamp);
+        if (mLastPassThroughTimestamp != 0)
+        {
+            mPassThroughInterval.record(textureTimestamp - mLastPassThroughTimestamp);
+        }
+        mLastPassThroughTimestamp = textureTimestamp;
+    }
+
+    /**
+     * The effect texture was updated for drawing. Render thread only.
+     *
+     * @param textureTimestamp SurfaceTexture.getTimestamp() after the update
+     */
+    public void onEffectUpdated(long textureTimestamp)
+    {
+        if (textureTimestamp == mLastEffectTimestamp)
+        {
+            mEffectRepeats.incrementAndGet();
+            return;
+        }
+        mEffectFrames.incrementAndGet();
+        mLastEffectTimestamp = textureTimestamp;
+        long capture = mLastProcessedCapture.get();
+        if (capture > 0)
+        {
+            mEffectLatency.record(now() - capture);
+        }
+    }
+
+    /**
+     * Forget everything recorded so far, to measure from a known point.
+     */
+    public void reset()
+    {
+        mCaptureFailures.set(0);
+        mProcessed.set(0);
+        mProcessorDrops.set(0);
+        mPassThroughFrames.set(0);
+        mPassThroughRepeats.set(0);
+        mEffectFrames.set(0);
+        mEffectRepeats.set(0);
+        mProcessing.reset();
+        mCaptureToProcessed.reset();
+        mPassThroughLatency.reset();
+        mPassThroughInterval.reset();
+        mEffectLatency.reset();
+    }
+
+    public void dump(String prefix, PrintWriter writer)
+    {
+        writer.println(prefix + "Camera frames (" + (mRealtimeTimestamps ? "realtime" : "monotonic")
+                + " timestamps)");
+        writer.println(prefix + "  capture failures: " + mCaptureFailures.get());
+        writer.println(prefix + "  processed: " + mProcessed.get()
+                + ", dropped by processor: " + mProcessorDrops.get());
+        writer.println(prefix + "  pass through shown: " + mPassThroughFrames.get()
+                + ", draws without a new frame: " + mPassThroughRepeats.get());
+        writer.println(prefix + "  effect shown: " + mEffectFrames.get()
+                + ", draws without a new frame: " + mEffectRepeats.get());
+        writer.println(prefix + "  processing:              " + mProcessing);
+        writer.println(prefix + "  capture to processed:    " + mCaptureToProcessed);
+        writer.println(prefix + "  capture to pass through: " + mPassThroughLatency);
+        writer.println(prefix + "  pass through interval:   " + mPassThroughInterval);
+        writer.println(prefix + "  capture to effect:       " + mEffectLatency);
+    }
+}
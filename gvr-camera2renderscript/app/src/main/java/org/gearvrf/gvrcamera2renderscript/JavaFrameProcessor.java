@@ -0,0 +1,155 @@
+package org.gearvrf.gvrcamera2renderscript;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ImageFormat;
+import android.media.Image;
+import android.media.ImageReader;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+import android.view.Surface;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Applies the mono effect on the CPU, without RenderScript.
+ * <p>
+ * Camera frames arrive in an ImageReader as YUV_420_888. Only the newest
+ * one is processed: acquireLatestImage closes any frames that arrived
+ * while the previous one was being converted. Each frame is converted by
+ * {@link YuvKernels} into one reused direct buffer, copied into one
+ * reused bitmap and drawn on the output surface. Frames closed unseen
+ * are counted as dropped in the telemetry.
+ */
+public class JavaFrameProcessor implements FrameProcessor, ImageReader.OnImageAvailableListener
+{
+    private static final String TAG = "JavaFrameProcessor";
+    private static final int MAX_IMAGES = 3;
+
+    private final int mWidth;
+    private final int mHeight;
+    private final YuvKernels.Output mOutput;
+    private final FrameTelemetry mTelemetry;
+
+    private final ImageReader mImageReader;
+    private final HandlerThread mProcessingThread;
+    private final ForkJoinPool mPool;
+    private final YuvKernels mKernels;
+    private final YuvFrame mFrame = new YuvFrame();
+    private final ByteBuffer mPixels;
+    private final Bitmap mBitmap;
+
+    private Surface mOutputSurface;
+
+    public JavaFrameProcessor(int width, int height, FrameTelemetry telemetry)
+    {
+        this(width, height, YuvKernels.Output.MONO, telemetry);
+    }
+
+    /**
+     * @param output {@link YuvKernels.Output#MONO} or
+     *               {@link YuvKernels.Output#RGBA}
+     */
+    public JavaFrameProcessor(int width, int height, YuvKernels.Output output, FrameTelemetry telemetry)
+    {
+        if (output == YuvKernels.Output.LUMA)
+        {
+            throw new IllegalArgumentException("Output surface needs RGBA pixels");
+        }
+        mWidth = width;
+        mHeight = height;
+        mOutput = output;
+        mTelemetry = telemetry;
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        mPool = new ForkJoinPool(threads);
+        mKernels = new YuvKernels(mPool, threads * 2);
+        mPixels = ByteBuffer.allocateDirect(output.getFrameBytes(width, height))
+                .order(ByteOrder.nativeOrder());
+        mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+
+        mProcessingThread = new HandlerThread("EffectProcessor");
+        mProcessingThread.start();
+        mImageReader = ImageReader.newInstance(width, height, ImageFormat.YUV_420_888, MAX_IMAGES);
+        mImageReader.setOnImageAvailableListener(this, new Handler(mProcessingThread.getLooper()));
+    }
+
+    @Override
+    public Surface getInputSurface()
+    {
+        return mImageReader.getSurface();
+    }
+
+    @Override
+    public void setOutputSurface(Surface output)
+    {
+        mOutputSurface = output;
+    }
+
+    @Override
+    public void release()
+    {
+        mImageReader.setOnImageAvailableListener(null, null);
+        mProcessingThread.quitSafely();
+        try
+        {
+            mProcessingThread.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        mImageReader.close();
+        mPool.shutdown();
+    }
+
+    @Override
+    public void onImageAvailable(ImageReader reader)
+    {
+        Image image = reader.acquireLatestImage();
+        if (image == null)
+        {
+            // an earlier call took the frame this call was made for
+            mTelemetry.onFramesDropped(1);
+            return;
+        }
+        long start = mTelemetry.now();
+        long captureTimestamp;
+        try
+        {
+            captureTimestamp = image.getTimestamp();
+            Image.Plane[] planes = image.getPlanes();
+            mFrame.set(mWidth, mHeight,
+                    planes[0].getBuffer(), planes[0].getRowStride(),
+                    planes[1].getBuffer(), planes[2].getBuffer(),
+                    planes[1].getRowStride(), planes[1].getPixelStride());
+            mKernels.convert(mFrame, mOutput, mPixels);
+        }
+        finally
+        {
+            image.close();
+        }
+
+        Surface output = mOutputSurface;
+        if (output == null)
+        {
+            return;
+        }
+        mPixels.rewind();
+        mBitmap.copyPixelsFromBuffer(mPixels);
+        try
+        {
+            Canvas canvas = output.lockCanvas(null);
+            canvas.drawBitmap(mBitmap, 0, 0, null);
+            output.unlockCanvasAndPost(canvas);
+            mTelemetry.onFrameProcessed(captureTimestamp, start, mTelemetry.now());
+        }
+        catch (Surface.OutOfResourcesException e)
+        {
+            Log.w(TAG, "Unable to draw frame: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.gearvrf.gvrcamera2renderscript;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations in nanoseconds with buckets of constant relative
+ * width, in the manner of HdrHistogram.
+ * <p>
+ * Values below 64 ns have a bucket each; above that every power of two is
+ * split into 32 buckets, so a reported value is within about 3% of the
+ * recorded one. Values over {@link #MAX_VALUE} are counted as MAX_VALUE.
+ * Recording is lock free and allocates nothing, so it can be done from
+ * the camera, processing and render threads at once. Reading while
+ * values are recorded gives a slightly out of date but usable answer.
+ */
+public class LatencyHistogram
+{
+    /** Largest value told apart from larger ones, about 18 minutes */
+    public static final long MAX_VALUE = (1L << 40) - 1;
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+
+    private final AtomicLongArray mCounts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+    private final AtomicLong mTotalCount = new AtomicLong();
+    private final AtomicLong mTotal = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong();
+
+    /**
+     * Count a duration. Negative durations are ignored.
+     */
+    public void record(long nanos)
+    {
+        if (nanos < 0)
+        {
+            return;
+        }
+        if (nanos > MAX_VALUE)
+        {
+            nanos = MAX_VALUE;
+        }
+        mCounts.incrementAndGet(indexOf(nanos));
+        mTotalCount.incrementAndGet();
+        mTotal.addAndGet(nanos);
+
+        long max = mMax.get();
+        while (nanos > max && !mMax.compareAndSet(max, nanos))
+        {
+            max = mMax.get();
+        }
+    }
+
+    public long getCount()
+    {
+        return mTotalCount.get();
+    }
+
+    public long getMax()
+    {
+        return mMax.get();
+    }
+
+    public long getMean()
+    {
+        long count = mTotalCount.get();
+        return count == 0 ? 0 : mTotal.get() / count;
+    }
+
+    /**
+     * @param percentile from 0 to 100
+     * @return the highest value in the bucket holding the percentile, 0 if
+     * nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile)
+    {
+        long count = mTotalCount.get();
+        if (count == 0)
+        {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(percentile, 100.0) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < mCounts.length(); i++)
+        {
+            seen += mCounts.get(i);
+            if (seen >= rank)
+            {
+                return Math.min(highestValueAt(i), mMax.get());
+            }
+        }
+        return mMax.get();
+    }
+
+    /**
+     * Forget all values. Values recorded while resetting may be lost or
+     * only partly counted.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < mCounts.length(); i++)
+        {
+            mCounts.set(i, 0);
+        }
+        mTotalCount.set(0);
+        mTotal.set(0);
+        mMax.set(0);
+    }
+
+    /**
+     * @return count, mean, median, 90th, 99th and 99.9th percentile and
+     * maximum, in milliseconds
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("n=%d mean=%.2f p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f ms",
+                getCount(), toMillis(getMean()), toMillis(getValueAtPercentile(50)),
+                toMillis(getValueAtPercentile(90)), toMillis(getValueAtPercentile(99)),
+                toMillis(getValueAtPercentile(99.9)), toMillis(getMax()));
+    }
+
+    private static double toMillis(long nanos)
+    {
+        return nanos / 1e6;
+    }
+
+    static int indexOf(long value)
+    {
+        if (value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long highestValueAt(int index)
+    {
+        if (index < SUB_BUCKETS)
+        {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        long lowest = (long) (index - shift * HALF_SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -9,7 +9,7 @@ import android.renderscript.*;
 import android.util.Log;
 import android.view.Surface;
 
-public class RenderscriptProcessor 
+public class RenderscriptProcessor implements FrameProcessor
 {
     private Allocation mInputAllocation;
     private Allocation mInterAllocation;
@@ -23,9 +23,12 @@ public class RenderscriptProcessor
     public ProcessingTask mTask;
     
     private boolean mNeedYuvConversion = false;
+    private final FrameTelemetry mTelemetry;
     
-    public RenderscriptProcessor(RenderScript rs, int width, int height)
+    public RenderscriptProcessor(RenderScript rs, int width, int height, FrameTelemetry telemetry)
     {
+        mTelemetry = telemetry;
+
         String model = Build.MODEL;
         Log.d("MODEL", model);
         if (model.contains("SM-N920") || model.contains("SM-G920") || model.contains("SM-G925") || model.contains("SM-G928")
@@ -68,6 +71,7 @@ public class RenderscriptProcessor
         mTask = new ProcessingTask(mInputAllocation, mNeedYuvConversion);
     }
     
+    @Override
     public void release()
     {
         mTask.release();
@@ -75,10 +79,12 @@ public class RenderscriptProcessor
         mProcessingThread.quit();
     }
     
+    @Override
     public Surface getInputSurface() {
         return mInputAllocation.getSurface();
     }
 
+    @Override
     public void setOutputSurface(Surface output) {
         mOutputAllocation.setSurface(output);
     }
@@ -121,6 +127,10 @@ public class RenderscriptProcessor
             for (int i = 0; i < pendingFrames; i++) {
                 mInputAllocation.ioReceive();
             }
+            if (pendingFrames > 1) {
+                mTelemetry.onFramesDropped(pendingFrames - 1);
+            }
+            long start = mTelemetry.now();
 
             if( mNeedYuvConversion )
             {
@@ -134,6 +144,7 @@ public class RenderscriptProcessor
             }
 
             mOutputAllocation.ioSend();
+            mTelemetry.onFrameProcessed(mInputAllocation.getTimeStamp(), start, mTelemetry.now());
         }
     }
 }
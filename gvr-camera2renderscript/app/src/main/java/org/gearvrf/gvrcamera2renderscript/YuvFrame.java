@@ -0,0 +1,81 @@
+package org.gearvrf.gvrcamera2renderscript;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Where the planes of a YUV 4:2:0 frame are, without copying them.
+ * <p>
+ * Covers the planar and semi-planar layouts: a YUV_420_888 image from an
+ * ImageReader is described by its three plane buffers and strides, an
+ * NV21 buffer by offsets into one buffer with a chroma pixel stride of 2.
+ * A frame is reset for every image instead of being allocated again.
+ */
+public class YuvFrame
+{
+    int mWidth;
+    int mHeight;
+
+    ByteBuffer mY;
+    int mYOffset;
+    int mYRowStride;
+
+    ByteBuffer mU;
+    int mUOffset;
+    ByteBuffer mV;
+    int mVOffset;
+    int mUvRowStride;
+    int mUvPixelStride;
+
+    /**
+     * Describe a frame whose planes are in separate buffers, as the planes
+     * of an android.media.Image are.
+     */
+    public YuvFrame set(int width, int height,
+                        ByteBuffer y, int yRowStride,
+                        ByteBuffer u, ByteBuffer v, int uvRowStride, int uvPixelStride)
+    {
+        mWidth = width;
+        mHeight = height;
+        mY = y;
+        mYOffset = 0;
+        mYRowStride = yRowStride;
+        mU = u;
+        mUOffset = 0;
+        mV = v;
+        mVOffset = 0;
+        mUvRowStride = uvRowStride;
+        mUvPixelStride = uvPixelStride;
+        return this;
+    }
+
+    /**
+     * Describe an NV21 frame: the luma plane followed by interleaved V and U
+     * samples.
+     */
+    public YuvFrame setNv21(int width, int height, ByteBuffer data)
+    {
+        int lumaSize = width * height;
+        mWidth = width;
+        mHeight = height;
+        mY = data;
+        mYOffset = 0;
+        mYRowStride = width;
+        mV = data;
+        mVOffset = lumaSize;
+        mU = data;
+        mUOffset = lumaSize + 1;
+        mUvRowStride = width;
+        mUvPixelStride = 2;
+        return this;
+    }
+
+    public int getWidth()
+    {
+        return mWidth;
+    }
+
+    public int getHeight()
+    {
+        return mHeight;
+    }
+}
@@ -0,0 +1,253 @@
+package org.gearvrf.gvrcamera2renderscript;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Converts YUV 4:2:0 frames on the CPU, split into bands of rows which
+ * run on a fork-join pool.
+ * <p>
+ * The conversions match what RenderscriptProcessor computes:
+ * {@link Output#RGBA} uses the integer BT.601 video range formula of
+ * ScriptIntrinsicYuvToRGB, and {@link Output#MONO} then weights the
+ * channels as mono.rs does, within one level of rounding. The band tasks
+ * are made once and reused, so converting a frame allocates nothing.
+ * Not thread safe; convert one frame at a time.
+ */
+public class YuvKernels
+{
+    public enum Output
+    {
+        /** The luma plane, one byte per pixel */
+        LUMA(1),
+        /** Grey RGBA, four bytes per pixel */
+        MONO(4),
+        /** Colour RGBA, four bytes per pixel */
+        RGBA(4);
+
+        final int mBytesPerPixel;
+
+        Output(int bytesPerPixel)
+        {
+            mBytesPerPixel = bytesPerPixel;
+        }
+
+        /**
+         * @return the size of the output buffer for a frame
+         */
+        public int getFrameBytes(int width, int height)
+        {
+            return width * height * mBytesPerPixel;
+        }
+    }
+
+    /* mono.rs weights scaled by 2^16, they add up to 65536 */
+    private static final int MONO_R = 19595;
+    private static final int MONO_G = 38470;
+    private static final int MONO_B = 7471;
+
+    private final ForkJoinPool mPool;
+    private final Band[] mBands;
+    private final RecursiveAction mRoot;
+
+    private YuvFrame mFrame;
+    private ByteBuffer mDest;
+    private Output mOutput;
+
+    /**
+     * @param pool  where the bands run, or null to convert on the calling
+     *              thread
+     * @param bands number of bands a frame is split into
+     */
+    public YuvKernels(ForkJoinPool pool, int bands)
+    {
+        mPool = pool;
+        mBands = new Band[pool != null ? Math.max(1, bands) : 1];
+        for (int i = 0; i < mBands.length; i++)
+        {
+            mBands[i] = new Band(i);
+        }
+        mRoot = new RecursiveAction()
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute()
+            {
+                invokeAll(mBands);
+            }
+        };
+    }
+
+    /**
+     * Convert a frame into dest, starting at index 0 and packed without
+     * row padding. dest must hold {@link Output#getFrameBytes(int, int)}
+     * bytes.
+     */
+    public void convert(YuvFrame frame, Output output, ByteBuffer dest)
+    {
+        if (dest.capacity() < output.getFrameBytes(frame.mWidth, frame.mHeight))
+        {
+            throw new IllegalArgumentException("Output buffer too small");
+        }
+        if (mPool == null)
+        {
+            convertRows(frame, output, dest, 0, frame.mHeight);
+            return;
+        }
+        mFrame = frame;
+        mOutput = output;
+        mDest = dest;
+        try
+        {
+            for (Band band : mBands)
+            {
+                band.reinitialize();
+            }
+            mRoot.reinitialize();
+            mPool.invoke(mRoot);
+        }
+        finally
+        {
+            mFrame = null;
+            mDest = null;
+        }
+    }
+
+    /**
+     * Convert the rows [rowStart, rowEnd) of a frame on the calling thread.
+     * rowStart must be even so a band starts on a chroma row.
+     */
+    public static void convertRows(YuvFrame frame, Output output, ByteBuffer dest,
+                                   int rowStart, int rowEnd)
+    {
+        switch (output)
+        {
+            case LUMA:
+                lumaRows(frame, dest, rowStart, rowEnd);
+                break;
+            case MONO:
+                rgbaRows(frame, dest, rowStart, rowEnd, true);
+                break;
+            case RGBA:
+                rgbaRows(frame, dest, rowStart, rowEnd, false);
+                break;
+        }
+    }
+
+    private static void lumaRows(YuvFrame frame, ByteBuffer dest, int rowStart, int rowEnd)
+    {
+        ByteBuffer y = frame.mY;
+        int width = frame.mWidth;
+        // eight bytes at a time, unless that would swap them
+        int wordEnd = y.order() == dest.order() ? width - 7 : 0;
+        for (int row = rowStart; row < rowEnd; row++)
+        {
+            int src = frame.mYOffset + row * frame.mYRowStride;
+            int dst = row * width;
+            int x = 0;
+            for (; x < wordEnd; x += 8)
+            {
+                dest.putLong(dst + x, y.getLong(src + x));
+            }
+            for (; x < width; x++)
+            {
+                dest.put(dst + x, y.get(src + x));
+            }
+        }
+    }
+
+    private static void rgbaRows(YuvFrame frame, ByteBuffer dest, int rowStart, int rowEnd,
+                                 boolean mono)
+    {
+        ByteBuffer yPlane = frame.mY;
+        ByteBuffer uPlane = frame.mU;
+        ByteBuffer vPlane = frame.mV;
+        int width = frame.mWidth;
+        int uvPixelStride = frame.mUvPixelStride;
+        boolean littleEndian = dest.order() == ByteOrder.LITTLE_ENDIAN;
+
+        for (int row = rowStart; row < rowEnd; row++)
+        {
+            int yIndex = frame.mYOffset + row * frame.mYRowStride;
+            int uvRow = (row >> 1) * frame.mUvRowStride;
+            int uIndex = frame.mUOffset + uvRow;
+            int vIndex = frame.mVOffset + uvRow;
+            int dst = row * width * 4;
+
+            for (int x = 0; x < width; x += 2)
+            {
+                int u = (uPlane.get(uIndex) & 0xFF) - 128;
+                int v = (vPlane.get(vIndex) & 0xFF) - 128;
+                uIndex += uvPixelStride;
+                vIndex += uvPixelStride;
+
+                int rv = v * 409 + 128;
+                int guv = -u * 100 - v * 208 + 128;
+                int bu = u * 516 + 128;
+
+                int y0 = ((yPlane.get(yIndex + x) & 0xFF) - 16) * 298;
+                dest.putInt(dst, pack(y0 + rv, y0 + guv, y0 + bu, mono, littleEndian));
+                dst += 4;
+                if (x + 1 < width)
+                {
+                    int y1 = ((yPlane.get(yIndex + x + 1) & 0xFF) - 16) * 298;
+                    dest.putInt(dst, pack(y1 + rv, y1 + guv, y1 + bu, mono, littleEndian));
+                    dst += 4;
+                }
+            }
+        }
+    }
+
+    /*
+     * Takes the channels scaled by 256, returns the pixel as an int which
+     * putInt stores as R, G, B, A bytes.
+     */
+    private static int pack(int r, int g, int b, boolean mono, boolean littleEndian)
+    {
+        r = clamp(r >> 8);
+        g = clamp(g >> 8);
+        b = clamp(b >> 8);
+        if (mono)
+        {
+            r = g = b = (r * MONO_R + g * MONO_G + b * MONO_B + 32768) >> 16;
+        }
+        if (littleEndian)
+        {
+            return 0xFF000000 | (b << 16) | (g << 8) | r;
+        }
+        return (r << 24) | (g << 16) | (b << 8) | 0xFF;
+    }
+
+    private static int clamp(int value)
+    {
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+
+    private final class Band extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int mIndex;
+
+        Band(int index)
+        {
+            mIndex = index;
+        }
+
+        @Override
+        protected void compute()
+        {
+            // bands start on even rows so each chroma row is read by one band
+            int pairs = (mFrame.mHeight + 1) / 2;
+            int start = 2 * (int) ((long) pairs * mIndex / mBands.length);
+            int end = Math.min(mFrame.mHeight, 2 * (int) ((long) pairs * (mIndex + 1) / mBands.length));
+            if (start < end)
+            {
+                convertRows(mFrame, mOutput, mDest, start, end);
+            }
+        }
+    }
+}
@@ -321,11 +321,11 @@ public class Main extends GVRMain {
 
     @Override
     public void onStep() {
-        worm.chainMove(mGVRContext);
-
         GamepadInput.process();
         TouchPadInput.process();
 
+        worm.chainMove(mGVRContext);
+
         if(touchpad != null)
             touchpad.updateIndicator();
 
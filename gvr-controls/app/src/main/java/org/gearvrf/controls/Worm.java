@@ -17,10 +17,10 @@ package org.gearvrf.controls;
 
 import android.view.MotionEvent;
 
-import org.apache.commons.math3.geometry.euclidean.threed.Vector3D;
 import org.gearvrf.GVRCameraRig;
 import org.gearvrf.GVRContext;
 import org.gearvrf.GVRSceneObject;
+import org.gearvrf.GVRTransform;
 import org.gearvrf.animation.GVRAnimation;
 import org.gearvrf.animation.GVROnFinish;
 import org.gearvrf.animation.GVRRelativeMotionAnimation;
@@ -37,6 +37,7 @@ import org.gearvrf.controls.util.Constants;
 import org.gearvrf.controls.util.MathUtils;
 import org.gearvrf.controls.util.RenderingOrder;
 import org.gearvrf.controls.util.Util;
+import org.gearvrf.controls.util.VectorMath;
 import org.gearvrf.io.GVRTouchPadGestureListener;
 
 public class Worm extends GVRSceneObject {
@@ -61,6 +62,7 @@ public class Worm extends GVRSceneObject {
     private boolean isRotatingWorm = false;
 
     private GVRAnimation wormParentAnimation;
+    private final float[] movePosition = new float[3];
 
     private MovementDirection wormDirection = MovementDirection.Up;
 
@@ -260,7 +262,7 @@ public class Worm extends GVRSceneObject {
                 cameraObject.getTransform())
                 + movement;
         float[] newPosition = Util.calculatePointBetweenTwoObjects(cameraObject.getTransform(),
-                wormParent.getTransform(), distance);
+                wormParent.getTransform(), distance, movePosition);
 
         if (movement < 0
                 && MathUtils.distance(cameraObject.getTransform(), newPosition) < Constants.MIN_WORM_MOVE_DISTANCE)
@@ -325,15 +327,16 @@ public class Worm extends GVRSceneObject {
 
     public void checkWormEatingApple(GVRContext gvrContext) {
 
-        Vector3D wormPosition = new Vector3D(wormParent.getTransform().getPositionX(), head
-                .getParent()
-                .getTransform().getPositionY(), wormParent.getTransform().getPositionZ());
+        float wormX = wormParent.getTransform().getPositionX();
+        float wormY = head.getParent().getTransform().getPositionY();
+        float wormZ = wormParent.getTransform().getPositionZ();
+        float eatDistanceSquared = DISTANCE_TO_EAT_APPLE * DISTANCE_TO_EAT_APPLE;
 
         for (Apple a : Apple.appleList) {
-            Vector3D applePosition = new Vector3D(a.getTransform().getPositionX(), a.getTransform()
-                    .getPositionY(), a.getTransform().getPositionZ());
+            GVRTransform apple = a.getTransform();
 
-            if (Vector3D.distance(applePosition, wormPosition) < DISTANCE_TO_EAT_APPLE) {
+            if (VectorMath.distanceSquared(apple.getPositionX(), apple.getPositionY(),
+                    apple.getPositionZ(), wormX, wormY, wormZ) < eatDistanceSquared) {
 
                 a.resetPosition(gvrContext);
             }
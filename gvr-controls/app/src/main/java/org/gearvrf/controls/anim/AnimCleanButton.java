@@ -43,6 +43,7 @@ import org.gearvrf.controls.R;
 import org.gearvrf.controls.menu.MenuControlSceneObject;
 import org.gearvrf.controls.shaders.ButtonShader;
 import org.gearvrf.controls.shaders.ColorSwapShader;
+import org.gearvrf.controls.util.GVRTextBitmapFactory;
 import org.gearvrf.controls.util.RenderingOrder;
 import org.gearvrf.controls.util.Text;
 
@@ -137,7 +138,7 @@ public class AnimCleanButton extends MenuControlSceneObject {
 
     public static Bitmap create(Context context, int width, int height, Text text, String font) {
 
-        Typeface myTypeface = Typeface.createFromAsset(context.getAssets(), font);
+        Typeface myTypeface = GVRTextBitmapFactory.getTypeface(context, font);
 
         Resources res = context.getResources();
         float scale = res.getDisplayMetrics().density;
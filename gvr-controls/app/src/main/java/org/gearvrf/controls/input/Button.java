@@ -33,10 +33,4 @@ public class Button {
         return pressed;
     }
 
-    protected void replicateValues(Button button) {
-        this.down = button.down;
-        this.up = button.up;
-        this.pressed = button.pressed;
-    }
-
 }
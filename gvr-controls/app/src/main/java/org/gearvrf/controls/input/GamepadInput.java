@@ -19,74 +19,144 @@ import android.view.InputDevice;
 import android.view.KeyEvent;
 import android.view.MotionEvent;
 
-import java.util.ArrayList;
-
+/**
+ * Gamepad input. The input methods are called on the UI thread and only
+ * queue events; {@link #process()} applies them on the GL thread once per
+ * frame, and the getters return the state of that frame.
+ */
 public final class GamepadInput {
 
-    private static GamepadMap newGamepadMap = new GamepadMap();
-
-    private static GamepadMap oldGamepadMap = new GamepadMap();
+    private static final int EVENT_KEY_DOWN = 0;
+    private static final int EVENT_KEY_UP = 1;
+    private static final int EVENT_AXES = 2;
+    private static final int EVENT_CENTERED_AXES = 3;
+
+    private static final int AXIS_COUNT = 6;
+
+    private static final InputEventRing events = new InputEventRing(256, AXIS_COUNT);
+
+    // UI thread scratch for axis values
+    private static final float[] axisValues = new float[AXIS_COUNT];
+
+    private static final GamepadMap gamepadMap = new GamepadMap();
+
+    private static final InputEventRing.Handler applyEvent = new InputEventRing.Handler() {
+        @Override
+        public void onEvent(int type, int code, long time, float[] values, int offset) {
+            gamepadMap.latestEventTime = time;
+            switch (type) {
+                case EVENT_KEY_DOWN:
+                    updateButton(code, true, time);
+                    break;
+                case EVENT_KEY_UP:
+                    updateButton(code, false, time);
+                    break;
+                case EVENT_AXES:
+                    gamepadMap.axisX = values[offset];
+                    gamepadMap.axisY = values[offset + 1];
+                    gamepadMap.axisHatX = values[offset + 2];
+                    gamepadMap.axisHatY = values[offset + 3];
+                    gamepadMap.axisRX = values[offset + 4];
+                    gamepadMap.axisRY = values[offset + 5];
+                    break;
+                case EVENT_CENTERED_AXES:
+                    gamepadMap.centeredAxisX = values[offset];
+                    gamepadMap.centeredAxisY = values[offset + 1];
+                    gamepadMap.centeredAxisHatX = values[offset + 2];
+                    gamepadMap.centeredAxisHatY = values[offset + 3];
+                    gamepadMap.centeredAxisRX = values[offset + 4];
+                    gamepadMap.centeredAxisRY = values[offset + 5];
+                    break;
+            }
+        }
+    };
 
+    /**
+     * Apply the events queued since the last frame. GL thread only.
+     */
     public static void process() {
-
-        newGamepadMap.resetIntermadiateState();
-
-        for (Integer key : oldGamepadMap.buttonsKeyCode) {
-            Button oldButton = oldGamepadMap.buttons.get(key);
-            Button newButton = newGamepadMap.buttons.get(key);
-
-            updateIntermiteStates(newButton, oldButton);
-        }
+        gamepadMap.resetIntermadiateState();
+        events.drain(applyEvent);
     }
 
-    private static void updateIntermiteStates(Button newButton, Button oldButton) {
-
-        if (oldButton.pressed != newButton.pressed) {
-            newButton.down = newButton.pressed;
-            newButton.up = !newButton.pressed;
+    private static void updateButton(int keyCode, boolean pressed, long time) {
+        int bit = GamepadMap.bitOf(keyCode);
+        if (bit < 0) {
+            return;
+        }
+        int mask = 1 << bit;
+        boolean wasPressed = (gamepadMap.pressed & mask) != 0;
+
+        // key repeats and releases of keys pressed before start are not edges
+        if (pressed && !wasPressed) {
+            gamepadMap.pressed |= mask;
+            gamepadMap.down |= mask;
+            gamepadMap.eventTimes[bit] = time;
+        } else if (!pressed && wasPressed) {
+            gamepadMap.pressed &= ~mask;
+            gamepadMap.up |= mask;
+            gamepadMap.eventTimes[bit] = time;
         }
-
-        oldButton.replicateValues(newButton);
     }
 
     public static void input(MotionEvent event) {
 
-        newGamepadMap.axisX = event.getAxisValue(MotionEvent.AXIS_X);
-        newGamepadMap.axisY = event.getAxisValue(MotionEvent.AXIS_Y);
-        newGamepadMap.axisHatX = event.getAxisValue(MotionEvent.AXIS_HAT_X);
-        newGamepadMap.axisHatY = event.getAxisValue(MotionEvent.AXIS_HAT_Y);
-        newGamepadMap.axisRX = event.getAxisValue(MotionEvent.AXIS_RX);
-        newGamepadMap.axisRY = event.getAxisValue(MotionEvent.AXIS_RY);
+        axisValues[0] = event.getAxisValue(MotionEvent.AXIS_X);
+        axisValues[1] = event.getAxisValue(MotionEvent.AXIS_Y);
+        axisValues[2] = event.getAxisValue(MotionEvent.AXIS_HAT_X);
+        axisValues[3] = event.getAxisValue(MotionEvent.AXIS_HAT_Y);
+        axisValues[4] = event.getAxisValue(MotionEvent.AXIS_RX);
+        axisValues[5] = event.getAxisValue(MotionEvent.AXIS_RY);
+        events.offer(EVENT_AXES, 0, event.getEventTime(), axisValues);
 
     }
 
     public static void input(KeyEvent event) {
 
         if (event.getAction() == KeyEvent.ACTION_DOWN) {
-            newGamepadMap.buttons.get(event.getKeyCode()).pressed = true;
+            events.offer(EVENT_KEY_DOWN, event.getKeyCode(), event.getEventTime(), null);
 
         }
         if (event.getAction() == KeyEvent.ACTION_UP) {
-            newGamepadMap.buttons.get(event.getKeyCode()).pressed = false;
+            events.offer(EVENT_KEY_UP, event.getKeyCode(), event.getEventTime(), null);
 
         }
 
     }
 
     public static boolean getKeyDown(int key) {
-        return newGamepadMap.buttons.get(key).down;
+        return (gamepadMap.down & GamepadMap.maskOf(key)) != 0;
     }
 
     public static boolean getKeyUp(int key) {
-        return newGamepadMap.buttons.get(key).up;
+        return (gamepadMap.up & GamepadMap.maskOf(key)) != 0;
     }
 
     public static boolean getKey(int key) {
-        return newGamepadMap.buttons.get(key).pressed;
+        return (gamepadMap.pressed & GamepadMap.maskOf(key)) != 0;
     }
 
-    public static Button getButton(int key) {
-        return newGamepadMap.buttons.get(key);
+    /**
+     * @return uptime in milliseconds of the last press or release of the key,
+     * which may be earlier than the start of the frame
+     */
+    public static long getKeyEventTime(int key) {
+        int bit = GamepadMap.bitOf(key);
+        return bit < 0 ? 0 : gamepadMap.eventTimes[bit];
+    }
+
+    /**
+     * @return uptime in milliseconds of the latest event applied
+     */
+    public static long getLatestEventTime() {
+        return gamepadMap.latestEventTime;
+    }
+
+    /**
+     * @return number of events lost because the GL thread fell behind
+     */
+    public static int getDroppedEventCount() {
+        return events.getDroppedCount();
     }
 
     // getCenteredAxis() and some other code are referenced from:
@@ -144,14 +214,16 @@ public final class GamepadInput {
         float ry = getCenteredAxis(event, mInputDevice, MotionEvent.AXIS_RY,
                 historyPos);
 
-        newGamepadMap.centeredAxisX = x;
-        newGamepadMap.centeredAxisY = y;
-
-        newGamepadMap.centeredAxisHatX = hatx;
-        newGamepadMap.centeredAxisHatY = haty;
+        axisValues[0] = x;
+        axisValues[1] = y;
+        axisValues[2] = hatx;
+        axisValues[3] = haty;
+        axisValues[4] = rx;
+        axisValues[5] = ry;
 
-        newGamepadMap.centeredAxisRX = rx;
-        newGamepadMap.centeredAxisRY = ry;
+        long time = historyPos < 0 ? event.getEventTime()
+                : event.getHistoricalEventTime(historyPos);
+        events.offer(EVENT_CENTERED_AXES, 0, time, axisValues);
 
         return true;
     }
@@ -159,17 +231,17 @@ public final class GamepadInput {
     public static float getAxis(int axis) {
         switch (axis) {
             case MotionEvent.AXIS_X:
-                return newGamepadMap.axisX;
+                return gamepadMap.axisX;
             case MotionEvent.AXIS_Y:
-                return newGamepadMap.axisY;
+                return gamepadMap.axisY;
             case MotionEvent.AXIS_HAT_X:
-                return newGamepadMap.axisHatX;
+                return gamepadMap.axisHatX;
             case MotionEvent.AXIS_HAT_Y:
-                return newGamepadMap.axisHatY;
+                return gamepadMap.axisHatY;
             case MotionEvent.AXIS_RX:
-                return newGamepadMap.axisRX;
+                return gamepadMap.axisRX;
             case MotionEvent.AXIS_RY:
-                return newGamepadMap.axisRY;
+                return gamepadMap.axisRY;
             default:
                 return 0f;
         }
@@ -178,24 +250,20 @@ public final class GamepadInput {
     public static float getCenteredAxis(int axis) {
         switch (axis) {
             case MotionEvent.AXIS_X:
-                return newGamepadMap.centeredAxisX;
+                return gamepadMap.centeredAxisX;
             case MotionEvent.AXIS_Y:
-                return newGamepadMap.centeredAxisY;
+                return gamepadMap.centeredAxisY;
             case MotionEvent.AXIS_HAT_X:
-                return newGamepadMap.centeredAxisHatX;
+                return gamepadMap.centeredAxisHatX;
             case MotionEvent.AXIS_HAT_Y:
-                return newGamepadMap.centeredAxisHatY;
+                return gamepadMap.centeredAxisHatY;
             case MotionEvent.AXIS_RX:
-                return newGamepadMap.centeredAxisRX;
+                return gamepadMap.centeredAxisRX;
             case MotionEvent.AXIS_RY:
-                return newGamepadMap.centeredAxisRY;
+                return gamepadMap.centeredAxisRY;
             default:
                 return 0f;
         }
     }
 
-    public static ArrayList<Integer> getKeyCodeMap() {
-        return newGamepadMap.buttonsKeyCode;
-    }
-
 }
\ No newline at end of file
@@ -1,8 +1,7 @@
-
-/* Copyright 2015 Samsung Electronics import android.util.SparseArray;
-import android.view.KeyEvent;
-import java.util.ArrayList;
-t use this file except in compliance with the License.
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
  *
  *     http://www.apache.org/licenses/LICENSE-2.0
@@ -16,11 +15,18 @@ t use this file except in compliance with the License.
 
 package org.gearvrf.controls.input;
 
-import android.util.SparseArray;
 import android.view.KeyEvent;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
+/**
+ * Gamepad state for one frame, owned by the GL thread.
+ * <p>
+ * Each button in {@link #KEY_CODES} has a bit. {@link #pressed} holds the
+ * buttons held at the end of the frame, {@link #down} and {@link #up} the
+ * buttons pressed or released during it, so a press and release within
+ * one frame is seen as both.
+ */
 public class GamepadMap {
 
     public static final int KEYCODE_BUTTON_L1 = KeyEvent.KEYCODE_BUTTON_L1;
@@ -38,6 +44,32 @@ public class GamepadMap {
     public static final int KEYCODE_BUTTON_SELECT = KeyEvent.KEYCODE_BUTTON_SELECT;
     public static final int KEYCODE_BUTTON_START = KeyEvent.KEYCODE_BUTTON_START;
 
+    /** Key codes of the tracked buttons, in bit order */
+    static final int[] KEY_CODES = {
+            KeyEvent.KEYCODE_BUTTON_L1,
+            KeyEvent.KEYCODE_BUTTON_R1,
+            KeyEvent.KEYCODE_BUTTON_X,
+            KeyEvent.KEYCODE_BUTTON_Y,
+            KeyEvent.KEYCODE_BUTTON_A,
+            KeyEvent.KEYCODE_BUTTON_B,
+            KeyEvent.KEYCODE_DPAD_LEFT,
+            KeyEvent.KEYCODE_DPAD_RIGHT,
+            KeyEvent.KEYCODE_DPAD_UP,
+            KeyEvent.KEYCODE_DPAD_DOWN,
+            KeyEvent.KEYCODE_BUTTON_SELECT,
+            KeyEvent.KEYCODE_BUTTON_START,
+            KeyEvent.KEYCODE_BACK
+    };
+
+    private static final byte[] BIT_OF_KEY_CODE = new byte[256];
+
+    static {
+        Arrays.fill(BIT_OF_KEY_CODE, (byte) -1);
+        for (int i = 0; i < KEY_CODES.length; i++) {
+            BIT_OF_KEY_CODE[KEY_CODES[i]] = (byte) i;
+        }
+    }
+
     public float axisX;
     public float axisY;
     public float axisHatX;
@@ -52,57 +84,35 @@ public class GamepadMap {
     public float centeredAxisRX;
     public float centeredAxisRY;
 
-    protected ArrayList<Integer> buttonsKeyCode;
-    public SparseArray<Button> buttons = new SparseArray<Button>();
-
-    public GamepadMap() {
-        super();
-        init();
+    int pressed;
+    int down;
+    int up;
+    /** Time of the last down or up event of each button */
+    final long[] eventTimes = new long[KEY_CODES.length];
+    /** Time of the latest event of any kind */
+    long latestEventTime;
+
+    /**
+     * @return the bit mask of a key code, 0 if the key is not tracked
+     */
+    static int maskOf(int keyCode) {
+        int bit = bitOf(keyCode);
+        return bit < 0 ? 0 : 1 << bit;
     }
 
-    public void init() {
-
-        populateKeys();
-
-        for (int i : buttonsKeyCode) {
-            buttons.append(i, new Button());
-
+    /**
+     * @return the bit index of a key code, -1 if the key is not tracked
+     */
+    static int bitOf(int keyCode) {
+        if (keyCode < 0 || keyCode >= BIT_OF_KEY_CODE.length) {
+            return -1;
         }
-
-    }
-
-    private void populateKeys() {
-        buttonsKeyCode = new ArrayList<Integer>();
-        buttonsKeyCode.add(KeyEvent.KEYCODE_BUTTON_L1);
-        buttonsKeyCode.add(KeyEvent.KEYCODE_BUTTON_R1);
-        buttonsKeyCode.add(KeyEvent.KEYCODE_BUTTON_X);
-        buttonsKeyCode.add(KeyEvent.KEYCODE_BUTTON_Y);
-        buttonsKeyCode.add(KeyEvent.KEYCODE_BUTTON_A);
-        buttonsKeyCode.add(KeyEvent.KEYCODE_BUTTON_B);
-
-        buttonsKeyCode.add(KeyEvent.KEYCODE_DPAD_LEFT);
-        buttonsKeyCode.add(KeyEvent.KEYCODE_DPAD_RIGHT);
-        buttonsKeyCode.add(KeyEvent.KEYCODE_DPAD_UP);
-        buttonsKeyCode.add(KeyEvent.KEYCODE_DPAD_DOWN);
-
-        buttonsKeyCode.add(KeyEvent.KEYCODE_BUTTON_SELECT);
-        buttonsKeyCode.add(KeyEvent.KEYCODE_BUTTON_START);
-
-        buttonsKeyCode.add(KeyEvent.KEYCODE_BACK);
-
+        return BIT_OF_KEY_CODE[keyCode];
     }
 
     public void resetIntermadiateState() {
-
-        for (Integer key : buttonsKeyCode) {
-            Button button = buttons.get(key);
-            button.down = false;
-            button.up = false;
-        }
-
+        down = 0;
+        up = 0;
     }
 
 }
-
-
-
@@ -0,0 +1,125 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.controls.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed size queue of input events from one producer thread to one
+ * consumer thread, without locks.
+ * <p>
+ * The UI thread offers events as Android delivers them and the GL thread
+ * drains them once per frame. An event is a type, a code, its time in
+ * {@link android.os.SystemClock#uptimeMillis()} and a few float values,
+ * all kept in primitive arrays, so neither side allocates. When the
+ * queue is full new events are dropped and counted.
+ */
+class InputEventRing {
+
+    interface Handler {
+        /**
+         * Called on the consumer thread for each event. The values are
+         * valuesPerEvent floats starting at offset, valid only during the
+         * call.
+         */
+        void onEvent(int type, int code, long time, float[] values, int offset);
+    }
+
+    private final int mask;
+    private final int valuesPerEvent;
+    private final int[] types;
+    private final int[] codes;
+    private final long[] times;
+    private final float[] values;
+
+    // next slot to write, only advanced by the producer
+    private final AtomicLong tail = new AtomicLong();
+    // next slot to read, only advanced by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // producer's last view of head, saves a volatile read per offer
+    private long cachedHead;
+    private volatile int dropped;
+
+    /**
+     * @param capacity       number of events, rounded up to a power of two
+     * @param valuesPerEvent number of floats stored with each event
+     */
+    InputEventRing(int capacity, int valuesPerEvent) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.valuesPerEvent = valuesPerEvent;
+        this.types = new int[size];
+        this.codes = new int[size];
+        this.times = new long[size];
+        this.values = new float[size * valuesPerEvent];
+    }
+
+    /**
+     * Queue an event. Producer thread only.
+     *
+     * @param eventValues values to copy, may be null or shorter than
+     *                    valuesPerEvent; missing values are zero
+     * @return false if the queue was full and the event was dropped
+     */
+    boolean offer(int type, int code, long time, float[] eventValues) {
+        long t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) {
+                dropped = dropped + 1;
+                return false;
+            }
+        }
+        int slot = (int) t & mask;
+        types[slot] = type;
+        codes[slot] = code;
+        times[slot] = time;
+        int offset = slot * valuesPerEvent;
+        int count = eventValues == null ? 0 : Math.min(eventValues.length, valuesPerEvent);
+        for (int i = 0; i < valuesPerEvent; ++i) {
+            values[offset + i] = i < count ? eventValues[i] : 0f;
+        }
+        // publishes the slot to the consumer
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Pass every queued event to the handler in order. Consumer thread
+     * only.
+     *
+     * @return number of events handled
+     */
+    int drain(Handler handler) {
+        long h = head.get();
+        long t = tail.get();
+        for (long i = h; i < t; ++i) {
+            int slot = (int) i & mask;
+            handler.onEvent(types[slot], codes[slot], times[slot], values,
+                    slot * valuesPerEvent);
+        }
+        // hands the slots back to the producer
+        head.lazySet(t);
+        return (int) (t - h);
+    }
+
+    /**
+     * @return number of events dropped because the queue was full
+     */
+    int getDroppedCount() {
+        return dropped;
+    }
+}
@@ -15,111 +15,112 @@
 
 package org.gearvrf.controls.input;
 
-import android.view.KeyEvent;
+import android.os.SystemClock;
 import android.view.MotionEvent;
 
 import org.gearvrf.io.GVRTouchPadGestureListener;
 
+/**
+ * Touch pad input. The input methods are called on the UI thread and only
+ * queue events; {@link #process()} applies them on the GL thread once per
+ * frame, and {@link #getCurrent()} returns the state of that frame.
+ */
 public class TouchPadInput {
 
-    private static TouchPadInputMap newTouchPadMap = new TouchPadInputMap();
-    private static TouchPadInputMap oldTouchPadMap = new TouchPadInputMap();
+    private static final int EVENT_TOUCH = 0;
+    private static final int EVENT_SWIPE = 1;
+    private static final int EVENT_SINGLE_TAP = 2;
+    private static final int EVENT_LONG_PRESS = 3;
+
+    private static final GVRTouchPadGestureListener.Action[] swipeActions =
+            GVRTouchPadGestureListener.Action.values();
+
+    private static final InputEventRing events = new InputEventRing(256, 2);
+
+    // UI thread scratch for the touch position
+    private static final float[] touchValues = new float[2];
+
+    private static final TouchPadInputMap touchPadMap = new TouchPadInputMap();
+
+    private static final InputEventRing.Handler applyEvent = new InputEventRing.Handler() {
+        @Override
+        public void onEvent(int type, int code, long time, float[] values, int offset) {
+            touchPadMap.eventTime = time;
+            switch (type) {
+                case EVENT_TOUCH:
+                    touchPadMap.axisX = values[offset];
+                    touchPadMap.axisY = values[offset + 1];
+                    updatePress(code);
+                    break;
+                case EVENT_SWIPE:
+                    touchPadMap.swipeDirection = swipeActions[code];
+                    break;
+                case EVENT_SINGLE_TAP:
+                    touchPadMap.buttonState.singleTaped = true;
+                    break;
+                case EVENT_LONG_PRESS:
+                    touchPadMap.buttonState.longPressed = true;
+                    break;
+            }
+        }
+    };
 
+    /**
+     * Apply the events queued since the last frame. Taps, long presses and
+     * swipes last for the one frame after they happen. GL thread only.
+     */
     public static void process() {
-        newTouchPadMap.resetIntermadiateState();
-
-        Button oldButton = oldTouchPadMap.buttonState;
-        Button newButton = newTouchPadMap.buttonState;
-
-        updateIntermediateStates(newButton, oldButton);
-
+        touchPadMap.resetIntermadiateState();
+        events.drain(applyEvent);
     }
 
     public static TouchPadInputMap getCurrent() {
 
-        return newTouchPadMap;
+        return touchPadMap;
     }
 
-    private static void updateIntermediateStates(Button newButton, Button oldButton) {
+    private static void updatePress(int action) {
+        TouchPress button = touchPadMap.buttonState;
 
-        if (oldButton.pressed != newButton.pressed) {
-            newButton.down = newButton.pressed;
-            newButton.up = !newButton.pressed;
+        if (action == MotionEvent.ACTION_DOWN && !button.pressed) {
+            button.pressed = true;
+            button.down = true;
         }
-
-        updateSwipe();
-
-        updateLongPress();
-
-        updateTap();
-
-        oldButton.replicateValues(newButton);
-    }
-
-    private static void updateLongPress() {
-        if (newTouchPadMap.buttonState.longPressed == oldTouchPadMap.buttonState.longPressed) {
-            if (newTouchPadMap.buttonState.longPressed) {
-
-                newTouchPadMap.buttonState.longPressed = false;
-            }
-
+        if (action == MotionEvent.ACTION_UP && button.pressed) {
+            button.pressed = false;
+            button.up = true;
         }
-        oldTouchPadMap.buttonState.longPressed = newTouchPadMap.buttonState.longPressed;
-    }
-
-    private static void updateTap() {
-        if (newTouchPadMap.buttonState.singleTaped == oldTouchPadMap.buttonState.singleTaped) {
-            if (newTouchPadMap.buttonState.singleTaped) {
-
-                newTouchPadMap.buttonState.singleTaped = false;
-            }
-
-        }
-        oldTouchPadMap.buttonState.singleTaped = newTouchPadMap.buttonState.singleTaped;
-    }
-
-    private static void updateSwipe() {
-        if (newTouchPadMap.swipeDirection == oldTouchPadMap.swipeDirection) {
-            if (newTouchPadMap.swipeDirection != GVRTouchPadGestureListener.Action.None) {
-
-                newTouchPadMap.swipeDirection = GVRTouchPadGestureListener.Action.None;
-            }
-
-        }
-        oldTouchPadMap.swipeDirection = newTouchPadMap.swipeDirection;
-
     }
 
     public static void input(MotionEvent event) {
 
         // https://github.com/Samsung/GearVRf/issues/231
-        newTouchPadMap.axisX = event.getAxisValue(MotionEvent.AXIS_X);
-        newTouchPadMap.axisY = event.getAxisValue(MotionEvent.AXIS_Y);
-
-        if (event.getAction() == KeyEvent.ACTION_DOWN) {
-            newTouchPadMap.buttonState.pressed = true;
-
-        }
-        if (event.getAction() == KeyEvent.ACTION_UP) {
-            newTouchPadMap.buttonState.pressed = false;
-
-        }
+        touchValues[0] = event.getAxisValue(MotionEvent.AXIS_X);
+        touchValues[1] = event.getAxisValue(MotionEvent.AXIS_Y);
+        events.offer(EVENT_TOUCH, event.getAction(), event.getEventTime(), touchValues);
 
     }
 
     public static void onSwipe(GVRTouchPadGestureListener.Action action) {
-        newTouchPadMap.swipeDirection = action;
+        events.offer(EVENT_SWIPE, action.ordinal(), SystemClock.uptimeMillis(), null);
 
     }
 
     public static void onSingleTap() {
-        newTouchPadMap.buttonState.singleTaped = true;
+        events.offer(EVENT_SINGLE_TAP, 0, SystemClock.uptimeMillis(), null);
 
     }
 
     public static void onLongPress() {
-        newTouchPadMap.buttonState.longPressed = true;
+        events.offer(EVENT_LONG_PRESS, 0, SystemClock.uptimeMillis(), null);
+
+    }
 
+    /**
+     * @return number of events lost because the GL thread fell behind
+     */
+    public static int getDroppedEventCount() {
+        return events.getDroppedCount();
     }
 
-}
\ No newline at end of file
+}
@@ -23,10 +23,15 @@ public class TouchPadInputMap {
     public float axisY;
     public TouchPress buttonState = new TouchPress();
     public GVRTouchPadGestureListener.Action swipeDirection = GVRTouchPadGestureListener.Action.None;
+    /** Uptime in milliseconds of the latest event applied */
+    public long eventTime;
 
     public void resetIntermadiateState() {
         buttonState.down = false;
         buttonState.up = false;
+        buttonState.singleTaped = false;
+        buttonState.longPressed = false;
+        swipeDirection = GVRTouchPadGestureListener.Action.None;
 
     }
 
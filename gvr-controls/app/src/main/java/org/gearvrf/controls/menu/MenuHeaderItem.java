@@ -189,7 +189,7 @@ class MenuHeaderItem extends ControlSceneObject {
 
     public static Bitmap create(Context context, int width, int height, Text text, String font) {
 
-        Typeface myTypeface = Typeface.createFromAsset(context.getAssets(), font);
+        Typeface myTypeface = GVRTextBitmapFactory.getTypeface(context, font);
 
         Resources res = context.getResources();
         float scale = res.getDisplayMetrics().density;
@@ -40,6 +40,7 @@
         import org.gearvrf.GVRTexture;
         import org.gearvrf.controls.R;
         import org.gearvrf.controls.shaders.ButtonShader;
+        import org.gearvrf.controls.util.GVRTextBitmapFactory;
         import org.gearvrf.controls.util.RenderingOrder;
         import org.gearvrf.controls.util.Text;
 
@@ -159,7 +160,7 @@ public class RadioButtonSceneObject extends MenuControlSceneObject {
 
     public static Bitmap create(Context context, int width, int height, Text text, String font) {
 
-        Typeface myTypeface = Typeface.createFromAsset(context.getAssets(), font);
+        Typeface myTypeface = GVRTextBitmapFactory.getTypeface(context, font);
 
         Resources res = context.getResources();
         float scale = res.getDisplayMetrics().density;
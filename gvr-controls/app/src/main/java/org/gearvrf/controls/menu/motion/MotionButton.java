@@ -40,6 +40,7 @@ import org.gearvrf.controls.R;
 import org.gearvrf.controls.menu.MenuControlSceneObject;
 import org.gearvrf.controls.model.Apple.Motion;
 import org.gearvrf.controls.shaders.ButtonShader;
+import org.gearvrf.controls.util.GVRTextBitmapFactory;
 import org.gearvrf.controls.util.RenderingOrder;
 import org.gearvrf.controls.util.Text;
 
@@ -160,7 +161,7 @@ public class MotionButton extends MenuControlSceneObject {
         Resources res = context.getResources();
         float scale = res.getDisplayMetrics().density;
 
-        Typeface myTypeface = Typeface.createFromAsset(context.getAssets(), font);
+        Typeface myTypeface = GVRTextBitmapFactory.getTypeface(context, font);
 
         Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
 
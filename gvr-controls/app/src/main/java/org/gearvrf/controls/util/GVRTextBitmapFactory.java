@@ -25,6 +25,8 @@ import android.graphics.Paint.Style;
 import android.graphics.Rect;
 import android.graphics.Typeface;
 
+import java.util.HashMap;
+
 /**
  * A class which creates Bitmaps with texts on them.
  * 
@@ -33,6 +35,7 @@ import android.graphics.Typeface;
 public class GVRTextBitmapFactory {
 
     public static boolean cacheOn = true;
+    private static final HashMap<String, Typeface> typefaces = new HashMap<String, Typeface>();
 
     private GVRTextBitmapFactory() {
     }
@@ -97,7 +100,7 @@ public class GVRTextBitmapFactory {
 
     public static Bitmap create(Context context, float width, float height, Text text, String font) {
 
-        Typeface myTypeface = Typeface.createFromAsset(context.getAssets(), font);
+        Typeface myTypeface = getTypeface(context, font);
 
         Bitmap bitmap = Bitmap.createBitmap((int) width, (int) height, Bitmap.Config.ARGB_8888);
 
@@ -134,7 +137,7 @@ public class GVRTextBitmapFactory {
         Resources res = context.getResources();
         float scale = res.getDisplayMetrics().density;
         
-        Typeface myTypeface = Typeface.createFromAsset(context.getAssets(), font);
+        Typeface myTypeface = getTypeface(context, font);
 
         Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
 
@@ -166,4 +169,18 @@ public class GVRTextBitmapFactory {
 
         return bitmap;
     }
+
+    /**
+     * Typeface for a font asset, loaded from the assets only the first time.
+     */
+    public static Typeface getTypeface(Context context, String font) {
+        synchronized (typefaces) {
+            Typeface typeface = typefaces.get(font);
+            if (typeface == null) {
+                typeface = Typeface.createFromAsset(context.getAssets(), font);
+                typefaces.put(font, typeface);
+            }
+            return typeface;
+        }
+    }
 }
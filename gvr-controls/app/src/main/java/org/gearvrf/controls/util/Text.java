@@ -46,8 +46,7 @@ public class Text {
     public static Bitmap createWithCustomFont(Context context, float width, float height,
             Text text, int test, String customFontPath) { // spinner
 
-        Typeface myTypeface = Typeface.createFromAsset(context.getAssets(),
-                customFontPath);
+        Typeface myTypeface = GVRTextBitmapFactory.getTypeface(context, customFontPath);
 
         Bitmap bitmap = Bitmap.createBitmap((int) width, (int) height, Bitmap.Config.ARGB_8888);
 
@@ -30,16 +30,8 @@ public class Util {
 
     public static float[] calculatePointBetweenTwoObjects(GVRSceneObject object1,
             GVRSceneObject object2, float desiredDistance) {
-        float[] point = new float[3];
-        float ratio = desiredDistance / (float) distance(object1, object2);
-        point[0] = (1 - ratio) * object1.getTransform().getPositionX() + (ratio)
-                * object2.getTransform().getPositionX();
-        point[1] = (1 - ratio) * object1.getTransform().getPositionY() + (ratio)
-                * object2.getTransform().getPositionY();
-        point[2] = (1 - ratio) * object1.getTransform().getPositionZ() + (ratio)
-                * object2.getTransform().getPositionZ();
-
-        return point;
+        return calculatePointBetweenTwoObjects(object1.getTransform(), object2.getTransform(),
+                desiredDistance, new float[3]);
     }
 
     public static float[] normalizeColor(float[] colorToNormalize) {
@@ -53,36 +45,29 @@ public class Util {
     }
 
     public static double distance(GVRSceneObject object1, GVRSceneObject object2) {
-        return Math.sqrt(Math.pow(object1.getTransform().getPositionX()
-                - object2.getTransform().getPositionX(), 2)
-                +
-                Math.pow(object1.getTransform().getPositionY()
-                        - object2.getTransform().getPositionY(), 2)
-                +
-                Math.pow(object1.getTransform().getPositionZ()
-                        - object2.getTransform().getPositionZ(), 2));
-
+        return distance(object1.getTransform(), object2.getTransform());
     }
 
     public static double distance(GVRTransform object1, GVRTransform object2) {
-        return Math.sqrt(Math.pow(object1.getPositionX() - object2.getPositionX(), 2) +
-                Math.pow(object1.getPositionY() - object2.getPositionY(), 2) +
-                Math.pow(object1.getPositionZ() - object2.getPositionZ(), 2));
-
+        return VectorMath.distance(object1.getPositionX(), object1.getPositionY(),
+                object1.getPositionZ(), object2.getPositionX(), object2.getPositionY(),
+                object2.getPositionZ());
     }
 
     public static float[] calculatePointBetweenTwoObjects(GVRTransform transform,
             GVRTransform transform2, float distance) {
-        float[] point = new float[3];
-        float ratio = distance / (float) distance(transform, transform2);
-        point[0] = (1 - ratio) * transform.getPositionX() + (ratio)
-                * transform2.getPositionX();
-        point[1] = (1 - ratio) * transform.getPositionY() + (ratio)
-                * transform2.getPositionY();
-        point[2] = (1 - ratio) * transform.getPositionZ() + (ratio)
-                * transform2.getPositionZ();
-
-        return point;
+        return calculatePointBetweenTwoObjects(transform, transform2, distance, new float[3]);
+    }
+
+    /**
+     * Same as {@link #calculatePointBetweenTwoObjects(GVRTransform, GVRTransform, float)}
+     * but writes the point to {@code point} instead of allocating.
+     */
+    public static float[] calculatePointBetweenTwoObjects(GVRTransform transform,
+            GVRTransform transform2, float distance, float[] point) {
+        return VectorMath.pointBetween(transform.getPositionX(), transform.getPositionY(),
+                transform.getPositionZ(), transform2.getPositionX(), transform2.getPositionY(),
+                transform2.getPositionZ(), distance, point);
     }
 
     public static void Toast(Context context, String message) {
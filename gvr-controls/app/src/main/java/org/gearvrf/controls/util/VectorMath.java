@@ -0,0 +1,109 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.controls.util;
+
+/**
+ * Vector and quaternion math on primitive floats which does not allocate.
+ * <p>
+ * Methods returning a vector write it to a {@code dest} array supplied by
+ * the caller and return that array, so per frame code can keep one scratch
+ * array per call site. {@code dest} may be one of the input arrays.
+ */
+public final class VectorMath {
+
+    private VectorMath() {
+    }
+
+    public static float distanceSquared(float ax, float ay, float az,
+            float bx, float by, float bz) {
+        float dx = ax - bx;
+        float dy = ay - by;
+        float dz = az - bz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public static float distance(float ax, float ay, float az,
+            float bx, float by, float bz) {
+        return (float) Math.sqrt(distanceSquared(ax, ay, az, bx, by, bz));
+    }
+
+    /**
+     * Vector from a to b.
+     */
+    public static float[] direction(float ax, float ay, float az,
+            float bx, float by, float bz, float[] dest) {
+        dest[0] = bx - ax;
+        dest[1] = by - ay;
+        dest[2] = bz - az;
+        return dest;
+    }
+
+    /**
+     * Point on the line through a and b at the given distance from a,
+     * measured towards b.
+     */
+    public static float[] pointBetween(float ax, float ay, float az,
+            float bx, float by, float bz, float desiredDistance, float[] dest) {
+        float ratio = desiredDistance / distance(ax, ay, az, bx, by, bz);
+        dest[0] = (1 - ratio) * ax + ratio * bx;
+        dest[1] = (1 - ratio) * ay + ratio * by;
+        dest[2] = (1 - ratio) * az + ratio * bz;
+        return dest;
+    }
+
+    /**
+     * Rotate the point (px, py, pz) by the unit quaternion (qx, qy, qz, qw).
+     */
+    public static float[] rotateDirection(float qx, float qy, float qz, float qw,
+            float px, float py, float pz, float[] dest) {
+        float x2 = qx * 2f;
+        float y2 = qy * 2f;
+        float z2 = qz * 2f;
+        float xx = qx * x2;
+        float yy = qy * y2;
+        float zz = qz * z2;
+        float xy = qx * y2;
+        float xz = qx * z2;
+        float yz = qy * z2;
+        float wx = qw * x2;
+        float wy = qw * y2;
+        float wz = qw * z2;
+        dest[0] = (1f - (yy + zz)) * px + (xy - wz) * py + (xz + wy) * pz;
+        dest[1] = (xy + wz) * px + (1f - (xx + zz)) * py + (yz - wx) * pz;
+        dest[2] = (xz - wy) * px + (yz + wx) * py + (1f - (xx + yy)) * pz;
+        return dest;
+    }
+
+    /**
+     * Hamilton product lhs * rhs of two quaternions stored as x, y, z, w.
+     */
+    public static float[] quaternionMultiply(float lx, float ly, float lz, float lw,
+            float rx, float ry, float rz, float rw, float[] dest) {
+        dest[0] = lw * rx + lx * rw + ly * rz - lz * ry;
+        dest[1] = lw * ry + ly * rw + lz * rx - lx * rz;
+        dest[2] = lw * rz + lz * rw + lx * ry - ly * rx;
+        dest[3] = lw * rw - lx * rx - ly * ry - lz * rz;
+        return dest;
+    }
+
+    /**
+     * Angle in degrees around the Y axis from (fromX, fromZ) towards
+     * (toX, toZ).
+     */
+    public static float yRotationAngle(float fromX, float fromZ, float toX, float toZ) {
+        return (float) Math.toDegrees(Math.atan2(toX - fromX, toZ - fromZ));
+    }
+}
@@ -27,7 +27,7 @@ import org.gearvrf.immersivepedia.input.TouchPadInput;
 import org.gearvrf.immersivepedia.scene.DinosaurScene;
 import org.gearvrf.immersivepedia.scene.MenuScene;
 import org.gearvrf.immersivepedia.util.AudioClip;
-import org.gearvrf.immersivepedia.util.FPSCounter;
+import org.gearvrf.immersivepedia.util.FrameProfiler;
 import org.gearvrf.io.GVRCursorController;
 import org.gearvrf.io.GVRInputManager;
 import org.gearvrf.io.GVRTouchPadGestureListener;
@@ -41,10 +41,12 @@ public class Main extends GVRMain {
     private static MediaPlayer mediaPlayer;
     private GVRCursorController mController;
     private PickHandler pickHandler;
+    private FrameProfiler profiler;
 
     @Override
     public void onInit(final GVRContext gvrContext) throws Throwable {
         mGvrContext = gvrContext;
+        profiler = FrameProfiler.attach(gvrContext, "immersivepedia");
 
         AudioClip.getInstance(gvrContext.getContext());
         mediaPlayer = MediaPlayer.create(gvrContext.getContext(),
@@ -86,12 +88,15 @@ public class Main extends GVRMain {
 
     @Override
     public void onStep() {
+        profiler.begin(FrameProfiler.SECTION_INPUT);
         TouchPadInput.process();
-        FPSCounter.tick();
+        profiler.end(FrameProfiler.SECTION_INPUT);
 
+        profiler.begin(FrameProfiler.SECTION_STEP);
         if (mGvrContext.getMainScene().equals(dinosaurScene)) {
             dinosaurScene.onStep();
         }
+        profiler.end(FrameProfiler.SECTION_STEP);
     }
 
     @Override
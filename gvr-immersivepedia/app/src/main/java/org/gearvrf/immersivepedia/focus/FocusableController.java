@@ -18,12 +18,16 @@ package org.gearvrf.immersivepedia.focus;
 import org.gearvrf.GVRAndroidResource;
 import org.gearvrf.GVRContext;
 import org.gearvrf.GVRSceneObject;
+import org.gearvrf.GVRTexture;
 import org.gearvrf.immersivepedia.Main;
 import org.gearvrf.immersivepedia.R;
 import org.gearvrf.immersivepedia.input.TouchPadInput;
 
 public final class FocusableController {
 
+    private static GVRContext emptyTextureContext;
+    private static GVRTexture emptyTexture;
+
     public static boolean swipeProcess(GVRContext context, PickHandler mPickHandler)
     {
         if (mPickHandler == null)
@@ -59,18 +63,23 @@ public final class FocusableController {
     }
 
     private static boolean isAVisibleObjectBeingSeen(GVRContext gvrContext, GVRSceneObject object) {
-        return (isVisible(object) && !hasEmptyTexture(gvrContext, object));
-    }
-
-    private static boolean isVisible(GVRSceneObject object) {
-        return object.getRenderData() != null && object.getRenderData().getMaterial() != null
-                && object.getRenderData().getMaterial().getOpacity() > 0;
+        if (object instanceof FocusableSceneObject) {
+            return ((FocusableSceneObject) object).isVisibleAndInteractive();
+        }
+        return false;
     }
 
-    private static boolean hasEmptyTexture(GVRContext gvrContext, GVRSceneObject object) {
-        return object.getRenderData().getMaterial().getMainTexture() != null
-                && object.getRenderData().getMaterial().getMainTexture()
-                .equals(gvrContext.getAssetLoader().loadTexture(new GVRAndroidResource(gvrContext, R.drawable.empty)));
+    /**
+     * The transparent texture used on focus-only quads, loaded once per
+     * context. Objects showing it never take clicks or swipes.
+     */
+    static synchronized GVRTexture getEmptyTexture(GVRContext gvrContext) {
+        if (emptyTexture == null || emptyTextureContext != gvrContext) {
+            emptyTexture = gvrContext.getAssetLoader().loadTexture(
+                    new GVRAndroidResource(gvrContext, R.drawable.empty));
+            emptyTextureContext = gvrContext;
+        }
+        return emptyTexture;
     }
 
 }
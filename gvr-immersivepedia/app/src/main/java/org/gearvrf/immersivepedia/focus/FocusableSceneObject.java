@@ -16,7 +16,9 @@
 package org.gearvrf.immersivepedia.focus;
 
 import org.gearvrf.GVRContext;
+import org.gearvrf.GVRMaterial;
 import org.gearvrf.GVRMesh;
+import org.gearvrf.GVRRenderData;
 import org.gearvrf.GVRSceneObject;
 import org.gearvrf.GVRTexture;
 import org.gearvrf.immersivepedia.GazeController;
@@ -33,16 +35,66 @@ public class FocusableSceneObject extends GVRSceneObject {
     private OnGestureListener onGestureListener;
     public float[] hitLocation;
 
+    private static final int TEXTURE_UNKNOWN = 0;
+    private static final int TEXTURE_EMPTY = 1;
+    private static final int TEXTURE_OTHER = 2;
+    private int textureState = TEXTURE_UNKNOWN;
+
     public FocusableSceneObject(GVRContext gvrContext) {
         super(gvrContext);
     }
 
     public FocusableSceneObject(GVRContext gvrContext, GVRMesh gvrMesh, GVRTexture gvrTexture) {
         super(gvrContext, gvrMesh, gvrTexture);
+        updateTextureState(gvrTexture);
     }
 
     public FocusableSceneObject(GVRContext gvrContext, float width, float height, GVRTexture t) {
         super(gvrContext, width, height, t);
+        updateTextureState(t);
+    }
+
+    /**
+     * Change the main texture and update whether this object can be clicked.
+     * Use this instead of setting the material's main texture directly.
+     */
+    public void setMainTexture(GVRTexture texture) {
+        getRenderData().getMaterial().setMainTexture(texture);
+        updateTextureState(texture);
+    }
+
+    /**
+     * Forget the cached texture state after the material was changed
+     * without going through {@link #setMainTexture(GVRTexture)}.
+     */
+    public void refreshVisibility() {
+        textureState = TEXTURE_UNKNOWN;
+    }
+
+    /**
+     * Whether the object is drawn and shows something other than the empty
+     * texture, i.e. whether clicks and swipes on it are handled. Opacity is
+     * read from the material since opacity animations write it directly.
+     */
+    public boolean isVisibleAndInteractive() {
+        GVRRenderData renderData = getRenderData();
+        if (renderData == null) {
+            return false;
+        }
+        GVRMaterial material = renderData.getMaterial();
+        if (material == null || material.getOpacity() <= 0) {
+            return false;
+        }
+        if (textureState == TEXTURE_UNKNOWN) {
+            updateTextureState(material.getMainTexture());
+        }
+        return textureState != TEXTURE_EMPTY;
+    }
+
+    private void updateTextureState(GVRTexture texture) {
+        textureState = texture != null
+                && texture.equals(FocusableController.getEmptyTexture(getGVRContext()))
+                ? TEXTURE_EMPTY : TEXTURE_OTHER;
     }
 
     public void dispatchGainedFocus() {
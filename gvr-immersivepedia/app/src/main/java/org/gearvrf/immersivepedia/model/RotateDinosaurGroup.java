@@ -162,13 +162,9 @@ public class RotateDinosaurGroup extends GVRSceneObject implements
         addChildObject(styrocosaurus);
     }
 
-    public void renderTextureButton(String textureID, GVRSceneObject sceneObject) {
-        sceneObject
-                .getRenderData()
-                .getMaterial()
-                .setMainTexture(
-                        sceneObject.getRenderData().getMaterial()
-                                .getTexture(textureID));
+    public void renderTextureButton(String textureID, FocusableSceneObject sceneObject) {
+        sceneObject.setMainTexture(sceneObject.getRenderData().getMaterial()
+                .getTexture(textureID));
     }
 
     @Override
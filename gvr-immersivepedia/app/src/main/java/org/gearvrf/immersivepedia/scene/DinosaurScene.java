@@ -33,7 +33,6 @@ import org.gearvrf.immersivepedia.model.GalleryDinosaurGroup;
 import org.gearvrf.immersivepedia.model.RotateDinosaurGroup;
 import org.gearvrf.immersivepedia.model.TextDinosaurGroup;
 import org.gearvrf.immersivepedia.model.VideoDinosaurGroup;
-import org.gearvrf.immersivepedia.util.FPSCounter;
 
 import java.io.IOException;
 
@@ -100,7 +99,6 @@ public class DinosaurScene extends GVRScene {
     }
 
     public void onStep() {
-        FPSCounter.tick();
         if (this.videoDinosaur != null) {
             this.videoDinosaur.onStep();
         }
@@ -135,10 +135,9 @@ public class ButtonBoard extends GVRSceneObject {
         renderTextureButton(PlayPauseButton.PLAY_NORMAL, playPauseButton);
     }
 
-    public void renderTextureButton(String textureID, GVRSceneObject sceneObject) {
-
-        sceneObject.getRenderData().getMaterial()
-                .setMainTexture(sceneObject.getRenderData().getMaterial().getTexture(textureID));
+    public void renderTextureButton(String textureID, FocusableSceneObject sceneObject) {
+        sceneObject.setMainTexture(sceneObject.getRenderData().getMaterial()
+                .getTexture(textureID));
     }
 
     public void closeAction() {
@@ -19,25 +19,26 @@ import android.graphics.Color;
 import android.graphics.Paint;
 
 import org.gearvrf.GVRAndroidResource;
-import org.gearvrf.GVRBitmapImage;
 import org.gearvrf.GVRContext;
 import org.gearvrf.GVRMaterial;
 import org.gearvrf.GVRMesh;
 import org.gearvrf.GVRRenderData;
 import org.gearvrf.GVRSceneObject;
 import org.gearvrf.GVRShaderId;
-import org.gearvrf.GVRTexture;
 import org.gearvrf.keyboard.model.KeyboardCharItem;
 import org.gearvrf.keyboard.shader.TransparentButtonShaderThreeStates;
-import org.gearvrf.keyboard.util.GVRTextBitmapFactory;
+import org.gearvrf.keyboard.util.GlyphAtlas;
 import org.gearvrf.keyboard.util.RenderingOrder;
 import org.gearvrf.keyboard.util.SceneObjectNames;
 import org.gearvrf.keyboard.util.Util;
 
+import java.util.HashMap;
+
 public abstract class KeyboardItemBase extends GVRSceneObject {
 
     protected KeyboardItemStyle styleItem;
     protected KeyboardCharItem keyboardCharItem;
+    private final HashMap<String, GlyphAtlas.Glyph> textGlyphs = new HashMap<String, GlyphAtlas.Glyph>();
 
     public KeyboardItemBase(GVRContext gvrContext, KeyboardItemStyle styleItem) {
         super(gvrContext);
@@ -95,38 +96,51 @@ public abstract class KeyboardItemBase extends GVRSceneObject {
 
     protected void setTextureFromResource(String shaderKey, int resource) {
 
+        releaseTextGlyph(shaderKey);
         getRenderData().getMaterial().setTexture(shaderKey,
                 getGVRContext().getAssetLoader().loadTexture(new GVRAndroidResource(getGVRContext(), resource)));
+        if (!shaderKey.equals(TransparentButtonShaderThreeStates.TEXTURE_KEY)
+                && !shaderKey.equals(TransparentButtonShaderThreeStates.TEXTURE_HOVER_KEY)) {
+            getRenderData().getMaterial().setVec4(
+                    TransparentButtonShaderThreeStates.uvKey(shaderKey), 0, 0, 1, 1);
+        }
     }
 
     public void setNomalTexture(String character, String ShaderKey) {
 
-        GVRBitmapImage bitmapNormal = new GVRBitmapImage(getGVRContext(),
-                GVRTextBitmapFactory.create(
-                        styleItem.getCharacterBackgroundWidth(),
-                        styleItem.getCharacterBackgroundHeight(), character, styleItem
-                                .getFontSize(), Paint.Align.CENTER,
-                        styleItem.getColorText(), Color.argb(0, 0, 0, 0), getGVRContext()
-                                .getContext().getApplicationContext()));
-
-        GVRTexture texture = new GVRTexture(getGVRContext());
-        texture.setImage(bitmapNormal);
-        getRenderData().getMaterial().setTexture(ShaderKey, texture);
+        setTextGlyph(character, ShaderKey, new GlyphAtlas.Style(
+                (int) styleItem.getCharacterBackgroundWidth(),
+                (int) styleItem.getCharacterBackgroundHeight(),
+                styleItem.getFontSize(), Paint.Align.CENTER,
+                styleItem.getColorText(), Color.argb(0, 0, 0, 0), null));
     }
 
     public void setHoverTexture(String character, String ShaderKey) {
 
-        GVRBitmapImage bitmapHover = new GVRBitmapImage(getGVRContext(),
-                GVRTextBitmapFactory.create(
-                        styleItem.getCharacterBackgroundWidth(),
-                        styleItem.getCharacterBackgroundHeight(), character,
-                        styleItem.getFontSize(), Paint.Align.CENTER,
-                        styleItem.getHoverTextColor(), styleItem.getColorBackgroundTextHover(),
-                        getGVRContext().getContext().getApplicationContext()));
-
-        GVRTexture texture = new GVRTexture(getGVRContext());
-        texture.setImage(bitmapHover);
-        getRenderData().getMaterial().setTexture(ShaderKey, texture);
+        setTextGlyph(character, ShaderKey, new GlyphAtlas.Style(
+                (int) styleItem.getCharacterBackgroundWidth(),
+                (int) styleItem.getCharacterBackgroundHeight(),
+                styleItem.getFontSize(), Paint.Align.CENTER,
+                styleItem.getHoverTextColor(), styleItem.getColorBackgroundTextHover(), null));
+    }
+
+    private void setTextGlyph(String character, String shaderKey, GlyphAtlas.Style style) {
+
+        GlyphAtlas.Glyph glyph = GlyphAtlas.getInstance(getGVRContext()).acquire(character, style);
+        releaseTextGlyph(shaderKey);
+        textGlyphs.put(shaderKey, glyph);
+
+        GVRMaterial material = getRenderData().getMaterial();
+        material.setTexture(shaderKey, glyph.getTexture());
+        glyph.setUV(material, TransparentButtonShaderThreeStates.uvKey(shaderKey));
+    }
+
+    private void releaseTextGlyph(String shaderKey) {
+
+        GlyphAtlas.Glyph old = textGlyphs.remove(shaderKey);
+        if (old != null) {
+            GlyphAtlas.getInstance(getGVRContext()).release(old);
+        }
     }
 
     public KeyboardCharItem getKeyboardCharItem() {
@@ -63,6 +63,7 @@ public class SphereFlag extends GVRSceneObject {
     private GVRAnimation scaleThisAnimation;
     private GVRAnimation floatingAnimation;
     private GVRAnimation followCursorAnimation;
+    private final float[] targetPosition = new float[3];
 
     private boolean moveTogetherDashboard = false;
     private GVRContext gvrContext;
@@ -209,7 +210,7 @@ public class SphereFlag extends GVRSceneObject {
                 Constants.MINIMUM_DISTANCE_FROM_CAMERA);
         float[] newPosition = Util.calculatePointBetweenTwoObjects(cameraObject.getTransform(),
                 getParent(),
-                distance);
+                distance, targetPosition);
         float scaleFactor = Util.getHitAreaScaleFactor(distance);
 
         scaleParentAnimation = new GVRScaleAnimation(getParent(), 1.2f, scaleFactor)
@@ -428,7 +429,7 @@ public class SphereFlag extends GVRSceneObject {
                 float distance = Constants.SPHERE_SELECTION_DISTANCE;
                 float[] newPosition = Util.calculatePointBetweenTwoObjects(
                         cameraObject.getTransform(),
-                        getInitialPositionVector(), distance);
+                        getInitialPositionVector(), distance, targetPosition);
                 float scaleFactor = Util.getHitAreaScaleFactor(distance);
 
                 scaleParentAnimation = new GVRScaleAnimation(getParent(), duration, scaleFactor).start(getGVRContext()
@@ -466,7 +467,7 @@ public class SphereFlag extends GVRSceneObject {
                         cameraObject.getTransform()));
         float[] newPosition = Util.calculatePointBetweenTwoObjects(cameraObject.getTransform(),
                 getParent(),
-                distance);
+                distance, targetPosition);
         float scaleFactor = Util.getHitAreaScaleFactor(distance);
 
         scaleParentAnimation = new GVRScaleAnimation(getParent(), duration, scaleFactor)
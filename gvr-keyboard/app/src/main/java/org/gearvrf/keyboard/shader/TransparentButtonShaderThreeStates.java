@@ -33,6 +33,13 @@ public class TransparentButtonShaderThreeStates extends GVRShader {
     public static final String TEXTURE_TEXT_SPECIAL_KEY = "textSpecialTexture";
     public static final String TEXTURE_TEXT_HOVER_SPECIAL_KEY = "textHoverSpecialTexture";
 
+    /*
+     * Text textures may be a cell of a GlyphAtlas page. Each one has a
+     * vec4 uniform named after it holding the UV offset (xy) and scale (zw),
+     * (0, 0, 1, 1) when the texture is a whole image.
+     */
+    public static final String UV_SUFFIX = "UV";
+
     public static final String TEXTURE_SWITCH = "textureSwitch";
     public static final String OPACITY = "u_opacity";
 
@@ -74,27 +81,27 @@ public class TransparentButtonShaderThreeStates extends GVRShader {
             + "  vec4 color = texture(texture_t, coord);\n"
             + "  vec4 text = vec4(0.0, 0.0, 0.0, 1.0);\n"
             + " if(textureSwitch == 0.0){"
-            + "  text = texture("+ TEXTURE_TEXT_KEY + ", coord);\n"
+            + "  text = texture("+ TEXTURE_TEXT_KEY + ", "+ uvKey(TEXTURE_TEXT_KEY) + ".xy + coord * "+ uvKey(TEXTURE_TEXT_KEY) + ".zw);\n"
             + "  color = texture("+ TEXTURE_KEY + ", coord);\n"
             + " }"
             + " if(textureSwitch == 1.0){"
-            + "  text = texture("+ TEXTURE_TEXT_HOVER_KEY + ", coord);\n"
+            + "  text = texture("+ TEXTURE_TEXT_HOVER_KEY + ", "+ uvKey(TEXTURE_TEXT_HOVER_KEY) + ".xy + coord * "+ uvKey(TEXTURE_TEXT_HOVER_KEY) + ".zw);\n"
             + "  color = texture("+ TEXTURE_HOVER_KEY + ", coord);\n"
             + " }"
             + " if(textureSwitch == 2.0){"
-            + "  text = texture("+ TEXTURE_TEXT_UPPER_KEY + ", coord);\n"
+            + "  text = texture("+ TEXTURE_TEXT_UPPER_KEY + ", "+ uvKey(TEXTURE_TEXT_UPPER_KEY) + ".xy + coord * "+ uvKey(TEXTURE_TEXT_UPPER_KEY) + ".zw);\n"
             + "  color = texture(" + TEXTURE_KEY + ", coord);\n"
             + " }"
             + " if(textureSwitch == 3.0){"
-            + "  text = texture("+ TEXTURE_TEXT_HOVER_UPPER_KEY + ", coord);\n"
+            + "  text = texture("+ TEXTURE_TEXT_HOVER_UPPER_KEY + ", "+ uvKey(TEXTURE_TEXT_HOVER_UPPER_KEY) + ".xy + coord * "+ uvKey(TEXTURE_TEXT_HOVER_UPPER_KEY) + ".zw);\n"
             + "  color = texture("+ TEXTURE_HOVER_KEY + ", coord);\n"
             + " }"
             + " if(textureSwitch == 4.0){"
-            + "  text = texture("+ TEXTURE_TEXT_SPECIAL_KEY + ", coord);\n"
+            + "  text = texture("+ TEXTURE_TEXT_SPECIAL_KEY + ", "+ uvKey(TEXTURE_TEXT_SPECIAL_KEY) + ".xy + coord * "+ uvKey(TEXTURE_TEXT_SPECIAL_KEY) + ".zw);\n"
             + "  color = texture("+ TEXTURE_KEY + ", coord);\n"
             + " }"
             + " if(textureSwitch == 5.0){"
-            + "  text = texture("+ TEXTURE_TEXT_HOVER_SPECIAL_KEY + ", coord);\n"
+            + "  text = texture("+ TEXTURE_TEXT_HOVER_SPECIAL_KEY + ", "+ uvKey(TEXTURE_TEXT_HOVER_SPECIAL_KEY) + ".xy + coord * "+ uvKey(TEXTURE_TEXT_HOVER_SPECIAL_KEY) + ".zw);\n"
             + "  color = texture("+ TEXTURE_HOVER_KEY + ", coord);\n"
             + " }"
             + "  color = color + text;\n"
@@ -104,7 +111,10 @@ public class TransparentButtonShaderThreeStates extends GVRShader {
 
 
     public TransparentButtonShaderThreeStates(GVRContext gvrContext) {
-        super(" float u_opacity, float textureSwitch",
+        super(" float u_opacity, float textureSwitch,"
+                + " float4 textTextureUV, float4 textHoverTextureUV,"
+                + " float4 textUpperTextureUV, float4 textHoverUpperTextureUV,"
+                + " float4 textSpecialTextureUV, float4 textHoverSpecialTextureUV",
                 "sampler2D texture_t sampler2D textureHover sampler2D textTexture sampler2D textHoverTexture sampler2D textUpperTexture sampler2D textHoverUpperTexture sampler2D textSpecialTexture sampler2D textHoverSpecialTexture",
                 "float3 a_position, float2 a_texcoord", GLSLESVersion.VULKAN);
         setSegment("FragmentTemplate", FRAGMENT_SHADER);
@@ -115,6 +125,19 @@ public class TransparentButtonShaderThreeStates extends GVRShader {
     {
         material.setFloat("u_opacity", 1);
         material.setFloat("textureSwitch", 0);
+        material.setVec4(uvKey(TEXTURE_TEXT_KEY), 0, 0, 1, 1);
+        material.setVec4(uvKey(TEXTURE_TEXT_HOVER_KEY), 0, 0, 1, 1);
+        material.setVec4(uvKey(TEXTURE_TEXT_UPPER_KEY), 0, 0, 1, 1);
+        material.setVec4(uvKey(TEXTURE_TEXT_HOVER_UPPER_KEY), 0, 0, 1, 1);
+        material.setVec4(uvKey(TEXTURE_TEXT_SPECIAL_KEY), 0, 0, 1, 1);
+        material.setVec4(uvKey(TEXTURE_TEXT_HOVER_SPECIAL_KEY), 0, 0, 1, 1);
+    }
+
+    /**
+     * Name of the UV rectangle uniform for a text texture key.
+     */
+    public static String uvKey(String textureKey) {
+        return textureKey + UV_SUFFIX;
     }
 
 }
@@ -15,12 +15,10 @@
 
 package org.gearvrf.keyboard.spinner;
 
-import org.gearvrf.GVRBitmapImage;
 import org.gearvrf.GVRContext;
-import org.gearvrf.GVRTexture;
 import org.gearvrf.keyboard.textField.Text;
 import org.gearvrf.keyboard.textField.TextFieldItem;
-import org.gearvrf.keyboard.util.GVRTextBitmapFactory;
+import org.gearvrf.keyboard.util.GlyphAtlas;
 
 public class SpinnerItem extends TextFieldItem {
 
@@ -39,20 +37,13 @@ public class SpinnerItem extends TextFieldItem {
         if (cacheTestOn) {
 
             if (null != charItem) {
-                GVRBitmapImage tex = new GVRBitmapImage(context, SpinnerItemFactory.getInstance(
-                        getGVRContext()).getBitmap(charItem.getMode(),
-                        charItem.getPosition()));
-                GVRTexture texture = new GVRTexture(getGVRContext());
-                texture.setImage(tex);
-                getRenderData().getMaterial().setMainTexture(texture);
+                GlyphAtlas.Glyph glyph = SpinnerItemFactory.getInstance(getGVRContext())
+                        .getGlyph(charItem.getMode(), charItem.getPosition());
+                setGlyph(GlyphAtlas.getInstance(context).retain(glyph));
             }
 
         } else {
-            GVRBitmapImage tex = new GVRBitmapImage(context, GVRTextBitmapFactory.create(
-                    context.getContext(), width, height, currentText, 0));
-            GVRTexture texture = new GVRTexture(getGVRContext());
-            texture.setImage(tex);
-            getRenderData().getMaterial().setMainTexture(texture);
+            super.updateText(context);
         }
     }
 
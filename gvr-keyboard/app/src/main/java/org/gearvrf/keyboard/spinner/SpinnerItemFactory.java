@@ -15,7 +15,6 @@
 
 package org.gearvrf.keyboard.spinner;
 
-import android.graphics.Bitmap;
 import android.graphics.Color;
 
 import org.gearvrf.GVRContext;
@@ -23,6 +22,7 @@ import org.gearvrf.keyboard.keyboard.numeric.Keyboard;
 import org.gearvrf.keyboard.model.CharList;
 import org.gearvrf.keyboard.textField.Text;
 import org.gearvrf.keyboard.util.GVRTextBitmapFactory;
+import org.gearvrf.keyboard.util.GlyphAtlas;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,10 +30,10 @@ import java.util.List;
 public class SpinnerItemFactory {
 
     private static SpinnerItemFactory instance;
-    private List<Bitmap> numericBitmapList = new ArrayList<Bitmap>();
-    private List<Bitmap> alphaLowerBitmapList = new ArrayList<Bitmap>();
-    private List<Bitmap> alphaUpperBitmapList = new ArrayList<Bitmap>();
-    private List<Bitmap> specialBitmapList = new ArrayList<Bitmap>();
+    private List<GlyphAtlas.Glyph> numericGlyphList = new ArrayList<GlyphAtlas.Glyph>();
+    private List<GlyphAtlas.Glyph> alphaLowerGlyphList = new ArrayList<GlyphAtlas.Glyph>();
+    private List<GlyphAtlas.Glyph> alphaUpperGlyphList = new ArrayList<GlyphAtlas.Glyph>();
+    private List<GlyphAtlas.Glyph> specialGlyphList = new ArrayList<GlyphAtlas.Glyph>();
     private GVRContext gvrContext;
 
     public SpinnerItemFactory(GVRContext gvrContext) {
@@ -49,7 +49,7 @@ public class SpinnerItemFactory {
         return instance;
     }
 
-    private Bitmap createSpinnerItem(String spinnerText) {
+    private GlyphAtlas.Glyph createSpinnerItem(String spinnerText) {
 
         int bitmapWidth = 45;
         int bitmapHeigth = 72;
@@ -58,17 +58,17 @@ public class SpinnerItemFactory {
         text.textSize = 75;
         // text.backgroundColor = Color.BLACK;
         text.backgroundColor = Color.parseColor("#00204d");
-        text.text = spinnerText;
 
-        return GVRTextBitmapFactory.create(gvrContext.getContext(), bitmapWidth, bitmapHeigth,
-                text, 0);
+        return GlyphAtlas.getInstance(gvrContext).acquire(spinnerText,
+                new GlyphAtlas.Style(bitmapWidth, bitmapHeigth, text,
+                        GVRTextBitmapFactory.SPINNER_FONT));
     }
 
     public void init() {
 
         for (int i = 0; i < CharList.getInstance(gvrContext)
                 .getList(Keyboard.SOFT_KEYBOARD_LOWERCASE).size(); i++) {
-            alphaLowerBitmapList
+            alphaLowerGlyphList
                     .add(createSpinnerItem(CharList.getInstance(gvrContext)
                             .getList(Keyboard.SOFT_KEYBOARD_LOWERCASE).get(i)));
 
@@ -76,45 +76,45 @@ public class SpinnerItemFactory {
 
         for (int i = 0; i < CharList.getInstance(gvrContext)
                 .getList(Keyboard.SOFT_KEYBOARD_UPPERCASE).size(); i++) {
-            alphaUpperBitmapList.add(createSpinnerItem(CharList.getInstance(gvrContext)
+            alphaUpperGlyphList.add(createSpinnerItem(CharList.getInstance(gvrContext)
                     .getList(Keyboard.SOFT_KEYBOARD_UPPERCASE).get(i)
                     .toUpperCase()));
         }
 
         for (int i = 0; i < CharList.getInstance(gvrContext).getList(Keyboard.NUMERIC_KEYBOARD)
                 .size(); i++) {
-            numericBitmapList.add(createSpinnerItem(CharList.getInstance(gvrContext)
+            numericGlyphList.add(createSpinnerItem(CharList.getInstance(gvrContext)
                     .getList(Keyboard.NUMERIC_KEYBOARD).get(i)));
         }
 
         for (int i = 0; i < CharList.getInstance(gvrContext)
                 .getList(Keyboard.SOFT_KEYBOARD_SPECIAL).size(); i++) {
-            specialBitmapList.add(createSpinnerItem(CharList.getInstance(gvrContext)
+            specialGlyphList.add(createSpinnerItem(CharList.getInstance(gvrContext)
                     .getList(Keyboard.SOFT_KEYBOARD_SPECIAL).get(i)));
         }
 
     }
 
-    public Bitmap getBitmap(int mode, int position) {
+    public GlyphAtlas.Glyph getGlyph(int mode, int position) {
         return getList(mode).get(position);
 
     }
 
-    public List<Bitmap> getList(int mode) {
-        List<Bitmap> list = null;
+    public List<GlyphAtlas.Glyph> getList(int mode) {
+        List<GlyphAtlas.Glyph> list = null;
 
         switch (mode) {
             case Keyboard.NUMERIC_KEYBOARD:
-                list = numericBitmapList;
+                list = numericGlyphList;
                 break;
             case Keyboard.SOFT_KEYBOARD_LOWERCASE:
-                list = alphaLowerBitmapList;
+                list = alphaLowerGlyphList;
                 break;
             case Keyboard.SOFT_KEYBOARD_SPECIAL:
-                list = specialBitmapList;
+                list = specialGlyphList;
                 break;
             case Keyboard.SOFT_KEYBOARD_UPPERCASE:
-                list = alphaUpperBitmapList;
+                list = alphaUpperGlyphList;
                 break;
         }
 
@@ -125,6 +125,7 @@ public class TextField extends GVRSceneObject {
             position = mListFieldItems.size() - 1;
         TextFieldItem character = mListFieldItems.get(position);
         removeChildObject(character);
+        character.releaseGlyph();
 
         mListFieldItems.remove(position);
         adjustPosition(position);
@@ -136,6 +137,7 @@ public class TextField extends GVRSceneObject {
 
             for (TextFieldItem textFieldItem : mListFieldItems) {
                 removeChildObject(textFieldItem);
+                textFieldItem.releaseGlyph();
             }
             mListFieldItems = new ArrayList<TextFieldItem>();
         }
@@ -202,6 +204,7 @@ public class TextField extends GVRSceneObject {
             TextFieldItem character = mListFieldItems.get(i);
             character.currentText.text = "";
             removeChildObject(character);
+            character.releaseGlyph();
         }
 
         mListFieldItems.clear();
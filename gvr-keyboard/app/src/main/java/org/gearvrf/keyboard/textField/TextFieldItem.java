@@ -15,12 +15,12 @@
 
 package org.gearvrf.keyboard.textField;
 
-import org.gearvrf.GVRBitmapImage;
 import org.gearvrf.GVRContext;
+import org.gearvrf.GVRMesh;
 import org.gearvrf.GVRSceneObject;
-import org.gearvrf.GVRTexture;
 import org.gearvrf.keyboard.model.CharItem;
 import org.gearvrf.keyboard.util.GVRTextBitmapFactory;
+import org.gearvrf.keyboard.util.GlyphAtlas;
 import org.gearvrf.keyboard.util.SceneObjectNames;
 
 public class TextFieldItem extends GVRSceneObject {
@@ -30,6 +30,9 @@ public class TextFieldItem extends GVRSceneObject {
     protected int height;
     protected CharItem charItem;
     private int position;
+    private GlyphAtlas.Glyph glyph;
+    private float[] quadTexCoords;
+    private float[] glyphTexCoords;
 
     public TextFieldItem(GVRContext gvrContext, float sceneObjectWidth, float sceneObjectHeigth,
             int bitmapWidth, int bitmapHeigth, Text text,
@@ -49,11 +52,31 @@ public class TextFieldItem extends GVRSceneObject {
     }
 
     public void updateText(GVRContext context) {
-        GVRBitmapImage tex = new GVRBitmapImage(context, GVRTextBitmapFactory.create(
-                context.getContext(), width, height, currentText, 0));
-        GVRTexture texture = new GVRTexture(getGVRContext());
-        texture.setImage(tex);
-        getRenderData().getMaterial().setMainTexture(texture);
+        setGlyph(GlyphAtlas.getInstance(context).acquire(currentText.text,
+                new GlyphAtlas.Style(width, height, currentText, GVRTextBitmapFactory.SPINNER_FONT)));
+    }
+
+    /**
+     * Show a label from the glyph atlas, releasing the previous one.
+     * The caller's reference to the glyph is handed over to this item.
+     */
+    protected void setGlyph(GlyphAtlas.Glyph newGlyph) {
+        GVRMesh mesh = getRenderData().getMesh();
+        if (quadTexCoords == null) {
+            quadTexCoords = mesh.getTexCoords();
+            glyphTexCoords = new float[quadTexCoords.length];
+        }
+        newGlyph.mapTexCoords(mesh, quadTexCoords, glyphTexCoords);
+        getRenderData().getMaterial().setMainTexture(newGlyph.getTexture());
+        releaseGlyph();
+        glyph = newGlyph;
+    }
+
+    public void releaseGlyph() {
+        if (glyph != null) {
+            GlyphAtlas.getInstance(getGVRContext()).release(glyph);
+            glyph = null;
+        }
     }
 
     public void setTextAdditive(GVRContext context, String newText) {
@@ -42,6 +42,7 @@ import android.graphics.Typeface;
 import org.gearvrf.keyboard.textField.Text;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 /**
  * A class which creates Bitmaps with texts on them.
@@ -50,8 +51,11 @@ import java.util.ArrayList;
  */
 public class GVRTextBitmapFactory {
 
+    public static final String SPINNER_FONT = "fonts/futura-condensed-normal.ttf";
+
     public static boolean cacheOn = true;
     ArrayList<GVRTextBitmapFactory> cache = new ArrayList<>();
+    private static final HashMap<String, Typeface> typefaces = new HashMap<String, Typeface>();
 
     private GVRTextBitmapFactory() {
     }
@@ -116,8 +120,7 @@ public class GVRTextBitmapFactory {
 
     public static Bitmap create(Context context, float width, float height, Text text, int test) { // spinner
 
-        Typeface myTypeface = Typeface.createFromAsset(context.getAssets(),
-                "fonts/futura-condensed-normal.ttf");
+        Typeface myTypeface = getTypeface(context, SPINNER_FONT);
 
         Bitmap bitmap = Bitmap.createBitmap((int) width, (int) height, Bitmap.Config.ARGB_8888);
 
@@ -143,4 +146,18 @@ public class GVRTextBitmapFactory {
         return bitmap;
     }
 
+    /**
+     * Typeface for a font asset, loaded from the assets only the first time.
+     */
+    public static Typeface getTypeface(Context context, String font) {
+        synchronized (typefaces) {
+            Typeface typeface = typefaces.get(font);
+            if (typeface == null) {
+                typeface = Typeface.createFromAsset(context.getAssets(), font);
+                typefaces.put(font, typeface);
+            }
+            return typeface;
+        }
+    }
+
 }
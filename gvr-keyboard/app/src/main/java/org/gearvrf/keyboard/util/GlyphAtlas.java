@@ -0,0 +1,465 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.keyboard.util;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Paint.Align;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.util.Log;
+
+import org.gearvrf.GVRBitmapImage;
+import org.gearvrf.GVRContext;
+import org.gearvrf.GVRMaterial;
+import org.gearvrf.GVRMesh;
+import org.gearvrf.GVRTexture;
+import org.gearvrf.keyboard.textField.Text;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Shared texture pages holding rendered key and text field labels.
+ * <p>
+ * Every label is drawn once per (text, font, size, colors, cell size) into
+ * a cell of a 1024x1024 page. Pages are uploaded once per frame no matter
+ * how many labels were added, and scene objects reference a label by
+ * texture page plus UV rectangle instead of owning a bitmap.
+ * <p>
+ * Each page holds cells of one size. When no page has a free cell and
+ * {@link #MAX_PAGES} are in use, the least recently used label of that size
+ * which is no longer referenced is evicted and its cell reused. If there is
+ * none, the least recently used page without referenced labels is cleared
+ * and reused for the new size.
+ */
+public class GlyphAtlas {
+
+    private static final String TAG = "GlyphAtlas";
+
+    public static final int PAGE_SIZE = 1024;
+    public static final int MAX_PAGES = 8;
+    private static final int PADDING = 2;
+
+    private static GlyphAtlas instance;
+
+    private final GVRContext gvrContext;
+    private final List<Page> pages = new ArrayList<Page>();
+    private final LinkedHashMap<Key, Glyph> glyphs = new LinkedHashMap<Key, Glyph>(64, 0.75f, true);
+
+    private final Paint paint = new Paint();
+    private final Rect bounds = new Rect();
+    private boolean flushScheduled = false;
+    private long useClock = 0;
+
+    private int hits;
+    private int misses;
+    private int evictions;
+    private int uploads;
+
+    /**
+     * How a label is drawn into its cell.
+     */
+    public static class Style {
+
+        public final int width;
+        public final int height;
+        public final int textSize;
+        public final int textColor;
+        public final int backgroundColor;
+        public final Align align;
+        /** Font asset path, or null for the default typeface */
+        public final String font;
+
+        public Style(int width, int height, int textSize, Align align, int textColor,
+                int backgroundColor, String font) {
+            this.width = width;
+            this.height = height;
+            this.textSize = textSize;
+            this.align = align;
+            this.textColor = textColor;
+            this.backgroundColor = backgroundColor;
+            this.font = font;
+        }
+
+        public Style(int width, int height, Text text, String font) {
+            this(width, height, text.textSize, text.align, text.textColor, text.backgroundColor,
+                    font);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Style)) {
+                return false;
+            }
+            Style s = (Style) o;
+            return width == s.width && height == s.height && textSize == s.textSize
+                    && textColor == s.textColor && backgroundColor == s.backgroundColor
+                    && align == s.align
+                    && (font == null ? s.font == null : font.equals(s.font));
+        }
+
+        @Override
+        public int hashCode() {
+            int h = width;
+            h = 31 * h + height;
+            h = 31 * h + textSize;
+            h = 31 * h + textColor;
+            h = 31 * h + backgroundColor;
+            h = 31 * h + (align == null ? 0 : align.hashCode());
+            h = 31 * h + (font == null ? 0 : font.hashCode());
+            return h;
+        }
+    }
+
+    /**
+     * A label in the atlas. The UV rectangle is offset (u, v) plus
+     * size (uScale, vScale) in page texture coordinates.
+     */
+    public static class Glyph {
+
+        private final Key key;
+        private final Page page;
+        private final int slot;
+        private int refs;
+
+        public final float u;
+        public final float v;
+        public final float uScale;
+        public final float vScale;
+
+        private Glyph(Key key, Page page, int slot) {
+            this.key = key;
+            this.page = page;
+            this.slot = slot;
+            u = (float) page.cellX(slot) / PAGE_SIZE;
+            v = (float) page.cellY(slot) / PAGE_SIZE;
+            uScale = (float) page.width / PAGE_SIZE;
+            vScale = (float) page.height / PAGE_SIZE;
+        }
+
+        public GVRTexture getTexture() {
+            return page.texture;
+        }
+
+        /**
+         * Set a vec4 uniform to this glyph's UV offset and scale.
+         */
+        public void setUV(GVRMaterial material, String uniform) {
+            material.setVec4(uniform, u, v, uScale, vScale);
+        }
+
+        /**
+         * Map the texture coordinates of a quad onto this glyph.
+         * @param mesh   mesh to update
+         * @param quadUV the mesh's original 0..1 texture coordinates
+         * @param dest   scratch array at least as long as quadUV
+         */
+        public void mapTexCoords(GVRMesh mesh, float[] quadUV, float[] dest) {
+            for (int i = 0; i < quadUV.length; i += 2) {
+                dest[i] = u + quadUV[i] * uScale;
+                dest[i + 1] = v + quadUV[i + 1] * vScale;
+            }
+            mesh.setTexCoords(dest);
+        }
+    }
+
+    private static class Key {
+
+        final String text;
+        final Style style;
+
+        Key(String text, Style style) {
+            this.text = text;
+            this.style = style;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return text.equals(k.text) && style.equals(k.style);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * text.hashCode() + style.hashCode();
+        }
+    }
+
+    private class Page {
+
+        int width;
+        int height;
+        int columns;
+        int capacity;
+        final Bitmap bitmap;
+        final Canvas canvas;
+        final GVRBitmapImage image;
+        final GVRTexture texture;
+        int nextSlot = 0;
+        boolean dirty = false;
+        // references held on glyphs in this page, and when it was last used
+        int refs = 0;
+        long lastUse = 0;
+
+        Page(int width, int height) {
+            bitmap = Bitmap.createBitmap(PAGE_SIZE, PAGE_SIZE, Bitmap.Config.ARGB_8888);
+            canvas = new Canvas(bitmap);
+            image = new GVRBitmapImage(gvrContext, bitmap);
+            texture = new GVRTexture(gvrContext);
+            texture.setImage(image);
+            setCellSize(width, height);
+        }
+
+        void setCellSize(int width, int height) {
+            this.width = width;
+            this.height = height;
+            columns = PAGE_SIZE / (width + PADDING);
+            capacity = columns * (PAGE_SIZE / (height + PADDING));
+            nextSlot = 0;
+        }
+
+        int cellX(int slot) {
+            return (slot % columns) * (width + PADDING) + PADDING / 2;
+        }
+
+        int cellY(int slot) {
+            return (slot / columns) * (height + PADDING) + PADDING / 2;
+        }
+
+        int allocate() {
+            if (nextSlot < capacity) {
+                return nextSlot++;
+            }
+            return -1;
+        }
+    }
+
+    private GlyphAtlas(GVRContext gvrContext) {
+        this.gvrContext = gvrContext;
+    }
+
+    public static synchronized GlyphAtlas getInstance(GVRContext gvrContext) {
+        if (instance == null) {
+            instance = new GlyphAtlas(gvrContext);
+        }
+        return instance;
+    }
+
+    /**
+     * Find or draw a label. Each acquire must be paired with a
+     * {@link #release(Glyph)} once the label is no longer shown.
+     */
+    public synchronized Glyph acquire(String text, Style style) {
+        Key key = new Key(text, style);
+        Glyph glyph = glyphs.get(key);
+        if (glyph != null) {
+            ++hits;
+        } else {
+            ++misses;
+            glyph = allocate(key);
+            draw(glyph);
+            glyphs.put(key, glyph);
+        }
+        glyph.page.lastUse = ++useClock;
+        ++glyph.refs;
+        ++glyph.page.refs;
+        return glyph;
+    }
+
+    /**
+     * Add a reference to a glyph obtained from {@link #acquire(String, Style)}.
+     */
+    public synchronized Glyph retain(Glyph glyph) {
+        ++glyph.refs;
+        ++glyph.page.refs;
+        return glyph;
+    }
+
+    public synchronized void release(Glyph glyph) {
+        if (glyph != null && glyph.refs > 0) {
+            --glyph.refs;
+            --glyph.page.refs;
+        }
+    }
+
+    private Glyph allocate(Key key) {
+        int width = key.style.width;
+        int height = key.style.height;
+        if (width + PADDING > PAGE_SIZE || height + PADDING > PAGE_SIZE) {
+            throw new IllegalArgumentException("label larger than atlas page");
+        }
+
+        for (Page page : pages) {
+            if (page.width == width && page.height == height) {
+                int slot = page.allocate();
+                if (slot >= 0) {
+                    return new Glyph(key, page, slot);
+                }
+            }
+        }
+        if (pages.size() < MAX_PAGES) {
+            return newGlyph(key);
+        }
+
+        // least recently used first
+        Iterator<Glyph> it = glyphs.values().iterator();
+        while (it.hasNext()) {
+            Glyph old = it.next();
+            if (old.refs == 0 && old.page.width == width && old.page.height == height) {
+                it.remove();
+                ++evictions;
+                return new Glyph(key, old.page, old.slot);
+            }
+        }
+
+        Page victim = null;
+        for (Page page : pages) {
+            if (page.refs == 0 && (victim == null || page.lastUse < victim.lastUse)) {
+                victim = page;
+            }
+        }
+        if (victim == null) {
+            throw new IllegalStateException("atlas full, all " + MAX_PAGES + " pages in use");
+        }
+        Log.w(TAG, "atlas full, reusing page for " + width + "x" + height + " labels");
+        it = glyphs.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().page == victim) {
+                it.remove();
+                ++evictions;
+            }
+        }
+        victim.setCellSize(width, height);
+        return new Glyph(key, victim, victim.allocate());
+    }
+
+    private Glyph newGlyph(Key key) {
+        Page page = new Page(key.style.width, key.style.height);
+        pages.add(page);
+        return new Glyph(key, page, page.allocate());
+    }
+
+    private void draw(Glyph glyph) {
+        Page page = glyph.page;
+        Style style = glyph.key.style;
+        String text = glyph.key.text;
+        int x = page.cellX(glyph.slot);
+        int y = page.cellY(glyph.slot);
+        float width = style.width;
+        float height = style.height;
+        Canvas canvas = page.canvas;
+
+        canvas.save();
+        canvas.clipRect(x, y, x + style.width, y + style.height);
+        canvas.drawColor(style.backgroundColor, PorterDuff.Mode.SRC);
+        canvas.translate(x, y);
+
+        paint.reset();
+        paint.setTextSize(style.textSize);
+        paint.setFakeBoldText(true);
+        paint.setColor(style.textColor);
+
+        if (style.font == null) {
+            // same layout as GVRTextBitmapFactory.create(width, height, text...)
+            paint.setTextAlign(style.align);
+            if (style.align == Align.LEFT) {
+                canvas.drawText(text, 0, height / 1.6f, paint);
+            } else {
+                canvas.drawText(text, width / 2, height / 1.6f, paint);
+            }
+        } else {
+            // same layout as GVRTextBitmapFactory.create(context, width, height, text, ...)
+            paint.setTypeface(GVRTextBitmapFactory.getTypeface(gvrContext.getContext(),
+                    style.font));
+            paint.setFlags(paint.getFlags() | Paint.ANTI_ALIAS_FLAG);
+            paint.setStyle(Paint.Style.FILL);
+            paint.setFilterBitmap(true);
+            paint.getTextBounds(text, 0, text.length(), bounds);
+            canvas.drawText(text, width / 2 - bounds.exactCenterX(),
+                    height / 2 - bounds.exactCenterY(), paint);
+        }
+        canvas.restore();
+
+        page.dirty = true;
+        scheduleFlush();
+    }
+
+    /*
+     * Pages changed in this frame are uploaded together on the next
+     * GL callback rather than once per label.
+     */
+    private void scheduleFlush() {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        gvrContext.runOnGlThread(new Runnable() {
+
+            @Override
+            public void run() {
+                flush();
+            }
+        });
+    }
+
+    public synchronized void flush() {
+        flushScheduled = false;
+        for (Page page : pages) {
+            if (page.dirty) {
+                page.dirty = false;
+                page.image.setBitmap(page.bitmap);
+                ++uploads;
+            }
+        }
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    public synchronized int getEvictions() {
+        return evictions;
+    }
+
+    public synchronized int getUploads() {
+        return uploads;
+    }
+
+    public synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    public synchronized int getGlyphCount() {
+        return glyphs.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "glyphs " + glyphs.size() + " pages " + pages.size() + " hits " + hits
+                + " misses " + misses + " evictions " + evictions + " uploads " + uploads;
+    }
+}
@@ -122,116 +122,75 @@ public class Util {
 
     public static float[] calculatePointBetweenTwoObjects(GVRSceneObject object1,
             GVRSceneObject object2, float desiredDistance) {
-        float[] point = new float[3];
-        float ratio = desiredDistance / (float) distance(object1, object2);
-        point[0] = (1 - ratio) * object1.getTransform().getPositionX() + (ratio)
-                * object2.getTransform().getPositionX();
-        point[1] = (1 - ratio) * object1.getTransform().getPositionY() + (ratio)
-                * object2.getTransform().getPositionY();
-        point[2] = (1 - ratio) * object1.getTransform().getPositionZ() + (ratio)
-                * object2.getTransform().getPositionZ();
-
-        return point;
+        return calculatePointBetweenTwoObjects(object1.getTransform(), object2,
+                desiredDistance, new float[3]);
     }
 
     public static float[] calculatePointBetweenTwoObjects(GVRTransform object1,
             GVRSceneObject object2, float desiredDistance) {
-        float[] point = new float[3];
-        float ratio = desiredDistance / (float) distance(object1, object2.getTransform());
-        point[0] = (1 - ratio) * object1.getPositionX() + (ratio)
-                * object2.getTransform().getPositionX();
-        point[1] = (1 - ratio) * object1.getPositionY() + (ratio)
-                * object2.getTransform().getPositionY();
-        point[2] = (1 - ratio) * object1.getPositionZ() + (ratio)
-                * object2.getTransform().getPositionZ();
+        return calculatePointBetweenTwoObjects(object1, object2, desiredDistance, new float[3]);
+    }
 
-        return point;
+    /**
+     * Same as {@link #calculatePointBetweenTwoObjects(GVRTransform, GVRSceneObject, float)}
+     * but writes the point to {@code point} instead of allocating.
+     */
+    public static float[] calculatePointBetweenTwoObjects(GVRTransform object1,
+            GVRSceneObject object2, float desiredDistance, float[] point) {
+        GVRTransform transform2 = object2.getTransform();
+        return VectorMath.pointBetween(object1.getPositionX(), object1.getPositionY(),
+                object1.getPositionZ(), transform2.getPositionX(), transform2.getPositionY(),
+                transform2.getPositionZ(), desiredDistance, point);
     }
 
     public static float[] calculatePointBetweenTwoObjects(GVRSceneObject object, Vector3D vector,
             float desiredDistance) {
-        float[] point = new float[3];
-        float ratio = desiredDistance / (float) distance(vector, object);
-        point[0] = (1 - ratio) * object.getTransform().getPositionX() + (ratio)
-                * (float) vector.getX();
-        point[1] = (1 - ratio) * object.getTransform().getPositionY() + (ratio)
-                * (float) vector.getY();
-        point[2] = (1 - ratio) * object.getTransform().getPositionZ() + (ratio)
-                * (float) vector.getZ();
-
-        return point;
+        return calculatePointBetweenTwoObjects(object.getTransform(), vector, desiredDistance,
+                new float[3]);
     }
 
     public static float[] calculatePointBetweenTwoObjects(GVRTransform object, Vector3D vector,
             float desiredDistance) {
-        float[] point = new float[3];
-        float ratio = desiredDistance / (float) distance(vector, object);
-        point[0] = (1 - ratio) * object.getPositionX() + (ratio)
-                * (float) vector.getX();
-        point[1] = (1 - ratio) * object.getPositionY() + (ratio)
-                * (float) vector.getY();
-        point[2] = (1 - ratio) * object.getPositionZ() + (ratio)
-                * (float) vector.getZ();
+        return calculatePointBetweenTwoObjects(object, vector, desiredDistance, new float[3]);
+    }
 
-        return point;
+    /**
+     * Same as {@link #calculatePointBetweenTwoObjects(GVRTransform, Vector3D, float)}
+     * but writes the point to {@code point} instead of allocating.
+     */
+    public static float[] calculatePointBetweenTwoObjects(GVRTransform object, Vector3D vector,
+            float desiredDistance, float[] point) {
+        return VectorMath.pointBetween(object.getPositionX(), object.getPositionY(),
+                object.getPositionZ(), (float) vector.getX(), (float) vector.getY(),
+                (float) vector.getZ(), desiredDistance, point);
     }
 
     public static double distance(GVRSceneObject object1, GVRSceneObject object2) {
-        return Math.sqrt(Math.pow(object1.getTransform().getPositionX()
-                - object2.getTransform().getPositionX(), 2)
-                +
-                Math.pow(object1.getTransform().getPositionY()
-                        - object2.getTransform().getPositionY(), 2)
-                +
-                Math.pow(object1.getTransform().getPositionZ()
-                        - object2.getTransform().getPositionZ(), 2));
-
+        return distance(object1.getTransform(), object2.getTransform());
     }
 
     public static double distance(GVRTransform object1, GVRTransform object2) {
-        return Math.sqrt(Math.pow(object1.getPositionX()
-                - object2.getPositionX(), 2)
-                +
-                Math.pow(object1.getPositionY()
-                        - object2.getPositionY(), 2)
-                +
-                Math.pow(object1.getPositionZ()
-                        - object2.getPositionZ(), 2));
-
+        return VectorMath.distance(object1.getPositionX(), object1.getPositionY(),
+                object1.getPositionZ(), object2.getPositionX(), object2.getPositionY(),
+                object2.getPositionZ());
     }
 
     public static double distance(GVRSceneObject object1, GVRTransform object2) {
-        return Math.sqrt(Math.pow(object1.getTransform().getPositionX()
-                - object2.getPositionX(), 2)
-                +
-                Math.pow(object1.getTransform().getPositionY()
-                        - object2.getPositionY(), 2)
-                +
-                Math.pow(object1.getTransform().getPositionZ()
-                        - object2.getPositionZ(), 2));
-
+        return distance(object1.getTransform(), object2);
     }
 
     public static double distance(float ax, float ay, float az, float bx, float by, float bz) {
-        return Math.sqrt(
-                Math.pow(ax - bx, 2) +
-                        Math.pow(ay - by, 2) + +
-                        Math.pow(az - bz, 2));
-
+        return VectorMath.distance(ax, ay, az, bx, by, bz);
     }
 
     public static double distance(Vector3D vector, GVRSceneObject object) {
-        return Math.sqrt(Math.pow(vector.getX() - object.getTransform().getPositionX(), 2) +
-                Math.pow(vector.getY() - object.getTransform().getPositionY(), 2) +
-                Math.pow(vector.getZ() - object.getTransform().getPositionZ(), 2));
-
+        return distance(vector, object.getTransform());
     }
 
     public static double distance(Vector3D vector, GVRTransform object) {
-        return Math.sqrt(Math.pow(vector.getX() - object.getPositionX(), 2) +
-                Math.pow(vector.getY() - object.getPositionY(), 2) +
-                Math.pow(vector.getZ() - object.getPositionZ(), 2));
-
+        return VectorMath.distance((float) vector.getX(), (float) vector.getY(),
+                (float) vector.getZ(), object.getPositionX(), object.getPositionY(),
+                object.getPositionZ());
     }
 
     public static float getHitAreaScaleFactor(float currentDistance) {
@@ -243,26 +202,58 @@ public class Util {
 
     public static void rotateWithOpenGLLookAt(Vector3D cameraVector, Vector3D parentVector,
             GVRSceneObject object) {
-        Vector3D globalUpVector = new Vector3D(0, 1, 0);
-        Vector3D lookVector = parentVector.normalize();
-        Vector3D rightVector = lookVector.crossProduct(globalUpVector);
-        Vector3D upVector = rightVector.crossProduct(lookVector);
-        Vector3D zAxis = cameraVector.subtract(parentVector).normalize();
-        // Vector3D xAxis = upVector.crossProduct(zAxis).normalize();
-        Vector3D xAxis = zAxis.crossProduct(upVector).normalize();
-        Vector3D yAxis = xAxis.crossProduct(zAxis).normalize();
-        // Vector3D yAxis = xAxis.crossProduct(zAxis).normalize();
-        zAxis = zAxis.scalarMultiply(-1.f);
-
-        float angle = (float) Vector3D.angle(parentVector, cameraVector);
-        angle = (float) Math.toDegrees(angle);
-
-        object.getTransform().rotateByAxis(angle, (float) xAxis.getX(), (float) xAxis.getY(),
-                (float) xAxis.getZ());
-        object.getTransform().rotateByAxis(angle, (float) yAxis.getX(), (float) yAxis.getY(),
-                (float) yAxis.getZ());
-        object.getTransform().rotateByAxis(angle, (float) zAxis.getX(), (float) zAxis.getY(),
-                (float) zAxis.getZ());
+        rotateWithOpenGLLookAt((float) cameraVector.getX(), (float) cameraVector.getY(),
+                (float) cameraVector.getZ(), (float) parentVector.getX(),
+                (float) parentVector.getY(), (float) parentVector.getZ(), object);
+    }
+
+    public static void rotateWithOpenGLLookAt(float cameraX, float cameraY, float cameraZ,
+            float parentX, float parentY, float parentZ, GVRSceneObject object) {
+        // look = normalize(parent), right = look x (0, 1, 0), up = right x look
+        double parentLength = Math.sqrt(parentX * parentX + parentY * parentY + parentZ * parentZ);
+        double lookX = parentX / parentLength;
+        double lookY = parentY / parentLength;
+        double lookZ = parentZ / parentLength;
+        double rightX = -lookZ;
+        double rightZ = lookX;
+        double upX = -rightZ * lookY;
+        double upY = rightZ * lookX - rightX * lookZ;
+        double upZ = rightX * lookY;
+
+        // z = normalize(camera - parent), x = normalize(z x up), y = normalize(x x z)
+        double zX = cameraX - parentX;
+        double zY = cameraY - parentY;
+        double zZ = cameraZ - parentZ;
+        double length = Math.sqrt(zX * zX + zY * zY + zZ * zZ);
+        zX /= length;
+        zY /= length;
+        zZ /= length;
+        double xX = zY * upZ - zZ * upY;
+        double xY = zZ * upX - zX * upZ;
+        double xZ = zX * upY - zY * upX;
+        length = Math.sqrt(xX * xX + xY * xY + xZ * xZ);
+        xX /= length;
+        xY /= length;
+        xZ /= length;
+        double yX = xY * zZ - xZ * zY;
+        double yY = xZ * zX - xX * zZ;
+        double yZ = xX * zY - xY * zX;
+        length = Math.sqrt(yX * yX + yY * yY + yZ * yZ);
+        yX /= length;
+        yY /= length;
+        yZ /= length;
+
+        // angle between parent and camera
+        double crossX = parentY * cameraZ - parentZ * cameraY;
+        double crossY = parentZ * cameraX - parentX * cameraZ;
+        double crossZ = parentX * cameraY - parentY * cameraX;
+        double dot = parentX * cameraX + parentY * cameraY + parentZ * cameraZ;
+        float angle = (float) Math.toDegrees(Math.atan2(
+                Math.sqrt(crossX * crossX + crossY * crossY + crossZ * crossZ), dot));
+
+        object.getTransform().rotateByAxis(angle, (float) xX, (float) xY, (float) xZ);
+        object.getTransform().rotateByAxis(angle, (float) yX, (float) yY, (float) yZ);
+        object.getTransform().rotateByAxis(angle, (float) -zX, (float) -zY, (float) -zZ);
     }
 
     public static float applyRatioAt(double d) {
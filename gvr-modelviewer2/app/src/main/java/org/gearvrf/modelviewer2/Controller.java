@@ -18,6 +18,7 @@ import org.gearvrf.animation.GVRAnimation;
 import org.gearvrf.animation.GVRRepeatMode;
 import org.gearvrf.animation.GVRRotationByAxisAnimation;
 import org.gearvrf.scene_objects.GVRSphereSceneObject;
+import org.gearvrf.scene_objects.GVRTextViewSceneObject;
 import org.gearvrf.util.AssetsReader;
 import org.gearvrf.util.Banner;
 import org.gearvrf.util.NoTextureShader;
@@ -28,6 +29,7 @@ import org.joml.Vector4f;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.List;
 
 public class Controller {
     private static final String TAG = "GVRModelViewer2";
@@ -50,6 +52,11 @@ public class Controller {
     private ArrayList<Model> aModel;
     private Model currentDisplayedModel;
     public boolean currentModelFlag = false;
+    private ModelCache modelCache;
+    private ModelCatalog modelCatalog;
+    private final String sModelCatalogFile = "model_catalog.txt";
+    private volatile int requestedModelIndex = -1;
+    private static final int PREFETCH_DISTANCE = 1;
     private GVRAnimation currentAnimation;
 
     // Variables related to Banner
@@ -288,12 +295,21 @@ public class Controller {
         room.addSceneObject(oBannerCount.getBanner());
     }
 
-    void displayLoadingInRoom(GVRScene room) {
+    void displayLoadingInRoom(GVRScene room, Model model) {
         if (oBannerLoading == null) {
             oBannerLoading = new Banner(context, "Loading", 10, Color.BLUE, defaultCenterPosition
                     .x, defaultCenterPosition.y, defaultCenterPosition.z);
         }
-        room.addSceneObject(oBannerLoading.getBanner());
+        // sized and placed at the front of the model when the catalog knows it from an earlier load
+        GVRTextViewSceneObject banner = oBannerLoading.getBanner();
+        float radius = model.getExpectedRadius();
+        float scale = radius > 0 ? radius / Model.DISPLAY_RADIUS : 1;
+        banner.getTransform().setScale(scale, scale, scale);
+        banner.getTransform().setPosition(defaultCenterPosition.x, defaultCenterPosition.y,
+                defaultCenterPosition.z + Math.max(radius, 0));
+        int vertices = model.getKnownVertexCount();
+        banner.setText(vertices > 0 ? "Loading " + vertices + " vertices" : "Loading");
+        room.addSceneObject(banner);
     }
 
     void removeLoadingInRoom(GVRScene room) {
@@ -499,9 +515,7 @@ public class Controller {
         }
     }
 
-    private ArrayList<File> getListOfModels() {
-        ArrayList<File> listOfAllModels = new ArrayList<File>();
-
+    private List<ModelCatalog.Entry> getListOfModels() {
         // Add All the Extensions you want to load
         ArrayList<String> extensions = new ArrayList<String>();
         extensions.add("fbx");
@@ -512,34 +526,35 @@ public class Controller {
         extensions.add("ma");
         extensions.add("x3d");
 
-        // Reads the List of Files from specified folder having extension specified in extensions.
-        // Please place your models by creating GVRModelViewer2 folder in your internal phone memory
-        CardReader cRObject = new CardReader(sEnvironmentPath + "/SceneEditor", extensions);
-        File list[] = cRObject.getModels();
-
-        if (list == null)
-            return listOfAllModels;
-
-        // Adds all the models
-        for (File file : list) {
-            Log.i("path", file.getPath());
-
-            listOfAllModels.add(file);
+        // Indexes the files under the specified folder having extension specified in extensions.
+        // Please place your models by creating SceneEditor folder in your internal phone memory
+        if (modelCatalog == null) {
+            modelCatalog = new ModelCatalog(new File(sEnvironmentPath + "/SceneEditor"),
+                    new File(activity.getFilesDir(), sModelCatalogFile), extensions);
         }
-
-        return listOfAllModels;
+        return modelCatalog.refresh();
     }
 
     void loadModelsList() {
         aModel = new ArrayList<Model>();
-        ArrayList<File> listOfAllModels = getListOfModels();
-        for (File file : listOfAllModels) {
-            Model tempModel = new Model(file.getName(), file.getPath().replaceAll
-                    ("/storage/emulated/0/", ""));
+        shutdown();
+        modelCache = new ModelCache(context, ModelCache.DEFAULT_BUDGET_BYTES);
+        for (ModelCatalog.Entry entry : getListOfModels()) {
+            Model tempModel = new Model(entry.getName(), entry.path.replaceAll
+                    ("/storage/emulated/0/", ""), modelCatalog, entry);
             aModel.add(tempModel);
         }
     }
 
+    /**
+     * Stop the model loader threads.
+     */
+    void shutdown() {
+        if (modelCache != null) {
+            modelCache.shutdown();
+        }
+    }
+
     ArrayList<String> getModelsList() {
         ArrayList<String> listOfModels = new ArrayList<String>();
 
@@ -549,29 +564,64 @@ public class Controller {
         return listOfModels;
     }
 
-    void setModelWithIndex(int index, GVRScene room) {
+    void setModelWithIndex(final int index, final GVRScene room) {
         if (currentDisplayedModel != null) {
             room.removeSceneObject(currentDisplayedModel.getModel(context));
+            currentDisplayedModel = null;
+            currentModelFlag = false;
         }
 
-        displayLoadingInRoom(room);
-        GVRSceneObject tempModelSO = aModel.get(index).getModel(context);
+        final Model model = aModel.get(index);
+        requestedModelIndex = index;
+        displayLoadingInRoom(room, model);
+        modelCache.pin(model);
+        modelCache.load(model, new ModelCache.OnModelLoaded() {
+            @Override
+            public void onModelLoaded(Model loaded, final boolean success) {
+                context.runOnGlThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        showModel(index, success, room);
+                    }
+                });
+            }
+        });
+        modelCache.prefetch(getNeighbourModels(index));
+    }
+
+    private void showModel(int index, boolean success, GVRScene room) {
+        // a later selection replaced this one while it was loading
+        if (index != requestedModelIndex) {
+            return;
+        }
+        removeLoadingInRoom(room);
+        GVRSceneObject tempModelSO = success ? aModel.get(index).model : null;
 
-        Log.d(TAG, "Loading Done");
         if (tempModelSO != null) {
             tempModelSO.getTransform().setPosition(defaultCenterPosition.x, defaultCenterPosition
                     .y, defaultCenterPosition.z);
             room.addSceneObject(tempModelSO);
             enableDisableLightOnModel(tempModelSO, oLightFlag);
 
-            removeLoadingInRoom(room);
             Log.d(TAG, "Loading Done");
             currentDisplayedModel = aModel.get(index);
             currentModelFlag = true;
         } else {
             Log.d(TAG, "Loading Error");
         }
-        removeLoadingInRoom(room);
+    }
+
+    private ArrayList<Model> getNeighbourModels(int index) {
+        ArrayList<Model> neighbours = new ArrayList<Model>();
+        for (int i = 1; i <= PREFETCH_DISTANCE; i++) {
+            if (index + i < aModel.size()) {
+                neighbours.add(aModel.get(index + i));
+            }
+            if (index - i >= 0) {
+                neighbours.add(aModel.get(index - i));
+            }
+        }
+        return neighbours;
     }
 
     void onScrollOverModel(GVRCollider holder, float scrollValue) {
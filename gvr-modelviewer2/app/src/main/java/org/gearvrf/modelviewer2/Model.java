@@ -18,11 +18,16 @@ package org.gearvrf.modelviewer2;
 import android.util.Log;
 
 import org.gearvrf.GVRContext;
+import org.gearvrf.GVRImage;
+import org.gearvrf.GVRIndexBuffer;
 import org.gearvrf.GVRMaterial;
+import org.gearvrf.GVRMesh;
 import org.gearvrf.GVRMeshCollider;
 import org.gearvrf.GVRRenderData;
 import org.gearvrf.GVRSceneObject;
 import org.gearvrf.GVRSphereCollider;
+import org.gearvrf.GVRTexture;
+import org.gearvrf.GVRVertexBuffer;
 import org.gearvrf.animation.GVRAnimation;
 import org.gearvrf.animation.GVRAnimator;
 import org.gearvrf.util.BoundingBoxCreator;
@@ -30,30 +35,74 @@ import org.joml.Vector3f;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 public class Model {
     String name;
     String location;
 
-    GVRSceneObject model;
+    volatile GVRSceneObject model;
     ArrayList<GVRMaterial> originalMaterial;
     GVRAnimator animation;
     private float currentZoom = 0;
+    private long estimatedBytes = 0;
 
 
+    // Rough per vertex size: position, normal and one set of texture coordinates
+    private static final int BYTES_PER_VERTEX = 32;
+    private static final int BYTES_PER_TEXEL = 4;
+    // models are scaled to this bounding radius unless already close to it
+    static final float DISPLAY_RADIUS = 7.0f;
+    private static final float MIN_UNSCALED_RADIUS = 5.0f;
+
     private static final String TAG = "Model";
 
+    private final ModelCatalog catalog;
+    private final ModelCatalog.Entry catalogEntry;
+
     public Model(String name, String location) {
+        this(name, location, null, null);
+    }
+
+    Model(String name, String location, ModelCatalog catalog, ModelCatalog.Entry catalogEntry) {
         this.name = name;
         this.location = location;
+        this.catalog = catalog;
+        this.catalogEntry = catalogEntry;
+    }
+
+    /**
+     * Bounding radius the model will have once loaded and scaled, taken
+     * from the catalog so a placeholder can be sized before loading.
+     * Negative if the model has not been loaded before.
+     */
+    float getExpectedRadius() {
+        float radius = catalogEntry != null ? catalogEntry.radius : -1;
+        return radius > 0 ? radius * scaleFor(radius) : -1;
+    }
+
+    /**
+     * Vertex count from an earlier load, negative if unknown.
+     */
+    int getKnownVertexCount() {
+        return catalogEntry != null ? catalogEntry.vertexCount : -1;
+    }
+
+    private static float scaleFor(float radius) {
+        if (radius > DISPLAY_RADIUS || radius < MIN_UNSCALED_RADIUS) {
+            return DISPLAY_RADIUS / radius;
+        }
+        return 1;
     }
 
     String getModelName() {
         return name;
     }
 
-    private void saveRenderData() {
+    private void saveRenderData(GVRSceneObject model) {
         originalMaterial = new ArrayList<GVRMaterial>();
         ArrayList<GVRRenderData> rdata = model.getAllComponents(GVRRenderData.getComponentType());
         for (GVRRenderData r : rdata) {
@@ -61,14 +110,19 @@ public class Model {
         }
     }
 
-    private void loadModel(GVRContext context) {
+    synchronized boolean loadModel(GVRContext context) {
+        if (model != null) {
+            return true;
+        }
+        // published to the field only once fully set up
+        GVRSceneObject model;
         try {
             Log.d(TAG, "Absent so loading" + name);
             model = context.getAssetLoader().loadModel("sd:" + location);
         } catch (IOException e) {
             e.printStackTrace();
             Log.e(TAG, "Unable to load model");
-            return;
+            return false;
         }
 
         GVRSceneObject.BoundingVolume bv = model.getBoundingVolume();
@@ -80,16 +134,91 @@ public class Model {
         Log.i(TAG, "Radius" + Float.toString(originalRadius));
 
         // TODO Scale Appropriately
-        if (originalRadius > 7.0f || originalRadius < 5.0f) {
-            float scaleFactor = 7 / originalRadius;
+        float scaleFactor = scaleFor(originalRadius);
+        if (scaleFactor != 1) {
             model.getTransform().setScale(scaleFactor, scaleFactor, scaleFactor);
         }
 
         // Make Copy of Original Render Data
-        saveRenderData();
+        saveRenderData(model);
 
         // Load Animations
         animation = (GVRAnimator) model.getComponent(GVRAnimator.getComponentType());
+
+        estimatedBytes = estimateBytes(model);
+        if (catalog != null) {
+            catalog.setModelInfo(catalogEntry, originalRadius, countVertices(model));
+        }
+        this.model = model;
+        return true;
+    }
+
+    /**
+     * Drop the loaded scene object so its meshes and textures can be freed.
+     * The next {@link #getModel(GVRContext)} loads it again.
+     */
+    synchronized void unloadModel() {
+        model = null;
+        originalMaterial = null;
+        animation = null;
+        currentZoom = 0;
+        estimatedBytes = 0;
+    }
+
+    boolean isLoaded() {
+        return model != null;
+    }
+
+    /**
+     * Approximate memory used by the vertices, indices and textures of the
+     * loaded model, 0 if it is not loaded.
+     */
+    long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private static int countVertices(GVRSceneObject model) {
+        int count = 0;
+        ArrayList<GVRRenderData> rdata = model.getAllComponents(GVRRenderData.getComponentType());
+        for (GVRRenderData r : rdata) {
+            GVRMesh mesh = r.getMesh();
+            if (mesh != null && mesh.getVertexBuffer() != null) {
+                count += mesh.getVertexBuffer().getVertexCount();
+            }
+        }
+        return count;
+    }
+
+    private static long estimateBytes(GVRSceneObject model) {
+        long bytes = 0;
+        Set<GVRTexture> textures = Collections.newSetFromMap(new IdentityHashMap<GVRTexture, Boolean>());
+        ArrayList<GVRRenderData> rdata = model.getAllComponents(GVRRenderData.getComponentType());
+        for (GVRRenderData r : rdata) {
+            GVRMesh mesh = r.getMesh();
+            if (mesh != null) {
+                GVRVertexBuffer vertices = mesh.getVertexBuffer();
+                GVRIndexBuffer indices = mesh.getIndexBuffer();
+                if (vertices != null) {
+                    bytes += (long) vertices.getVertexCount() * BYTES_PER_VERTEX;
+                }
+                if (indices != null) {
+                    bytes += (long) indices.getIndexCount() * indices.getIndexSize();
+                }
+            }
+            GVRMaterial material = r.getMaterial();
+            if (material != null) {
+                for (String texName : material.getTextureNames()) {
+                    GVRTexture tex = material.getTexture(texName);
+                    if (tex != null && textures.add(tex)) {
+                        GVRImage image = tex.getImage();
+                        if (image != null) {
+                            bytes += (long) image.getWidth() * image.getHeight() * BYTES_PER_TEXEL;
+                        }
+                    }
+                }
+            }
+        }
+        return bytes;
     }
 
     public GVRAnimator getAnimation() {
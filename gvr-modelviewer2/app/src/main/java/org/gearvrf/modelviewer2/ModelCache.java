@@ -0,0 +1,177 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.modelviewer2;
+
+import android.util.Log;
+
+import org.gearvrf.GVRContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads models from the SD card on a small pool of worker threads and
+ * keeps the loaded ones in least recently used order.
+ * <p>
+ * When the estimated size of the loaded models goes over the byte budget
+ * the least recently used ones are unloaded, except the one on display.
+ * Prefetches which have not started yet are cancelled when the
+ * selection moves elsewhere.
+ */
+class ModelCache {
+    private static final String TAG = "ModelCache";
+
+    static final long DEFAULT_BUDGET_BYTES = 256L * 1024 * 1024;
+    private static final int LOADER_THREADS = 2;
+
+    interface OnModelLoaded {
+        /**
+         * Called on a loader thread once the model is ready, or could not be
+         * loaded.
+         */
+        void onModelLoaded(Model model, boolean success);
+    }
+
+    private final GVRContext context;
+    private final long budgetBytes;
+    private final ExecutorService loader = Executors.newFixedThreadPool(LOADER_THREADS);
+
+    private final LinkedHashMap<Model, Long> loaded = new LinkedHashMap<Model, Long>(16, 0.75f, true);
+    private final Map<Model, Future<?>> pending = new HashMap<Model, Future<?>>();
+    private final Map<Model, List<OnModelLoaded>> waiting = new HashMap<Model, List<OnModelLoaded>>();
+    private long usedBytes = 0;
+    private Model pinned;
+
+    ModelCache(GVRContext context, long budgetBytes) {
+        this.context = context;
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Load a model in the background, or report it at once if it is
+     * already loaded.
+     */
+    void load(Model model, OnModelLoaded listener) {
+        synchronized (this) {
+            // get rather than containsKey so a hit counts as a use
+            if (loaded.get(model) == null) {
+                List<OnModelLoaded> listeners = waiting.get(model);
+                if (listeners == null) {
+                    listeners = new ArrayList<OnModelLoaded>();
+                    waiting.put(model, listeners);
+                }
+                listeners.add(listener);
+                submit(model);
+                return;
+            }
+        }
+        listener.onModelLoaded(model, true);
+    }
+
+    /**
+     * Load models expected to be shown next, and cancel queued prefetches
+     * of any others.
+     */
+    synchronized void prefetch(List<Model> models) {
+        Iterator<Map.Entry<Model, Future<?>>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Model, Future<?>> entry = it.next();
+            Model model = entry.getKey();
+            if (!models.contains(model) && !waiting.containsKey(model)
+                    && entry.getValue().cancel(false)) {
+                it.remove();
+            }
+        }
+        for (Model model : models) {
+            if (loaded.get(model) == null) {
+                submit(model);
+            }
+        }
+    }
+
+    /**
+     * Keep the model on display from being unloaded.
+     */
+    synchronized void pin(Model model) {
+        pinned = model;
+        trim();
+    }
+
+    synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    synchronized int getLoadedCount() {
+        return loaded.size();
+    }
+
+    void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private void submit(final Model model) {
+        if (pending.containsKey(model)) {
+            return;
+        }
+        pending.put(model, loader.submit(new Runnable() {
+            @Override
+            public void run() {
+                finish(model, model.loadModel(context));
+            }
+        }));
+    }
+
+    private void finish(Model model, boolean success) {
+        List<OnModelLoaded> listeners;
+        synchronized (this) {
+            pending.remove(model);
+            if (success) {
+                long bytes = model.getEstimatedBytes();
+                loaded.put(model, bytes);
+                usedBytes += bytes;
+                trim();
+            }
+            listeners = waiting.remove(model);
+        }
+        if (listeners != null) {
+            for (OnModelLoaded listener : listeners) {
+                listener.onModelLoaded(model, success);
+            }
+        }
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<Model, Long>> it = loaded.entrySet().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            Map.Entry<Model, Long> entry = it.next();
+            Model model = entry.getKey();
+            if (model == pinned || waiting.containsKey(model)) {
+                continue;
+            }
+            it.remove();
+            usedBytes -= entry.getValue();
+            model.unloadModel();
+            Log.d(TAG, "Unloaded " + model.getModelName() + ", " + (usedBytes >> 20) + " MB in use");
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.modelviewer2;
+
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index of the model files under a directory tree, saved between runs.
+ * <p>
+ * For every model file the index keeps its size, modification time and
+ * format, and once the model has been loaded its bounding radius and
+ * vertex count. For every directory it keeps the modification time and
+ * the names of its children. {@link #refresh()} only lists directories
+ * whose modification time changed since the last run; the files of the
+ * others are checked by size and modification time alone.
+ * <p>
+ * The index file is a tab separated text file:
+ * <pre>
+ * D  path  modified
+ * F  path  size  modified  format  radius  vertexCount
+ * </pre>
+ */
+class ModelCatalog {
+    private static final String TAG = "ModelCatalog";
+    private static final String HEADER = "# model catalog 1";
+
+    static class Entry {
+        final String path;
+        long size;
+        long modified;
+        final String format;
+        /** Bounding radius of the loaded model, negative if unknown */
+        volatile float radius = -1;
+        /** Vertex count of the loaded model, negative if unknown */
+        volatile int vertexCount = -1;
+
+        Entry(String path, String format) {
+            this.path = path;
+            this.format = format;
+        }
+
+        String getName() {
+            return new File(path).getName();
+        }
+    }
+
+    private static class Dir {
+        long modified;
+        final List<String> subdirs = new ArrayList<String>();
+        final List<String> files = new ArrayList<String>();
+    }
+
+    private final File root;
+    private final File indexFile;
+    private final List<String> extensions;
+    private final TreeMap<String, Entry> entries = new TreeMap<String, Entry>();
+    private final Map<String, Dir> dirs = new HashMap<String, Dir>();
+    private boolean loaded = false;
+    private boolean dirty = false;
+
+    /**
+     * @param root       directory to index
+     * @param indexFile  where the index is saved
+     * @param extensions file extensions of models, case sensitive
+     */
+    ModelCatalog(File root, File indexFile, List<String> extensions) {
+        this.root = root;
+        this.indexFile = indexFile;
+        this.extensions = new ArrayList<String>(extensions);
+    }
+
+    /**
+     * Bring the index up to date with the directory tree and save it if
+     * anything changed.
+     * @return all models, sorted by path
+     */
+    synchronized List<Entry> refresh() {
+        long start = System.currentTimeMillis();
+        if (!loaded) {
+            load();
+            loaded = true;
+        }
+        Set<String> visited = new HashSet<String>();
+        if (root.isDirectory()) {
+            scan(root, visited);
+        }
+
+        Iterator<String> it = dirs.keySet().iterator();
+        while (it.hasNext()) {
+            if (!visited.contains(it.next())) {
+                it.remove();
+                dirty = true;
+            }
+        }
+        Iterator<Entry> entryIt = entries.values().iterator();
+        while (entryIt.hasNext()) {
+            if (!visited.contains(entryIt.next().path)) {
+                entryIt.remove();
+                dirty = true;
+            }
+        }
+        saveIfDirty();
+        Log.d(TAG, entries.size() + " models indexed in " + (System.currentTimeMillis() - start) + " ms");
+        return new ArrayList<Entry>(entries.values());
+    }
+
+    /**
+     * Record what is known about a model after loading it.
+     */
+    synchronized void setModelInfo(Entry entry, float radius, int vertexCount) {
+        if (entry.radius != radius || entry.vertexCount != vertexCount) {
+            entry.radius = radius;
+            entry.vertexCount = vertexCount;
+            dirty = true;
+            saveIfDirty();
+        }
+    }
+
+    /*
+     * Adds the paths of the directory, its subdirectories and their model
+     * files to visited.
+     */
+    private void scan(File directory, Set<String> visited) {
+        String path = directory.getPath();
+        visited.add(path);
+        long modified = directory.lastModified();
+        Dir dir = dirs.get(path);
+
+        if (dir == null || dir.modified != modified) {
+            File[] children = directory.listFiles();
+            if (children == null) {
+                return;
+            }
+            dir = new Dir();
+            dir.modified = modified;
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    dir.subdirs.add(child.getName());
+                } else if (formatOf(child.getName()) != null) {
+                    dir.files.add(child.getName());
+                }
+            }
+            dirs.put(path, dir);
+            dirty = true;
+        }
+
+        Iterator<String> files = dir.files.iterator();
+        while (files.hasNext()) {
+            File file = new File(directory, files.next());
+            String filePath = file.getPath();
+            long size = file.length();
+            long fileModified = file.lastModified();
+            if (fileModified == 0) {
+                // removed without the directory time changing
+                files.remove();
+                entries.remove(filePath);
+                dirty = true;
+                continue;
+            }
+            visited.add(filePath);
+            Entry entry = entries.get(filePath);
+            if (entry == null || entry.size != size || entry.modified != fileModified) {
+                entry = new Entry(filePath, formatOf(file.getName()));
+                entry.size = size;
+                entry.modified = fileModified;
+                entries.put(filePath, entry);
+                dirty = true;
+            }
+        }
+        for (String subdir : dir.subdirs) {
+            scan(new File(directory, subdir), visited);
+        }
+    }
+
+    private String formatOf(String fileName) {
+        for (String extension : extensions) {
+            if (fileName.endsWith("." + extension)) {
+                return extension.toLowerCase();
+            }
+        }
+        return null;
+    }
+
+    private void load() {
+        if (!indexFile.exists()) {
+            return;
+        }
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new FileReader(indexFile));
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                Log.w(TAG, "Ignoring index with unknown format");
+                return;
+            }
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length == 3 && fields[0].equals("D")) {
+                    Dir dir = new Dir();
+                    dir.modified = Long.parseLong(fields[2]);
+                    dirs.put(fields[1], dir);
+                } else if (fields.length == 7 && fields[0].equals("F")) {
+                    Entry entry = new Entry(fields[1], fields[4]);
+                    entry.size = Long.parseLong(fields[2]);
+                    entry.modified = Long.parseLong(fields[3]);
+                    entry.radius = Float.parseFloat(fields[5]);
+                    entry.vertexCount = Integer.parseInt(fields[6]);
+                    entries.put(entry.path, entry);
+                }
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Unable to read index: " + e.getMessage());
+            clear();
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "Corrupt index: " + e.getMessage());
+            clear();
+        } finally {
+            close(reader);
+        }
+
+        // rebuild the children of each directory from the paths
+        for (String path : dirs.keySet()) {
+            Dir parent = dirs.get(new File(path).getParent());
+            if (parent != null) {
+                parent.subdirs.add(new File(path).getName());
+            }
+        }
+        for (Entry entry : entries.values()) {
+            Dir parent = dirs.get(new File(entry.path).getParent());
+            if (parent != null) {
+                parent.files.add(entry.getName());
+            }
+        }
+    }
+
+    private void clear() {
+        dirs.clear();
+        entries.clear();
+    }
+
+    private void saveIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        File temp = new File(indexFile.getPath() + ".tmp");
+        BufferedWriter writer = null;
+        try {
+            writer = new BufferedWriter(new FileWriter(temp));
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<String, Dir> dir : dirs.entrySet()) {
+                writer.write("D\t" + dir.getKey() + "\t" + dir.getValue().modified);
+                writer.newLine();
+            }
+            for (Entry entry : entries.values()) {
+                writer.write("F\t" + entry.path + "\t" + entry.size + "\t" + entry.modified
+                        + "\t" + entry.format + "\t" + entry.radius + "\t" + entry.vertexCount);
+                writer.newLine();
+            }
+            writer.close();
+            writer = null;
+            if (!temp.renameTo(indexFile)) {
+                Log.w(TAG, "Unable to replace " + indexFile);
+                return;
+            }
+            dirty = false;
+        } catch (IOException e) {
+            Log.w(TAG, "Unable to save index: " + e.getMessage());
+        } finally {
+            close(writer);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+}
@@ -81,6 +81,13 @@ public class ModelViewer2Activity extends GVRActivity
         setMain(mManager, "gvr.xml");
     }
 
+    @Override
+    protected void onDestroy()
+    {
+        super.onDestroy();
+        mManager.shutdown();
+    }
+
 
     @Override
     public boolean dispatchTouchEvent(MotionEvent event)
@@ -0,0 +1,259 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.sample.remote_scripting;
+
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+/**
+ * Cache of compiled scripts keyed by a hash of their source text.
+ * <p>
+ * Scripts run through the cache are compiled once per engine when the
+ * engine implements {@link Compilable}; running the same text again
+ * evaluates the compiled form without parsing. Engines which cannot
+ * compile fall back to a plain eval. The least recently used entry is
+ * evicted once the cache holds more than its capacity.
+ * <p>
+ * Scripts loaded from files can also be found by file name and version
+ * (modification time or ETag), so running an unchanged file again does
+ * not need its text at all.
+ * <p>
+ * Exposed to scripts as "scriptcache" so hit and miss counts can be
+ * checked from the debug console.
+ */
+public class CompiledScriptCache {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final int mCapacity;
+    private final LinkedHashMap<String, CompiledScript> mScripts;
+    // engine, file name and version to the source key in mScripts
+    private final LinkedHashMap<String, String> mFiles;
+    private long mHits;
+    private long mMisses;
+    private long mEvictions;
+
+    public CompiledScriptCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CompiledScriptCache(int capacity) {
+        mCapacity = capacity;
+        mScripts = new LinkedHashMap<String, CompiledScript>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+                if (size() > mCapacity) {
+                    ++mEvictions;
+                    return true;
+                }
+                return false;
+            }
+        };
+        mFiles = new LinkedHashMap<String, String>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > mCapacity;
+            }
+        };
+    }
+
+    /**
+     * Evaluate the source with the engine, compiling it on first use.
+     * @param engine  engine to run the script with
+     * @param source  script text
+     * @param context context to evaluate in
+     * @return value of the script
+     */
+    public Object eval(ScriptEngine engine, String source, ScriptContext context) throws ScriptException {
+        CompiledScript compiled = getCompiled(engine, source);
+        if (compiled != null) {
+            return compiled.eval(context);
+        }
+        return engine.eval(source, context);
+    }
+
+    /**
+     * Compile the source ahead of time so the first run is already a hit.
+     * @return true if the engine supports compilation
+     */
+    public boolean precompile(ScriptEngine engine, String source) throws ScriptException {
+        return getCompiled(engine, source) != null;
+    }
+
+    /**
+     * Look up the script compiled from a file without reading the file.
+     * @param name    file name
+     * @param version modification time or ETag of the file, may be null
+     * @return the compiled script, or null if this version of the file
+     *         has not been compiled or has been evicted
+     */
+    public CompiledScript get(ScriptEngine engine, String name, String version) {
+        if (version == null) {
+            return null;
+        }
+        synchronized (this) {
+            String key = mFiles.get(makeFileKey(engine, name, version));
+            CompiledScript compiled = key != null ? mScripts.get(key) : null;
+            if (compiled != null) {
+                ++mHits;
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     * Compile the text of a file and remember it under the file name and
+     * version, so {@link #get(ScriptEngine, String, String)} finds it.
+     * @param version modification time or ETag of the file; when null the
+     *                script is only cached by its text
+     * @return the compiled script, or null if the engine cannot compile
+     */
+    public CompiledScript compile(ScriptEngine engine, String name, String version,
+                                  String source) throws ScriptException {
+        String key = makeKey(engine, source);
+        CompiledScript compiled = getCompiled(engine, key, source);
+        if (compiled != null && version != null) {
+            synchronized (this) {
+                mFiles.put(makeFileKey(engine, name, version), key);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Compile a file straight from a reader, for files too big to be
+     * worth holding as text. The script is cached under the file name and
+     * version only, it cannot be found by its text.
+     * @param version modification time or ETag of the file; when null the
+     *                script is not cached
+     * @return the compiled script, or null if the engine cannot compile
+     */
+    public CompiledScript compile(ScriptEngine engine, String name, String version,
+                                  Reader reader) throws ScriptException {
+        if (!canCompile(engine)) {
+            return null;
+        }
+        synchronized (this) {
+            ++mMisses;
+        }
+        CompiledScript compiled = ((Compilable) engine).compile(reader);
+        if (version != null) {
+            String key = makeFileKey(engine, name, version);
+            synchronized (this) {
+                mScripts.put(key, compiled);
+                mFiles.put(key, key);
+            }
+        }
+        return compiled;
+    }
+
+    public boolean canCompile(ScriptEngine engine) {
+        return engine instanceof Compilable;
+    }
+
+    private CompiledScript getCompiled(ScriptEngine engine, String source) throws ScriptException {
+        return getCompiled(engine, makeKey(engine, source), source);
+    }
+
+    private CompiledScript getCompiled(ScriptEngine engine, String key, String source) throws ScriptException {
+        if (!(engine instanceof Compilable)) {
+            synchronized (this) {
+                ++mMisses;
+            }
+            return null;
+        }
+        synchronized (this) {
+            CompiledScript compiled = mScripts.get(key);
+            if (compiled != null) {
+                ++mHits;
+                return compiled;
+            }
+            ++mMisses;
+        }
+        CompiledScript compiled = ((Compilable) engine).compile(source);
+        synchronized (this) {
+            mScripts.put(key, compiled);
+        }
+        return compiled;
+    }
+
+    private static String makeKey(ScriptEngine engine, String source) {
+        StringBuilder key = new StringBuilder();
+        key.append(Integer.toHexString(System.identityHashCode(engine))).append(':');
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(UTF8));
+            for (byte b : digest) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16));
+                key.append(Character.forDigit(b & 0xF, 16));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            key.append(source.length()).append(':').append(source.hashCode());
+        }
+        return key.toString();
+    }
+
+    private static String makeFileKey(ScriptEngine engine, String name, String version) {
+        return Integer.toHexString(System.identityHashCode(engine)) + ':' + name + '@' + version;
+    }
+
+    public synchronized long getHits() {
+        return mHits;
+    }
+
+    public synchronized long getMisses() {
+        return mMisses;
+    }
+
+    public synchronized long getEvictions() {
+        return mEvictions;
+    }
+
+    public synchronized int getSize() {
+        return mScripts.size();
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    public synchronized void clear() {
+        mScripts.clear();
+        mFiles.clear();
+    }
+
+    public synchronized void resetStats() {
+        mHits = 0;
+        mMisses = 0;
+        mEvictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "scripts " + mScripts.size() + "/" + mCapacity
+                + " hits " + mHits + " misses " + mMisses + " evictions " + mEvictions;
+    }
+}
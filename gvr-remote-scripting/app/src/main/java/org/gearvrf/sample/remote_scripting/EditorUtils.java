@@ -32,12 +32,12 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
 import java.lang.Runnable;
+import java.util.concurrent.CountDownLatch;
 import java.util.List;
 
 import android.graphics.Color;
 import android.os.Handler;
 import android.os.Message;
-import android.os.SystemClock;
 import android.view.View;
 import android.view.InputDevice;
 import android.view.KeyEvent;
@@ -51,7 +51,8 @@ import android.text.TextWatcher;
 
 public class EditorUtils {
     private GVRContext gvrContext;
-    private boolean inflated = false;
+    private volatile boolean inflated = false;
+    private final CountDownLatch inflatedLatch = new CountDownLatch(1);
     private GVRViewSceneObject layoutSceneObject;
     private GearVRScripting activity;
     private GVRFrameLayout frameLayout;
@@ -68,6 +69,7 @@ public class EditorUtils {
     private static final float HALF_QUAD_Y = QUAD_Y / 2.0f;
     private static final float DEPTH = -1.5f;
     private ScriptHandler mScriptHandler;
+    private CompiledScriptCache mScriptCache;
 
     private TextView updateButton;
 
@@ -81,8 +83,13 @@ public class EditorUtils {
     }
 
     public EditorUtils(GVRContext context) {
+        this(context, new CompiledScriptCache());
+    }
+
+    public EditorUtils(GVRContext context, CompiledScriptCache scriptCache) {
         gvrContext = context;
         activity = (GearVRScripting) context.getActivity();
+        mScriptCache = scriptCache;
     }
 
     public void inflate() {
@@ -137,6 +144,7 @@ public class EditorUtils {
         };
 
         inflated = true;
+        inflatedLatch.countDown();
     }
 
     public void show() {
@@ -149,8 +157,12 @@ public class EditorUtils {
                 });
         }
 
-        while(!inflated) {
-            SystemClock.sleep(500);
+        // wait for the UI thread to finish inflating instead of polling
+        try {
+            inflatedLatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
         }
 
         if(layoutSceneObject != null) {
@@ -246,7 +258,7 @@ public class EditorUtils {
         public String processLine(String line) {
             try {
                 mWriter.getBuffer().setLength(0);
-                mScriptEngine.eval(line, mScriptContext);
+                mScriptCache.eval(mScriptEngine, line, mScriptContext);
                 mWriter.flush();
                 if (mWriter.getBuffer().length() != 0)
                     return mWriter.toString();
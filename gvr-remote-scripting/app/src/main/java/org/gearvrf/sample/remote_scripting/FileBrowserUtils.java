@@ -26,7 +26,6 @@ import org.gearvrf.ISensorEvents;
 
 import android.os.Handler;
 import android.os.Message;
-import android.os.SystemClock;
 import android.view.InputDevice;
 import android.view.KeyEvent;
 import android.view.MotionEvent;
@@ -44,13 +43,15 @@ import java.io.IOException;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.lang.Runnable;
+import java.util.concurrent.CountDownLatch;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 public class FileBrowserUtils {
     private GVRContext gvrContext;
-    private boolean inflated = false;
+    private volatile boolean inflated = false;
+    private final CountDownLatch inflatedLatch = new CountDownLatch(1);
     private GVRViewSceneObject layoutSceneObject;
     private GearVRScripting activity;
     private GVRFrameLayout frameLayout;
@@ -109,6 +110,7 @@ public class FileBrowserUtils {
         };
 
         inflated = true;
+        inflatedLatch.countDown();
     }
 
     public void show() {
@@ -121,8 +123,12 @@ public class FileBrowserUtils {
                 });
         }
 
-        while(!inflated) {
-            SystemClock.sleep(500);
+        // wait for the UI thread to finish inflating instead of polling
+        try {
+            inflatedLatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
         }
 
         if(layoutSceneObject != null) {
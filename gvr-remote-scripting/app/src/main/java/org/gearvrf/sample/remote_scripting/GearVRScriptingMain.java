@@ -35,6 +35,7 @@ public class GearVRScriptingMain extends GVRMain
     private static final int DEBUG_SERVER_PORT = 5000;
     DebugWebServer server;
     private GVRContext gvrContext;
+    private SourceUtils sourceUtils;
 
     @Override
     public void onInit(GVRContext context) {
@@ -71,11 +72,14 @@ public class GearVRScriptingMain extends GVRMain
 
         // Add display utils for scripts
         GVRScriptManager scriptManager = (GVRScriptManager)gvrContext.getScriptManager();
+        CompiledScriptCache scriptCache = new CompiledScriptCache();
+        scriptManager.addVariable("scriptcache", scriptCache);
         scriptManager.addVariable("display", new DisplayUtils(gvrContext));
-        scriptManager.addVariable("editor", new EditorUtils(gvrContext));
+        scriptManager.addVariable("editor", new EditorUtils(gvrContext, scriptCache));
         scriptManager.addVariable("passthrough", new PassthroughUtils(gvrContext, activity));
         scriptManager.addVariable("filebrowser", new FileBrowserUtils(gvrContext));
-        scriptManager.addVariable("source", new SourceUtils(gvrContext));
+        sourceUtils = new SourceUtils(gvrContext, scriptCache);
+        scriptManager.addVariable("source", sourceUtils);
         gvrContext.startDebugServer();
         server = new DebugWebServer(gvrContext);
         server.listen(DEBUG_SERVER_PORT);
@@ -89,6 +93,9 @@ public class GearVRScriptingMain extends GVRMain
         if(server != null) {
             server.stop();
         }
+        if (sourceUtils != null) {
+            sourceUtils.shutdown();
+        }
         if (null != gvrContext){
             gvrContext.stopDebugServer();
         }
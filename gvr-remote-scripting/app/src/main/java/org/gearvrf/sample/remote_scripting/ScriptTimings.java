@@ -0,0 +1,56 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.sample.remote_scripting;
+
+/**
+ * How long one asynchronous script load spent in each phase.
+ * Fetch and compile run on a worker thread, execute on the GL thread.
+ */
+public class ScriptTimings {
+    public final String name;
+    public long fetchNanos;
+    public long compileNanos;
+    public long executeNanos;
+    public long bytes;
+    public String error;
+
+    public ScriptTimings(String name) {
+        this.name = name;
+    }
+
+    public double getFetchMillis() {
+        return fetchNanos / 1e6;
+    }
+
+    public double getCompileMillis() {
+        return compileNanos / 1e6;
+    }
+
+    public double getExecuteMillis() {
+        return executeNanos / 1e6;
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d bytes fetch %.2f ms compile %.2f ms execute %.2f ms%s",
+                name, bytes, getFetchMillis(), getCompileMillis(), getExecuteMillis(),
+                error != null ? " error " + error : "");
+    }
+}
@@ -15,9 +15,32 @@
 
 package org.gearvrf.sample.remote_scripting;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+import android.os.Environment;
+import android.util.Log;
 import org.gearvrf.GVRContext;
 import org.gearvrf.GVRResourceVolume;
 import org.gearvrf.GVRSceneObject;
@@ -28,16 +51,61 @@ import org.gearvrf.utility.FileNameUtils;
 import org.gearvrf.script.GVRScriptBehavior;
 import org.gearvrf.script.GVRScriptException;
 import org.gearvrf.script.GVRScriptFile;
+import org.gearvrf.script.IScriptBundle;
 import org.gearvrf.IErrorEvents;
 import org.gearvrf.GVRResourceVolume;
 
 public class SourceUtils {
+    private static final String TAG = SourceUtils.class.getSimpleName();
+    private static final int LOADER_THREADS = 4;
+    // files up to this size are read into a string and cached by their text,
+    // larger ones are compiled straight from the stream
+    private static final int STREAM_THRESHOLD = 256 * 1024;
+
     private GVRContext gvrContext;
     private GVRScriptManager mScriptManager;
+    private CompiledScriptCache mScriptCache;
+
+    // fetch and compile run concurrently on the loader pool,
+    // the sequencer hands finished scripts to the GL thread in request order
+    private final ExecutorService mLoader = Executors.newFixedThreadPool(LOADER_THREADS);
+    private final ExecutorService mSequencer = Executors.newSingleThreadExecutor();
+    private long mTotalFetchNanos;
+    private long mTotalCompileNanos;
+    private long mTotalExecuteNanos;
+    private int mAsyncLoads;
+    private ScriptTimings mLastTimings;
+
+    /**
+     * Called once an asynchronous load has finished, successfully or not.
+     * Runs on a loader thread, not the GL thread.
+     */
+    public interface ScriptLoadListener {
+        void onComplete(ScriptTimings timings);
+    }
+
+    // script text or bundle read and compiled off the GL thread
+    private static class PreparedScript {
+        final ScriptTimings timings;
+        ScriptEngine engine;
+        String source;
+        CompiledScript compiled;
+        GVRScriptFile scriptFile;
+        IScriptBundle bundle;
+
+        PreparedScript(String name) {
+            timings = new ScriptTimings(name);
+        }
+    }
 
     public SourceUtils(GVRContext context) {
+        this(context, new CompiledScriptCache());
+    }
+
+    public SourceUtils(GVRContext context, CompiledScriptCache scriptCache) {
         gvrContext = context;
         mScriptManager = (GVRScriptManager)gvrContext.getScriptManager();
+        mScriptCache = scriptCache;
     }
 
     private void logError(String message)
@@ -48,21 +116,17 @@ public class SourceUtils {
     // from assets directory 
     public void script(String filename) {
         try {
-            GVRResourceVolume.VolumeType volType = GVRResourceVolume.VolumeType.ANDROID_ASSETS;
-            String lowerName = filename.toLowerCase();
             String language = FileNameUtils.getExtension(filename);
-            
-            if (lowerName.startsWith("sd:"))
-            {
-                volType = GVRResourceVolume.VolumeType.ANDROID_SDCARD;
-                filename = filename.substring(3);
-            }
-            else if (lowerName.startsWith("http"))
-            {
-                volType = GVRResourceVolume.VolumeType.NETWORK;
-            }
-            GVRResourceVolume volume = new GVRResourceVolume(gvrContext, volType);
-            GVRAndroidResource resource = volume.openResource(filename);
+            ScriptEngine engine = mScriptManager.getEngine(language);
+            if (engine != null) {
+                // run through the cache so an unchanged file is neither read nor parsed again
+                PreparedScript prepared = new PreparedScript(filename);
+                prepared.engine = engine;
+                load(prepared);
+                evaluate(prepared);
+                return;
+            }
+            GVRAndroidResource resource = openResource(filename);
             GVRScriptFile script = (GVRScriptFile)mScriptManager.loadScript(resource, language);
             script.invoke();
             String err = script.getLastError();
@@ -73,10 +137,460 @@ public class SourceUtils {
             logError(e.getMessage());
         } catch(GVRScriptException se) {
             logError(se.getMessage());
+        } catch(ScriptException se) {
+            logError(se.getMessage());
+        }
+    }
+
+    // compile a script ahead of time so the first source.script() call skips parsing
+    public boolean precompile(String filename) {
+        String language = FileNameUtils.getExtension(filename);
+        ScriptEngine engine = mScriptManager.getEngine(language);
+        if (engine == null) {
+            return false;
+        }
+        try {
+            PreparedScript prepared = new PreparedScript(filename);
+            prepared.engine = engine;
+            load(prepared);
+            return prepared.compiled != null;
+        } catch(IOException e) {
+            logError(e.getMessage());
+        } catch(ScriptException se) {
+            logError(se.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Non-blocking version of {@link #script(String)}. The file is fetched
+     * and compiled on a loader thread; only running it happens on the GL thread.
+     * @param filename asset name, "sd:" path or http URL
+     * @param listener optional, told when the script has run
+     * @return future holding the phase timings
+     */
+    public Future<ScriptTimings> scriptAsync(final String filename, final ScriptLoadListener listener) {
+        final Future<PreparedScript> prepared = mLoader.submit(prepare(filename));
+        return mSequencer.submit(new Callable<ScriptTimings>() {
+            public ScriptTimings call() {
+                return finish(execute(waitFor(filename, prepared)), listener);
+            }
+        });
+    }
+
+    public Future<ScriptTimings> scriptAsync(String filename) {
+        return scriptAsync(filename, null);
+    }
+
+    /**
+     * Fetch and compile several scripts concurrently, then run them
+     * on the GL thread in the order given.
+     * @param listener optional, told after each script has run
+     * @return future holding the timings of every script
+     */
+    public Future<List<ScriptTimings>> scriptsAsync(String[] filenames, final ScriptLoadListener listener) {
+        final String[] names = filenames.clone();
+        final List<Future<PreparedScript>> prepared = new ArrayList<Future<PreparedScript>>(names.length);
+        for (String filename : names) {
+            prepared.add(mLoader.submit(prepare(filename)));
+        }
+        return mSequencer.submit(new Callable<List<ScriptTimings>>() {
+            public List<ScriptTimings> call() {
+                List<ScriptTimings> result = new ArrayList<ScriptTimings>(names.length);
+                for (int i = 0; i < names.length; ++i) {
+                    result.add(finish(execute(waitFor(names[i], prepared.get(i))), listener));
+                }
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Non-blocking version of {@link #scriptBundle(String)}. The bundle and
+     * its scripts are loaded on a loader thread; only binding them happens
+     * on the GL thread.
+     */
+    public Future<ScriptTimings> scriptBundleAsync(final String filename, final ScriptLoadListener listener) {
+        final Future<PreparedScript> prepared = mLoader.submit(prepareBundle(filename));
+        return mSequencer.submit(new Callable<ScriptTimings>() {
+            public ScriptTimings call() {
+                return finish(execute(waitFor(filename, prepared)), listener);
+            }
+        });
+    }
+
+    /**
+     * Non-blocking version of {@link #attachScript(String, String)}. The
+     * script behavior is loaded on a loader thread and attached on the GL thread.
+     */
+    public Future<ScriptTimings> attachScriptAsync(final String filename, final String sceneObjName,
+                                                   final ScriptLoadListener listener) {
+        final Future<GVRScriptBehavior> loaded = mLoader.submit(new Callable<GVRScriptBehavior>() {
+            public GVRScriptBehavior call() throws Exception {
+                return new GVRScriptBehavior(gvrContext, filename);
+            }
+        });
+        return mSequencer.submit(new Callable<ScriptTimings>() {
+            public ScriptTimings call() {
+                final ScriptTimings timings = new ScriptTimings(filename);
+                long start = System.nanoTime();
+                final GVRScriptBehavior behavior;
+                try {
+                    behavior = loaded.get();
+                } catch (Exception e) {
+                    timings.error = rootMessage(e);
+                    return finish(timings, listener);
+                }
+                timings.fetchNanos = System.nanoTime() - start;
+                runOnGlThread(timings, new Runnable() {
+                    public void run() {
+                        GVRSceneObject sceneObj = gvrContext.getMainScene().getSceneObjectByName(sceneObjName);
+                        if (sceneObj == null) {
+                            timings.error = "attachScript: scene object not found " + sceneObjName;
+                            return;
+                        }
+                        sceneObj.attachComponent(behavior);
+                    }
+                });
+                return finish(timings, listener);
+            }
+        });
+    }
+
+    /**
+     * Stops the loader threads. Loads already queued still finish,
+     * later calls to the asynchronous methods are rejected.
+     */
+    public void shutdown() {
+        mLoader.shutdown();
+        mSequencer.shutdown();
+    }
+
+    public synchronized ScriptTimings getLastTimings() {
+        return mLastTimings;
+    }
+
+    public synchronized String getLoadStats() {
+        if (mAsyncLoads == 0) {
+            return "no asynchronous loads";
+        }
+        return String.format("%d loads, average fetch %.2f ms compile %.2f ms execute %.2f ms",
+                mAsyncLoads,
+                mTotalFetchNanos / 1e6 / mAsyncLoads,
+                mTotalCompileNanos / 1e6 / mAsyncLoads,
+                mTotalExecuteNanos / 1e6 / mAsyncLoads);
+    }
+
+    private Callable<PreparedScript> prepare(final String filename) {
+        return new Callable<PreparedScript>() {
+            public PreparedScript call() {
+                PreparedScript prepared = new PreparedScript(filename);
+                String language = FileNameUtils.getExtension(filename);
+                try {
+                    prepared.engine = mScriptManager.getEngine(language);
+                    if (prepared.engine == null) {
+                        long start = System.nanoTime();
+                        GVRAndroidResource resource = openResource(filename);
+                        prepared.scriptFile = (GVRScriptFile) mScriptManager.loadScript(resource, language);
+                        prepared.timings.fetchNanos = System.nanoTime() - start;
+                        return prepared;
+                    }
+                    load(prepared);
+                } catch (IOException e) {
+                    prepared.timings.error = e.getMessage();
+                } catch (GVRScriptException e) {
+                    prepared.timings.error = e.getMessage();
+                } catch (ScriptException e) {
+                    prepared.timings.error = e.getMessage();
+                }
+                return prepared;
+            }
+        };
+    }
+
+    private Callable<PreparedScript> prepareBundle(final String filename) {
+        return new Callable<PreparedScript>() {
+            public PreparedScript call() {
+                PreparedScript prepared = new PreparedScript(filename);
+                try {
+                    // the bundle reads its scripts as it loads, they compile when bound
+                    long start = System.nanoTime();
+                    prepared.bundle = mScriptManager.loadScriptBundle(filename, openBundleVolume(filename));
+                    prepared.timings.fetchNanos = System.nanoTime() - start;
+                } catch (IOException e) {
+                    prepared.timings.error = e.getMessage();
+                }
+                return prepared;
+            }
+        };
+    }
+
+    private ScriptTimings execute(final PreparedScript prepared) {
+        if (prepared.timings.error != null) {
+            return prepared.timings;
+        }
+        runOnGlThread(prepared.timings, new Runnable() {
+            public void run() {
+                try {
+                    if (prepared.bundle != null) {
+                        mScriptManager.bindScriptBundle(prepared.bundle, gvrContext.getMain(), true);
+                    } else if (prepared.scriptFile != null) {
+                        prepared.scriptFile.invoke();
+                        prepared.timings.error = prepared.scriptFile.getLastError();
+                    } else {
+                        evaluate(prepared);
+                    }
+                } catch (IOException e) {
+                    prepared.timings.error = e.getMessage();
+                } catch (GVRScriptException e) {
+                    prepared.timings.error = e.getMessage();
+                } catch (ScriptException e) {
+                    prepared.timings.error = e.getMessage();
+                }
+            }
+        });
+        return prepared.timings;
+    }
+
+    // run on the GL thread, wait for it and record how long it took
+    private void runOnGlThread(ScriptTimings timings, final Runnable work) {
+        final long[] elapsed = new long[1];
+        FutureTask<Void> task = new FutureTask<Void>(new Runnable() {
+            public void run() {
+                long start = System.nanoTime();
+                work.run();
+                elapsed[0] = System.nanoTime() - start;
+            }
+        }, null);
+        gvrContext.runOnGlThread(task);
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timings.error = "interrupted";
+        } catch (ExecutionException e) {
+            timings.error = rootMessage(e);
+        }
+        timings.executeNanos = elapsed[0];
+    }
+
+    private ScriptTimings finish(ScriptTimings timings, ScriptLoadListener listener) {
+        synchronized (this) {
+            mTotalFetchNanos += timings.fetchNanos;
+            mTotalCompileNanos += timings.compileNanos;
+            mTotalExecuteNanos += timings.executeNanos;
+            ++mAsyncLoads;
+            mLastTimings = timings;
+        }
+        if (timings.error != null) {
+            logError(timings.error);
+        }
+        Log.d(TAG, timings.toString());
+        if (listener != null) {
+            listener.onComplete(timings);
+        }
+        return timings;
+    }
+
+    // a load that failed unexpectedly comes back as an error, so the
+    // listener is still told and the rest of a batch still runs
+    private static PreparedScript waitFor(String filename, Future<PreparedScript> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            PreparedScript failed = new PreparedScript(filename);
+            failed.timings.error = "interrupted";
+            return failed;
+        } catch (ExecutionException e) {
+            PreparedScript failed = new PreparedScript(filename);
+            failed.timings.error = rootMessage(e);
+            return failed;
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e.getMessage() != null ? e.getMessage() : e.toString();
+    }
+
+    // "sd:" names are on the sd card, "http" names are fetched, anything else is an asset
+    private GVRAndroidResource openResource(String filename) throws IOException {
+        GVRResourceVolume.VolumeType volType = GVRResourceVolume.VolumeType.ANDROID_ASSETS;
+        String lowerName = filename.toLowerCase();
+
+        if (lowerName.startsWith("sd:"))
+        {
+            volType = GVRResourceVolume.VolumeType.ANDROID_SDCARD;
+            filename = filename.substring(3);
+        }
+        else if (lowerName.startsWith("http"))
+        {
+            volType = GVRResourceVolume.VolumeType.NETWORK;
+        }
+        GVRResourceVolume volume = new GVRResourceVolume(gvrContext, volType);
+        return volume.openResource(filename);
+    }
+
+    /*
+     * Looks the script up in the cache and only reads and compiles the file
+     * when the cache has nothing for its current version. Files over
+     * STREAM_THRESHOLD are handed to the engine as a reader instead of
+     * being read into a string first; those are cached by name and
+     * version only. prepared.source is only kept when the engine cannot
+     * compile. Records the phase timings.
+     */
+    private void load(PreparedScript prepared) throws IOException, ScriptException {
+        String filename = prepared.timings.name;
+        ScriptEngine engine = prepared.engine;
+        long start = System.nanoTime();
+        String version = resourceVersion(filename);
+        prepared.compiled = mScriptCache.get(engine, filename, version);
+        if (prepared.compiled != null) {
+            prepared.timings.fetchNanos = System.nanoTime() - start;
+            return;
+        }
+        GVRAndroidResource resource = openResource(filename);
+        try {
+            CountingInputStream stream = new CountingInputStream(resource.getStream());
+            ByteArrayOutputStream head = new ByteArrayOutputStream();
+            boolean complete = readUpTo(stream, head, STREAM_THRESHOLD);
+            long fetched = System.nanoTime();
+            prepared.timings.fetchNanos = fetched - start;
+            if (!complete && mScriptCache.canCompile(engine)) {
+                InputStream rest = new SequenceInputStream(
+                        new ByteArrayInputStream(head.toByteArray()), stream);
+                prepared.compiled = mScriptCache.compile(engine, filename, version,
+                        new InputStreamReader(rest, "UTF-8"));
+                prepared.timings.bytes = stream.count;
+                prepared.timings.compileNanos = System.nanoTime() - fetched;
+                return;
+            }
+            if (!complete) {
+                readUpTo(stream, head, Integer.MAX_VALUE);
+                fetched = System.nanoTime();
+                prepared.timings.fetchNanos = fetched - start;
+            }
+            prepared.source = head.toString("UTF-8");
+            prepared.timings.bytes = stream.count;
+            prepared.compiled = mScriptCache.compile(engine, filename, version, prepared.source);
+            if (prepared.compiled != null) {
+                prepared.source = null;
+            }
+            prepared.timings.compileNanos = System.nanoTime() - fetched;
+        } finally {
+            resource.closeStream();
+        }
+    }
+
+    private static Object evaluate(PreparedScript prepared) throws ScriptException {
+        ScriptContext context = newFileContext(prepared.engine);
+        if (prepared.compiled != null) {
+            return prepared.compiled.eval(context);
+        }
+        return prepared.engine.eval(prepared.source, context);
+    }
+
+    /*
+     * Each file runs in its own engine scope on top of the shared global
+     * bindings, as GVRScriptFile does, so its top level variables stay
+     * out of the other scripts. Output still goes to the engine writers.
+     */
+    private static ScriptContext newFileContext(ScriptEngine engine) {
+        ScriptContext engineContext = engine.getContext();
+        ScriptContext context = new SimpleScriptContext();
+        context.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+        context.setBindings(engine.getBindings(ScriptContext.GLOBAL_SCOPE), ScriptContext.GLOBAL_SCOPE);
+        context.setReader(engineContext.getReader());
+        context.setWriter(engineContext.getWriter());
+        context.setErrorWriter(engineContext.getErrorWriter());
+        return context;
+    }
+
+    /*
+     * Version of a script file for the compiled script cache: constant for
+     * assets, which cannot change while the app runs, modification time and
+     * length for sd card files and the ETag or Last-Modified header for
+     * http. Null when there is nothing to go by, the file is then read on
+     * every run and only cached by its text.
+     */
+    private static String resourceVersion(String filename) throws IOException {
+        String lowerName = filename.toLowerCase();
+        if (lowerName.startsWith("sd:")) {
+            File file = new File(filename.substring(3));
+            if (!file.isFile()) {
+                file = new File(Environment.getExternalStorageDirectory(), filename.substring(3));
+            }
+            if (!file.isFile()) {
+                return null;
+            }
+            return file.lastModified() + ":" + file.length();
+        }
+        if (lowerName.startsWith("http")) {
+            HttpURLConnection connection = (HttpURLConnection) new URL(filename).openConnection();
+            try {
+                connection.setRequestMethod("HEAD");
+                if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                    return null;
+                }
+                String etag = connection.getHeaderField("ETag");
+                if (etag != null) {
+                    return etag;
+                }
+                long modified = connection.getLastModified();
+                return modified != 0 ? Long.toString(modified) : null;
+            } finally {
+                connection.disconnect();
+            }
+        }
+        return "asset";
+    }
+
+    // copies at most limit bytes, returns true if the stream ended before that
+    private static boolean readUpTo(InputStream stream, ByteArrayOutputStream out, int limit)
+            throws IOException {
+        byte[] buffer = new byte[8192];
+        int total = 0;
+        while (total < limit) {
+            int n = stream.read(buffer, 0, Math.min(buffer.length, limit - total));
+            if (n < 0) {
+                return true;
+            }
+            out.write(buffer, 0, n);
+            total += n;
+        }
+        return false;
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                ++count;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
         }
     }
     
-    public void scriptBundle(String filename)
+    private GVRResourceVolume openBundleVolume(String filename)
     {
         GVRResourceVolume.VolumeType volType = GVRResourceVolume.VolumeType.ANDROID_ASSETS;
         String fname = filename.toLowerCase();
@@ -88,15 +602,25 @@ public class SourceUtils {
         {
             volType = GVRResourceVolume.VolumeType.NETWORK;
         }
-        GVRResourceVolume volume = new GVRResourceVolume(gvrContext, volType, filename);
+        return new GVRResourceVolume(gvrContext, volType, filename);
+    }
+
+    // load a script bundle and bind its scripts to the main scene
+    public void scriptBundle(String filename)
+    {
         try
         {
-            mScriptManager.loadScriptBundle(filename, volume);
+            IScriptBundle bundle = mScriptManager.loadScriptBundle(filename, openBundleVolume(filename));
+            mScriptManager.bindScriptBundle(bundle, gvrContext.getMain(), true);
         }
         catch(IOException e)
         {
             logError(e.getMessage());
         }
+        catch(GVRScriptException se)
+        {
+            logError(se.getMessage());
+        }
     }
     
     public void attachScript(String filename, String sceneObjName)
@@ -13,6 +13,11 @@ class Particle extends GVRBehavior
     public float            Velocity;
     public Vector3f         Direction;
     public float            Distance;
+    /**
+     * Slot in the emitter's {@link ParticleBuffer} when
+     * the emitter is batched, otherwise -1.
+     */
+    int                     Index = -1;
     private Vector3f        mStartPos = new Vector3f(0, 0, 0);
     private Vector3f        mCurPos = new Vector3f(0, 0, 0);
     
@@ -0,0 +1,165 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gearvrf.balloons;
+
+/**
+ * Structure-of-arrays particle state used by {@link ParticleEmitter}
+ * when it runs in batched mode.
+ * <p>
+ * Each particle is a slot index into parallel float arrays holding
+ * its current position, start position, direction, velocity and
+ * distance travelled. Free slots are kept on an int stack so
+ * emitting and retiring a particle never allocates.
+ * This class has no GearVRf dependencies so it can be driven
+ * and measured outside of the renderer.
+ */
+public class ParticleBuffer
+{
+    public final int        Capacity;
+    public final float[]    Position;
+    public final float[]    StartPosition;
+    public final float[]    Direction;
+    public final float[]    Velocity;
+    public final float[]    Distance;
+
+    private final boolean[] mActive;
+    private final int[]     mFreeStack;
+    private int             mFreeTop;
+    private int             mNumActive = 0;
+    private int             mHighWater = 0;
+
+    public ParticleBuffer(int capacity)
+    {
+        Capacity = capacity;
+        Position = new float[capacity * 3];
+        StartPosition = new float[capacity * 3];
+        Direction = new float[capacity * 3];
+        Velocity = new float[capacity];
+        Distance = new float[capacity];
+        mActive = new boolean[capacity];
+        mFreeStack = new int[capacity];
+        mFreeTop = 0;
+    }
+
+    /**
+     * Number of slots which have ever been handed out.
+     * Slots at or above this index have never been used.
+     */
+    public int getHighWater() { return mHighWater; }
+
+    public int getNumActive() { return mNumActive; }
+
+    public boolean isActive(int index) { return mActive[index]; }
+
+    /**
+     * Reserve a slot for a new particle.
+     * Previously retired slots are reused before new ones are handed out.
+     * @return slot index or -1 if the buffer is full
+     */
+    public int allocate()
+    {
+        int index;
+
+        if (mFreeTop > 0)
+        {
+            index = mFreeStack[--mFreeTop];
+        }
+        else if (mHighWater < Capacity)
+        {
+            index = mHighWater++;
+        }
+        else
+        {
+            return -1;
+        }
+        mActive[index] = true;
+        ++mNumActive;
+        return index;
+    }
+
+    /**
+     * Return a slot to the free stack.
+     * Freeing an inactive slot is ignored.
+     */
+    public void free(int index)
+    {
+        if (!mActive[index])
+        {
+            return;
+        }
+        mActive[index] = false;
+        mFreeStack[mFreeTop++] = index;
+        --mNumActive;
+    }
+
+    /**
+     * Initialize a slot with a start position, direction and velocity.
+     */
+    public void start(int index, float x, float y, float z,
+                      float dx, float dy, float dz, float velocity)
+    {
+        int i = index * 3;
+        Position[i] = StartPosition[i] = x;
+        Position[i + 1] = StartPosition[i + 1] = y;
+        Position[i + 2] = StartPosition[i + 2] = z;
+        Direction[i] = dx;
+        Direction[i + 1] = dy;
+        Direction[i + 2] = dz;
+        Velocity[index] = velocity;
+        Distance[index] = 0;
+    }
+
+    /**
+     * Advance all active particles by the elapsed time.
+     * Particles which travel further than maxDistance are freed
+     * and their slot index is written into the expired array.
+     * @param elapsed   seconds since last step
+     * @param maxDistance distance at which a particle expires
+     * @param expired   receives indices of expired particles, must hold Capacity entries
+     * @return number of indices written to expired
+     */
+    public int step(float elapsed, float maxDistance, int[] expired)
+    {
+        final float[] pos = Position;
+        final float[] start = StartPosition;
+        final float[] dir = Direction;
+        final float maxDist2 = maxDistance * maxDistance;
+        int numExpired = 0;
+
+        for (int p = 0; p < mHighWater; ++p)
+        {
+            if (!mActive[p])
+            {
+                continue;
+            }
+            int i = p * 3;
+            float s = Velocity[p] * elapsed;
+            float x = pos[i] += dir[i] * s;
+            float y = pos[i + 1] += dir[i + 1] * s;
+            float z = pos[i + 2] += dir[i + 2] * s;
+            x -= start[i];
+            y -= start[i + 1];
+            z -= start[i + 2];
+            float d2 = x * x + y * y + z * z;
+            Distance[p] = (float) Math.sqrt(d2);
+            if (d2 > maxDist2)
+            {
+                free(p);
+                expired[numExpired++] = p;
+            }
+        }
+        return numExpired;
+    }
+}
@@ -86,6 +86,14 @@ public class ParticleEmitter extends GVRBehavior
      * before it disappears
      */
     public  float     MaxDistance = 10.0f;
+
+    /**
+     * If true, particle state is kept in a {@link ParticleBuffer}
+     * and transforms are written once per frame instead of
+     * each particle updating itself. Must be set before the
+     * emitter is first enabled.
+     */
+    public  boolean   Batched = false;
     
     private ArrayList<Particle> mFreeParticles;
     private ArrayList<Particle> mActiveParticles;
@@ -94,6 +102,12 @@ public class ParticleEmitter extends GVRBehavior
     private float       mLastEmitTime;
     private int         mNumParticles = 0;
     private MakeParticle mMakeParticle;
+    private ParticleBuffer   mBuffer;
+    private GVRSceneObject[] mSlotObjects;
+    private Particle[]       mSlotParticles;
+    private int[]            mExpired;
+    private final Vector3f   mNextDirection = new Vector3f();
+    private final Vector3f   mNextPosition = new Vector3f();
     static private long TYPE_PARTICLE_EMITTER = newComponentType(ParticleEmitter.class);
 
     public ParticleEmitter(GVRContext ctx, GVRScene scene, MakeParticle newParticle)
@@ -116,6 +130,18 @@ public class ParticleEmitter extends GVRBehavior
 
     public void stop(Particle particle)
     {
+        if (Batched)
+        {
+            synchronized (this)
+            {
+                if ((particle.Index >= 0) && mBuffer.isActive(particle.Index))
+                {
+                    mBuffer.free(particle.Index);
+                    particle.getOwnerObject().setEnable(false);
+                }
+            }
+            return;
+        }
         synchronized (mActiveParticles)
         {
             GVRSceneObject owner = particle.getOwnerObject();
@@ -135,6 +161,11 @@ public class ParticleEmitter extends GVRBehavior
 
     protected void step(float elapsed)
     {
+        if (Batched)
+        {
+            stepBatched(elapsed);
+            return;
+        }
         float emitTime = 1 / EmissionRate;
         mLastEmitTime += elapsed;
         synchronized (mActiveParticles)
@@ -158,9 +189,97 @@ public class ParticleEmitter extends GVRBehavior
         }
     }
 
+    /*
+     * Batched mode: advance every particle in the buffer,
+     * disable the ones that expired and then write the
+     * positions of the remaining ones to their transforms.
+     */
+    private synchronized void stepBatched(float elapsed)
+    {
+        float emitTime = 1 / EmissionRate;
+        ParticleBuffer buffer = getBuffer();
+        int numExpired = buffer.step(elapsed, MaxDistance, mExpired);
+        int highWater = buffer.getHighWater();
+        float[] pos = buffer.Position;
+
+        mLastEmitTime += elapsed;
+        for (int e = 0; e < numExpired; ++e)
+        {
+            mSlotObjects[mExpired[e]].setEnable(false);
+        }
+        for (int p = 0; p < highWater; ++p)
+        {
+            if (buffer.isActive(p))
+            {
+                int i = p * 3;
+                mSlotObjects[p].getTransform().setPosition(pos[i], pos[i + 1], pos[i + 2]);
+            }
+        }
+        if (mLastEmitTime >= emitTime)
+        {
+            emitBatched();
+            mLastEmitTime = 0;
+        }
+    }
+
+    private ParticleBuffer getBuffer()
+    {
+        if (mBuffer == null)
+        {
+            mBuffer = new ParticleBuffer(TotalParticles);
+            mSlotObjects = new GVRSceneObject[TotalParticles];
+            mSlotParticles = new Particle[TotalParticles];
+            mExpired = new int[TotalParticles];
+        }
+        return mBuffer;
+    }
+
+    private void emitBatched()
+    {
+        ParticleBuffer buffer = getBuffer();
+
+        if (buffer.getNumActive() >= MaxActiveParticles)
+        {
+            return; // cannot emit any more
+        }
+        int index = buffer.allocate();
+        if (index < 0)
+        {
+            return; // cannot create any more
+        }
+        GVRSceneObject sceneObj = mSlotObjects[index];
+        Particle particle = mSlotParticles[index];
+        Vector3f direction = getNextDirection(mNextDirection);
+        Vector3f position = getNextPosition(mNextPosition);
+        float velocity = getNextVelocity();
+
+        if (sceneObj == null)
+        {
+            sceneObj = mMakeParticle.create(getGVRContext());
+            sceneObj.setName(sceneObj.getName() + Integer.toString(index));
+            particle = new Particle(getGVRContext(), velocity, Direction.MaxVal);
+            particle.Index = index;
+            sceneObj.attachComponent(particle);
+            getOwnerObject().addChildObject(sceneObj);
+            mSlotObjects[index] = sceneObj;
+            mSlotParticles[index] = particle;
+            ++mNumParticles;
+        }
+        particle.Velocity = velocity;
+        buffer.start(index, position.x, position.y, position.z,
+                     direction.x, direction.y, direction.z, velocity);
+        sceneObj.getTransform().setPosition(position.x, position.y, position.z);
+        sceneObj.setEnable(true);
+    }
+
     private Vector3f getNextDirection()
     {
-        Vector3f direction = new Vector3f(Direction.MaxVal);
+        return getNextDirection(new Vector3f());
+    }
+
+    private Vector3f getNextDirection(Vector3f direction)
+    {
+        direction.set(Direction.MaxVal);
         if (Direction.isRange())
         {
             direction.sub(Direction.MinVal, direction);
@@ -182,7 +301,12 @@ public class ParticleEmitter extends GVRBehavior
 
     private Vector3f getNextPosition()
     {
-        Vector3f v = new Vector3f(EmitterArea.MaxVal.x, EmitterArea.MaxVal.y, 0);
+        return getNextPosition(new Vector3f());
+    }
+
+    private Vector3f getNextPosition(Vector3f v)
+    {
+        v.set(EmitterArea.MaxVal.x, EmitterArea.MaxVal.y, 0);
         if (EmitterArea.isRange())
         {
             v.sub(EmitterArea.MinVal.x, EmitterArea.MinVal.y, 0);
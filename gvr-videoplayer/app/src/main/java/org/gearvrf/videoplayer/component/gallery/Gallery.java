@@ -18,6 +18,7 @@
 package org.gearvrf.videoplayer.component.gallery;
 
 import android.annotation.SuppressLint;
+import android.os.AsyncTask;
 import android.os.Handler;
 import android.os.Message;
 import android.support.annotation.NonNull;
@@ -42,9 +43,10 @@ import org.gearvrf.videoplayer.model.LocalHomeItem;
 import org.gearvrf.videoplayer.model.Video;
 import org.gearvrf.videoplayer.provider.asyntask.AlbumAsyncTask;
 import org.gearvrf.videoplayer.provider.asyntask.ExternalVideoAsyncTask;
-import org.gearvrf.videoplayer.provider.asyntask.GetDataCallback;
+import org.gearvrf.videoplayer.provider.asyntask.GetPageCallback;
 import org.gearvrf.videoplayer.provider.asyntask.LocalVideoAsyncTask;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -53,7 +55,8 @@ public class Gallery extends FadeableObject implements OnItemsSelectionListener
     private static final String TAG = Gallery.class.getSimpleName();
     private RecyclerView mRecyclerView;
     private GVRViewSceneObject mObjectViewGallery;
-    private List<GalleryItem> mItemList = new LinkedList<>();
+    private List<GalleryItem> mItemList = new ArrayList<>();
+    private AsyncTask<?, ?, ?> mLoadTask;
     private Breadcrumb mBreadcrumb;
     private OnGalleryEventListener mOnGalleryEventListener;
     private boolean mIsConnected = false;
@@ -145,41 +148,41 @@ public class Gallery extends FadeableObject implements OnItemsSelectionListener
 
     private void loadLocalAlbums() {
         setGridNumColumns(3);
-        new AlbumAsyncTask(new GetDataCallback<List<Album>>() {
+        mLoadTask = new AlbumAsyncTask(new GetPageCallback<Album>() {
             @Override
-            public void onResult(List<Album> data) {
-                mItemList.clear();
-                mItemList.addAll(data);
-                mRecyclerView.getAdapter().notifyDataSetChanged();
+            public void onPage(List<Album> page) {
+                addPage(page);
             }
         }).execute();
     }
 
     private void loadLocalVideos(String albumTitle) {
         setGridNumColumns(3);
-        new LocalVideoAsyncTask(albumTitle, new GetDataCallback<List<Video>>() {
+        mLoadTask = new LocalVideoAsyncTask(albumTitle, new GetPageCallback<Video>() {
             @Override
-            public void onResult(List<Video> data) {
-                mItemList.clear();
-                mItemList.addAll(data);
-                mRecyclerView.getAdapter().notifyDataSetChanged();
+            public void onPage(List<Video> page) {
+                addPage(page);
             }
         }).execute();
     }
 
     private void loadExternalVideos() {
         setGridNumColumns(3);
-        new ExternalVideoAsyncTask(new GetDataCallback<List<Video>>() {
+        mLoadTask = new ExternalVideoAsyncTask(new GetPageCallback<Video>() {
             @Override
-            public void onResult(List<Video> data) {
-                mItemList.clear();
-                mItemList.addAll(data);
-                mRecyclerView.getAdapter().notifyDataSetChanged();
+            public void onPage(List<Video> page) {
+                addPage(page);
             }
         }).execute();
 
     }
 
+    private void addPage(List<? extends GalleryItem> page) {
+        int start = mItemList.size();
+        mItemList.addAll(page);
+        mRecyclerView.getAdapter().notifyItemRangeInserted(start, page.size());
+    }
+
     @Override
     public void onItemSelected(List<? extends GalleryItem> itemList) {
 
@@ -248,6 +251,11 @@ public class Gallery extends FadeableObject implements OnItemsSelectionListener
     }
 
     private void setGridNumColumns(int numColumns) {
+        // pages of the previous list must not land in the new one
+        if (mLoadTask != null) {
+            mLoadTask.cancel(false);
+            mLoadTask = null;
+        }
         mItemList.clear();
         mRecyclerView.getAdapter().notifyDataSetChanged();
         ((GridLayoutManager) mRecyclerView.getLayoutManager()).setSpanCount(numColumns);
@@ -33,7 +33,7 @@ import org.gearvrf.videoplayer.model.Album;
 import org.gearvrf.videoplayer.model.GalleryItem;
 import org.gearvrf.videoplayer.model.HomeItem;
 import org.gearvrf.videoplayer.model.Video;
-import org.gearvrf.videoplayer.provider.asyntask.ThumbnailLoader;
+import org.gearvrf.videoplayer.provider.thumbnail.ThumbnailLoader;
 import org.gearvrf.videoplayer.util.TimeUtils;
 
 import java.util.List;
@@ -79,7 +79,7 @@ public class GalleryItemAdapter<T extends GalleryItem> extends RecyclerView.Adap
             Album album = (Album) item;
             AlbumViewHolder viewHolder = (AlbumViewHolder) holder;
             viewHolder.mTextView.setText(album.getTitle());
-            new ThumbnailLoader(viewHolder.mThumbnail).execute(album.getVideoForThumbnail().getId());
+            ThumbnailLoader.getInstance().bind(viewHolder.mThumbnail, album.getVideoForThumbnail());
 
         } else if (item.getType() == GalleryItem.Type.TYPE_VIDEO) {
 
@@ -93,11 +93,10 @@ public class GalleryItemAdapter<T extends GalleryItem> extends RecyclerView.Adap
                 } else {
                     viewHolder.is360 = false;
                 }
-                new ThumbnailLoader(viewHolder.thumbnail).execute(video.getId());
             } else {
                 viewHolder.is360 = false;
-                viewHolder.thumbnail.setImageBitmap(video.getThumbnail());
             }
+            ThumbnailLoader.getInstance().bind(viewHolder.thumbnail, video);
         } else {
             Log.d(getClass().getSimpleName(), "Unknown type:" + item.getType());
         }
@@ -17,7 +17,6 @@
 
 package org.gearvrf.videoplayer.model;
 
-import android.graphics.Bitmap;
 import android.support.annotation.IntDef;
 
 public final class Video extends GalleryItem {
@@ -36,7 +35,8 @@ public final class Video extends GalleryItem {
     private boolean is360tag;
     private boolean has360onTitle;
     private @VideoType int videoType;
-    private Bitmap thumbnail;
+    private String thumbnailPath;
+    private long dateModified;
 
     public Video(long id, String title, String path, long duration, boolean isRatio21,
                  boolean is360tag, boolean has360onTitle, @VideoType int videoType) {
@@ -107,12 +107,28 @@ public final class Video extends GalleryItem {
         this.has360onTitle = has360onTitle;
     }
 
-    public void setThumbnail(Bitmap bitmap) {
-        this.thumbnail = bitmap;
+    /**
+     * @return modification time in seconds as the media store reports it,
+     * 0 if unknown
+     */
+    public long getDateModified() {
+        return dateModified;
     }
 
-    public Bitmap getThumbnail() {
-        return thumbnail;
+    public void setDateModified(long dateModified) {
+        this.dateModified = dateModified;
+    }
+
+    /**
+     * @return asset path of the thumbnail of an external video, null for
+     * local videos
+     */
+    public String getThumbnailPath() {
+        return thumbnailPath;
+    }
+
+    public void setThumbnailPath(String thumbnailPath) {
+        this.thumbnailPath = thumbnailPath;
     }
 
     @VideoType
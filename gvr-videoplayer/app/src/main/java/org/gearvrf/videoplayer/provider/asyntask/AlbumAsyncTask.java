@@ -19,7 +19,6 @@ package org.gearvrf.videoplayer.provider.asyntask;
 
 import android.content.Context;
 import android.database.Cursor;
-import android.database.CursorWrapper;
 import android.os.AsyncTask;
 import android.provider.MediaStore.Video;
 import android.provider.MediaStore.Video.VideoColumns;
@@ -28,99 +27,97 @@ import android.util.Log;
 
 import org.gearvrf.videoplayer.VideoPlayerApp;
 import org.gearvrf.videoplayer.model.Album;
+import org.gearvrf.videoplayer.provider.loader.CursorPager;
 
-import java.util.LinkedList;
 import java.util.List;
-import java.util.regex.Pattern;
 
-public class AlbumAsyncTask extends AsyncTask<Void, Void, List<Album>> {
+/**
+ * Loads the local albums with the first video of each for its thumbnail,
+ * and delivers them a page at a time.
+ */
+public class AlbumAsyncTask extends AsyncTask<Void, List<Album>, Void> {
 
     private static final String TAG = AlbumAsyncTask.class.getSimpleName();
-    private GetDataCallback<List<Album>> mGetDataCallback;
+
+    private static final String[] PROJECTION = new String[]{
+            VideoColumns._ID,
+            VideoColumns.BUCKET_DISPLAY_NAME,
+            VideoColumns.TITLE,
+            VideoColumns.DATA,
+            VideoColumns.DURATION,
+            VideoColumns.WIDTH,
+            VideoColumns.HEIGHT,
+            VideoColumns.DATE_MODIFIED,
+            "is_360_video"
+    };
+
+    private GetPageCallback<Album> mGetPageCallback;
 
     public AlbumAsyncTask() {
     }
 
-    public AlbumAsyncTask(@NonNull GetDataCallback<List<Album>> mGetDataCallback) {
-        this.mGetDataCallback = mGetDataCallback;
+    public AlbumAsyncTask(@NonNull GetPageCallback<Album> getPageCallback) {
+        this.mGetPageCallback = getPageCallback;
     }
 
     @Override
-    protected List<Album> doInBackground(Void... voids) {
-        return load();
+    @SuppressWarnings("unchecked")
+    protected Void doInBackground(Void... voids) {
+        try (Cursor cursor = query()) {
+            int count = new CursorPager<Album>().read(cursor, new AlbumRowReader(),
+                    new CursorPager.PageConsumer<Album>() {
+                        @Override
+                        public boolean onPage(List<Album> page, int offset) {
+                            if (isCancelled()) {
+                                return false;
+                            }
+                            publishProgress(page);
+                            return true;
+                        }
+                    });
+            Log.d(TAG, "Result count = " + count);
+        }
+        return null;
+    }
+
+    @Override
+    protected void onProgressUpdate(List<Album>... pages) {
+        if (!isCancelled() && mGetPageCallback != null) {
+            mGetPageCallback.onPage(pages[0]);
+        }
     }
 
     public List<Album> load() {
+        try (Cursor cursor = query()) {
+            return new CursorPager<Album>().readAll(cursor, new AlbumRowReader());
+        }
+    }
 
+    private Cursor query() {
         Context context = VideoPlayerApp.getInstance().getApplicationContext();
-        List<Album> albums = new LinkedList<>();
-
-        String[] projection = new String[]{
-                VideoColumns._ID,
-                VideoColumns.BUCKET_DISPLAY_NAME,
-                VideoColumns.TITLE,
-                VideoColumns.DATA,
-                VideoColumns.DURATION,
-                VideoColumns.WIDTH,
-                VideoColumns.HEIGHT,
-                "is_360_video"
-        };
 
         String sortOrder = VideoColumns.BUCKET_DISPLAY_NAME + " ASC, " + VideoColumns.TITLE + " ASC";
 
-        try (Cursor cursor = context.getContentResolver().query(
+        return context.getContentResolver().query(
                 Video.Media.EXTERNAL_CONTENT_URI,
-                projection, "0 == 0) GROUP BY (" + VideoColumns.BUCKET_DISPLAY_NAME, null, sortOrder)) {
-
-            if (cursor != null && cursor.moveToFirst()) {
-
-                Log.d(TAG, "Result count = " + cursor.getCount());
-
-                AlbumCursorWrapper cursorWrapper = new AlbumCursorWrapper(cursor);
-
-                do {
-
-                    String albumTitle = cursorWrapper.getTitle();
-                    albums.add(new Album(albumTitle, cursorWrapper.getVideo()));
-
-                } while (cursor.moveToNext());
-            }
-        }
-
-        return albums;
+                PROJECTION, "0 == 0) GROUP BY (" + VideoColumns.BUCKET_DISPLAY_NAME, null, sortOrder);
     }
 
-    @Override
-    protected void onPostExecute(List<Album> albums) {
-        super.onPostExecute(albums);
-        mGetDataCallback.onResult(albums);
-    }
+    private static class AlbumRowReader implements CursorPager.RowReader<Album> {
 
-    private static class AlbumCursorWrapper extends CursorWrapper {
-
-        AlbumCursorWrapper(Cursor cursor) {
-            super(cursor);
-        }
+        private final LocalVideoAsyncTask.VideoRowReader mVideoReader =
+                new LocalVideoAsyncTask.VideoRowReader();
+        private int mBucketDisplayName;
 
-        String getTitle() {
-            return getString(getColumnIndexOrThrow(VideoColumns.BUCKET_DISPLAY_NAME));
+        @Override
+        public void resolveColumns(Cursor cursor) {
+            mBucketDisplayName = cursor.getColumnIndexOrThrow(VideoColumns.BUCKET_DISPLAY_NAME);
+            mVideoReader.resolveColumns(cursor);
         }
 
-        org.gearvrf.videoplayer.model.Video getVideo() {
-            float width = Float.parseFloat(getString(getColumnIndexOrThrow(VideoColumns.WIDTH)));
-            float height = Float.parseFloat(getString(getColumnIndexOrThrow(VideoColumns.HEIGHT)));
-            boolean isRatio21 =  width / height == 2;
-
-            return new org.gearvrf.videoplayer.model.Video(
-                    getLong(getColumnIndexOrThrow(VideoColumns._ID)),
-                    getString(getColumnIndexOrThrow(VideoColumns.TITLE)),
-                    getString(getColumnIndexOrThrow(VideoColumns.DATA)),
-                    getLong(getColumnIndexOrThrow(VideoColumns.DURATION)),
-                    isRatio21,
-                    getInt(getColumnIndexOrThrow("is_360_video")) == 1,
-                    Pattern.matches(".*360.*", getString(getColumnIndexOrThrow(VideoColumns.TITLE))),
-                    org.gearvrf.videoplayer.model.Video.VideoType.LOCAL
-            );
+        @Override
+        public Album read(Cursor cursor) {
+            return new Album(cursor.getString(mBucketDisplayName), mVideoReader.read(cursor));
         }
     }
 }
@@ -15,101 +15,85 @@
  *
  */
 
+
 package org.gearvrf.videoplayer.provider.asyntask;
 
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.os.AsyncTask;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
 import org.gearvrf.videoplayer.VideoPlayerApp;
 import org.gearvrf.videoplayer.model.Video;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import org.gearvrf.videoplayer.provider.loader.CursorPager;
+import org.gearvrf.videoplayer.provider.loader.ExternalVideoReader;
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.LinkedList;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
 import java.util.List;
 
-public class ExternalVideoAsyncTask extends AsyncTask<Void, Void, List<Video>> {
+/**
+ * Loads the external video catalog and delivers it a page at a time, as
+ * it is parsed. Thumbnails are left to the gallery to load when shown.
+ */
+public class ExternalVideoAsyncTask extends AsyncTask<Void, List<Video>, Void> {
 
     private static final String TAG = ExternalVideoAsyncTask.class.getSimpleName();
+    private static final String CATALOG = "external_videos.json";
 
-    private GetDataCallback<List<Video>> mGetDataCallback;
+    private GetPageCallback<Video> mGetPageCallback;
 
-    public ExternalVideoAsyncTask(@NonNull GetDataCallback<List<Video>> mGetDataCallback) {
-        this.mGetDataCallback = mGetDataCallback;
+    public ExternalVideoAsyncTask(@NonNull GetPageCallback<Video> getPageCallback) {
+        this.mGetPageCallback = getPageCallback;
     }
 
-    @Override
-    protected List<Video> doInBackground(Void... voids) {
-        return loadVideos();
+    public ExternalVideoAsyncTask() {
     }
 
-    public List<Video> loadVideos() {
-        List<Video> videos = new LinkedList<>();
-        JSONObject videosJSON = loadJSONFromFile();
-        try {
-            JSONArray jsonArray = videosJSON.getJSONArray("videos");
-            int arrayLength = jsonArray.length();
-            for (int i = 0; i < arrayLength; i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-                Video video = new Video(jsonObject.getInt("id"), jsonObject.getString("name"),
-                                        jsonObject.getString("uri"), jsonObject.getInt("duration"),
-                                        false, false, false, Video.VideoType.EXTERNAL);
-
-                video.setThumbnail(loadBitmap(jsonObject.getString("thumbnail")));
-                videos.add(video);
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Void doInBackground(Void... voids) {
+        read(new CursorPager.PageConsumer<Video>() {
+            @Override
+            public boolean onPage(List<Video> page, int offset) {
+                if (isCancelled()) {
+                    return false;
+                }
+                publishProgress(page);
+                return true;
             }
-        } catch (JSONException e) {
-            Log.e(TAG, "Could not load videos info from JSON file");
-            e.printStackTrace();
-        }
-
-        return videos;
+        });
+        return null;
     }
 
     @Override
-    protected void onPostExecute(List<Video> videos) {
-        super.onPostExecute(videos);
-        if (mGetDataCallback != null) {
-            mGetDataCallback.onResult(videos);
+    protected void onProgressUpdate(List<Video>... pages) {
+        if (!isCancelled() && mGetPageCallback != null) {
+            mGetPageCallback.onPage(pages[0]);
         }
     }
 
-    private JSONObject loadJSONFromFile() {
-        String jsonFile;
-        JSONObject json = null;
-        try {
-            InputStream is = VideoPlayerApp.getInstance().getAssets().open("external_videos.json");
-            int size = is.available();
-            byte[] buffer = new byte[size];
-            is.read(buffer);
-            is.close();
-            jsonFile = new String(buffer, "UTF-8");
-            json = new JSONObject(jsonFile);
-        } catch (IOException e) {
-            Log.e(TAG, "Could not load JSON file");
-            e.printStackTrace();
-        } catch (JSONException e) {
-            Log.e(TAG, "Could not load JSON file");
-            e.printStackTrace();
-        }
-        return json;
+    public List<Video> loadVideos() {
+        final List<Video> videos = new ArrayList<>();
+        read(new CursorPager.PageConsumer<Video>() {
+            @Override
+            public boolean onPage(List<Video> page, int offset) {
+                videos.addAll(page);
+                return true;
+            }
+        });
+        return videos;
     }
 
-    private Bitmap loadBitmap(String thumbnailPath) {
-        Bitmap bitmap = null;
-        try {
-            InputStream is = VideoPlayerApp.getInstance().getAssets().open(thumbnailPath);
-            bitmap = BitmapFactory.decodeStream(is);
-        } catch (IOException e) {
-            Log.e(TAG, "Could not load thumbnail");
-            e.printStackTrace();
+    private void read(CursorPager.PageConsumer<Video> consumer) {
+        try (Reader in = new BufferedReader(new InputStreamReader(
+                VideoPlayerApp.getInstance().getAssets().open(CATALOG), "UTF-8"))) {
+            int count = new ExternalVideoReader().read(in, consumer);
+            Log.d(TAG, "Result count = " + count);
+        } catch (IOException | IllegalStateException e) {
+            Log.e(TAG, "Could not load videos info from JSON file", e);
         }
-        return bitmap;
     }
 }
@@ -17,6 +17,14 @@
 
 package org.gearvrf.videoplayer.provider.asyntask;
 
-public interface GetDataCallback<T> {
-    void onResult(T data);
+import java.util.List;
+
+/**
+ * Receives results which arrive a page at a time.
+ */
+public interface GetPageCallback<T> {
+    /**
+     * Called on the main thread for each page, in order.
+     */
+    void onPage(List<T> page);
 }
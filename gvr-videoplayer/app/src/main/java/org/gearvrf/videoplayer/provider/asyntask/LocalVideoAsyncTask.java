@@ -19,31 +19,44 @@ package org.gearvrf.videoplayer.provider.asyntask;
 
 import android.content.Context;
 import android.database.Cursor;
-import android.database.CursorWrapper;
 import android.os.AsyncTask;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
 import org.gearvrf.videoplayer.VideoPlayerApp;
 import org.gearvrf.videoplayer.model.Video;
+import org.gearvrf.videoplayer.provider.loader.CursorPager;
 
-import java.util.LinkedList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import static android.provider.MediaStore.Video.Media;
 import static android.provider.MediaStore.Video.VideoColumns;
 
-public class LocalVideoAsyncTask extends AsyncTask<Void, Void, List<Video>> {
+/**
+ * Loads the local videos, optionally of one album, and delivers them a
+ * page at a time so the first ones show before the rest are read.
+ */
+public class LocalVideoAsyncTask extends AsyncTask<Void, List<Video>, Void> {
 
     private static final String TAG = LocalVideoAsyncTask.class.getSimpleName();
 
-    private GetDataCallback<List<Video>> mGetDataCallback;
+    private static final String[] PROJECTION = new String[]{
+            VideoColumns._ID,
+            VideoColumns.TITLE,
+            VideoColumns.DATA,
+            VideoColumns.DURATION,
+            VideoColumns.WIDTH,
+            VideoColumns.HEIGHT,
+            VideoColumns.DATE_MODIFIED,
+            "is_360_video"
+    };
+
+    private GetPageCallback<Video> mGetPageCallback;
     private String mAlbumTitleFilter;
 
-    public LocalVideoAsyncTask(String albumTitleFilter, @NonNull GetDataCallback<List<Video>> mGetDataCallback) {
+    public LocalVideoAsyncTask(String albumTitleFilter, @NonNull GetPageCallback<Video> getPageCallback) {
         this.mAlbumTitleFilter = albumTitleFilter;
-        this.mGetDataCallback = mGetDataCallback;
+        this.mGetPageCallback = getPageCallback;
     }
 
     public LocalVideoAsyncTask(String albumTitle) {
@@ -51,109 +64,94 @@ public class LocalVideoAsyncTask extends AsyncTask<Void, Void, List<Video>> {
     }
 
     @Override
-    protected List<Video> doInBackground(Void... voids) {
-        return loadVideos();
+    @SuppressWarnings("unchecked")
+    protected Void doInBackground(Void... voids) {
+        try (Cursor cursor = query()) {
+            int count = new CursorPager<Video>().read(cursor, new VideoRowReader(),
+                    new CursorPager.PageConsumer<Video>() {
+                        @Override
+                        public boolean onPage(List<Video> page, int offset) {
+                            if (isCancelled()) {
+                                return false;
+                            }
+                            publishProgress(page);
+                            return true;
+                        }
+                    });
+            Log.d(TAG, "Result count = " + count);
+        }
+        return null;
+    }
+
+    @Override
+    protected void onProgressUpdate(List<Video>... pages) {
+        if (!isCancelled() && mGetPageCallback != null) {
+            mGetPageCallback.onPage(pages[0]);
+        }
     }
 
     public List<Video> loadVideos() {
+        try (Cursor cursor = query()) {
+            return new CursorPager<Video>().readAll(cursor, new VideoRowReader());
+        }
+    }
 
+    private Cursor query() {
         Context context = VideoPlayerApp.getInstance().getApplicationContext();
-        List<Video> videos = new LinkedList<>();
-
-        String[] projection = new String[]{
-                VideoColumns._ID,
-                VideoColumns.TITLE,
-                VideoColumns.DATA,
-                VideoColumns.DURATION,
-                VideoColumns.WIDTH,
-                VideoColumns.HEIGHT,
-                "is_360_video"
-        };
 
         String selection = mAlbumTitleFilter != null ? VideoColumns.BUCKET_DISPLAY_NAME + "=?" : null;
         String[] selectionArgs = mAlbumTitleFilter != null ? new String[]{mAlbumTitleFilter} : null;
 
         String sortOrder = VideoColumns.TITLE + " ASC";
 
-        try (Cursor cursor = context.getContentResolver().query(
+        return context.getContentResolver().query(
                 Media.EXTERNAL_CONTENT_URI,
-                projection, selection, selectionArgs, sortOrder)) {
-
-            if (cursor != null && cursor.moveToFirst()) {
-
-                Log.d(TAG, "Result count = " + cursor.getCount());
-
-                VideoCursorWrapper cursorWrapper = new VideoCursorWrapper(cursor);
-
-                do {
-
-                    String videoTitle = cursorWrapper.getTitle();
-                    long videoId = cursorWrapper.getId();
-
-                    videos.add(new Video(videoId, videoTitle, cursorWrapper.getPath(),
-                            cursorWrapper.getDuration(), cursorWrapper.getIsRatio21(),
-                            cursorWrapper.getIs360Video(), cursorWrapper.has360onTitle(),
-                            Video.VideoType.LOCAL));
-
-                } while (cursor.moveToNext());
-            }
-        }
-
-        return videos;
-    }
-
-    @Override
-    protected void onPostExecute(List<Video> videos) {
-        super.onPostExecute(videos);
-        if (mGetDataCallback != null) {
-            mGetDataCallback.onResult(videos);
-        }
+                PROJECTION, selection, selectionArgs, sortOrder);
     }
 
-    private static class VideoCursorWrapper extends CursorWrapper {
-
-        VideoCursorWrapper(Cursor cursor) {
-            super(cursor);
-        }
-
-        String getTitle() {
-            return getString(getColumnIndexOrThrow(VideoColumns.TITLE));
-        }
-
-        String getPath() {
-            return getString(getColumnIndexOrThrow(VideoColumns.DATA));
-        }
-
-        long getId() {
-            return getLong(getColumnIndexOrThrow(VideoColumns._ID));
+    /**
+     * Reads a {@link Video} from each row. Also used for the videos the
+     * album rows point to.
+     */
+    static class VideoRowReader implements CursorPager.RowReader<Video> {
+
+        private int mId;
+        private int mTitle;
+        private int mData;
+        private int mDuration;
+        private int mWidth;
+        private int mHeight;
+        private int mDateModified;
+        private int mIs360Video;
+
+        @Override
+        public void resolveColumns(Cursor cursor) {
+            mId = cursor.getColumnIndexOrThrow(VideoColumns._ID);
+            mTitle = cursor.getColumnIndexOrThrow(VideoColumns.TITLE);
+            mData = cursor.getColumnIndexOrThrow(VideoColumns.DATA);
+            mDuration = cursor.getColumnIndexOrThrow(VideoColumns.DURATION);
+            mWidth = cursor.getColumnIndexOrThrow(VideoColumns.WIDTH);
+            mHeight = cursor.getColumnIndexOrThrow(VideoColumns.HEIGHT);
+            mDateModified = cursor.getColumnIndexOrThrow(VideoColumns.DATE_MODIFIED);
+            mIs360Video = cursor.getColumnIndexOrThrow("is_360_video");
         }
 
-        long getDuration() {
-            return getLong(getColumnIndexOrThrow(VideoColumns.DURATION));
+        @Override
+        public Video read(Cursor cursor) {
+            String title = cursor.getString(mTitle);
+            Video video = new Video(cursor.getLong(mId), title, cursor.getString(mData),
+                    cursor.getLong(mDuration), isRatio21(cursor),
+                    cursor.getInt(mIs360Video) == 1, title != null && title.contains("360"),
+                    Video.VideoType.LOCAL);
+            video.setDateModified(cursor.getLong(mDateModified));
+            return video;
         }
 
-        String getWidth() {
-            return getString(getColumnIndexOrThrow(VideoColumns.WIDTH));
-        }
-
-        String getHeight() {
-            return getString(getColumnIndexOrThrow(VideoColumns.HEIGHT));
-        }
-
-        boolean getIsRatio21() {
-            String width = getWidth();
-            String height = getHeight();
-            if (width == null || height == null)
+        private boolean isRatio21(Cursor cursor) {
+            if (cursor.isNull(mWidth) || cursor.isNull(mHeight)) {
                 return false;
-            return Float.parseFloat(getWidth()) / Float.parseFloat(getHeight()) == 2;
-        }
-
-        boolean getIs360Video() {
-            return getInt(getColumnIndexOrThrow("is_360_video")) == 1;
-        }
-
-        boolean has360onTitle() {
-            return Pattern.matches(".*360.*", getTitle());
+            }
+            return cursor.getFloat(mWidth) / cursor.getFloat(mHeight) == 2;
         }
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.gearvrf.videoplayer.provider.loader;
+
+import android.database.Cursor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the rows of a cursor in pages.
+ * <p>
+ * The first page is small so the gallery can show something as soon as
+ * the first rows are read; the pages after it are larger. Each page is an
+ * array backed list sized for exactly the rows it will hold, handed over
+ * once full and never touched again, so it can be passed to another
+ * thread. Column indices are looked up once per cursor by the
+ * {@link RowReader}, not once per row.
+ */
+public class CursorPager<T> {
+
+    public interface RowReader<T> {
+        /**
+         * Look up the indices of the columns {@link #read(Cursor)} uses.
+         * Called once, before the first row is read.
+         */
+        void resolveColumns(Cursor cursor);
+
+        /**
+         * @return the item for the row the cursor is on
+         */
+        T read(Cursor cursor);
+    }
+
+    public interface PageConsumer<T> {
+        /**
+         * @param page   the next rows, the consumer may keep the list
+         * @param offset position of the first row of the page
+         * @return false to stop reading
+         */
+        boolean onPage(List<T> page, int offset);
+    }
+
+    public static final int DEFAULT_FIRST_PAGE_SIZE = 24;
+    public static final int DEFAULT_PAGE_SIZE = 256;
+
+    private final int mFirstPageSize;
+    private final int mPageSize;
+
+    public CursorPager() {
+        this(DEFAULT_FIRST_PAGE_SIZE, DEFAULT_PAGE_SIZE);
+    }
+
+    public CursorPager(int firstPageSize, int pageSize) {
+        this.mFirstPageSize = firstPageSize;
+        this.mPageSize = pageSize;
+    }
+
+    /**
+     * Read every row of the cursor, or until the consumer asks to stop.
+     * The cursor is not closed.
+     *
+     * @return number of rows read
+     */
+    public int read(Cursor cursor, RowReader<T> reader, PageConsumer<T> consumer) {
+        if (cursor == null || !cursor.moveToFirst()) {
+            return 0;
+        }
+        reader.resolveColumns(cursor);
+
+        int count = cursor.getCount();
+        int offset = 0;
+        int pageCapacity = pageSize(mFirstPageSize, count, 0);
+        List<T> page = new ArrayList<>(pageCapacity);
+
+        do {
+            page.add(reader.read(cursor));
+            if (page.size() == pageCapacity) {
+                int read = offset + page.size();
+                if (!consumer.onPage(page, offset)) {
+                    return read;
+                }
+                offset = read;
+                pageCapacity = pageSize(mPageSize, count, offset);
+                page = new ArrayList<>(pageCapacity);
+            }
+        } while (cursor.moveToNext());
+
+        if (!page.isEmpty()) {
+            consumer.onPage(page, offset);
+        }
+        return offset + page.size();
+    }
+
+    /**
+     * Read every row into one list sized for the cursor.
+     */
+    public List<T> readAll(Cursor cursor, RowReader<T> reader) {
+        final List<T> items = new ArrayList<>(cursor != null ? Math.max(cursor.getCount(), 0) : 0);
+        read(cursor, reader, new PageConsumer<T>() {
+            @Override
+            public boolean onPage(List<T> page, int offset) {
+                items.addAll(page);
+                return true;
+            }
+        });
+        return items;
+    }
+
+    /*
+     * The rows left when the count is known, so the last page is not
+     * larger than it needs to be.
+     */
+    private static int pageSize(int size, int count, int offset) {
+        if (count < 0) {
+            return size;
+        }
+        return Math.max(1, Math.min(size, count - offset));
+    }
+}
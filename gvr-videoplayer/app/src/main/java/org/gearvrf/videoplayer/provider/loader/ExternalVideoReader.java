@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.gearvrf.videoplayer.provider.loader;
+
+import android.util.JsonReader;
+
+import org.gearvrf.videoplayer.model.Video;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the external video catalog as a stream of JSON tokens.
+ * <p>
+ * Videos are handed over in pages the way {@link CursorPager} hands over
+ * rows, so the first ones can be shown while the rest of the catalog is
+ * still being read, and the document is never held in memory as a whole.
+ * Thumbnails are not decoded here: a video only keeps the asset path of
+ * its thumbnail, which is loaded when the video is shown.
+ * <p>
+ * The catalog is an object with a "videos" array; each video has an
+ * "id", "name", "uri", "duration" and "thumbnail". Other names are
+ * skipped.
+ */
+public class ExternalVideoReader {
+
+    private final int mFirstPageSize;
+    private final int mPageSize;
+
+    public ExternalVideoReader() {
+        this(CursorPager.DEFAULT_FIRST_PAGE_SIZE, CursorPager.DEFAULT_PAGE_SIZE);
+    }
+
+    public ExternalVideoReader(int firstPageSize, int pageSize) {
+        this.mFirstPageSize = firstPageSize;
+        this.mPageSize = pageSize;
+    }
+
+    /**
+     * Read every video of the catalog, or until the consumer asks to stop.
+     * The reader is not closed.
+     *
+     * @return number of videos read
+     * @throws IOException           if the catalog cannot be read or is
+     *                               not well formed JSON
+     * @throws IllegalStateException if a value has the wrong type
+     */
+    public int read(Reader in, CursorPager.PageConsumer<Video> consumer) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        int count = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("videos".equals(reader.nextName())) {
+                count = readVideos(reader, consumer);
+                if (count < 0) {
+                    return -count - 1;
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return count;
+    }
+
+    /*
+     * Returns the number of videos read, or -1 - that number if the
+     * consumer asked to stop.
+     */
+    private int readVideos(JsonReader reader, CursorPager.PageConsumer<Video> consumer)
+            throws IOException {
+        int offset = 0;
+        List<Video> page = new ArrayList<>(mFirstPageSize);
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            page.add(readVideo(reader));
+            if (page.size() == mFirstPageSize && offset == 0 || page.size() == mPageSize) {
+                int read = offset + page.size();
+                if (!consumer.onPage(page, offset)) {
+                    return -read - 1;
+                }
+                offset = read;
+                page = new ArrayList<>(mPageSize);
+            }
+        }
+        reader.endArray();
+
+        if (!page.isEmpty()) {
+            consumer.onPage(page, offset);
+        }
+        return offset + page.size();
+    }
+
+    private static Video readVideo(JsonReader reader) throws IOException {
+        long id = 0;
+        String name = null;
+        String uri = null;
+        long duration = 0;
+        String thumbnail = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextLong();
+                    break;
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "uri":
+                    uri = reader.nextString();
+                    break;
+                case "duration":
+                    duration = reader.nextLong();
+                    break;
+                case "thumbnail":
+                    thumbnail = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        Video video = new Video(id, name, uri, duration, false, false, false, Video.VideoType.EXTERNAL);
+        video.setThumbnailPath(thumbnail);
+        return video;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.gearvrf.videoplayer.provider.thumbnail;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache bounded by the total size of its values in
+ * bytes rather than by their count. Thread safe.
+ */
+public class ByteLruCache<K, V> {
+
+    public interface Sizer<V> {
+        int sizeOf(V value);
+    }
+
+    private final LinkedHashMap<K, V> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Sizer<V> mSizer;
+    private final long mMaxBytes;
+    private long mBytes;
+
+    public ByteLruCache(long maxBytes, Sizer<V> sizer) {
+        this.mMaxBytes = maxBytes;
+        this.mSizer = sizer;
+    }
+
+    public synchronized V get(K key) {
+        return mEntries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        int size = mSizer.sizeOf(value);
+        if (size > mMaxBytes) {
+            return;
+        }
+        V previous = mEntries.put(key, value);
+        if (previous != null) {
+            mBytes -= mSizer.sizeOf(previous);
+        }
+        mBytes += size;
+        trim();
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+        mBytes = 0;
+    }
+
+    public synchronized long getBytes() {
+        return mBytes;
+    }
+
+    public synchronized int getCount() {
+        return mEntries.size();
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<K, V>> it = mEntries.entrySet().iterator();
+        while (mBytes > mMaxBytes && it.hasNext()) {
+            mBytes -= mSizer.sizeOf(it.next().getValue());
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.gearvrf.videoplayer.provider.thumbnail;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Thumbnails saved as JPEG files in a cache directory, bounded in bytes.
+ * Reading a file touches its modification time, and the files least
+ * recently touched are deleted first when the directory grows over its
+ * budget. Thumbnails of external videos are read from the app assets,
+ * which is as quick as reading a copy, so they are not saved. Called from
+ * the loader threads only; JPEG decoding and encoding run outside the lock,
+ * which only covers the directory bookkeeping.
+ */
+class ThumbnailDiskStore implements ThumbnailPipeline.Store<ThumbnailKey, Bitmap> {
+
+    private static final String TAG = ThumbnailDiskStore.class.getSimpleName();
+    private static final int JPEG_QUALITY = 85;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File mDirectory;
+    private final long mMaxBytes;
+    private long mBytes = -1;
+
+    ThumbnailDiskStore(File directory, long maxBytes) {
+        this.mDirectory = directory;
+        this.mMaxBytes = maxBytes;
+    }
+
+    @Override
+    public Bitmap get(ThumbnailKey key) {
+        if (key.getAssetPath() != null) {
+            return null;
+        }
+        File file = new File(mDirectory, key.getFileName());
+        long modified;
+        long length;
+        synchronized (this) {
+            if (!file.exists()) {
+                return null;
+            }
+            // touch before decoding so a concurrent trim keeps it
+            file.setLastModified(System.currentTimeMillis());
+            modified = file.lastModified();
+            length = file.length();
+        }
+        Bitmap bitmap = BitmapFactory.decodeFile(file.getPath());
+        if (bitmap == null) {
+            synchronized (this) {
+                // unless a put replaced it in the meantime
+                if (file.lastModified() == modified && file.length() == length) {
+                    Log.w(TAG, "Deleting unreadable " + file);
+                    deleteFile(file);
+                }
+            }
+        }
+        return bitmap;
+    }
+
+    @Override
+    public void put(ThumbnailKey key, Bitmap bitmap) {
+        if (key.getAssetPath() != null) {
+            return;
+        }
+        if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+            Log.w(TAG, "Unable to create " + mDirectory);
+            return;
+        }
+
+        // one temp file per thread, so concurrent puts of a key do not clash
+        File file = new File(mDirectory, key.getFileName());
+        File temp = new File(mDirectory,
+                key.getFileName() + "." + Thread.currentThread().getId() + TEMP_SUFFIX);
+        try (OutputStream out = new FileOutputStream(temp)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out);
+        } catch (IOException e) {
+            Log.w(TAG, "Unable to save thumbnail: " + e.getMessage());
+            temp.delete();
+            return;
+        }
+
+        synchronized (this) {
+            if (mBytes < 0) {
+                mBytes = 0;
+                for (File existing : listFiles()) {
+                    mBytes += existing.length();
+                }
+            }
+            if (file.exists()) {
+                deleteFile(file);
+            }
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                return;
+            }
+            mBytes += file.length();
+            trim();
+        }
+    }
+
+    private void trim() {
+        if (mBytes <= mMaxBytes) {
+            return;
+        }
+        File[] files = listFiles();
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                long diff = a.lastModified() - b.lastModified();
+                return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+            }
+        });
+        for (int i = 0; i < files.length && mBytes > mMaxBytes; i++) {
+            deleteFile(files[i]);
+        }
+    }
+
+    private void deleteFile(File file) {
+        long length = file.length();
+        if (file.delete() && mBytes >= 0) {
+            mBytes -= length;
+        }
+    }
+
+    // saved thumbnails, without the temp files of puts in progress
+    private File[] listFiles() {
+        File[] files = mDirectory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return !name.endsWith(TEMP_SUFFIX);
+            }
+        });
+        return files != null ? files : new File[0];
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.gearvrf.videoplayer.provider.thumbnail;
+
+/**
+ * Identifies a thumbnail by the media store id of its video and the
+ * video's modification time, so an edited video gets a new thumbnail.
+ * Thumbnails of external videos are identified by their asset path.
+ */
+public final class ThumbnailKey {
+
+    private final long mVideoId;
+    private final long mDateModified;
+    private final String mAssetPath;
+
+    public ThumbnailKey(long videoId, long dateModified) {
+        this.mVideoId = videoId;
+        this.mDateModified = dateModified;
+        this.mAssetPath = null;
+    }
+
+    public ThumbnailKey(String assetPath) {
+        this.mVideoId = 0;
+        this.mDateModified = 0;
+        this.mAssetPath = assetPath;
+    }
+
+    public long getVideoId() {
+        return mVideoId;
+    }
+
+    public long getDateModified() {
+        return mDateModified;
+    }
+
+    /**
+     * @return the asset path of an external video thumbnail, null for
+     * local videos
+     */
+    public String getAssetPath() {
+        return mAssetPath;
+    }
+
+    /**
+     * @return a file name unique to this key
+     */
+    String getFileName() {
+        return mVideoId + "_" + mDateModified + ".jpg";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ThumbnailKey)) {
+            return false;
+        }
+        ThumbnailKey other = (ThumbnailKey) o;
+        return mVideoId == other.mVideoId && mDateModified == other.mDateModified
+                && (mAssetPath == null ? other.mAssetPath == null : mAssetPath.equals(other.mAssetPath));
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * (int) (mVideoId ^ (mVideoId >>> 32)) + (int) (mDateModified ^ (mDateModified >>> 32));
+        return 31 * hash + (mAssetPath != null ? mAssetPath.hashCode() : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "ThumbnailKey{" +
+                "videoId=" + mVideoId +
+                ", dateModified=" + mDateModified +
+                ", assetPath='" + mAssetPath + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.gearvrf.videoplayer.provider.thumbnail;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.MediaStore;
+import android.util.Log;
+import android.widget.ImageView;
+
+import org.gearvrf.videoplayer.VideoPlayerApp;
+import org.gearvrf.videoplayer.model.Video;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Binds video thumbnails to image views.
+ * <p>
+ * Thumbnails come from memory if they are there, else from the thumbnail
+ * files in the cache directory, else from the media store, or for external
+ * videos from the thumbnail named in the app assets. Binding a view
+ * again cancels its previous request, so a recycled gallery item never
+ * shows the thumbnail of the item it was bound to before. Main thread
+ * only.
+ */
+public final class ThumbnailLoader {
+
+    private static final String TAG = ThumbnailLoader.class.getSimpleName();
+    private static final int LOADER_THREADS = 2;
+    private static final long DISK_BYTES = 32L * 1024 * 1024;
+    private static final String DISK_DIRECTORY = "thumbnails";
+
+    private static ThumbnailLoader sInstance;
+
+    private final ThumbnailPipeline<ThumbnailKey, Bitmap> mPipeline;
+    private final Map<ImageView, ThumbnailPipeline<ThumbnailKey, Bitmap>.Request> mBindings =
+            new WeakHashMap<>();
+
+    public static ThumbnailLoader getInstance() {
+        if (sInstance == null) {
+            sInstance = new ThumbnailLoader(VideoPlayerApp.getInstance().getApplicationContext());
+        }
+        return sInstance;
+    }
+
+    private ThumbnailLoader(final Context context) {
+        final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        mPipeline = new ThumbnailPipeline<>(
+                Runtime.getRuntime().maxMemory() / 8,
+                new ByteLruCache.Sizer<Bitmap>() {
+                    @Override
+                    public int sizeOf(Bitmap bitmap) {
+                        return bitmap.getByteCount();
+                    }
+                },
+                new ThumbnailDiskStore(new File(context.getCacheDir(), DISK_DIRECTORY), DISK_BYTES),
+                new ThumbnailPipeline.Decoder<ThumbnailKey, Bitmap>() {
+                    @Override
+                    public Bitmap decode(ThumbnailKey key) {
+                        if (key.getAssetPath() != null) {
+                            return decodeAsset(context, key.getAssetPath());
+                        }
+                        return MediaStore.Video.Thumbnails.getThumbnail(
+                                context.getContentResolver(),
+                                key.getVideoId(),
+                                MediaStore.Video.Thumbnails.MINI_KIND,
+                                null
+                        );
+                    }
+                },
+                LOADER_THREADS,
+                new Executor() {
+                    @Override
+                    public void execute(Runnable command) {
+                        mainHandler.post(command);
+                    }
+                });
+    }
+
+    /**
+     * Show the thumbnail of a video in the view, at once if it is in
+     * memory.
+     */
+    public void bind(ImageView imageView, Video video) {
+        unbind(imageView);
+
+        ThumbnailKey key;
+        if (video.getVideoType() == Video.VideoType.EXTERNAL) {
+            if (video.getThumbnailPath() == null) {
+                imageView.setImageBitmap(null);
+                return;
+            }
+            key = new ThumbnailKey(video.getThumbnailPath());
+        } else {
+            key = new ThumbnailKey(video.getId(), video.getDateModified());
+        }
+        Bitmap cached = mPipeline.getCached(key);
+        if (cached != null) {
+            imageView.setImageBitmap(cached);
+            return;
+        }
+
+        imageView.setImageBitmap(null);
+        BindCallback callback = new BindCallback(imageView);
+        callback.mRequest = mPipeline.load(key, callback);
+        mBindings.put(imageView, callback.mRequest);
+    }
+
+    /**
+     * Cancel the thumbnail request of a view, if any.
+     */
+    public void unbind(ImageView imageView) {
+        ThumbnailPipeline<ThumbnailKey, Bitmap>.Request request = mBindings.remove(imageView);
+        if (request != null) {
+            request.cancel();
+        }
+    }
+
+    private static Bitmap decodeAsset(Context context, String path) {
+        try (InputStream is = context.getAssets().open(path)) {
+            return BitmapFactory.decodeStream(is);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not load thumbnail " + path, e);
+            return null;
+        }
+    }
+
+    private final class BindCallback implements ThumbnailPipeline.Callback<Bitmap> {
+
+        private final WeakReference<ImageView> mImageViewReference;
+        ThumbnailPipeline<ThumbnailKey, Bitmap>.Request mRequest;
+
+        BindCallback(ImageView imageView) {
+            this.mImageViewReference = new WeakReference<>(imageView);
+        }
+
+        @Override
+        public void onThumbnail(Bitmap bitmap) {
+            final ImageView imageView = mImageViewReference.get();
+            if (imageView != null && mBindings.get(imageView) == mRequest) {
+                mBindings.remove(imageView);
+                if (bitmap != null) {
+                    imageView.setImageBitmap(bitmap);
+                }
+            }
+        }
+    }
+}
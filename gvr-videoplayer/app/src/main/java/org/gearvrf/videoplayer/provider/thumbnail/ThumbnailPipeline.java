@@ -0,0 +1,236 @@
+/*
+ * Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.gearvrf.videoplayer.provider.thumbnail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads thumbnails through two cache levels: an in-memory LRU of decoded
+ * values bounded in bytes, then a persistent store, and only then the
+ * decoder. Loads run on a small fixed pool. Requests for a key which is
+ * already loading join that load instead of starting another one, and a
+ * load whose requests are all cancelled before it starts never runs.
+ * <p>
+ * Nothing here depends on Android, so the pipeline can be measured
+ * off the device.
+ */
+public class ThumbnailPipeline<K, V> {
+
+    public interface Callback<V> {
+        /**
+         * Called on the callback executor with the thumbnail, or null if it
+         * could not be made. Not called for cancelled requests.
+         */
+        void onThumbnail(V thumbnail);
+    }
+
+    /** Second cache level, usually on disk */
+    public interface Store<K, V> {
+        V get(K key);
+
+        void put(K key, V value);
+    }
+
+    public interface Decoder<K, V> {
+        V decode(K key);
+    }
+
+    public final class Request {
+        private final K mKey;
+        private final Callback<V> mCallback;
+        private volatile boolean mCancelled;
+
+        private Request(K key, Callback<V> callback) {
+            this.mKey = key;
+            this.mCallback = callback;
+        }
+
+        public K getKey() {
+            return mKey;
+        }
+
+        /**
+         * Stop the callback from being called. The load itself is dropped
+         * if no other request waits for it and it has not started.
+         */
+        public void cancel() {
+            mCancelled = true;
+            ThumbnailPipeline.this.cancel(this);
+        }
+
+        public boolean isCancelled() {
+            return mCancelled;
+        }
+    }
+
+    private final class Job implements Runnable {
+        final K mKey;
+        final List<Request> mRequests = new ArrayList<>(2);
+        Future<?> mFuture;
+
+        Job(K key) {
+            this.mKey = key;
+        }
+
+        @Override
+        public void run() {
+            synchronized (ThumbnailPipeline.this) {
+                if (mRequests.isEmpty()) {
+                    mInFlight.remove(mKey);
+                    return;
+                }
+            }
+            V thumbnail = mStore.get(mKey);
+            if (thumbnail != null) {
+                mStoreHits.incrementAndGet();
+            } else {
+                thumbnail = mDecoder.decode(mKey);
+                mDecodes.incrementAndGet();
+                if (thumbnail != null) {
+                    mStore.put(mKey, thumbnail);
+                }
+            }
+            if (thumbnail != null) {
+                mMemory.put(mKey, thumbnail);
+            }
+
+            final List<Request> requests;
+            synchronized (ThumbnailPipeline.this) {
+                mInFlight.remove(mKey);
+                requests = new ArrayList<>(mRequests);
+            }
+            final V result = thumbnail;
+            mCallbackExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (Request request : requests) {
+                        if (!request.mCancelled) {
+                            request.mCallback.onThumbnail(result);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private final ByteLruCache<K, V> mMemory;
+    private final Store<K, V> mStore;
+    private final Decoder<K, V> mDecoder;
+    private final ExecutorService mExecutor;
+    private final Executor mCallbackExecutor;
+    private final Map<K, Job> mInFlight = new HashMap<>();
+
+    private final AtomicLong mMemoryHits = new AtomicLong();
+    private final AtomicLong mStoreHits = new AtomicLong();
+    private final AtomicLong mDecodes = new AtomicLong();
+    private final AtomicLong mJoined = new AtomicLong();
+
+    /**
+     * @param memoryBytes      budget of the in-memory level
+     * @param sizer            size of a thumbnail in bytes
+     * @param store            second level
+     * @param decoder          makes thumbnails missing from both levels
+     * @param threads          number of loader threads
+     * @param callbackExecutor where callbacks run, such as the main thread
+     */
+    public ThumbnailPipeline(long memoryBytes, ByteLruCache.Sizer<V> sizer, Store<K, V> store,
+                             Decoder<K, V> decoder, int threads, Executor callbackExecutor) {
+        this.mMemory = new ByteLruCache<>(memoryBytes, sizer);
+        this.mStore = store;
+        this.mDecoder = decoder;
+        this.mExecutor = Executors.newFixedThreadPool(threads);
+        this.mCallbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * @return the thumbnail if it is in memory, else null
+     */
+    public V getCached(K key) {
+        V thumbnail = mMemory.get(key);
+        if (thumbnail != null) {
+            mMemoryHits.incrementAndGet();
+        }
+        return thumbnail;
+    }
+
+    /**
+     * Load a thumbnail which {@link #getCached(Object)} did not have.
+     *
+     * @return a handle to cancel the request with
+     */
+    public Request load(K key, Callback<V> callback) {
+        Request request = new Request(key, callback);
+        synchronized (this) {
+            Job job = mInFlight.get(key);
+            if (job == null) {
+                job = new Job(key);
+                mInFlight.put(key, job);
+                job.mRequests.add(request);
+                job.mFuture = mExecutor.submit(job);
+            } else {
+                job.mRequests.add(request);
+                mJoined.incrementAndGet();
+            }
+        }
+        return request;
+    }
+
+    private synchronized void cancel(Request request) {
+        Job job = mInFlight.get(request.mKey);
+        if (job == null) {
+            return;
+        }
+        job.mRequests.remove(request);
+        if (job.mRequests.isEmpty() && job.mFuture.cancel(false)) {
+            mInFlight.remove(request.mKey);
+        }
+    }
+
+    public void clearMemory() {
+        mMemory.clear();
+    }
+
+    public void shutdown() {
+        mExecutor.shutdownNow();
+    }
+
+    public long getMemoryHits() {
+        return mMemoryHits.get();
+    }
+
+    public long getStoreHits() {
+        return mStoreHits.get();
+    }
+
+    public long getDecodes() {
+        return mDecodes.get();
+    }
+
+    /** Requests served by a load already in flight for the same key */
+    public long getJoinedRequests() {
+        return mJoined.get();
+    }
+}
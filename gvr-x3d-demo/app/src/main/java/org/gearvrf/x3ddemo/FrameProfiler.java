@@ -0,0 +1,294 @@
+/* Copyright 2015 Samsung Electronics Co., LTD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gearvrf.x3ddemo;
+
+import android.util.Log;
+
+import org.gearvrf.GVRBehavior;
+import org.gearvrf.GVRContext;
+import org.gearvrf.GVRSceneObject;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Frame time profiler shared by the demos.
+ * <p>
+ * Frame durations are taken with {@link System#nanoTime()} between
+ * successive draw frame callbacks, and timed sections of the frame
+ * (input handling and onStep) are measured between
+ * {@link #begin(int)} and {@link #end(int)}. Samples go into fixed size
+ * ring buffers, so recording does not allocate.
+ * <p>
+ * Every {@link #REPORT_INTERVAL_SECONDS} seconds the p50, p95, p99 and max
+ * of each series and the number of dropped frames are written to logcat
+ * under the "FrameProfiler" tag and appended to
+ * <code>&lt;name&gt;-frames.csv</code> in the app's external files
+ * directory by a background thread, then the samples are cleared.
+ * <p>
+ * A frame counts as dropped when it takes more than one and a half
+ * periods of the target frame rate.
+ */
+public class FrameProfiler extends GVRBehavior {
+    private static final String TAG = "FrameProfiler";
+    private static final long TYPE_FRAME_PROFILER = newComponentType(FrameProfiler.class);
+
+    public static final int SECTION_INPUT = 0;
+    public static final int SECTION_STEP = 1;
+    private static final int SECTION_COUNT = 2;
+    private static final String[] SERIES_NAMES = { "frame", "input", "onStep" };
+
+    public static final int REPORT_INTERVAL_SECONDS = 10;
+    private static final long REPORT_INTERVAL_NANOS = REPORT_INTERVAL_SECONDS * 1000000000L;
+    private static final int MAX_SAMPLES = 2048;
+
+    private final String name;
+    private final Samples frames = new Samples();
+    private final Samples[] sections = new Samples[SECTION_COUNT];
+    private final long[] sectionStart = new long[SECTION_COUNT];
+    private final long[] sorted = new long[MAX_SAMPLES];
+
+    private long targetFrameNanos = 1000000000L / 60;
+    private long lastFrameTime = 0;
+    private long reportStartTime = 0;
+    private int frameCount = 0;
+    private int droppedFrames = 0;
+    private long totalDroppedFrames = 0;
+
+    // only used on the csv writer thread
+    private Writer csv;
+    private boolean csvFailed = false;
+    private final ExecutorService csvWriter = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, TAG);
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private static class Samples {
+        final long[] values = new long[MAX_SAMPLES];
+        int next = 0;
+        int count = 0;
+
+        void add(long value) {
+            values[next] = value;
+            next = (next + 1) % MAX_SAMPLES;
+            if (count < MAX_SAMPLES) {
+                ++count;
+            }
+        }
+
+        void clear() {
+            next = 0;
+            count = 0;
+        }
+    }
+
+    /**
+     * @param name prefix of the log lines and of the CSV file, usually the demo name
+     */
+    public FrameProfiler(GVRContext gvrContext, String name) {
+        super(gvrContext);
+        mType = TYPE_FRAME_PROFILER;
+        this.name = name;
+        for (int i = 0; i < SECTION_COUNT; ++i) {
+            sections[i] = new Samples();
+        }
+    }
+
+    public static long getComponentType() {
+        return TYPE_FRAME_PROFILER;
+    }
+
+    /**
+     * Create a profiler on its own scene object. Behaviors get draw frame
+     * callbacks from the context, so the object does not need to be part of
+     * the scene and keeps running when the main scene changes.
+     */
+    public static FrameProfiler attach(GVRContext gvrContext, String name) {
+        FrameProfiler profiler = new FrameProfiler(gvrContext, name);
+        GVRSceneObject owner = new GVRSceneObject(gvrContext);
+        owner.setName(TAG);
+        owner.attachComponent(profiler);
+        return profiler;
+    }
+
+    public void setTargetFrameRate(float framesPerSecond) {
+        targetFrameNanos = (long) (1000000000L / framesPerSecond);
+    }
+
+    /**
+     * Start timing a section of the current frame.
+     */
+    public void begin(int section) {
+        sectionStart[section] = System.nanoTime();
+    }
+
+    /**
+     * Stop timing a section started with {@link #begin(int)}.
+     */
+    public void end(int section) {
+        long start = sectionStart[section];
+        if (start != 0) {
+            sections[section].add(System.nanoTime() - start);
+            sectionStart[section] = 0;
+        }
+    }
+
+    @Override
+    public void onEnable() {
+        super.onEnable();
+        lastFrameTime = 0;
+    }
+
+    @Override
+    public void onDrawFrame(float frameTime) {
+        if (!isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastFrameTime == 0) {
+            lastFrameTime = now;
+            reportStartTime = now;
+            return;
+        }
+        long duration = now - lastFrameTime;
+        lastFrameTime = now;
+        frames.add(duration);
+        ++frameCount;
+        if (duration > targetFrameNanos + targetFrameNanos / 2) {
+            ++droppedFrames;
+            ++totalDroppedFrames;
+        }
+        if (now - reportStartTime >= REPORT_INTERVAL_NANOS) {
+            report(now);
+        }
+    }
+
+    /**
+     * @return the given percentile, 0 to 100, of the frame durations since
+     * the last report in nanoseconds
+     */
+    public long getFramePercentile(float percentile) {
+        return percentile(frames, percentile);
+    }
+
+    public long getSectionPercentile(int section, float percentile) {
+        return percentile(sections[section], percentile);
+    }
+
+    public int getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public long getTotalDroppedFrames() {
+        return totalDroppedFrames;
+    }
+
+    private long percentile(Samples samples, float percentile) {
+        if (samples.count == 0) {
+            return 0;
+        }
+        System.arraycopy(samples.values, 0, sorted, 0, samples.count);
+        Arrays.sort(sorted, 0, samples.count);
+        int index = (int) (percentile / 100.0f * samples.count);
+        return sorted[Math.min(index, samples.count - 1)];
+    }
+
+    private void report(long now) {
+        float seconds = (now - reportStartTime) / 1e9f;
+        float fps = frameCount / seconds;
+        long time = System.currentTimeMillis();
+        StringBuilder lines = new StringBuilder();
+
+        for (int i = 0; i <= SECTION_COUNT; ++i) {
+            Samples samples = i == 0 ? frames : sections[i - 1];
+            if (samples.count == 0) {
+                continue;
+            }
+            System.arraycopy(samples.values, 0, sorted, 0, samples.count);
+            Arrays.sort(sorted, 0, samples.count);
+            float p50 = at(samples.count, 0.50f);
+            float p95 = at(samples.count, 0.95f);
+            float p99 = at(samples.count, 0.99f);
+            float max = sorted[samples.count - 1] / 1e6f;
+            int drops = i == 0 ? droppedFrames : 0;
+
+            Log.v(TAG, String.format("%s %s: %d samples, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms%s",
+                    name, SERIES_NAMES[i], samples.count, p50, p95, p99, max,
+                    i == 0 ? String.format(", %.1f fps, %d dropped", fps, drops) : ""));
+            lines.append(String.format("%d,%s,%s,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d\n",
+                    time, name, SERIES_NAMES[i], samples.count, i == 0 ? fps : 0f,
+                    p50, p95, p99, max, drops));
+        }
+        writeCsv(lines.toString());
+
+        frames.clear();
+        for (Samples samples : sections) {
+            samples.clear();
+        }
+        frameCount = 0;
+        droppedFrames = 0;
+        reportStartTime = now;
+    }
+
+    private float at(int count, float fraction) {
+        return sorted[Math.min((int) (fraction * count), count - 1)] / 1e6f;
+    }
+
+    private void writeCsv(final String lines) {
+        csvWriter.execute(new Runnable() {
+            @Override
+            public void run() {
+                appendCsv(lines);
+            }
+        });
+    }
+
+    private void appendCsv(String lines) {
+        if (csvFailed) {
+            return;
+        }
+        try {
+            if (csv == null) {
+                File dir = getGVRContext().getContext().getExternalFilesDir(null);
+                if (dir == null) {
+                    dir = getGVRContext().getContext().getFilesDir();
+                }
+                File file = new File(dir, name + "-frames.csv");
+                boolean exists = file.exists();
+                csv = new FileWriter(file, true);
+                if (!exists) {
+                    csv.write("time,demo,series,samples,fps,p50_ms,p95_ms,p99_ms,max_ms,dropped\n");
+                }
+                Log.v(TAG, "writing frame times to " + file.getAbsolutePath());
+            }
+            csv.write(lines);
+            csv.flush();
+        } catch (IOException e) {
+            Log.e(TAG, "cannot write frame times: " + e.getMessage());
+            csvFailed = true;
+        }
+    }
+}
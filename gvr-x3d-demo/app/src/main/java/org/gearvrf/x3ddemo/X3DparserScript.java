@@ -62,6 +62,7 @@ public class X3DparserScript extends GVRMain
   public void onInit(GVRContext gvrContext)
   {
     mGVRContext = gvrContext;
+    FrameProfiler.attach(gvrContext, "x3ddemo");
 
     scene = gvrContext.getMainScene();
     scene.setBackgroundColor(0, 0, 0, 1);
@@ -108,12 +109,6 @@ public class X3DparserScript extends GVRMain
     mGVRContext.getInputManager().selectController();
   } // end onInit()
 
-  // @Override
-  public void onStep()
-  {
-    FPSCounter.tick();
-  }
-
   private boolean lastScreenshotLeftFinished = true;
   private boolean lastScreenshotRightFinished = true;
   private boolean lastScreenshotCenterFinished = true;